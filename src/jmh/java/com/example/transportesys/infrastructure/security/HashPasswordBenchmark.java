@@ -0,0 +1,56 @@
+package com.example.transportesys.infrastructure.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de BCrypt por nivel, para elegir transportesys.auth.bcrypt-costo en el hardware de producción.
+ * verificar es lo que paga cada login; con el tiempo medio y transportesys.auth.login.hilos
+ * se obtiene el máximo de logins por segundo (hilos / tiempo medio).
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashPasswordBenchmark {
+
+    private static final String PASSWORD = "conductor123";
+
+    @Param({"10", "11", "12", "13"})
+    private int costo;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        encoder = new BCryptPasswordEncoder(costo);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verificar() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public String generar() {
+        return encoder.encode(PASSWORD);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.transportesys.application.usecase;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un caso de uso cuya transacción se reintenta completa cuando falla por un conflicto
+ * de concurrencia optimista (otra operación modificó la misma versión del agregado).
+ * Cada intento abre una transacción nueva y vuelve a leer el estado actual.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReintentarEnConflicto {
+
+    /**
+     * Intentos totales, incluido el primero.
+     */
+    int intentos() default 3;
+
+    /**
+     * Espera base entre intentos en milisegundos. Se duplica en cada intento y se aplica con jitter.
+     */
+    long esperaMs() default 20;
+}
@@ -1,5 +1,6 @@
 package com.example.transportesys.application.usecase.conductor;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Conductor;
 import com.example.transportesys.domain.repository.ConductorRepository;
@@ -17,6 +18,7 @@ public class ActualizarConductorUseCase {
         this.conductorRepository = conductorRepository;
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public Conductor execute(Long id, String nombre, String licenciaStr) {
         // Buscar el conductor
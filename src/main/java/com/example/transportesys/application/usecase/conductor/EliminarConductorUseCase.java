@@ -1,5 +1,6 @@
 package com.example.transportesys.application.usecase.conductor;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Conductor;
 import com.example.transportesys.domain.repository.ConductorRepository;
@@ -16,6 +17,7 @@ public class EliminarConductorUseCase {
         this.conductorRepository = conductorRepository;
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public void execute(Long id) {
         // Buscar el conductor
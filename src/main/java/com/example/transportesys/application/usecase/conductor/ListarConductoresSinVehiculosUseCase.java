@@ -7,6 +7,7 @@ import java.util.List;
 
 /**
  * Caso de uso para listar conductores sin vehículos asignados.
+ * Se resuelve con un anti-join (NOT EXISTS) que solo lee los datos del reporte.
  */
 public class ListarConductoresSinVehiculosUseCase {
 
@@ -1,8 +1,10 @@
 package com.example.transportesys.application.usecase.conductor;
 
 import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.valueobject.Cursor;
 
 import java.util.List;
 
@@ -11,6 +13,8 @@ import java.util.List;
  */
 public class ListarConductoresUseCase {
 
+    private static final int TAMANO_MAXIMO_PAGINA = 500;
+
     private final ConductorRepository conductorRepository;
 
     public ListarConductoresUseCase(ConductorRepository conductorRepository) {
@@ -29,6 +33,15 @@ public class ListarConductoresUseCase {
         return conductorRepository.findAllPaged(page, size);
     }
 
+    /**
+     * Paginación por cursor: un cursor nulo o vacío devuelve la primera página.
+     */
+    public CursorPageResult<Conductor> executeByCursor(String cursor, int size) {
+        Cursor posicion = (cursor == null || cursor.isBlank()) ? null : Cursor.decodificar(cursor);
+        int tamano = Math.max(1, Math.min(size, TAMANO_MAXIMO_PAGINA));
+        return conductorRepository.findAllByCursor(posicion, tamano);
+    }
+
     public List<Conductor> executeActivos() {
         return conductorRepository.findByActivo(true);
     }
@@ -6,6 +6,7 @@ import java.util.Map;
 
 /**
  * Caso de uso para obtener el conteo de vehículos por conductor.
+ * El conteo se agrega en la base de datos (GROUP BY), sin cargar los conductores.
  */
 public class ObtenerConteoVehiculosPorConductorUseCase {
 
@@ -0,0 +1,96 @@
+package com.example.transportesys.application.usecase.despacho;
+
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
+import com.example.transportesys.domain.model.AsignacionPedido;
+import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.EventoDominio;
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.repository.VehiculoRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caso de uso para persistir un lote del plan de despacho en su propia transacción.
+ * Entre la planificación y este punto pudieron pasar cosas: se descartan las asignaciones
+ * cuyo vehículo ya no está activo o cambió de conductor, las de conductores dados de baja,
+ * las que ya no caben en la capacidad restante del vehículo y las de pedidos que dejaron
+ * de estar pendientes sin asignar.
+ * Retorna la cantidad de pedidos efectivamente asignados.
+ */
+public class AplicarAsignacionesDespachoUseCase {
+
+    private final PedidoRepository pedidoRepository;
+    private final VehiculoRepository vehiculoRepository;
+    private final ConductorRepository conductorRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CapacidadVehiculosRepository capacidadVehiculosRepository;
+
+    public AplicarAsignacionesDespachoUseCase(PedidoRepository pedidoRepository,
+                                              VehiculoRepository vehiculoRepository,
+                                              ConductorRepository conductorRepository,
+                                              EventoOutboxRepository eventoOutboxRepository,
+                                              CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        this.pedidoRepository = pedidoRepository;
+        this.vehiculoRepository = vehiculoRepository;
+        this.conductorRepository = conductorRepository;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.capacidadVehiculosRepository = capacidadVehiculosRepository;
+    }
+
+    @ReintentarEnConflicto
+    @Transactional
+    public int execute(List<AsignacionPedido> lote) {
+        // 1. Releer en una consulta los vehículos del lote, y en otra sus conductores, para validar que sigan disponibles
+        Set<Long> vehiculoIds = lote.stream()
+            .map(AsignacionPedido::getVehiculoId)
+            .collect(Collectors.toSet());
+        Map<Long, Vehiculo> vehiculos = vehiculoRepository.findAllByIds(vehiculoIds).stream()
+            .collect(Collectors.toMap(Vehiculo::getId, Function.identity()));
+        Set<Long> conductoresActivos = conductorRepository.findAllByIds(lote.stream()
+                .map(AsignacionPedido::getConductorId)
+                .collect(Collectors.toSet())).stream()
+            .map(Conductor::getId)
+            .collect(Collectors.toSet());
+
+        // 2. Reservar la capacidad: el plan se calculó sobre una lectura que pudo quedar vieja
+        List<AsignacionPedido> vigentes = new ArrayList<>(lote.size());
+        for (AsignacionPedido asignacion : lote) {
+            Vehiculo vehiculo = vehiculos.get(asignacion.getVehiculoId());
+            if (vehiculo != null && vehiculo.estaAsignadoA(asignacion.getConductorId())
+                    && conductoresActivos.contains(asignacion.getConductorId())
+                    && capacidadVehiculosRepository.reservar(vehiculo.getId(), vehiculo.getCapacidad(), asignacion.getPeso(),
+                        () -> pedidoRepository.sumarPesoActivo(vehiculo.getId()))) {
+                vigentes.add(asignacion);
+            }
+        }
+
+        // 3. Asignar solo los pedidos que siguen pendientes sin asignar, y devolver lo reservado para el resto
+        List<Pedido> asignados = pedidoRepository.asignarPendientes(vigentes);
+        Set<Long> asignadosIds = asignados.stream()
+            .map(Pedido::getId)
+            .collect(Collectors.toSet());
+        for (AsignacionPedido asignacion : vigentes) {
+            if (!asignadosIds.contains(asignacion.getPedidoId())) {
+                capacidadVehiculosRepository.liberar(asignacion.getVehiculoId(), asignacion.getPeso());
+            }
+        }
+
+        // 4. Registrar los eventos en la outbox, en la misma transacción
+        eventoOutboxRepository.registrarTodos(asignados.stream()
+            .map(pedido -> EventoDominio.vehiculoPedidoCambiado(pedido, null))
+            .toList());
+
+        return asignados.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.transportesys.application.usecase.despacho;
+
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
+import com.example.transportesys.domain.model.AsignacionPedido;
+
+import java.util.List;
+
+/**
+ * Caso de uso para el despacho automático: asigna vehículo y conductor a los pedidos
+ * pendientes sin asignar, respetando la capacidad restante de cada vehículo.
+ * Planifica con una lectura y persiste el plan en lotes, cada uno en su propia transacción,
+ * para no mantener bloqueadas miles de filas ni perder todo el trabajo por un conflicto.
+ */
+public class DespacharPedidosUseCase {
+
+    public static final int MAXIMO_PEDIDOS = 1_000_000;
+    public static final int MAXIMO_TAMANO_LOTE = 5000;
+
+    private final PlanificarDespachoUseCase planificarDespachoUseCase;
+    private final AplicarAsignacionesDespachoUseCase aplicarAsignacionesDespachoUseCase;
+
+    public DespacharPedidosUseCase(PlanificarDespachoUseCase planificarDespachoUseCase,
+                                   AplicarAsignacionesDespachoUseCase aplicarAsignacionesDespachoUseCase) {
+        this.planificarDespachoUseCase = planificarDespachoUseCase;
+        this.aplicarAsignacionesDespachoUseCase = aplicarAsignacionesDespachoUseCase;
+    }
+
+    public ResultadoDespacho execute(int maxPedidos, int tamanoLote) {
+        if (maxPedidos <= 0 || maxPedidos > MAXIMO_PEDIDOS) {
+            throw new ParametroInvalidoException(
+                String.format("La cantidad de pedidos debe estar entre 1 y %d", MAXIMO_PEDIDOS));
+        }
+        if (tamanoLote <= 0 || tamanoLote > MAXIMO_TAMANO_LOTE) {
+            throw new ParametroInvalidoException(
+                String.format("El tamaño del lote debe estar entre 1 y %d", MAXIMO_TAMANO_LOTE));
+        }
+
+        // 1. Cargar y resolver
+        long inicio = System.nanoTime();
+        PlanDespacho plan = planificarDespachoUseCase.execute(maxPedidos);
+        long tiempoCargaNanos = System.nanoTime() - inicio - plan.getTiempoResolucionNanos();
+
+        // 2. Persistir por lotes
+        long inicioPersistencia = System.nanoTime();
+        List<AsignacionPedido> asignaciones = plan.getAsignaciones();
+        int asignados = 0;
+        int lotes = 0;
+        for (int desde = 0; desde < asignaciones.size(); desde += tamanoLote) {
+            List<AsignacionPedido> lote = asignaciones.subList(desde, Math.min(desde + tamanoLote, asignaciones.size()));
+            asignados += aplicarAsignacionesDespachoUseCase.execute(lote);
+            lotes++;
+        }
+        long tiempoPersistenciaNanos = System.nanoTime() - inicioPersistencia;
+
+        return new ResultadoDespacho(plan, asignados, asignaciones.size() - asignados, lotes,
+                                     tiempoCargaNanos, tiempoPersistenciaNanos);
+    }
+}
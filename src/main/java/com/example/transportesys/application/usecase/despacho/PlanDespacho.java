@@ -0,0 +1,35 @@
+package com.example.transportesys.application.usecase.despacho;
+
+import com.example.transportesys.domain.model.AsignacionPedido;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultado de la planificación del despacho, antes de persistirlo.
+ * Las utilizaciones son la carga total (previa más la asignada) sobre la capacidad, entre 0 y 1.
+ */
+@Getter
+@AllArgsConstructor
+public class PlanDespacho {
+
+    private final List<AsignacionPedido> asignaciones;
+    private final int pedidosEvaluados;
+    private final int vehiculosDisponibles;
+    private final int particiones;
+    private final int pedidosSinUbicar;
+    private final int vehiculosUsados;
+
+    /**
+     * Sobre los vehículos que recibieron al menos un pedido en este plan.
+     */
+    private final double utilizacionVehiculosUsados;
+
+    /**
+     * Sobre toda la flota disponible.
+     */
+    private final double utilizacionFlota;
+
+    private final long tiempoResolucionNanos;
+}
@@ -0,0 +1,242 @@
+package com.example.transportesys.application.usecase.despacho;
+
+import com.example.transportesys.domain.model.AsignacionPedido;
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.valueobject.Peso;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reparte pedidos pendientes entre los vehículos disponibles con la heurística best-fit decreasing:
+ * del pedido más pesado al más liviano, cada uno va al vehículo cuya capacidad restante le queda más justa.
+ * La carga activa de cada vehículo (pedidos PENDIENTE y EN_PROGRESO) se descuenta de su capacidad.
+ * <p>
+ * Flota y pedidos se reparten en particiones independientes con distribución similar, que se resuelven
+ * en paralelo en un ForkJoinPool. Una pasada final ubica lo que sobró en la capacidad restante de todas
+ * las particiones, así partir no deja pedidos afuera que una sola pasada hubiera ubicado.
+ * Trabaja en gramos (long) para no operar con BigDecimal en el ciclo principal.
+ */
+public class PlanificadorDespacho {
+
+    /**
+     * Por debajo de esta cantidad de vehículos por partición se pierde calidad de empaquetado
+     * sin ganar tiempo: conviene una sola partición.
+     */
+    static final int VEHICULOS_MINIMOS_POR_PARTICION = 64;
+
+    private final ForkJoinPool pool;
+
+    public PlanificadorDespacho(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param pesosPorPedido peso de cada pedido a ubicar, por ID
+     * @param flota vehículos que pueden recibir pedidos (activos y con conductor activo)
+     * @param cargaActiva peso ya comprometido en cada vehículo
+     */
+    public PlanDespacho planificar(Map<Long, Peso> pesosPorPedido, List<Vehiculo> flota, Map<Long, Peso> cargaActiva) {
+        long inicio = System.nanoTime();
+
+        List<Contenedor> contenedores = new ArrayList<>(flota.size());
+        for (Vehiculo vehiculo : flota) {
+            Peso carga = cargaActiva.get(vehiculo.getId());
+            contenedores.add(new Contenedor(vehiculo.getId(), vehiculo.getConductorId(),
+                vehiculo.getCapacidad().enGramos(), carga != null ? carga.enGramos() : 0));
+        }
+        List<Item> items = new ArrayList<>(pesosPorPedido.size());
+        pesosPorPedido.forEach((pedidoId, peso) -> items.add(new Item(pedidoId, peso)));
+
+        // Orden decreciente: los pedidos grandes primero, y la flota de mayor a menor capacidad restante
+        // para que el reparto round-robin deje particiones parecidas entre sí
+        items.sort(Comparator.comparingLong(Item::gramos).reversed().thenComparingLong(Item::pedidoId));
+        contenedores.sort(Comparator.comparingLong(Contenedor::restante).reversed().thenComparingLong(Contenedor::vehiculoId));
+
+        int particiones = calcularParticiones(contenedores.size());
+        List<Particion> partes = repartir(contenedores, items, particiones);
+
+        List<AsignacionPedido> asignaciones = new ArrayList<>(items.size());
+        List<Item> sobrantes = new ArrayList<>();
+        if (particiones == 1) {
+            sobrantes.addAll(resolver(partes.get(0), asignaciones));
+        } else {
+            List<ForkJoinTask<List<AsignacionPedido>>> tareas = new ArrayList<>(particiones);
+            for (Particion parte : partes) {
+                tareas.add(pool.submit(() -> {
+                    List<AsignacionPedido> propias = new ArrayList<>(parte.items.size());
+                    parte.sobrantes.addAll(resolver(parte, propias));
+                    return propias;
+                }));
+            }
+            for (int i = 0; i < particiones; i++) {
+                asignaciones.addAll(tareas.get(i).join());
+                sobrantes.addAll(partes.get(i).sobrantes);
+            }
+
+            // Pasada de reparación sobre la capacidad restante de toda la flota
+            sobrantes.sort(Comparator.comparingLong(Item::gramos).reversed().thenComparingLong(Item::pedidoId));
+            sobrantes = resolver(new Particion(contenedores, sobrantes), asignaciones);
+        }
+
+        long tiempoResolucionNanos = System.nanoTime() - inicio;
+        return resumir(asignaciones, items.size(), contenedores, particiones, sobrantes.size(), tiempoResolucionNanos);
+    }
+
+    int calcularParticiones(int vehiculos) {
+        int porTamano = Math.max(1, vehiculos / VEHICULOS_MINIMOS_POR_PARTICION);
+        return Math.min(porTamano, pool.getParallelism());
+    }
+
+    private static List<Particion> repartir(List<Contenedor> contenedores, List<Item> items, int particiones) {
+        List<Particion> partes = new ArrayList<>(particiones);
+        for (int i = 0; i < particiones; i++) {
+            partes.add(new Particion(new ArrayList<>(), new ArrayList<>()));
+        }
+        for (int i = 0; i < contenedores.size(); i++) {
+            partes.get(i % particiones).contenedores.add(contenedores.get(i));
+        }
+        for (int i = 0; i < items.size(); i++) {
+            partes.get(i % particiones).items.add(items.get(i));
+        }
+        return partes;
+    }
+
+    /**
+     * Best-fit decreasing sobre una partición. Los items deben venir ordenados de mayor a menor.
+     * Retorna los items que no entraron en ningún vehículo.
+     */
+    private static List<Item> resolver(Particion parte, List<AsignacionPedido> asignaciones) {
+        TreeSet<Contenedor> porRestante = new TreeSet<>(
+            Comparator.comparingLong(Contenedor::restante).thenComparingLong(Contenedor::vehiculoId));
+        for (Contenedor contenedor : parte.contenedores) {
+            if (contenedor.restante() > 0) {
+                porRestante.add(contenedor);
+            }
+        }
+
+        List<Item> sobrantes = new ArrayList<>();
+        for (Item item : parte.items) {
+            // El de menor capacidad restante que alcanza (cota inferior por restante)
+            Contenedor elegido = porRestante.ceiling(Contenedor.sonda(item.gramos()));
+            if (elegido == null) {
+                sobrantes.add(item);
+                continue;
+            }
+            // La clave de orden cambia: se saca y se vuelve a insertar
+            porRestante.remove(elegido);
+            elegido.cargaNueva += item.gramos();
+            asignaciones.add(new AsignacionPedido(item.pedidoId(), elegido.vehiculoId, elegido.conductorId, item.peso));
+            if (elegido.restante() > 0) {
+                porRestante.add(elegido);
+            }
+        }
+        return sobrantes;
+    }
+
+    private static PlanDespacho resumir(List<AsignacionPedido> asignaciones, int pedidosEvaluados,
+                                        List<Contenedor> contenedores, int particiones,
+                                        int pedidosSinUbicar, long tiempoResolucionNanos) {
+        int vehiculosUsados = 0;
+        long capacidadUsados = 0;
+        long cargaUsados = 0;
+        long capacidadFlota = 0;
+        long cargaFlota = 0;
+        for (Contenedor contenedor : contenedores) {
+            long carga = Math.min(contenedor.capacidad, contenedor.cargaPrevia + contenedor.cargaNueva);
+            capacidadFlota += contenedor.capacidad;
+            cargaFlota += carga;
+            if (contenedor.cargaNueva > 0) {
+                vehiculosUsados++;
+                capacidadUsados += contenedor.capacidad;
+                cargaUsados += carga;
+            }
+        }
+        return new PlanDespacho(
+            asignaciones,
+            pedidosEvaluados,
+            contenedores.size(),
+            particiones,
+            pedidosSinUbicar,
+            vehiculosUsados,
+            capacidadUsados == 0 ? 0.0 : (double) cargaUsados / capacidadUsados,
+            capacidadFlota == 0 ? 0.0 : (double) cargaFlota / capacidadFlota,
+            tiempoResolucionNanos
+        );
+    }
+
+    /**
+     * Pedido a ubicar: su ID y su peso, también en gramos para comparar sin BigDecimal.
+     */
+    private static final class Item {
+        private final long pedidoId;
+        private final Peso peso;
+        private final long gramos;
+
+        private Item(long pedidoId, Peso peso) {
+            this.pedidoId = pedidoId;
+            this.peso = peso;
+            this.gramos = peso.enGramos();
+        }
+
+        long pedidoId() {
+            return pedidoId;
+        }
+
+        long gramos() {
+            return gramos;
+        }
+    }
+
+    /**
+     * Partición independiente: cada tarea es dueña de sus contenedores mientras la resuelve.
+     */
+    private static final class Particion {
+        private final List<Contenedor> contenedores;
+        private final List<Item> items;
+        private final List<Item> sobrantes = new ArrayList<>();
+
+        private Particion(List<Contenedor> contenedores, List<Item> items) {
+            this.contenedores = contenedores;
+            this.items = items;
+        }
+    }
+
+    /**
+     * Vehículo durante la planificación: capacidad, carga activa previa y carga asignada en este plan, en gramos.
+     */
+    private static final class Contenedor {
+        private final long vehiculoId;
+        private final Long conductorId;
+        private final long capacidad;
+        private final long cargaPrevia;
+        private long cargaNueva;
+
+        private Contenedor(long vehiculoId, Long conductorId, long capacidad, long cargaPrevia) {
+            this.vehiculoId = vehiculoId;
+            this.conductorId = conductorId;
+            this.capacidad = capacidad;
+            this.cargaPrevia = cargaPrevia;
+        }
+
+        /**
+         * Contenedor ficticio para buscar en el TreeSet el primero con restante mayor o igual a gramos.
+         */
+        static Contenedor sonda(long gramos) {
+            return new Contenedor(Long.MIN_VALUE, null, gramos, 0);
+        }
+
+        long vehiculoId() {
+            return vehiculoId;
+        }
+
+        long restante() {
+            return Math.max(0, capacidad - cargaPrevia - cargaNueva);
+        }
+    }
+}
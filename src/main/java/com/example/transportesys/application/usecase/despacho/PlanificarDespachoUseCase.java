@@ -0,0 +1,39 @@
+package com.example.transportesys.application.usecase.despacho;
+
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.repository.VehiculoRepository;
+import com.example.transportesys.domain.valueobject.Peso;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caso de uso para calcular el despacho de los pedidos pendientes sin asignar.
+ * Lee en una sola transacción de solo lectura los pesos de los pedidos, la flota disponible
+ * y la carga activa de cada vehículo (tres consultas), y resuelve la asignación en memoria.
+ * No modifica nada: el plan se persiste con AplicarAsignacionesDespachoUseCase.
+ */
+public class PlanificarDespachoUseCase {
+
+    private final PedidoRepository pedidoRepository;
+    private final VehiculoRepository vehiculoRepository;
+    private final PlanificadorDespacho planificador;
+
+    public PlanificarDespachoUseCase(PedidoRepository pedidoRepository,
+                                     VehiculoRepository vehiculoRepository,
+                                     PlanificadorDespacho planificador) {
+        this.pedidoRepository = pedidoRepository;
+        this.vehiculoRepository = vehiculoRepository;
+        this.planificador = planificador;
+    }
+
+    @Transactional(readOnly = true)
+    public PlanDespacho execute(int maxPedidos) {
+        Map<Long, Peso> pesosPorPedido = pedidoRepository.findPesosPendientesSinAsignar(maxPedidos);
+        List<Vehiculo> flota = vehiculoRepository.findAsignadosAConductorActivo();
+        Map<Long, Peso> cargaActiva = pedidoRepository.sumarPesoActivoPorVehiculo();
+        return planificador.planificar(pesosPorPedido, flota, cargaActiva);
+    }
+}
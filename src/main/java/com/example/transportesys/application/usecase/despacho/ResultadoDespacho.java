@@ -0,0 +1,21 @@
+package com.example.transportesys.application.usecase.despacho;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resumen de una ejecución del despacho automático.
+ * pedidosDescartados son los planificados que al persistir ya no estaban pendientes sin asignar,
+ * o cuyo vehículo cambió de conductor o dejó de estar activo.
+ */
+@Getter
+@AllArgsConstructor
+public class ResultadoDespacho {
+
+    private final PlanDespacho plan;
+    private final int pedidosAsignados;
+    private final int pedidosDescartados;
+    private final int lotes;
+    private final long tiempoCargaNanos;
+    private final long tiempoPersistenciaNanos;
+}
@@ -1,8 +1,10 @@
 package com.example.transportesys.application.usecase.pedido;
 
 import com.example.transportesys.domain.enums.EstadoPedido;
-import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.PedidoRepository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,21 +15,24 @@ import org.springframework.transaction.annotation.Transactional;
 public class ActualizarEstadoPedidoUseCase {
 
     private final PedidoRepository pedidoRepository;
+    private final ConteoPedidosRepository conteoPedidosRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CapacidadVehiculosRepository capacidadVehiculosRepository;
 
-    public ActualizarEstadoPedidoUseCase(PedidoRepository pedidoRepository) {
+    public ActualizarEstadoPedidoUseCase(PedidoRepository pedidoRepository,
+                                         ConteoPedidosRepository conteoPedidosRepository,
+                                         EventoOutboxRepository eventoOutboxRepository,
+                                         CapacidadVehiculosRepository capacidadVehiculosRepository) {
         this.pedidoRepository = pedidoRepository;
+        this.conteoPedidosRepository = conteoPedidosRepository;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.capacidadVehiculosRepository = capacidadVehiculosRepository;
     }
 
     @Transactional
     public Pedido execute(Long pedidoId, EstadoPedido nuevoEstado) {
-        // Buscar el pedido
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-            .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado con ID: " + pedidoId));
-
-        // Cambiar estado (la validación de transición está en la entidad)
-        pedido.cambiarEstado(nuevoEstado);
-
-        // Guardar y retornar
-        return pedidoRepository.save(pedido);
+        // Cambio condicional en una sola sentencia; la validación de transición está en EstadoPedido
+        return TransicionEstadoPedido.aplicar(pedidoRepository, conteoPedidosRepository, eventoOutboxRepository,
+            capacidadVehiculosRepository, pedidoId, nuevoEstado);
     }
 }
@@ -0,0 +1,35 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.repository.PedidoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Caso de uso para archivar pedidos en estado final (COMPLETADO o CANCELADO)
+ * que superaron la ventana de retención. Mantiene pequeña la tabla de pedidos activos,
+ * que es la que usan las consultas frecuentes.
+ */
+@RequiredArgsConstructor
+public class ArchivarPedidosUseCase {
+
+    private final PedidoRepository pedidoRepository;
+
+    /**
+     * Archiva un lote en su propia transacción. Retorna la cantidad archivada;
+     * si es menor que el tamaño del lote ya no quedan pedidos por archivar.
+     */
+    @Transactional
+    public int execute(int diasRetencion, int tamanoLote) {
+        if (diasRetencion < 0) {
+            throw new IllegalArgumentException("Los días de retención no pueden ser negativos");
+        }
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("El tamaño del lote debe ser mayor a cero");
+        }
+
+        LocalDateTime limite = LocalDateTime.now().minusDays(diasRetencion);
+        return pedidoRepository.archivarFinalizados(limite, tamanoLote);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
+import com.example.transportesys.domain.model.CursorPageResult;
+import com.example.transportesys.domain.model.FiltroPedidos;
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.valueobject.Cursor;
+
+/**
+ * Caso de uso para buscar pedidos combinando varios criterios.
+ * Todos los criterios se resuelven en una sola consulta en la base de datos.
+ */
+public class BuscarPedidosUseCase {
+
+    private static final int TAMANO_MAXIMO_PAGINA = 500;
+
+    private final PedidoRepository pedidoRepository;
+
+    public BuscarPedidosUseCase(PedidoRepository pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    /**
+     * Busca una página de pedidos ordenados por (fechaCreacion, id).
+     * Un cursor nulo o vacío devuelve la primera página.
+     */
+    public CursorPageResult<Pedido> execute(FiltroPedidos filtro, String cursor, int size, boolean descendente) {
+        validarRangos(filtro);
+        Cursor posicion = (cursor == null || cursor.isBlank()) ? null : Cursor.decodificar(cursor);
+        int tamano = Math.max(1, Math.min(size, TAMANO_MAXIMO_PAGINA));
+        return pedidoRepository.buscar(filtro, posicion, tamano, descendente);
+    }
+
+    private void validarRangos(FiltroPedidos filtro) {
+        if (filtro.getDesde() != null && filtro.getHasta() != null
+                && filtro.getDesde().isAfter(filtro.getHasta())) {
+            throw new ParametroInvalidoException("La fecha 'desde' no puede ser posterior a 'hasta'");
+        }
+        if (filtro.getPesoMinimoKg() != null && filtro.getPesoMaximoKg() != null
+                && filtro.getPesoMinimoKg().compareTo(filtro.getPesoMaximoKg()) > 0) {
+            throw new ParametroInvalidoException("El peso mínimo no puede ser mayor al peso máximo");
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.transportesys.application.usecase.pedido;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.exception.CapacidadInsuficienteException;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.exception.VehiculoNoAsignadoAConductorException;
+import com.example.transportesys.domain.model.EventoDominio;
 import com.example.transportesys.domain.model.Pedido;
 import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.PedidoRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.specification.VehiculoEstaActivoSpec;
@@ -18,7 +22,8 @@ import org.springframework.transaction.annotation.Transactional;
  * - El pedido está en estado PENDIENTE
  * - El nuevo vehículo existe y está activo
  * - El nuevo vehículo está asignado al mismo conductor del pedido
- * - El nuevo vehículo tiene capacidad suficiente
+ * - El nuevo vehículo tiene capacidad restante suficiente para sumar el pedido
+ * El peso se reserva en el nuevo vehículo y se libera del anterior al confirmar.
  */
 public class CambiarVehiculoPedidoUseCase {
 
@@ -27,20 +32,27 @@ public class CambiarVehiculoPedidoUseCase {
     private final VehiculoEstaActivoSpec vehiculoActivoSpec;
     private final VehiculoEstaAsignadoAConductorSpec vehiculoAsignadoConductorSpec;
     private final VehiculoTieneCapacidadSuficienteSpec capacidadSpec;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CapacidadVehiculosRepository capacidadVehiculosRepository;
 
     public CambiarVehiculoPedidoUseCase(
             PedidoRepository pedidoRepository,
             VehiculoRepository vehiculoRepository,
             VehiculoEstaActivoSpec vehiculoActivoSpec,
             VehiculoEstaAsignadoAConductorSpec vehiculoAsignadoConductorSpec,
-            VehiculoTieneCapacidadSuficienteSpec capacidadSpec) {
+            VehiculoTieneCapacidadSuficienteSpec capacidadSpec,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
         this.pedidoRepository = pedidoRepository;
         this.vehiculoRepository = vehiculoRepository;
         this.vehiculoActivoSpec = vehiculoActivoSpec;
         this.vehiculoAsignadoConductorSpec = vehiculoAsignadoConductorSpec;
         this.capacidadSpec = capacidadSpec;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.capacidadVehiculosRepository = capacidadVehiculosRepository;
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public Pedido execute(Long pedidoId, Long nuevoVehiculoId) {
         // 1. Buscar pedido
@@ -75,9 +87,24 @@ public class CambiarVehiculoPedidoUseCase {
         }
 
         // 7. Cambiar vehículo (la validación de estado PENDIENTE está en el dominio)
+        Long vehiculoAnteriorId = pedido.getVehiculoId();
         pedido.cambiarVehiculo(nuevoVehiculoId);
 
-        // 8. Guardar y retornar
-        return pedidoRepository.save(pedido);
+        // 8. Mover el peso comprometido: reserva en el nuevo ahora, liberación del anterior al confirmar
+        if (!nuevoVehiculoId.equals(vehiculoAnteriorId)) {
+            if (!capacidadVehiculosRepository.reservar(nuevoVehiculoId, nuevoVehiculo.getCapacidad(), pedido.getPeso(),
+                    () -> pedidoRepository.sumarPesoActivo(nuevoVehiculoId))) {
+                throw new CapacidadInsuficienteException(nuevoVehiculo.getCapacidad(),
+                    capacidadVehiculosRepository.obtenerComprometido(nuevoVehiculoId).orElseThrow(), pedido.getPeso());
+            }
+            if (vehiculoAnteriorId != null) {
+                capacidadVehiculosRepository.liberar(vehiculoAnteriorId, pedido.getPeso());
+            }
+        }
+
+        // 9. Guardar y registrar el evento en la outbox
+        Pedido guardado = pedidoRepository.save(pedido);
+        eventoOutboxRepository.registrar(EventoDominio.vehiculoPedidoCambiado(guardado, vehiculoAnteriorId));
+        return guardado;
     }
 }
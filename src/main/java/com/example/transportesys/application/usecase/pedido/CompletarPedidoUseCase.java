@@ -1,7 +1,10 @@
 package com.example.transportesys.application.usecase.pedido;
 
-import com.example.transportesys.domain.exception.ResourceNotFoundException;
+import com.example.transportesys.domain.enums.EstadoPedido;
 import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.PedidoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,17 +16,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class CompletarPedidoUseCase {
 
     private final PedidoRepository pedidoRepository;
+    private final ConteoPedidosRepository conteoPedidosRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CapacidadVehiculosRepository capacidadVehiculosRepository;
 
     @Transactional
     public Pedido execute(Long pedidoId) {
-        // Buscar el pedido
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-            .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado con ID: " + pedidoId));
-
-        // Completar
-        pedido.completar();
-
-        // Guardar y retornar
-        return pedidoRepository.save(pedido);
+        return TransicionEstadoPedido.aplicar(pedidoRepository, conteoPedidosRepository, eventoOutboxRepository,
+            capacidadVehiculosRepository, pedidoId, EstadoPedido.COMPLETADO);
     }
 }
@@ -1,12 +1,18 @@
 package com.example.transportesys.application.usecase.pedido;
 
+import com.example.transportesys.domain.enums.EstadoPedido;
 import com.example.transportesys.domain.exception.CapacidadInsuficienteException;
 import com.example.transportesys.domain.exception.ConductorInactivoException;
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.EventoDominio;
 import com.example.transportesys.domain.model.Pedido;
 import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
 import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.PedidoRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.specification.ConductorEstaActivoSpec;
@@ -20,8 +26,9 @@ import org.springframework.transaction.annotation.Transactional;
  * Valida:
  * - Vehículo existe y está activo
  * - Conductor existe y está activo
- * - Vehículo tiene capacidad suficiente
+ * - Vehículo tiene capacidad suficiente, sumando el peso de sus otros pedidos activos
  * - Conductor no supera el límite de vehículos (ya validado en asignación)
+ * Sin vehículo ni conductor, el pedido queda pendiente sin asignar para el despacho automático.
  */
 public class CrearPedidoUseCase {
 
@@ -31,6 +38,9 @@ public class CrearPedidoUseCase {
     private final VehiculoTieneCapacidadSuficienteSpec capacidadSpec;
     private final VehiculoEstaActivoSpec vehiculoActivoSpec;
     private final ConductorEstaActivoSpec conductorActivoSpec;
+    private final ConteoPedidosRepository conteoPedidosRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CapacidadVehiculosRepository capacidadVehiculosRepository;
 
     public CrearPedidoUseCase(
             PedidoRepository pedidoRepository,
@@ -38,13 +48,19 @@ public class CrearPedidoUseCase {
             ConductorRepository conductorRepository,
             VehiculoTieneCapacidadSuficienteSpec capacidadSpec,
             VehiculoEstaActivoSpec vehiculoActivoSpec,
-            ConductorEstaActivoSpec conductorActivoSpec) {
+            ConductorEstaActivoSpec conductorActivoSpec,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
         this.pedidoRepository = pedidoRepository;
         this.vehiculoRepository = vehiculoRepository;
         this.conductorRepository = conductorRepository;
         this.capacidadSpec = capacidadSpec;
         this.vehiculoActivoSpec = vehiculoActivoSpec;
         this.conductorActivoSpec = conductorActivoSpec;
+        this.conteoPedidosRepository = conteoPedidosRepository;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.capacidadVehiculosRepository = capacidadVehiculosRepository;
     }
 
     @Transactional
@@ -56,6 +72,32 @@ public class CrearPedidoUseCase {
             String direccionOrigen,
             String direccionDestino) {
 
+        Peso peso = new Peso(pesoKg);
+        Pedido pedido = new Pedido(null, descripcion, peso);
+        pedido.setDireccionOrigen(direccionOrigen);
+        pedido.setDireccionDestino(direccionDestino);
+
+        if (vehiculoId != null || conductorId != null) {
+            asignar(pedido, vehiculoId, conductorId);
+        }
+
+        // Guardar
+        Pedido guardado = pedidoRepository.save(pedido);
+
+        // Actualizar contadores por estado (se aplica al confirmar la transacción)
+        conteoPedidosRepository.sumar(EstadoPedido.PENDIENTE, 1);
+
+        // Registrar el evento en la outbox, en la misma transacción
+        eventoOutboxRepository.registrar(EventoDominio.pedidoCreado(guardado));
+
+        return guardado;
+    }
+
+    private void asignar(Pedido pedido, Long vehiculoId, Long conductorId) {
+        if (vehiculoId == null || conductorId == null) {
+            throw new ParametroInvalidoException("El ID del vehículo y del conductor se informan juntos o ninguno de los dos");
+        }
+
         // 1. Obtener y validar vehículo
         Vehiculo vehiculo = vehiculoRepository.findById(vehiculoId)
             .orElseThrow(() -> new ResourceNotFoundException("Vehículo no encontrado con ID: " + vehiculoId));
@@ -73,7 +115,7 @@ public class CrearPedidoUseCase {
         }
 
         // 3. Validar capacidad del vehículo
-        Peso peso = new Peso(pesoKg);
+        Peso peso = pedido.getPeso();
         if (!capacidadSpec.isSatisfiedBy(vehiculo, peso)) {
             throw new CapacidadInsuficienteException(
                 String.format("El vehículo no tiene capacidad suficiente. Capacidad: %s kg, Peso del pedido: %s kg",
@@ -81,15 +123,14 @@ public class CrearPedidoUseCase {
             );
         }
 
-        // 4. Crear el pedido
-        Pedido pedido = new Pedido(null, descripcion, peso);
-        pedido.setDireccionOrigen(direccionOrigen);
-        pedido.setDireccionDestino(direccionDestino);
+        // 4. Reservar la capacidad restante del vehículo (se devuelve si la transacción se revierte)
+        if (!capacidadVehiculosRepository.reservar(vehiculoId, vehiculo.getCapacidad(), peso,
+                () -> pedidoRepository.sumarPesoActivo(vehiculoId))) {
+            throw new CapacidadInsuficienteException(vehiculo.getCapacidad(),
+                capacidadVehiculosRepository.obtenerComprometido(vehiculoId).orElseThrow(), peso);
+        }
 
         // 5. Asignar vehículo y conductor
         pedido.asignarVehiculoYConductor(vehiculoId, conductorId);
-
-        // 6. Guardar y retornar
-        return pedidoRepository.save(pedido);
     }
 }
@@ -0,0 +1,234 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.exception.CapacidadInsuficienteException;
+import com.example.transportesys.domain.exception.ConductorInactivoException;
+import com.example.transportesys.domain.exception.DomainException;
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
+import com.example.transportesys.domain.exception.ResourceNotFoundException;
+import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.EventoDominio;
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.repository.VehiculoRepository;
+import com.example.transportesys.domain.specification.ConductorEstaActivoSpec;
+import com.example.transportesys.domain.specification.VehiculoEstaActivoSpec;
+import com.example.transportesys.domain.specification.VehiculoTieneCapacidadSuficienteSpec;
+import com.example.transportesys.domain.valueobject.Peso;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caso de uso para crear pedidos en lote.
+ * Aplica las mismas validaciones que CrearPedidoUseCase, pero:
+ * - Carga todos los vehículos y conductores referenciados con una consulta por tipo
+ * - Inserta los pedidos válidos en lote
+ * - Reporta el resultado de cada ítem sin abortar el lote por ítems inválidos
+ * Los ítems sin vehículo ni conductor se crean pendientes sin asignar.
+ */
+public class CrearPedidosLoteUseCase {
+
+    public static final int MAXIMO_ITEMS = 5000;
+
+    private final PedidoRepository pedidoRepository;
+    private final VehiculoRepository vehiculoRepository;
+    private final ConductorRepository conductorRepository;
+    private final VehiculoTieneCapacidadSuficienteSpec capacidadSpec;
+    private final VehiculoEstaActivoSpec vehiculoActivoSpec;
+    private final ConductorEstaActivoSpec conductorActivoSpec;
+    private final ConteoPedidosRepository conteoPedidosRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CapacidadVehiculosRepository capacidadVehiculosRepository;
+
+    public CrearPedidosLoteUseCase(
+            PedidoRepository pedidoRepository,
+            VehiculoRepository vehiculoRepository,
+            ConductorRepository conductorRepository,
+            VehiculoTieneCapacidadSuficienteSpec capacidadSpec,
+            VehiculoEstaActivoSpec vehiculoActivoSpec,
+            ConductorEstaActivoSpec conductorActivoSpec,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        this.pedidoRepository = pedidoRepository;
+        this.vehiculoRepository = vehiculoRepository;
+        this.conductorRepository = conductorRepository;
+        this.capacidadSpec = capacidadSpec;
+        this.vehiculoActivoSpec = vehiculoActivoSpec;
+        this.conductorActivoSpec = conductorActivoSpec;
+        this.conteoPedidosRepository = conteoPedidosRepository;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.capacidadVehiculosRepository = capacidadVehiculosRepository;
+    }
+
+    @Transactional
+    public List<ResultadoItem> execute(List<ItemPedido> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ParametroInvalidoException("El lote debe contener al menos un pedido");
+        }
+        if (items.size() > MAXIMO_ITEMS) {
+            throw new ParametroInvalidoException(
+                String.format("El lote no puede superar %d pedidos. Recibidos: %d", MAXIMO_ITEMS, items.size()));
+        }
+
+        // 1. Cargar todos los vehículos y conductores referenciados en una consulta por tipo
+        Map<Long, Vehiculo> vehiculos = vehiculoRepository.findAllByIds(idsReferenciados(items, ItemPedido::getVehiculoId))
+            .stream()
+            .collect(Collectors.toMap(Vehiculo::getId, Function.identity()));
+        Map<Long, Conductor> conductores = conductorRepository.findAllByIds(idsReferenciados(items, ItemPedido::getConductorId))
+            .stream()
+            .collect(Collectors.toMap(Conductor::getId, Function.identity()));
+
+        // 2. Validar cada ítem en memoria
+        ResultadoItem[] resultados = new ResultadoItem[items.size()];
+        List<Pedido> validos = new ArrayList<>();
+        List<Integer> indicesValidos = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                validos.add(crearPedido(items.get(i), vehiculos, conductores));
+                indicesValidos.add(i);
+            } catch (DomainException | IllegalStateException e) {
+                resultados[i] = ResultadoItem.fallido(i, e.getMessage());
+            }
+        }
+
+        // 3. Insertar los pedidos válidos en lote
+        if (!validos.isEmpty()) {
+            List<Pedido> guardados = pedidoRepository.saveAll(validos);
+            conteoPedidosRepository.sumar(EstadoPedido.PENDIENTE, guardados.size());
+            eventoOutboxRepository.registrarTodos(guardados.stream().map(EventoDominio::pedidoCreado).toList());
+            for (int j = 0; j < guardados.size(); j++) {
+                int indice = indicesValidos.get(j);
+                resultados[indice] = ResultadoItem.creado(indice, guardados.get(j).getId());
+            }
+        }
+
+        return Arrays.asList(resultados);
+    }
+
+    private Pedido crearPedido(ItemPedido item, Map<Long, Vehiculo> vehiculos, Map<Long, Conductor> conductores) {
+        if (item == null) {
+            throw new ParametroInvalidoException("El pedido no puede ser nulo");
+        }
+        if (item.getDescripcion() == null || item.getDescripcion().isBlank()) {
+            throw new ParametroInvalidoException("La descripción es obligatoria");
+        }
+        if (item.getPesoKg() == null || item.getPesoKg() <= 0) {
+            throw new ParametroInvalidoException("El peso debe ser mayor a cero");
+        }
+
+        Peso peso = new Peso(item.getPesoKg());
+        if (item.getVehiculoId() == null && item.getConductorId() == null) {
+            // Sin asignación: queda pendiente para el despacho automático
+            return nuevoPedido(item, peso);
+        }
+        if (item.getVehiculoId() == null || item.getConductorId() == null) {
+            throw new ParametroInvalidoException("El ID del vehículo y del conductor se informan juntos o ninguno de los dos");
+        }
+
+        Vehiculo vehiculo = vehiculos.get(item.getVehiculoId());
+        if (vehiculo == null) {
+            throw new ResourceNotFoundException("Vehículo no encontrado con ID: " + item.getVehiculoId());
+        }
+        if (!vehiculoActivoSpec.isSatisfiedBy(vehiculo)) {
+            throw new IllegalStateException("El vehículo no está activo");
+        }
+
+        Conductor conductor = conductores.get(item.getConductorId());
+        if (conductor == null) {
+            throw new ResourceNotFoundException("Conductor no encontrado con ID: " + item.getConductorId());
+        }
+        if (!conductorActivoSpec.isSatisfiedBy(conductor)) {
+            throw new ConductorInactivoException();
+        }
+
+        if (!capacidadSpec.isSatisfiedBy(vehiculo, peso)) {
+            throw new CapacidadInsuficienteException(
+                String.format("El vehículo no tiene capacidad suficiente. Capacidad: %s kg, Peso del pedido: %s kg",
+                    vehiculo.getCapacidad().getValorEnKg(), peso.getValorEnKg())
+            );
+        }
+
+        // Reserva atómica: los ítems del lote sobre el mismo vehículo también se suman entre sí
+        if (!capacidadVehiculosRepository.reservar(vehiculo.getId(), vehiculo.getCapacidad(), peso,
+                () -> pedidoRepository.sumarPesoActivo(vehiculo.getId()))) {
+            throw new CapacidadInsuficienteException(vehiculo.getCapacidad(),
+                capacidadVehiculosRepository.obtenerComprometido(vehiculo.getId()).orElseThrow(), peso);
+        }
+
+        Pedido pedido = nuevoPedido(item, peso);
+        pedido.asignarVehiculoYConductor(item.getVehiculoId(), item.getConductorId());
+        return pedido;
+    }
+
+    private static Pedido nuevoPedido(ItemPedido item, Peso peso) {
+        Pedido pedido = new Pedido(null, item.getDescripcion(), peso);
+        pedido.setDireccionOrigen(item.getDireccionOrigen());
+        pedido.setDireccionDestino(item.getDireccionDestino());
+        return pedido;
+    }
+
+    private static Set<Long> idsReferenciados(List<ItemPedido> items, Function<ItemPedido, Long> extractor) {
+        Set<Long> ids = new HashSet<>();
+        for (ItemPedido item : items) {
+            if (item != null) {
+                ids.add(extractor.apply(item));
+            }
+        }
+        ids.remove(null);
+        return ids;
+    }
+
+    /**
+     * Datos de entrada de un pedido dentro del lote.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ItemPedido {
+        private final String descripcion;
+        private final Double pesoKg;
+        private final Long vehiculoId;
+        private final Long conductorId;
+        private final String direccionOrigen;
+        private final String direccionDestino;
+    }
+
+    /**
+     * Resultado de un ítem del lote: el ID creado o el motivo del rechazo.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ResultadoItem {
+        private final int indice;
+        private final Long pedidoId;
+        private final String error;
+
+        public static ResultadoItem creado(int indice, Long pedidoId) {
+            return new ResultadoItem(indice, pedidoId, null);
+        }
+
+        public static ResultadoItem fallido(int indice, String error) {
+            return new ResultadoItem(indice, null, error);
+        }
+
+        public boolean isCreado() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.model.FiltroPedidos;
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+/**
+ * Caso de uso para exportar pedidos fila por fila.
+ * Los pedidos se entregan al consumidor a medida que se leen, sin materializar la lista completa.
+ */
+public class ExportarPedidosUseCase {
+
+    private final PedidoRepository pedidoRepository;
+
+    public ExportarPedidosUseCase(PedidoRepository pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    /**
+     * Recorre los pedidos que cumplen el filtro y retorna la cantidad exportada.
+     * La transacción de solo lectura mantiene abierto el cursor de base de datos durante el recorrido.
+     */
+    @Transactional(readOnly = true)
+    public long execute(FiltroPedidos filtro, Consumer<Pedido> consumidor) {
+        return pedidoRepository.recorrer(filtro, consumidor);
+    }
+}
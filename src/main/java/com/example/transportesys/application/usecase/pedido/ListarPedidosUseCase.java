@@ -1,9 +1,11 @@
 package com.example.transportesys.application.usecase.pedido;
 
 import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.model.Pedido;
 import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.valueobject.Cursor;
 
 import java.util.List;
 
@@ -12,6 +14,8 @@ import java.util.List;
  */
 public class ListarPedidosUseCase {
 
+    private static final int TAMANO_MAXIMO_PAGINA = 500;
+
     private final PedidoRepository pedidoRepository;
 
     public ListarPedidosUseCase(PedidoRepository pedidoRepository) {
@@ -30,6 +34,15 @@ public class ListarPedidosUseCase {
         return pedidoRepository.findAllPaged(page, size);
     }
 
+    /**
+     * Paginación por cursor: un cursor nulo o vacío devuelve la primera página.
+     */
+    public CursorPageResult<Pedido> executeByCursor(String cursor, int size) {
+        Cursor posicion = (cursor == null || cursor.isBlank()) ? null : Cursor.decodificar(cursor);
+        int tamano = Math.max(1, Math.min(size, TAMANO_MAXIMO_PAGINA));
+        return pedidoRepository.findAllByCursor(posicion, tamano);
+    }
+
     public List<Pedido> executeByEstado(EstadoPedido estado) {
         return pedidoRepository.findByEstado(estado);
     }
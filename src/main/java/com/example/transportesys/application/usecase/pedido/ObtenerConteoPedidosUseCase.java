@@ -0,0 +1,26 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Caso de uso para obtener la cantidad de pedidos por estado desde los contadores
+ * mantenidos de forma incremental, sin agregar sobre la tabla de pedidos.
+ */
+@RequiredArgsConstructor
+public class ObtenerConteoPedidosUseCase {
+
+    private final ConteoPedidosRepository conteoPedidosRepository;
+    private final ReconciliarConteoPedidosUseCase reconciliarConteoPedidosUseCase;
+
+    public Map<EstadoPedido, Long> execute() {
+        // Antes de la primera reconciliación los contadores aún no reflejan la base de datos
+        if (!conteoPedidosRepository.estaInicializado()) {
+            reconciliarConteoPedidosUseCase.execute();
+        }
+        return conteoPedidosRepository.obtenerConteos();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Caso de uso para recalcular desde la base de datos el peso comprometido en cada vehículo.
+ * Corrige el desvío acumulado (otras instancias, cambios fuera de los casos de uso) con una sola agregación.
+ * Retorna la cantidad de vehículos corregidos.
+ */
+@RequiredArgsConstructor
+public class ReconciliarCapacidadVehiculosUseCase {
+
+    private final PedidoRepository pedidoRepository;
+    private final CapacidadVehiculosRepository capacidadVehiculosRepository;
+
+    @Transactional(readOnly = true)
+    public int execute() {
+        return capacidadVehiculosRepository.reconciliar(pedidoRepository::sumarPesoActivoPorVehiculo);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Caso de uso para recalcular los contadores de pedidos por estado desde la base de datos.
+ * Corrige el desvío acumulado (otras instancias, cambios fuera de los casos de uso).
+ * Retorna los conteos recalculados.
+ */
+@RequiredArgsConstructor
+public class ReconciliarConteoPedidosUseCase {
+
+    private final PedidoRepository pedidoRepository;
+    private final ConteoPedidosRepository conteoPedidosRepository;
+
+    @Transactional(readOnly = true)
+    public Map<EstadoPedido, Long> execute() {
+        conteoPedidosRepository.reemplazar(pedidoRepository::contarPorEstado);
+        return conteoPedidosRepository.obtenerConteos();
+    }
+}
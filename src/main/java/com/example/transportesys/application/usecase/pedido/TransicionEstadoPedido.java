@@ -0,0 +1,54 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.exception.DomainException;
+import com.example.transportesys.domain.exception.ResourceNotFoundException;
+import com.example.transportesys.domain.model.CambioEstadoPedido;
+import com.example.transportesys.domain.model.EventoDominio;
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+
+import java.util.Optional;
+
+/**
+ * Aplica una transición de estado con una única sentencia condicional (compare-and-set).
+ * Solo cuando la sentencia no actualiza nada se carga el pedido para reportar el motivo.
+ * Al pasar a un estado final, el peso del pedido deja de estar comprometido en su vehículo.
+ */
+final class TransicionEstadoPedido {
+
+    private TransicionEstadoPedido() {
+    }
+
+    static Pedido aplicar(PedidoRepository pedidoRepository, ConteoPedidosRepository conteoPedidosRepository,
+                          EventoOutboxRepository eventoOutboxRepository,
+                          CapacidadVehiculosRepository capacidadVehiculosRepository,
+                          Long pedidoId, EstadoPedido nuevoEstado) {
+        if (nuevoEstado == null) {
+            throw new DomainException("El nuevo estado no puede ser nulo");
+        }
+
+        Optional<CambioEstadoPedido> cambio = pedidoRepository.transicionarEstado(pedidoId, nuevoEstado);
+        if (cambio.isPresent()) {
+            conteoPedidosRepository.registrarTransicion(cambio.get().getEstadoAnterior(), nuevoEstado);
+            if (cambio.get().liberaCapacidad()) {
+                capacidadVehiculosRepository.liberar(cambio.get().getVehiculoId(), cambio.get().getPeso());
+            }
+            eventoOutboxRepository.registrar(EventoDominio.estadoPedidoCambiado(cambio.get()));
+            return cambio.get().getPedido();
+        }
+
+        Pedido pedido = pedidoRepository.findById(pedidoId)
+            .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado con ID: " + pedidoId));
+
+        // Lanza DomainException con el motivo si la transición no es válida
+        pedido.cambiarEstado(nuevoEstado);
+
+        // El pedido cumple las condiciones ahora, así que otra operación lo modificó entre ambas sentencias
+        throw new IllegalStateException(
+            String.format("El pedido %d cambió de estado concurrentemente, reintente la operación", pedidoId));
+    }
+}
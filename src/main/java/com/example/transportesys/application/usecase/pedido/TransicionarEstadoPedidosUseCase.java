@@ -0,0 +1,91 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.exception.DomainException;
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
+import com.example.transportesys.domain.model.CambioEstadoPedido;
+import com.example.transportesys.domain.model.EventoDominio;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Caso de uso para cambiar el estado de muchos pedidos a la vez.
+ * Ejecuta una única sentencia condicional: solo cambian los pedidos cuyo estado actual
+ * permite la transición, y el resto se reporta sin abortar la operación.
+ */
+@RequiredArgsConstructor
+public class TransicionarEstadoPedidosUseCase {
+
+    public static final int MAXIMO_IDS = 1000;
+
+    private final PedidoRepository pedidoRepository;
+    private final ConteoPedidosRepository conteoPedidosRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CapacidadVehiculosRepository capacidadVehiculosRepository;
+
+    @Transactional
+    public ResultadoTransicion execute(Collection<Long> pedidoIds, EstadoPedido nuevoEstado) {
+        if (nuevoEstado == null) {
+            throw new DomainException("El nuevo estado no puede ser nulo");
+        }
+        if (pedidoIds == null || pedidoIds.isEmpty()) {
+            throw new ParametroInvalidoException("Debe indicar al menos un ID de pedido");
+        }
+
+        Set<Long> ids = pedidoIds.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.size() > MAXIMO_IDS) {
+            throw new ParametroInvalidoException(
+                String.format("No se pueden cambiar más de %d pedidos a la vez. Recibidos: %d", MAXIMO_IDS, ids.size()));
+        }
+
+        Set<Long> actualizados = new HashSet<>();
+        List<EventoDominio> eventos = new ArrayList<>();
+        for (CambioEstadoPedido cambio : pedidoRepository.transicionarEstado(ids, nuevoEstado)) {
+            actualizados.add(cambio.getPedidoId());
+            conteoPedidosRepository.registrarTransicion(cambio.getEstadoAnterior(), nuevoEstado);
+            if (cambio.liberaCapacidad()) {
+                capacidadVehiculosRepository.liberar(cambio.getVehiculoId(), cambio.getPeso());
+            }
+            eventos.add(EventoDominio.estadoPedidoCambiado(cambio));
+        }
+        eventoOutboxRepository.registrarTodos(eventos);
+
+        List<Long> noActualizados = ids.stream()
+            .filter(id -> !actualizados.contains(id))
+            .collect(Collectors.toList());
+        List<Long> actualizadosOrdenados = ids.stream()
+            .filter(actualizados::contains)
+            .collect(Collectors.toList());
+
+        return new ResultadoTransicion(nuevoEstado, actualizadosOrdenados, noActualizados);
+    }
+
+    /**
+     * Resultado del cambio de estado en lote, en el orden de los IDs recibidos.
+     * Los no actualizados no existen o su estado actual no permite la transición.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ResultadoTransicion {
+        private final EstadoPedido estado;
+        private final List<Long> actualizados;
+        private final List<Long> noActualizados;
+    }
+}
@@ -1,26 +1,33 @@
 package com.example.transportesys.application.usecase.usuario;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.exception.DomainException;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Usuario;
+import com.example.transportesys.domain.repository.RevocacionTokensRepository;
 import com.example.transportesys.domain.repository.UsuarioRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Caso de uso para cambiar la contraseña de un usuario.
+ * El cambio revoca los tokens emitidos con la contraseña anterior.
  */
 public class ChangePasswordUseCase {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RevocacionTokensRepository revocacionTokensRepository;
 
     public ChangePasswordUseCase(UsuarioRepository usuarioRepository,
-                                PasswordEncoder passwordEncoder) {
+                                PasswordEncoder passwordEncoder,
+                                RevocacionTokensRepository revocacionTokensRepository) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.revocacionTokensRepository = revocacionTokensRepository;
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public void execute(Long usuarioId, String oldPassword, String newPassword) {
         Usuario usuario = usuarioRepository.findById(usuarioId)
@@ -32,19 +39,25 @@ public class ChangePasswordUseCase {
         }
 
         // Actualizar contraseña
-        usuario.setPassword(passwordEncoder.encode(newPassword));
-        usuarioRepository.save(usuario);
+        cambiarPassword(usuario, newPassword);
     }
 
     /**
      * Cambio de contraseña por admin (sin verificar contraseña anterior)
      */
+    @ReintentarEnConflicto
     @Transactional
     public void executeByAdmin(Long usuarioId, String newPassword) {
         Usuario usuario = usuarioRepository.findById(usuarioId)
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + usuarioId));
 
+        cambiarPassword(usuario, newPassword);
+    }
+
+    private void cambiarPassword(Usuario usuario, String newPassword) {
         usuario.setPassword(passwordEncoder.encode(newPassword));
+        usuario.invalidarTokens();
         usuarioRepository.save(usuario);
+        revocacionTokensRepository.revocar(usuario.getUsername(), usuario.getVersionToken());
     }
 }
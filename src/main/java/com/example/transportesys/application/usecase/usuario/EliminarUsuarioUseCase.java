@@ -2,6 +2,7 @@ package com.example.transportesys.application.usecase.usuario;
 
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Usuario;
+import com.example.transportesys.domain.repository.RevocacionTokensRepository;
 import com.example.transportesys.domain.repository.UsuarioRepository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,13 +12,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class EliminarUsuarioUseCase {
 
     private final UsuarioRepository usuarioRepository;
+    private final RevocacionTokensRepository revocacionTokensRepository;
 
-    public EliminarUsuarioUseCase(UsuarioRepository usuarioRepository) {
+    public EliminarUsuarioUseCase(UsuarioRepository usuarioRepository,
+                                  RevocacionTokensRepository revocacionTokensRepository) {
         this.usuarioRepository = usuarioRepository;
+        this.revocacionTokensRepository = revocacionTokensRepository;
     }
 
     /**
-     * Desactiva el usuario (eliminación lógica).
+     * Desactiva el usuario (eliminación lógica) y revoca sus tokens vigentes.
      */
     @Transactional
     public void execute(Long usuarioId) {
@@ -25,6 +29,8 @@ public class EliminarUsuarioUseCase {
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + usuarioId));
 
         usuario.desactivar();
+        usuario.invalidarTokens();
         usuarioRepository.save(usuario);
+        revocacionTokensRepository.revocar(usuario.getUsername(), usuario.getVersionToken());
     }
 }
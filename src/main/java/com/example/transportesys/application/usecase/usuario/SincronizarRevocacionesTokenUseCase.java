@@ -0,0 +1,21 @@
+package com.example.transportesys.application.usecase.usuario;
+
+import com.example.transportesys.domain.repository.RevocacionTokensRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Caso de uso para purgar las revocaciones de tokens vencidas y cargar en memoria las vigentes.
+ * Al iniciar reconstruye la lista tras un reinicio; después incorpora las revocaciones de otras instancias.
+ * Retorna la cantidad de revocaciones vigentes.
+ */
+@RequiredArgsConstructor
+public class SincronizarRevocacionesTokenUseCase {
+
+    private final RevocacionTokensRepository revocacionTokensRepository;
+
+    @Transactional
+    public int execute() {
+        return revocacionTokensRepository.sincronizar();
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.transportesys.application.usecase.usuario;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.enums.RolUsuario;
 import com.example.transportesys.domain.exception.DomainException;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Usuario;
+import com.example.transportesys.domain.repository.RevocacionTokensRepository;
 import com.example.transportesys.domain.repository.UsuarioRepository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,15 +13,20 @@ import java.util.Set;
 
 /**
  * Caso de uso para actualizar información de un usuario.
+ * Un cambio de roles revoca los tokens vigentes, que llevan los roles anteriores en sus claims.
  */
 public class UpdateUsuarioUseCase {
 
     private final UsuarioRepository usuarioRepository;
+    private final RevocacionTokensRepository revocacionTokensRepository;
 
-    public UpdateUsuarioUseCase(UsuarioRepository usuarioRepository) {
+    public UpdateUsuarioUseCase(UsuarioRepository usuarioRepository,
+                                RevocacionTokensRepository revocacionTokensRepository) {
         this.usuarioRepository = usuarioRepository;
+        this.revocacionTokensRepository = revocacionTokensRepository;
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public Usuario execute(Long usuarioId, String email, Set<RolUsuario> roles) {
         Usuario usuario = usuarioRepository.findById(usuarioId)
@@ -34,10 +41,16 @@ public class UpdateUsuarioUseCase {
         }
 
         // Actualizar roles si se proporcionan
-        if (roles != null && !roles.isEmpty()) {
+        boolean cambiaRoles = roles != null && !roles.isEmpty() && !roles.equals(usuario.getRoles());
+        if (cambiaRoles) {
             usuario.setRoles(roles);
+            usuario.invalidarTokens();
         }
 
-        return usuarioRepository.save(usuario);
+        Usuario guardado = usuarioRepository.save(usuario);
+        if (cambiaRoles) {
+            revocacionTokensRepository.revocar(guardado.getUsername(), guardado.getVersionToken());
+        }
+        return guardado;
     }
 }
@@ -1,7 +1,9 @@
 package com.example.transportesys.application.usecase.vehiculo;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.valueobject.Capacidad;
 import com.example.transportesys.domain.valueobject.Placa;
@@ -13,11 +15,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class ActualizarVehiculoUseCase {
 
     private final VehiculoRepository vehiculoRepository;
+    private final DisponibilidadFlotaRepository disponibilidadFlotaRepository;
 
-    public ActualizarVehiculoUseCase(VehiculoRepository vehiculoRepository) {
+    public ActualizarVehiculoUseCase(VehiculoRepository vehiculoRepository,
+                                     DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
         this.vehiculoRepository = vehiculoRepository;
+        this.disponibilidadFlotaRepository = disponibilidadFlotaRepository;
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public Vehiculo execute(Long id, String placaStr, Double capacidadKg) {
         // Buscar el vehículo
@@ -35,7 +41,9 @@ public class ActualizarVehiculoUseCase {
             vehiculo.setCapacidad(nuevaCapacidad);
         }
 
-        // Guardar y retornar
-        return vehiculoRepository.save(vehiculo);
+        // Guardar y reflejar la nueva capacidad en el índice de vehículos libres
+        Vehiculo guardado = vehiculoRepository.save(vehiculo);
+        disponibilidadFlotaRepository.registrar(guardado);
+        return guardado;
     }
 }
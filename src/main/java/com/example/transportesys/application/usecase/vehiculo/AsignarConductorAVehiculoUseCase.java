@@ -1,39 +1,51 @@
 package com.example.transportesys.application.usecase.vehiculo;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.exception.VehiculoYaAsignadoException;
 import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.EventoDominio;
 import com.example.transportesys.domain.model.Vehiculo;
 import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.specification.ConductorPuedeAsignarVehiculoSpec;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Caso de uso para asignar un conductor a un vehículo.
+ * La asignación vive solo en el vehículo; los vehículos del conductor se derivan de ella.
  */
 public class AsignarConductorAVehiculoUseCase {
 
     private final VehiculoRepository vehiculoRepository;
     private final ConductorRepository conductorRepository;
     private final ConductorPuedeAsignarVehiculoSpec conductorPuedeAsignarSpec;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final DisponibilidadFlotaRepository disponibilidadFlotaRepository;
 
     public AsignarConductorAVehiculoUseCase(
             VehiculoRepository vehiculoRepository,
-            ConductorRepository conductorRepository) {
+            ConductorRepository conductorRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
         this.vehiculoRepository = vehiculoRepository;
         this.conductorRepository = conductorRepository;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.disponibilidadFlotaRepository = disponibilidadFlotaRepository;
         this.conductorPuedeAsignarSpec = new ConductorPuedeAsignarVehiculoSpec();
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public Vehiculo execute(Long vehiculoId, Long conductorId) {
         // Buscar vehículo
         Vehiculo vehiculo = vehiculoRepository.findById(vehiculoId)
             .orElseThrow(() -> new ResourceNotFoundException("Vehículo no encontrado con ID: " + vehiculoId));
 
-        // Buscar conductor
-        Conductor conductor = conductorRepository.findById(conductorId)
+        // Buscar conductor bloqueando su fila: serializa asignaciones concurrentes al mismo conductor
+        Conductor conductor = conductorRepository.findByIdForUpdate(conductorId)
             .orElseThrow(() -> new ResourceNotFoundException("Conductor no encontrado con ID: " + conductorId));
 
         // CRITICAL: Validar que el vehículo no esté asignado a otro conductor
@@ -48,17 +60,13 @@ public class AsignarConductorAVehiculoUseCase {
             );
         }
 
-        // Asignar conductor al vehículo
+        // Asignar conductor al vehículo y persistirlo con un único UPDATE
         vehiculo.asignarConductor(conductorId);
+        vehiculoRepository.actualizarConductor(vehiculo);
+        disponibilidadFlotaRepository.registrar(vehiculo);
 
-        // Asignar vehículo al conductor (solo si no lo tiene ya)
-        if (!conductor.getVehiculosIds().contains(vehiculoId)) {
-            conductor.asignarVehiculo(vehiculoId);
-        }
-
-        // Guardar ambos
-        vehiculoRepository.save(vehiculo);
-        conductorRepository.save(conductor);
+        // Registrar el evento en la outbox, en la misma transacción
+        eventoOutboxRepository.registrar(EventoDominio.conductorAsignado(vehiculoId, conductorId));
 
         return vehiculo;
     }
@@ -0,0 +1,39 @@
+package com.example.transportesys.application.usecase.vehiculo;
+
+import com.example.transportesys.domain.enums.CriterioAjuste;
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
+import com.example.transportesys.domain.valueobject.Peso;
+
+import java.util.List;
+
+/**
+ * Caso de uso para buscar vehículos libres que alcancen para un peso.
+ * Resuelve sobre el índice en memoria, sin consultar la base de datos.
+ */
+public class BuscarVehiculosLibresPorPesoUseCase {
+
+    private final DisponibilidadFlotaRepository disponibilidadFlotaRepository;
+    private final ReconciliarDisponibilidadFlotaUseCase reconciliarDisponibilidadFlotaUseCase;
+
+    public BuscarVehiculosLibresPorPesoUseCase(DisponibilidadFlotaRepository disponibilidadFlotaRepository,
+                                               ReconciliarDisponibilidadFlotaUseCase reconciliarDisponibilidadFlotaUseCase) {
+        this.disponibilidadFlotaRepository = disponibilidadFlotaRepository;
+        this.reconciliarDisponibilidadFlotaUseCase = reconciliarDisponibilidadFlotaUseCase;
+    }
+
+    public List<Vehiculo> execute(Double pesoKg, CriterioAjuste criterio) {
+        Peso peso = new Peso(pesoKg);
+
+        // Antes de la primera reconciliación el índice aún no refleja la base de datos
+        if (!disponibilidadFlotaRepository.estaInicializado()) {
+            reconciliarDisponibilidadFlotaUseCase.execute();
+        }
+
+        return switch (criterio) {
+            case MEJOR_AJUSTE -> disponibilidadFlotaRepository.buscarMejorAjuste(peso).map(List::of).orElse(List.of());
+            case PRIMER_AJUSTE -> disponibilidadFlotaRepository.buscarPrimerAjuste(peso).map(List::of).orElse(List.of());
+            case TODOS -> disponibilidadFlotaRepository.buscarTodosLosQueCaben(peso);
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.example.transportesys.application.usecase.vehiculo;
 
 import com.example.transportesys.domain.exception.VehiculoDuplicadoException;
 import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.valueobject.Capacidad;
 import com.example.transportesys.domain.valueobject.Placa;
@@ -13,9 +14,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class CrearVehiculoUseCase {
 
     private final VehiculoRepository vehiculoRepository;
+    private final DisponibilidadFlotaRepository disponibilidadFlotaRepository;
 
-    public CrearVehiculoUseCase(VehiculoRepository vehiculoRepository) {
+    public CrearVehiculoUseCase(VehiculoRepository vehiculoRepository,
+                                DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
         this.vehiculoRepository = vehiculoRepository;
+        this.disponibilidadFlotaRepository = disponibilidadFlotaRepository;
     }
 
     @Transactional
@@ -30,7 +34,9 @@ public class CrearVehiculoUseCase {
         Capacidad capacidad = new Capacidad(capacidadKg);
         Vehiculo vehiculo = new Vehiculo(null, placa, capacidad);
 
-        // Guardar y retornar
-        return vehiculoRepository.save(vehiculo);
+        // Guardar, reflejar en el índice de vehículos libres y retornar
+        Vehiculo guardado = vehiculoRepository.save(vehiculo);
+        disponibilidadFlotaRepository.registrar(guardado);
+        return guardado;
     }
 }
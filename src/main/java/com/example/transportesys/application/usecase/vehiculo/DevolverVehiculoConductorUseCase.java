@@ -1,10 +1,12 @@
 package com.example.transportesys.application.usecase.vehiculo;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.exception.VehiculoEnUsoException;
-import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.EventoDominio;
 import com.example.transportesys.domain.model.Vehiculo;
-import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.PedidoRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,18 +18,22 @@ import org.springframework.transaction.annotation.Transactional;
 public class DevolverVehiculoConductorUseCase {
 
     private final VehiculoRepository vehiculoRepository;
-    private final ConductorRepository conductorRepository;
     private final PedidoRepository pedidoRepository;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final DisponibilidadFlotaRepository disponibilidadFlotaRepository;
 
     public DevolverVehiculoConductorUseCase(
             VehiculoRepository vehiculoRepository,
-            ConductorRepository conductorRepository,
-            PedidoRepository pedidoRepository) {
+            PedidoRepository pedidoRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
         this.vehiculoRepository = vehiculoRepository;
-        this.conductorRepository = conductorRepository;
         this.pedidoRepository = pedidoRepository;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.disponibilidadFlotaRepository = disponibilidadFlotaRepository;
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public Vehiculo execute(Long vehiculoId) {
         // 1. Buscar vehículo
@@ -41,25 +47,20 @@ public class DevolverVehiculoConductorUseCase {
 
         Long conductorId = vehiculo.getConductorId();
 
-        // 3. Buscar conductor
-        Conductor conductor = conductorRepository.findById(conductorId)
-            .orElseThrow(() -> new ResourceNotFoundException("Conductor no encontrado con ID: " + conductorId));
-
-        // 4. Verificar que el vehículo no esté siendo usado en pedidos activos
+        // 3. Verificar que el vehículo no esté siendo usado en pedidos activos
         long pedidosActivos = pedidoRepository.countActivosByVehiculoId(vehiculoId);
         if (pedidosActivos > 0) {
             throw new VehiculoEnUsoException(vehiculoId, (int) pedidosActivos);
         }
 
-        // 5. Desasignar vehículo del conductor
-        conductor.desasignarVehiculo(vehiculoId);
-
-        // 6. Desasignar conductor del vehículo
+        // 4. Desasignar conductor del vehículo y persistirlo con un único UPDATE
+        //    (los vehículos del conductor se derivan de vehiculos.conductor_id)
         vehiculo.desasignarConductor();
+        vehiculoRepository.actualizarConductor(vehiculo);
+        disponibilidadFlotaRepository.registrar(vehiculo);
 
-        // 7. Guardar ambos
-        conductorRepository.save(conductor);
-        vehiculoRepository.save(vehiculo);
+        // 5. Registrar el evento en la outbox, en la misma transacción
+        eventoOutboxRepository.registrar(EventoDominio.conductorDevuelto(vehiculoId, conductorId));
 
         return vehiculo;
     }
@@ -1,7 +1,9 @@
 package com.example.transportesys.application.usecase.vehiculo;
 
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,11 +13,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class EliminarVehiculoUseCase {
 
     private final VehiculoRepository vehiculoRepository;
+    private final DisponibilidadFlotaRepository disponibilidadFlotaRepository;
 
-    public EliminarVehiculoUseCase(VehiculoRepository vehiculoRepository) {
+    public EliminarVehiculoUseCase(VehiculoRepository vehiculoRepository,
+                                   DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
         this.vehiculoRepository = vehiculoRepository;
+        this.disponibilidadFlotaRepository = disponibilidadFlotaRepository;
     }
 
+    @ReintentarEnConflicto
     @Transactional
     public void execute(Long id) {
         // Buscar el vehículo
@@ -25,7 +31,8 @@ public class EliminarVehiculoUseCase {
         // Desactivar (eliminación lógica)
         vehiculo.desactivar();
 
-        // Guardar cambios
+        // Guardar cambios y sacarlo del índice de vehículos libres
         vehiculoRepository.save(vehiculo);
+        disponibilidadFlotaRepository.quitar(id);
     }
 }
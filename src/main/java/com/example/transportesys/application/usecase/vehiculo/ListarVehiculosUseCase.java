@@ -1,8 +1,10 @@
 package com.example.transportesys.application.usecase.vehiculo;
 
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.model.Vehiculo;
 import com.example.transportesys.domain.repository.VehiculoRepository;
+import com.example.transportesys.domain.valueobject.Cursor;
 
 import java.util.List;
 
@@ -11,6 +13,8 @@ import java.util.List;
  */
 public class ListarVehiculosUseCase {
 
+    private static final int TAMANO_MAXIMO_PAGINA = 500;
+
     private final VehiculoRepository vehiculoRepository;
 
     public ListarVehiculosUseCase(VehiculoRepository vehiculoRepository) {
@@ -29,6 +33,15 @@ public class ListarVehiculosUseCase {
         return vehiculoRepository.findAllPaged(page, size);
     }
 
+    /**
+     * Paginación por cursor: un cursor nulo o vacío devuelve la primera página.
+     */
+    public CursorPageResult<Vehiculo> executeByCursor(String cursor, int size) {
+        Cursor posicion = (cursor == null || cursor.isBlank()) ? null : Cursor.decodificar(cursor);
+        int tamano = Math.max(1, Math.min(size, TAMANO_MAXIMO_PAGINA));
+        return vehiculoRepository.findAllByCursor(posicion, tamano);
+    }
+
     public List<Vehiculo> executeActivos() {
         return vehiculoRepository.findByActivo(true);
     }
@@ -0,0 +1,27 @@
+package com.example.transportesys.application.usecase.vehiculo;
+
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
+import com.example.transportesys.domain.repository.VehiculoRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Caso de uso para recargar el índice de vehículos libres desde la base de datos.
+ * Corrige el desvío acumulado (otras instancias, cambios fuera de los casos de uso).
+ * Retorna la cantidad de vehículos libres cargados.
+ */
+public class ReconciliarDisponibilidadFlotaUseCase {
+
+    private final VehiculoRepository vehiculoRepository;
+    private final DisponibilidadFlotaRepository disponibilidadFlotaRepository;
+
+    public ReconciliarDisponibilidadFlotaUseCase(VehiculoRepository vehiculoRepository,
+                                                 DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
+        this.vehiculoRepository = vehiculoRepository;
+        this.disponibilidadFlotaRepository = disponibilidadFlotaRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public int execute() {
+        return disponibilidadFlotaRepository.reemplazar(vehiculoRepository::findVehiculosLibres);
+    }
+}
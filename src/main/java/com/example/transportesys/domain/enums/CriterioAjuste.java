@@ -0,0 +1,19 @@
+package com.example.transportesys.domain.enums;
+
+/**
+ * Criterio para elegir vehículos libres según el peso a transportar.
+ */
+public enum CriterioAjuste {
+    /**
+     * El vehículo de menor capacidad que alcanza para el peso.
+     */
+    MEJOR_AJUSTE,
+    /**
+     * El vehículo más antiguo (menor ID) que alcanza para el peso.
+     */
+    PRIMER_AJUSTE,
+    /**
+     * Todos los vehículos que alcanzan, de menor a mayor capacidad.
+     */
+    TODOS
+}
@@ -1,5 +1,8 @@
 package com.example.transportesys.domain.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Estados posibles de un pedido en el sistema de transporte.
  */
@@ -30,4 +33,24 @@ public enum EstadoPedido {
             case COMPLETADO, CANCELADO -> false;
         };
     }
+
+    /**
+     * Estados desde los que se puede transicionar a este estado.
+     */
+    public Set<EstadoPedido> predecesores() {
+        Set<EstadoPedido> predecesores = EnumSet.noneOf(EstadoPedido.class);
+        for (EstadoPedido estado : values()) {
+            if (estado.puedeTransicionarA(this)) {
+                predecesores.add(estado);
+            }
+        }
+        return predecesores;
+    }
+
+    /**
+     * Indica si el pedido debe tener vehículo y conductor asignados para pasar a este estado.
+     */
+    public boolean requiereAsignacion() {
+        return this == EN_PROGRESO;
+    }
 }
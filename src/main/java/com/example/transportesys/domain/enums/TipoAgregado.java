@@ -0,0 +1,10 @@
+package com.example.transportesys.domain.enums;
+
+/**
+ * Tipos de agregado que publican eventos de dominio.
+ * Los eventos de un mismo agregado se entregan en el orden en que ocurrieron.
+ */
+public enum TipoAgregado {
+    PEDIDO,
+    VEHICULO
+}
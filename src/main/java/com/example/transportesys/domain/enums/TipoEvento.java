@@ -0,0 +1,22 @@
+package com.example.transportesys.domain.enums;
+
+/**
+ * Eventos de dominio publicados a sistemas externos (facturación, seguimiento).
+ */
+public enum TipoEvento {
+    PEDIDO_CREADO(TipoAgregado.PEDIDO),
+    PEDIDO_ESTADO_CAMBIADO(TipoAgregado.PEDIDO),
+    PEDIDO_VEHICULO_CAMBIADO(TipoAgregado.PEDIDO),
+    VEHICULO_CONDUCTOR_ASIGNADO(TipoAgregado.VEHICULO),
+    VEHICULO_CONDUCTOR_DEVUELTO(TipoAgregado.VEHICULO);
+
+    private final TipoAgregado tipoAgregado;
+
+    TipoEvento(TipoAgregado tipoAgregado) {
+        this.tipoAgregado = tipoAgregado;
+    }
+
+    public TipoAgregado getTipoAgregado() {
+        return tipoAgregado;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.transportesys.domain.exception;
 
+import com.example.transportesys.domain.valueobject.Capacidad;
+import com.example.transportesys.domain.valueobject.Peso;
+
 public class CapacidadInsuficienteException extends DomainException {
     public CapacidadInsuficienteException(String message) {
         super(message);
@@ -8,4 +11,13 @@ public class CapacidadInsuficienteException extends DomainException {
     public CapacidadInsuficienteException() {
         super("El vehículo no tiene capacidad suficiente para este pedido");
     }
+
+    /**
+     * El pedido cabe en el vehículo vacío, pero no junto con lo que ya tiene comprometido.
+     */
+    public CapacidadInsuficienteException(Capacidad capacidad, Peso comprometido, Peso pesoPedido) {
+        super(String.format("El vehículo no tiene capacidad restante suficiente. Capacidad: %s kg, " +
+                            "comprometido: %s kg, Peso del pedido: %s kg",
+            capacidad.getValorEnKg(), comprometido.getValorEnKg(), pesoPedido.getValorEnKg()));
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.transportesys.domain.exception;
+
+public class CursorInvalidoException extends ParametroInvalidoException {
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
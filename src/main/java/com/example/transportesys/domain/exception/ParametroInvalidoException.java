@@ -0,0 +1,10 @@
+package com.example.transportesys.domain.exception;
+
+/**
+ * Parámetro de entrada inválido (rangos, tamaños de lote, formatos, cursores): se responde con 400.
+ */
+public class ParametroInvalidoException extends DomainException {
+    public ParametroInvalidoException(String message) {
+        super(message);
+    }
+}
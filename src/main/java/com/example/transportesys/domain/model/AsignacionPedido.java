@@ -0,0 +1,18 @@
+package com.example.transportesys.domain.model;
+
+import com.example.transportesys.domain.valueobject.Peso;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Vehículo y conductor elegidos para un pedido pendiente sin asignar.
+ */
+@Getter
+@AllArgsConstructor
+public class AsignacionPedido {
+
+    private final Long pedidoId;
+    private final Long vehiculoId;
+    private final Long conductorId;
+    private final Peso peso;
+}
@@ -0,0 +1,52 @@
+package com.example.transportesys.domain.model;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.valueobject.Peso;
+import lombok.Getter;
+
+/**
+ * Transición de estado efectivamente aplicada a un pedido.
+ * El pedido actualizado solo se incluye en las transiciones individuales; en lote es nulo.
+ */
+@Getter
+public class CambioEstadoPedido {
+
+    private final Long pedidoId;
+    private final Long conductorId;
+    private final Long vehiculoId;
+    private final Peso peso;
+    private final EstadoPedido estadoAnterior;
+    private final EstadoPedido estadoNuevo;
+    private final Pedido pedido;
+
+    public CambioEstadoPedido(Long pedidoId, EstadoPedido estadoAnterior, EstadoPedido estadoNuevo, Pedido pedido) {
+        this(pedidoId,
+             pedido != null ? pedido.getConductorId() : null,
+             pedido != null ? pedido.getVehiculoId() : null,
+             pedido != null ? pedido.getPeso() : null,
+             estadoAnterior, estadoNuevo, pedido);
+    }
+
+    public CambioEstadoPedido(Long pedidoId, Long conductorId, Long vehiculoId, Peso peso,
+                              EstadoPedido estadoAnterior, EstadoPedido estadoNuevo) {
+        this(pedidoId, conductorId, vehiculoId, peso, estadoAnterior, estadoNuevo, null);
+    }
+
+    private CambioEstadoPedido(Long pedidoId, Long conductorId, Long vehiculoId, Peso peso,
+                               EstadoPedido estadoAnterior, EstadoPedido estadoNuevo, Pedido pedido) {
+        this.pedidoId = pedidoId;
+        this.conductorId = conductorId;
+        this.vehiculoId = vehiculoId;
+        this.peso = peso;
+        this.estadoAnterior = estadoAnterior;
+        this.estadoNuevo = estadoNuevo;
+        this.pedido = pedido;
+    }
+
+    /**
+     * Indica si la transición deja de comprometer el peso del pedido en su vehículo.
+     */
+    public boolean liberaCapacidad() {
+        return vehiculoId != null && peso != null && !estadoAnterior.esFinal() && estadoNuevo.esFinal();
+    }
+}
@@ -18,6 +18,7 @@ public class Conductor {
     private static final int LIMITE_VEHICULOS = 3;
 
     private Long id;
+    private Long version;
     private String nombre;
     private LicenciaConducir licencia;
     private boolean activo;
@@ -219,4 +220,12 @@ public class Conductor {
     public void setFechaModificacion(LocalDateTime fechaModificacion) {
         this.fechaModificacion = fechaModificacion;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,24 @@
+package com.example.transportesys.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Wrapper genérico para resultados paginados por cursor (keyset) en el dominio.
+ * A diferencia de PageResult no calcula el total de elementos: cada página
+ * cuesta lo mismo sin importar su profundidad.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResult<T> {
+
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;
+    private boolean hasNext;
+    private int numberOfElements;
+}
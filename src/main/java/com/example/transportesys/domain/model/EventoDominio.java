@@ -0,0 +1,97 @@
+package com.example.transportesys.domain.model;
+
+import com.example.transportesys.domain.enums.TipoAgregado;
+import com.example.transportesys.domain.enums.TipoEvento;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hecho ocurrido sobre un agregado que debe notificarse fuera del sistema.
+ * Los datos son valores simples (números, textos) para poder serializarlos sin conocer el modelo.
+ * Los eventos de pedido incluyen siempre pedidoId, estado y conductorId.
+ */
+public class EventoDominio {
+
+    private final TipoEvento tipo;
+    private final Long agregadoId;
+    private final Map<String, Object> datos;
+    private final LocalDateTime fechaOcurrencia;
+
+    public EventoDominio(TipoEvento tipo, Long agregadoId, Map<String, Object> datos) {
+        if (tipo == null || agregadoId == null) {
+            throw new IllegalArgumentException("El tipo de evento y el ID del agregado son obligatorios");
+        }
+        this.tipo = tipo;
+        this.agregadoId = agregadoId;
+        this.datos = Collections.unmodifiableMap(new LinkedHashMap<>(datos));
+        this.fechaOcurrencia = LocalDateTime.now();
+    }
+
+    public static EventoDominio pedidoCreado(Pedido pedido) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("pedidoId", pedido.getId());
+        datos.put("estado", pedido.getEstado().name());
+        datos.put("pesoKg", pedido.getPeso().getValorEnKg());
+        datos.put("vehiculoId", pedido.getVehiculoId());
+        datos.put("conductorId", pedido.getConductorId());
+        datos.put("direccionOrigen", pedido.getDireccionOrigen());
+        datos.put("direccionDestino", pedido.getDireccionDestino());
+        return new EventoDominio(TipoEvento.PEDIDO_CREADO, pedido.getId(), datos);
+    }
+
+    public static EventoDominio estadoPedidoCambiado(CambioEstadoPedido cambio) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("pedidoId", cambio.getPedidoId());
+        datos.put("estado", cambio.getEstadoNuevo().name());
+        datos.put("estadoAnterior", cambio.getEstadoAnterior().name());
+        datos.put("conductorId", cambio.getConductorId());
+        return new EventoDominio(TipoEvento.PEDIDO_ESTADO_CAMBIADO, cambio.getPedidoId(), datos);
+    }
+
+    public static EventoDominio vehiculoPedidoCambiado(Pedido pedido, Long vehiculoAnteriorId) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("pedidoId", pedido.getId());
+        datos.put("estado", pedido.getEstado().name());
+        datos.put("conductorId", pedido.getConductorId());
+        datos.put("vehiculoAnteriorId", vehiculoAnteriorId);
+        datos.put("vehiculoId", pedido.getVehiculoId());
+        return new EventoDominio(TipoEvento.PEDIDO_VEHICULO_CAMBIADO, pedido.getId(), datos);
+    }
+
+    public static EventoDominio conductorAsignado(Long vehiculoId, Long conductorId) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("vehiculoId", vehiculoId);
+        datos.put("conductorId", conductorId);
+        return new EventoDominio(TipoEvento.VEHICULO_CONDUCTOR_ASIGNADO, vehiculoId, datos);
+    }
+
+    public static EventoDominio conductorDevuelto(Long vehiculoId, Long conductorId) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("vehiculoId", vehiculoId);
+        datos.put("conductorId", conductorId);
+        return new EventoDominio(TipoEvento.VEHICULO_CONDUCTOR_DEVUELTO, vehiculoId, datos);
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public TipoAgregado getTipoAgregado() {
+        return tipo.getTipoAgregado();
+    }
+
+    public Long getAgregadoId() {
+        return agregadoId;
+    }
+
+    public Map<String, Object> getDatos() {
+        return datos;
+    }
+
+    public LocalDateTime getFechaOcurrencia() {
+        return fechaOcurrencia;
+    }
+}
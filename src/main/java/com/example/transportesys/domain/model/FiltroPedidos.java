@@ -0,0 +1,29 @@
+package com.example.transportesys.domain.model;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Criterios de búsqueda de pedidos.
+ * Los criterios nulos o vacíos no filtran; los presentes se combinan con AND.
+ * Los rangos son inclusivos en el mínimo y exclusivos en el máximo de fecha.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroPedidos {
+
+    private Set<EstadoPedido> estados;
+    private LocalDateTime desde;
+    private LocalDateTime hasta;
+    private Long vehiculoId;
+    private Long conductorId;
+    private BigDecimal pesoMinimoKg;
+    private BigDecimal pesoMaximoKg;
+}
@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 public class Pedido {
 
     private Long id;
+    private Long version;
     private String descripcion;
     private Peso peso;
     private EstadoPedido estado;
@@ -110,6 +111,12 @@ public class Pedido {
             );
         }
 
+        if (nuevoEstado.requiereAsignacion() && (this.vehiculoId == null || this.conductorId == null)) {
+            throw new DomainException(
+                String.format("El pedido debe tener vehículo y conductor asignados para pasar a %s", nuevoEstado)
+            );
+        }
+
         this.estado = nuevoEstado;
         this.marcarComoModificado();
     }
@@ -239,4 +246,12 @@ public class Pedido {
     public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
         this.fechaActualizacion = fechaActualizacion;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -14,10 +14,12 @@ import java.util.Set;
 public class Usuario {
 
     private Long id;
+    private Long version;
     private String username;
     private String password;
     private String email;
     private boolean activo;
+    private int versionToken;
     private Set<RolUsuario> roles;
     private LocalDateTime fechaCreacion;
     private LocalDateTime ultimoAcceso;
@@ -66,6 +68,13 @@ public class Usuario {
         this.activo = false;
     }
 
+    /**
+     * Invalida los tokens emitidos hasta ahora: los nuevos llevan la versión siguiente.
+     */
+    public void invalidarTokens() {
+        this.versionToken++;
+    }
+
     /**
      * Activa el usuario.
      */
@@ -114,6 +123,14 @@ public class Usuario {
         return activo;
     }
 
+    public int getVersionToken() {
+        return versionToken;
+    }
+
+    public void setVersionToken(int versionToken) {
+        this.versionToken = versionToken;
+    }
+
     public Set<RolUsuario> getRoles() {
         return new HashSet<>(roles);
     }
@@ -137,4 +154,12 @@ public class Usuario {
     public void setUltimoAcceso(LocalDateTime ultimoAcceso) {
         this.ultimoAcceso = ultimoAcceso;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 public class Vehiculo {
 
     private Long id;
+    private Long version;
     private Placa placa;
     private Capacidad capacidad;
     private boolean activo;
@@ -190,4 +191,12 @@ public class Vehiculo {
     public void setFechaModificacion(LocalDateTime fechaModificacion) {
         this.fechaModificacion = fechaModificacion;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
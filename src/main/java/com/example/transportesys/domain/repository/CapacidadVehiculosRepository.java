@@ -0,0 +1,44 @@
+package com.example.transportesys.domain.repository;
+
+import com.example.transportesys.domain.valueobject.Capacidad;
+import com.example.transportesys.domain.valueobject.Peso;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Port (interfaz) del registro del peso comprometido en cada vehículo por sus pedidos activos
+ * (PENDIENTE y EN_PROGRESO). Admite reservas de capacidad sin bloquear filas en la base de datos.
+ * Cada vehículo se carga desde la base la primera vez que se reserva sobre él y se reconcilia
+ * periódicamente para corregir desvíos.
+ */
+public interface CapacidadVehiculosRepository {
+
+    /**
+     * Reserva el peso en el vehículo solo si cabe en su capacidad junto con lo ya comprometido.
+     * Si el vehículo todavía no está registrado, su carga inicial se obtiene de cargaActual.
+     * Con una transacción en curso, la reserva se devuelve si esta se revierte.
+     *
+     * @return false si la capacidad restante no alcanza
+     */
+    boolean reservar(Long vehiculoId, Capacidad capacidad, Peso peso, Supplier<Peso> cargaActual);
+
+    /**
+     * Devuelve el peso de un pedido que dejó el vehículo. Si hay una transacción en curso,
+     * el cambio se aplica solo cuando esta confirma.
+     */
+    void liberar(Long vehiculoId, Peso peso);
+
+    /**
+     * Peso comprometido en el vehículo, si ya está registrado.
+     */
+    Optional<Peso> obtenerComprometido(Long vehiculoId);
+
+    /**
+     * Reemplaza la carga de los vehículos registrados por la calculada desde la base de datos.
+     * Los vehículos con reservas o liberaciones en curso mientras se consulta quedan para la próxima vez.
+     * Retorna la cantidad de vehículos corregidos.
+     */
+    int reconciliar(Supplier<Map<Long, Peso>> cargasActivas);
+}
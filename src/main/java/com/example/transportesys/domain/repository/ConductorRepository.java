@@ -1,8 +1,11 @@
 package com.example.transportesys.domain.repository;
 
 import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
+import com.example.transportesys.domain.valueobject.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -17,14 +20,35 @@ public interface ConductorRepository {
 
     Optional<Conductor> findById(Long id);
 
+    /**
+     * Igual que findById, pero bloquea la fila del conductor hasta el fin de la transacción.
+     * Serializa las asignaciones concurrentes al mismo conductor para respetar el límite de vehículos.
+     */
+    Optional<Conductor> findByIdForUpdate(Long id);
+
+    /**
+     * Busca en una sola consulta los conductores activos con los IDs dados.
+     */
+    List<Conductor> findAllByIds(Collection<Long> ids);
+
     List<Conductor> findAll();
 
     List<Conductor> findAll(int page, int size);
 
     PageResult<Conductor> findAllPaged(int page, int size);
 
+    /**
+     * Paginación por cursor (keyset) ordenada por id.
+     * Un cursor nulo devuelve la primera página. No ejecuta COUNT.
+     */
+    CursorPageResult<Conductor> findAllByCursor(Cursor cursor, int size);
+
     List<Conductor> findByActivo(boolean activo);
 
+    /**
+     * Conductores activos sin vehículos asignados.
+     * Pensado para reportes: los conductores retornados no traen datos de auditoría ni versión.
+     */
     List<Conductor> findConductoresSinVehiculos();
 
     Optional<Conductor> findByLicencia(String licencia);
@@ -36,7 +60,7 @@ public interface ConductorRepository {
     long count();
 
     /**
-     * Obtiene un mapa con el conteo de vehículos por conductor.
+     * Obtiene un mapa con el conteo de vehículos por conductor activo, calculado en la base de datos.
      * @return Map donde la clave es el ID del conductor y el valor es la cantidad de vehículos
      */
     Map<Long, Integer> contarVehiculosPorConductor();
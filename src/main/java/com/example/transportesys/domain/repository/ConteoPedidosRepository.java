@@ -0,0 +1,44 @@
+package com.example.transportesys.domain.repository;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Port (interfaz) del almacén de contadores de pedidos por estado.
+ * Se mantiene de forma incremental desde los casos de uso y se reconcilia
+ * periódicamente contra la base de datos para corregir desvíos.
+ */
+public interface ConteoPedidosRepository {
+
+    /**
+     * Suma delta al contador del estado. Si hay una transacción en curso,
+     * el cambio se aplica solo cuando esta confirma.
+     */
+    void sumar(EstadoPedido estado, long delta);
+
+    /**
+     * Registra que un pedido pasó de un estado a otro.
+     */
+    default void registrarTransicion(EstadoPedido anterior, EstadoPedido nuevo) {
+        sumar(anterior, -1);
+        sumar(nuevo, 1);
+    }
+
+    /**
+     * Conteo actual de todos los estados (los estados sin pedidos aparecen con 0).
+     */
+    Map<EstadoPedido, Long> obtenerConteos();
+
+    /**
+     * Reemplaza todos los contadores con valores calculados desde la base de datos.
+     * Los deltas aplicados mientras corre la consulta se suman sobre lo leído.
+     */
+    void reemplazar(Supplier<Map<EstadoPedido, Long>> conteos);
+
+    /**
+     * Indica si los contadores ya fueron cargados al menos una vez.
+     */
+    boolean estaInicializado();
+}
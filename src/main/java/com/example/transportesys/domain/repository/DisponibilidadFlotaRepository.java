@@ -0,0 +1,54 @@
+package com.example.transportesys.domain.repository;
+
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.valueobject.Peso;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Port (interfaz) del índice de vehículos libres ordenado por capacidad.
+ * Se mantiene de forma incremental desde los casos de uso y se reconcilia
+ * periódicamente contra la base de datos para corregir desvíos.
+ */
+public interface DisponibilidadFlotaRepository {
+
+    /**
+     * Refleja el estado actual del vehículo: queda en el índice solo si está activo y libre.
+     * Si hay una transacción en curso, el cambio se aplica solo cuando esta confirma.
+     */
+    void registrar(Vehiculo vehiculo);
+
+    /**
+     * Saca el vehículo del índice. Si hay una transacción en curso, se aplica al confirmar.
+     */
+    void quitar(Long vehiculoId);
+
+    /**
+     * El vehículo libre de menor capacidad que alcanza para el peso.
+     */
+    Optional<Vehiculo> buscarMejorAjuste(Peso peso);
+
+    /**
+     * El vehículo libre de menor ID que alcanza para el peso.
+     */
+    Optional<Vehiculo> buscarPrimerAjuste(Peso peso);
+
+    /**
+     * Todos los vehículos libres que alcanzan para el peso, de menor a mayor capacidad.
+     */
+    List<Vehiculo> buscarTodosLosQueCaben(Peso peso);
+
+    /**
+     * Reemplaza el contenido del índice con los vehículos libres leídos de la base de datos.
+     * Los cambios aplicados mientras corre la consulta prevalecen sobre lo leído.
+     * Retorna la cantidad de vehículos libres leídos.
+     */
+    int reemplazar(Supplier<List<Vehiculo>> vehiculosLibres);
+
+    /**
+     * Indica si el índice ya fue cargado al menos una vez.
+     */
+    boolean estaInicializado();
+}
@@ -0,0 +1,17 @@
+package com.example.transportesys.domain.repository;
+
+import com.example.transportesys.domain.model.EventoDominio;
+
+import java.util.Collection;
+
+/**
+ * Port (interfaz) de la bandeja de salida (outbox) de eventos de dominio.
+ * Los eventos se guardan en la misma transacción que el cambio que los origina,
+ * así se publican solo si ese cambio se confirma. Un proceso aparte los entrega.
+ */
+public interface EventoOutboxRepository {
+
+    void registrar(EventoDominio evento);
+
+    void registrarTodos(Collection<EventoDominio> eventos);
+}
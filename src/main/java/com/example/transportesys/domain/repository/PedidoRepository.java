@@ -1,12 +1,22 @@
 package com.example.transportesys.domain.repository;
 
 import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.model.AsignacionPedido;
+import com.example.transportesys.domain.model.CambioEstadoPedido;
+import com.example.transportesys.domain.model.CursorPageResult;
+import com.example.transportesys.domain.model.FiltroPedidos;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.valueobject.Peso;
+import com.example.transportesys.domain.valueobject.Cursor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Port (interfaz) del repositorio de Pedido en el dominio.
@@ -16,6 +26,14 @@ public interface PedidoRepository {
 
     Pedido save(Pedido pedido);
 
+    /**
+     * Inserta pedidos nuevos en lote. Retorna los pedidos guardados en el mismo orden recibido.
+     */
+    List<Pedido> saveAll(List<Pedido> pedidos);
+
+    /**
+     * Busca el pedido en la tabla activa y, si no está, entre los archivados.
+     */
     Optional<Pedido> findById(Long id);
 
     List<Pedido> findAll();
@@ -24,6 +42,12 @@ public interface PedidoRepository {
 
     PageResult<Pedido> findAllPaged(int page, int size);
 
+    /**
+     * Paginación por cursor (keyset) ordenada por (fechaCreacion, id).
+     * Un cursor nulo devuelve la primera página. No ejecuta COUNT.
+     */
+    CursorPageResult<Pedido> findAllByCursor(Cursor cursor, int size);
+
     List<Pedido> findByEstado(EstadoPedido estado);
 
     List<Pedido> findByVehiculoId(Long vehiculoId);
@@ -40,11 +64,87 @@ public interface PedidoRepository {
      */
     long countActivosByVehiculoId(Long vehiculoId);
 
+    /**
+     * Peso total de los pedidos activos (PENDIENTE o EN_PROGRESO) del vehículo.
+     */
+    default Peso sumarPesoActivo(Long vehiculoId) {
+        return findActivosByVehiculoId(vehiculoId).stream()
+            .map(Pedido::getPeso)
+            .reduce(new Peso(BigDecimal.ZERO), Peso::sumar);
+    }
+
+    /**
+     * Peso de los pedidos PENDIENTE sin vehículo asignado, por ID y con los más antiguos primero.
+     * Proyección liviana para el despacho automático: no carga el pedido completo.
+     */
+    Map<Long, Peso> findPesosPendientesSinAsignar(int limite);
+
+    /**
+     * Peso total de los pedidos activos (PENDIENTE o EN_PROGRESO) de cada vehículo, en una sola agregación.
+     * Los vehículos sin pedidos activos no aparecen en el mapa.
+     */
+    Map<Long, Peso> sumarPesoActivoPorVehiculo();
+
+    /**
+     * Asigna vehículo y conductor a los pedidos que siguen PENDIENTE y sin asignar;
+     * los demás se ignoran. Retorna los pedidos efectivamente asignados.
+     */
+    List<Pedido> asignarPendientes(List<AsignacionPedido> asignaciones);
+
+    /**
+     * Incluye tanto pedidos activos como archivados, ordenados por fecha de creación.
+     */
     List<Pedido> findByFechaCreacionBetween(LocalDateTime inicio, LocalDateTime fin);
 
+    /**
+     * Busca una página de pedidos que cumplen todos los criterios del filtro,
+     * ordenados por (fechaCreacion, id) ascendente o descendente, paginando por cursor.
+     */
+    CursorPageResult<Pedido> buscar(FiltroPedidos filtro, Cursor cursor, int size, boolean descendente);
+
+    /**
+     * Recorre en streaming los pedidos que cumplen el filtro, ordenados por (fechaCreacion, id),
+     * entregando cada uno al consumidor sin acumularlos en memoria.
+     * Debe invocarse dentro de una transacción. Retorna la cantidad de pedidos recorridos.
+     */
+    long recorrer(FiltroPedidos filtro, Consumer<Pedido> consumidor);
+
+    /**
+     * Cambia el estado del pedido en una sola sentencia condicional (compare-and-set):
+     * solo se actualiza si su estado actual es un predecesor válido de nuevoEstado
+     * y, cuando el estado lo requiere, tiene vehículo y conductor asignados.
+     * Retorna el cambio aplicado (con el pedido actualizado y su estado anterior),
+     * o vacío si no existe o la transición no aplica.
+     */
+    Optional<CambioEstadoPedido> transicionarEstado(Long id, EstadoPedido nuevoEstado);
+
+    /**
+     * Versión en lote de transicionarEstado: una única sentencia para todos los IDs.
+     * Retorna un cambio por cada pedido que efectivamente cambió de estado.
+     */
+    List<CambioEstadoPedido> transicionarEstado(Collection<Long> ids, EstadoPedido nuevoEstado);
+
+    /**
+     * Mueve al archivo un lote de pedidos en estado final (COMPLETADO o CANCELADO)
+     * cuya última modificación es anterior al límite. Retorna la cantidad archivada.
+     */
+    int archivarFinalizados(LocalDateTime limite, int lote);
+
     void deleteById(Long id);
 
+    /**
+     * Total de pedidos, incluidos los archivados.
+     */
     long count();
 
+    /**
+     * Pedidos en el estado indicado; para estados finales incluye los archivados.
+     */
     long countByEstado(EstadoPedido estado);
+
+    /**
+     * Cantidad de pedidos por estado, incluidos los archivados, en una sola agregación.
+     * Los estados sin pedidos no aparecen en el mapa.
+     */
+    Map<EstadoPedido, Long> contarPorEstado();
 }
@@ -0,0 +1,21 @@
+package com.example.transportesys.domain.repository;
+
+/**
+ * Port (interfaz) del registro de revocaciones de tokens de usuario.
+ * Una revocación rechaza los tokens del usuario con versión menor a la indicada y se conserva
+ * hasta que vence el último token que pudo emitirse antes de ella.
+ */
+public interface RevocacionTokensRepository {
+
+    /**
+     * Revoca los tokens del usuario con versión menor a versionMinima.
+     * Si hay una transacción en curso, la revocación rige para las peticiones cuando esta confirma.
+     */
+    void revocar(String username, int versionMinima);
+
+    /**
+     * Elimina las revocaciones vencidas y carga las vigentes, incluidas las registradas por otras instancias.
+     * Retorna la cantidad de revocaciones vigentes.
+     */
+    int sincronizar();
+}
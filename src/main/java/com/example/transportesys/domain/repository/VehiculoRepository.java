@@ -1,8 +1,11 @@
 package com.example.transportesys.domain.repository;
 
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.valueobject.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,20 +17,42 @@ public interface VehiculoRepository {
 
     Vehiculo save(Vehiculo vehiculo);
 
+    /**
+     * Persiste solo el conductor asignado (o su ausencia) con un único UPDATE versionado.
+     * Lanza un conflicto de concurrencia optimista si otra transacción modificó el vehículo.
+     */
+    void actualizarConductor(Vehiculo vehiculo);
+
     Optional<Vehiculo> findById(Long id);
 
+    /**
+     * Busca en una sola consulta los vehículos activos con los IDs dados.
+     */
+    List<Vehiculo> findAllByIds(Collection<Long> ids);
+
     List<Vehiculo> findAll();
 
     List<Vehiculo> findAll(int page, int size);
 
     PageResult<Vehiculo> findAllPaged(int page, int size);
 
+    /**
+     * Paginación por cursor (keyset) ordenada por id.
+     * Un cursor nulo devuelve la primera página. No ejecuta COUNT.
+     */
+    CursorPageResult<Vehiculo> findAllByCursor(Cursor cursor, int size);
+
     List<Vehiculo> findByActivo(boolean activo);
 
     List<Vehiculo> findVehiculosLibres();
 
     List<Vehiculo> findByConductorId(Long conductorId);
 
+    /**
+     * Vehículos activos asignados a un conductor activo: los que pueden recibir pedidos.
+     */
+    List<Vehiculo> findAsignadosAConductorActivo();
+
     Optional<Vehiculo> findByPlaca(String placa);
 
     void deleteById(Long id);
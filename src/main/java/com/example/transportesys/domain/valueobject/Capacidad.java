@@ -3,6 +3,7 @@ package com.example.transportesys.domain.valueobject;
 import com.example.transportesys.domain.exception.CapacidadInvalidaException;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Objects;
 
 /**
@@ -35,6 +36,13 @@ public class Capacidad {
         return valorEnKg;
     }
 
+    /**
+     * Capacidad en gramos, redondeada hacia abajo para no sobreestimarla.
+     */
+    public long enGramos() {
+        return valorEnKg.movePointRight(3).setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+
     /**
      * Verifica si esta capacidad es suficiente para el peso especificado.
      */
@@ -0,0 +1,105 @@
+package com.example.transportesys.domain.valueobject;
+
+import com.example.transportesys.domain.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Value Object que representa la posición de una página en paginación por cursor (keyset).
+ * Guarda la clave de ordenamiento del último elemento entregado: (fechaCreacion, id) o solo id.
+ * Se expone al cliente como un texto opaco en Base64 URL-safe.
+ */
+public class Cursor {
+
+    private static final String SEPARADOR = "|";
+
+    private final LocalDateTime fechaCreacion;
+    private final Long id;
+
+    private Cursor(LocalDateTime fechaCreacion, Long id) {
+        if (id == null) {
+            throw new CursorInvalidoException("El cursor debe referenciar un ID");
+        }
+        this.fechaCreacion = fechaCreacion;
+        this.id = id;
+    }
+
+    public static Cursor porId(Long id) {
+        return new Cursor(null, id);
+    }
+
+    public static Cursor porFechaCreacionEId(LocalDateTime fechaCreacion, Long id) {
+        if (fechaCreacion == null) {
+            throw new CursorInvalidoException("El cursor debe referenciar una fecha de creación");
+        }
+        return new Cursor(fechaCreacion, id);
+    }
+
+    /**
+     * Reconstruye un cursor a partir de su representación opaca.
+     */
+    public static Cursor decodificar(String valor) {
+        if (valor == null || valor.isBlank()) {
+            throw new CursorInvalidoException("El cursor no puede ser nulo o vacío");
+        }
+
+        try {
+            String contenido = new String(Base64.getUrlDecoder().decode(valor.trim()), StandardCharsets.UTF_8);
+            int separador = contenido.indexOf(SEPARADOR);
+            if (separador < 0) {
+                return porId(Long.valueOf(contenido));
+            }
+            return porFechaCreacionEId(
+                LocalDateTime.parse(contenido.substring(0, separador)),
+                Long.valueOf(contenido.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorInvalidoException("Cursor inválido: " + valor);
+        }
+    }
+
+    /**
+     * Devuelve la representación opaca del cursor para enviarla al cliente.
+     */
+    public String codificar() {
+        String contenido = fechaCreacion == null
+            ? String.valueOf(id)
+            : fechaCreacion + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean tieneFechaCreacion() {
+        return fechaCreacion != null;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Cursor cursor = (Cursor) o;
+        return Objects.equals(fechaCreacion, cursor.fechaCreacion) && Objects.equals(id, cursor.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fechaCreacion, id);
+    }
+
+    @Override
+    public String toString() {
+        return codificar();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.transportesys.domain.valueobject;
 import com.example.transportesys.domain.exception.PesoInvalidoException;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Objects;
 
 /**
@@ -35,6 +36,13 @@ public class Peso {
         return valorEnKg;
     }
 
+    /**
+     * Peso en gramos, redondeado hacia arriba para no subestimarlo.
+     */
+    public long enGramos() {
+        return valorEnKg.movePointRight(3).setScale(0, RoundingMode.CEILING).longValueExact();
+    }
+
     /**
      * Suma dos pesos.
      */
@@ -0,0 +1,25 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.dto.request;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de Request para cambiar el estado de varios pedidos a la vez.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambioEstadoLoteRequest {
+
+    @NotEmpty(message = "Debe indicar al menos un ID de pedido")
+    private List<Long> ids;
+
+    @NotNull(message = "El estado es obligatorio")
+    private EstadoPedido estado;
+}
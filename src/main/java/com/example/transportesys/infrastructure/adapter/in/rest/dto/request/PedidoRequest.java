@@ -22,10 +22,11 @@ public class PedidoRequest {
     @Positive(message = "El peso debe ser mayor a cero")
     private Double pesoKg;
 
-    @NotNull(message = "El ID del vehículo es obligatorio")
+    /**
+     * Opcional junto con conductorId: sin ambos, el pedido queda pendiente para el despacho automático.
+     */
     private Long vehiculoId;
 
-    @NotNull(message = "El ID del conductor es obligatorio")
     private Long conductorId;
 
     private String direccionOrigen;
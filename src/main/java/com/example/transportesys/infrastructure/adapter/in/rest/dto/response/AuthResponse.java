@@ -17,10 +17,14 @@ public class AuthResponse {
     private String type = "Bearer";
     private String username;
     private Date expiresAt;
+    private String refreshToken;
+    private Date refreshExpiresAt;
 
-    public AuthResponse(String token, String username, Date expiresAt) {
+    public AuthResponse(String token, String username, Date expiresAt, String refreshToken, Date refreshExpiresAt) {
         this.token = token;
         this.username = username;
         this.expiresAt = expiresAt;
+        this.refreshToken = refreshToken;
+        this.refreshExpiresAt = refreshExpiresAt;
     }
 }
@@ -0,0 +1,21 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.dto.response;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de Response para el cambio de estado en lote.
+ * noActualizados contiene los IDs inexistentes o cuyo estado no permitía la transición.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambioEstadoLoteResponse {
+    private EstadoPedido estado;
+    private List<Long> actualizados;
+    private List<Long> noActualizados;
+}
@@ -0,0 +1,19 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.dto.response;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO de Response con la cantidad de pedidos por estado y el total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConteoPedidosResponse {
+    private long total;
+    private Map<EstadoPedido, Long> porEstado;
+}
@@ -0,0 +1,28 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de Response con el resultado de una corrida de despacho automático.
+ * Las utilizaciones van de 0 a 1; los tiempos están en milisegundos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DespachoResponse {
+    private int pedidosEvaluados;
+    private int pedidosAsignados;
+    private int pedidosSinUbicar;
+    private int pedidosDescartados;
+    private int vehiculosDisponibles;
+    private int vehiculosUsados;
+    private double utilizacionVehiculosUsados;
+    private double utilizacionFlota;
+    private int particiones;
+    private int lotes;
+    private long tiempoCargaMs;
+    private long tiempoResolucionMs;
+    private long tiempoPersistenciaMs;
+}
@@ -1,5 +1,6 @@
 package com.example.transportesys.infrastructure.adapter.in.rest.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -10,7 +11,8 @@ import java.util.List;
 
 /**
  * DTO genérico para respuestas paginadas.
- * Incluye metadata completa de paginación.
+ * Incluye metadata completa de paginación (por número de página)
+ * o el cursor de la página siguiente (paginación por cursor).
  */
 @Data
 @NoArgsConstructor
@@ -24,8 +26,19 @@ public class PagedResponse<T> {
 
     @Schema(description = "Información de paginación")
     @JsonProperty("page")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private PageMetadata page;
 
+    @Schema(description = "Cursor opaco para solicitar la página siguiente (null si es la última)")
+    @JsonProperty("nextCursor")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public PagedResponse(List<T> content, PageMetadata page) {
+        this.content = content;
+        this.page = page;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -92,4 +105,11 @@ public class PagedResponse<T> {
 
         return new PagedResponse<>(content, metadata);
     }
+
+    /**
+     * Crea una PagedResponse para paginación por cursor (sin total de elementos).
+     */
+    public static <T> PagedResponse<T> ofCursor(List<T> content, String nextCursor) {
+        return new PagedResponse<>(content, null, nextCursor);
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de Response para la creación de pedidos en lote.
+ * Incluye el resultado de cada ítem en el mismo orden en que fue enviado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoLoteResponse {
+    private int total;
+    private int creados;
+    private int fallidos;
+    private List<ResultadoItem> resultados;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ResultadoItem {
+        private int indice;
+        private Long pedidoId;
+        private String error;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.export;
+
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos soportados por la exportación de pedidos.
+ */
+public enum FormatoExportacion {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    FormatoExportacion(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resuelve el formato a partir del parámetro de la petición (sin distinguir mayúsculas).
+     */
+    public static FormatoExportacion desde(String valor) {
+        for (FormatoExportacion formato : values()) {
+            if (formato.extension.equalsIgnoreCase(valor)) {
+                return formato;
+            }
+        }
+        throw new ParametroInvalidoException("Formato de exportación no soportado: " + valor + ". Use ndjson o csv");
+    }
+}
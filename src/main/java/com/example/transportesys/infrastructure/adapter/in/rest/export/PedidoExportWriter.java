@@ -0,0 +1,106 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.export;
+
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.PedidoResponse;
+import com.example.transportesys.infrastructure.adapter.in.rest.mapper.PedidoRestMapper;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Escribe pedidos en NDJSON o CSV directamente sobre el stream de la respuesta, una fila a la vez.
+ */
+@Component
+public class PedidoExportWriter {
+
+    /**
+     * Cada cuántas filas se fuerza el envío al cliente.
+     */
+    private static final int FILAS_POR_FLUSH = 500;
+
+    private static final String ENCABEZADO_CSV =
+        "id,descripcion,pesoKg,estado,vehiculoId,conductorId,direccionOrigen,direccionDestino,fechaCreacion,fechaActualizacion\n";
+
+    private final ObjectMapper objectMapper;
+    private final PedidoRestMapper mapper;
+
+    public PedidoExportWriter(ObjectMapper objectMapper, PedidoRestMapper mapper) {
+        this.objectMapper = objectMapper;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Escribe el encabezado del formato (si lo tiene) y lo envía de inmediato al cliente.
+     */
+    public void escribirEncabezado(FormatoExportacion formato, OutputStream salida) throws IOException {
+        if (formato == FormatoExportacion.CSV) {
+            salida.write(ENCABEZADO_CSV.getBytes(StandardCharsets.UTF_8));
+        }
+        salida.flush();
+    }
+
+    /**
+     * Crea un consumidor que escribe cada pedido recibido como una línea del formato indicado.
+     */
+    public Consumer<Pedido> escritor(FormatoExportacion formato, OutputStream salida) {
+        return new Consumer<>() {
+            private int filas = 0;
+
+            @Override
+            public void accept(Pedido pedido) {
+                try {
+                    salida.write(formato == FormatoExportacion.CSV ? toCsv(pedido) : toNdjson(pedido));
+                    if (++filas % FILAS_POR_FLUSH == 0) {
+                        salida.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private byte[] toNdjson(Pedido pedido) {
+        // Se serializa a bytes para que Jackson no cierre el stream de la respuesta
+        byte[] json = objectMapper.writeValueAsBytes(mapper.toResponse(pedido));
+        byte[] linea = new byte[json.length + 1];
+        System.arraycopy(json, 0, linea, 0, json.length);
+        linea[json.length] = '\n';
+        return linea;
+    }
+
+    private byte[] toCsv(Pedido pedido) {
+        PedidoResponse response = mapper.toResponse(pedido);
+        StringBuilder linea = new StringBuilder(128);
+        linea.append(response.getId()).append(',')
+            .append(escaparCsv(response.getDescripcion())).append(',')
+            .append(response.getPesoKg().toPlainString()).append(',')
+            .append(response.getEstado()).append(',')
+            .append(valorOVacio(response.getVehiculoId())).append(',')
+            .append(valorOVacio(response.getConductorId())).append(',')
+            .append(escaparCsv(response.getDireccionOrigen())).append(',')
+            .append(escaparCsv(response.getDireccionDestino())).append(',')
+            .append(valorOVacio(response.getFechaCreacion())).append(',')
+            .append(valorOVacio(response.getFechaActualizacion())).append('\n');
+        return linea.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String valorOVacio(Object valor) {
+        return valor == null ? "" : valor.toString();
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,11 +1,20 @@
 package com.example.transportesys.infrastructure.adapter.in.rest.mapper;
 
+import com.example.transportesys.application.usecase.pedido.CrearPedidosLoteUseCase;
+import com.example.transportesys.application.usecase.pedido.TransicionarEstadoPedidosUseCase;
 import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.PedidoRequest;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.CambioEstadoLoteResponse;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.PedidoLoteResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.PedidoResponse;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Mapper que convierte entre Pedido (dominio) y PedidoResponse (REST DTO).
+ * También traduce los DTOs de creación en lote.
  */
 @Component
 public class PedidoRestMapper {
@@ -28,4 +37,36 @@ public class PedidoRestMapper {
             pedido.getFechaActualizacion()
         );
     }
+
+    public CrearPedidosLoteUseCase.ItemPedido toItemLote(PedidoRequest request) {
+        if (request == null) {
+            return null;
+        }
+
+        return new CrearPedidosLoteUseCase.ItemPedido(
+            request.getDescripcion(),
+            request.getPesoKg(),
+            request.getVehiculoId(),
+            request.getConductorId(),
+            request.getDireccionOrigen(),
+            request.getDireccionDestino()
+        );
+    }
+
+    public PedidoLoteResponse toLoteResponse(List<CrearPedidosLoteUseCase.ResultadoItem> resultados) {
+        List<PedidoLoteResponse.ResultadoItem> items = resultados.stream()
+            .map(r -> new PedidoLoteResponse.ResultadoItem(r.getIndice(), r.getPedidoId(), r.getError()))
+            .collect(Collectors.toList());
+        int creados = (int) resultados.stream().filter(CrearPedidosLoteUseCase.ResultadoItem::isCreado).count();
+
+        return new PedidoLoteResponse(resultados.size(), creados, resultados.size() - creados, items);
+    }
+
+    public CambioEstadoLoteResponse toCambioEstadoLoteResponse(TransicionarEstadoPedidosUseCase.ResultadoTransicion resultado) {
+        return new CambioEstadoLoteResponse(
+            resultado.getEstado(),
+            resultado.getActualizados(),
+            resultado.getNoActualizados()
+        );
+    }
 }
@@ -0,0 +1,138 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.stream;
+
+import com.example.transportesys.infrastructure.outbox.EventoOutbox;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Escucha el canal de {@link NotificacionSinkEventos} y entrega los cambios al {@link PedidoStreamHub}.
+ * Usa una conexión propia, fuera del pool, y se reconecta con espera creciente si la pierde.
+ * Las notificaciones emitidas mientras no escuchaba se pierden: al reconectar se pide a los
+ * suscriptores que resincronicen. Sin PostgreSQL la aplicación no arranca, salvo en modo instancia única.
+ */
+@Component
+@ConditionalOnProperty(name = "transportesys.pedidos.stream.instancia-unica", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class EscuchaNotificacionesPedidos implements CommandLineRunner {
+
+    private static final int ESPERA_NOTIFICACIONES_MS = 1000;
+    private static final long ESPERA_MINIMA_RECONEXION_MS = 1000;
+    private static final long ESPERA_MAXIMA_RECONEXION_MS = 30000;
+
+    private final PedidoStreamHub streamHub;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final String usuario;
+    private final String password;
+
+    private volatile boolean activo = true;
+    private volatile Thread hilo;
+
+    public EscuchaNotificacionesPedidos(
+            PedidoStreamHub streamHub,
+            ObjectMapper objectMapper,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String usuario,
+            @Value("${spring.datasource.password:}") String password) {
+        this.streamHub = streamHub;
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.usuario = usuario;
+        this.password = password;
+    }
+
+    @Override
+    public void run(String... args) {
+        try (Connection conexion = conectar()) {
+            if (!conexion.isWrapperFor(PGConnection.class)) {
+                throw new IllegalStateException("El stream de pedidos necesita PostgreSQL (LISTEN/NOTIFY) "
+                    + "o transportesys.pedidos.stream.instancia-unica=true");
+            }
+        } catch (SQLException e) {
+            log.warn("No se pudo verificar la base del stream de pedidos, se reintentará: {}", e.getMessage());
+        }
+
+        hilo = new Thread(this::escuchar, "pedidos-stream-escucha");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @PreDestroy
+    public void detener() {
+        activo = false;
+        Thread actual = hilo;
+        if (actual != null) {
+            actual.interrupt();
+        }
+    }
+
+    private void escuchar() {
+        long espera = ESPERA_MINIMA_RECONEXION_MS;
+        boolean primeraConexion = true;
+        while (activo) {
+            try (Connection conexion = conectar()) {
+                PGConnection pgConexion = conexion.unwrap(PGConnection.class);
+                try (Statement statement = conexion.createStatement()) {
+                    statement.execute("LISTEN " + NotificacionSinkEventos.CANAL);
+                }
+                if (!primeraConexion) {
+                    streamHub.resincronizar();
+                }
+                primeraConexion = false;
+                espera = ESPERA_MINIMA_RECONEXION_MS;
+
+                while (activo) {
+                    PGNotification[] notificaciones = pgConexion.getNotifications(ESPERA_NOTIFICACIONES_MS);
+                    if (notificaciones != null) {
+                        for (PGNotification notificacion : notificaciones) {
+                            entregar(notificacion.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!activo) {
+                    return;
+                }
+                log.warn("Se perdió la escucha de cambios de pedidos, reintento en {} ms: {}", espera, e.getMessage());
+                streamHub.resincronizar();
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrumpido) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_RECONEXION_MS);
+            }
+        }
+    }
+
+    private void entregar(String json) {
+        try {
+            EventoOutbox evento = NotificacionSinkEventos.decodificar(objectMapper, json);
+            if (evento != null) {
+                streamHub.publicar(evento);
+            } else {
+                streamHub.resincronizar();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Notificación de cambio de pedido inválida: {}", e.getMessage());
+            streamHub.resincronizar();
+        }
+    }
+
+    private Connection conectar() throws SQLException {
+        return DriverManager.getConnection(url, usuario, password);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.stream;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cambio de pedido listo para enviarse a los suscriptores del stream.
+ * El JSON se arma una sola vez y se comparte entre todos los suscriptores.
+ */
+@Getter
+@AllArgsConstructor
+class MensajeStream {
+
+    private final long secuencia;
+    private final String id;
+    private final String tipo;
+    private final Long conductorId;
+    private final EstadoPedido estado;
+    private final String json;
+
+    boolean coincideCon(Long conductorIdFiltro, EstadoPedido estadoFiltro) {
+        return (conductorIdFiltro == null || conductorIdFiltro.equals(conductorId))
+            && (estadoFiltro == null || estadoFiltro == estado);
+    }
+}
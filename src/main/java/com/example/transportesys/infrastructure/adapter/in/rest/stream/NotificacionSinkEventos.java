@@ -0,0 +1,84 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.stream;
+
+import com.example.transportesys.domain.enums.TipoAgregado;
+import com.example.transportesys.domain.enums.TipoEvento;
+import com.example.transportesys.infrastructure.outbox.EventoOutbox;
+import com.example.transportesys.infrastructure.outbox.SinkEventos;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sink de la outbox que difunde los cambios de pedidos con NOTIFY de PostgreSQL.
+ * Con varias instancias cada relay entrega un subconjunto distinto de la outbox (SKIP LOCKED);
+ * por NOTIFY el stream de todas las instancias recibe todos los cambios ({@link EscuchaNotificacionesPedidos}).
+ * Corre en la transacción del relay: la notificación sale recién cuando esta confirma.
+ */
+@Component
+@ConditionalOnProperty(name = "transportesys.pedidos.stream.instancia-unica", havingValue = "false", matchIfMissing = true)
+public class NotificacionSinkEventos implements SinkEventos {
+
+    static final String CANAL = "pedidos_cambios";
+
+    /**
+     * NOTIFY acepta hasta 8000 bytes; un evento más grande viaja sin payload y fuerza una resincronización.
+     */
+    static final int MAXIMO_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public NotificacionSinkEventos(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publicar(EventoOutbox evento) {
+        if (evento.getTipoAgregado() != TipoAgregado.PEDIDO) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultado -> null, CANAL, codificar(objectMapper, evento));
+    }
+
+    static String codificar(ObjectMapper objectMapper, EventoOutbox evento) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("id", evento.getId());
+        datos.put("tipoAgregado", evento.getTipoAgregado().name());
+        datos.put("agregadoId", evento.getAgregadoId());
+        datos.put("tipoEvento", evento.getTipoEvento().name());
+        datos.put("fechaCreacion", evento.getFechaCreacion().toString());
+        datos.put("payload", evento.getPayload());
+        String json = objectMapper.writeValueAsString(datos);
+        if (json.getBytes(StandardCharsets.UTF_8).length <= MAXIMO_BYTES) {
+            return json;
+        }
+        datos.put("payload", null);
+        return objectMapper.writeValueAsString(datos);
+    }
+
+    /**
+     * Evento de una notificación, o null si llegó sin payload.
+     */
+    static EventoOutbox decodificar(ObjectMapper objectMapper, String json) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> datos = objectMapper.readValue(json, Map.class);
+        if (!(datos.get("payload") instanceof String payload)) {
+            return null;
+        }
+        return new EventoOutbox(
+            ((Number) datos.get("id")).longValue(),
+            TipoAgregado.valueOf((String) datos.get("tipoAgregado")),
+            ((Number) datos.get("agregadoId")).longValue(),
+            TipoEvento.valueOf((String) datos.get("tipoEvento")),
+            payload,
+            LocalDateTime.parse((String) datos.get("fechaCreacion"))
+        );
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.stream;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.enums.TipoAgregado;
+import com.example.transportesys.infrastructure.outbox.EventoOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distribuye los cambios de pedidos a las conexiones SSE abiertas.
+ * Recibe los eventos de la outbox ya confirmados: de todas las instancias por NOTIFY
+ * ({@link EscuchaNotificacionesPedidos}), o del relay local en modo instancia única.
+ *
+ * - Filtra por conductor y estado en el servidor, antes de encolar.
+ * - Cada suscriptor tiene un buffer acotado que descarta los mensajes más antiguos.
+ * - Guarda un historial reciente para reanudar con Last-Event-ID; si el cliente quedó
+ *   fuera del historial (o el servidor se reinició) recibe un evento "resincronizar".
+ *
+ * Los IDs de evento son "época-secuencia": la época cambia en cada arranque. Si se pudieron perder
+ * cambios (escucha caída), {@link #resincronizar()} lo avisa a los suscriptores y a quien reanude desde antes.
+ */
+@Component
+public class PedidoStreamHub {
+
+    static final String METRICA_SUSCRIPTORES = "transportesys.pedidos.stream.suscriptores";
+    static final String METRICA_DESCARTADOS = "transportesys.pedidos.stream.descartados";
+
+    private final ObjectMapper objectMapper;
+    private final int capacidadBuffer;
+    private final int tamanoHistorial;
+    private final long heartbeatMs;
+    private final long timeoutMs;
+    private final Counter descartados;
+
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<SuscriptorStream> suscriptores = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<MensajeStream> historial = new ArrayDeque<>();
+    private final Object lock = new Object();
+    private long secuencia;
+    private long secuenciaResincronizacion = -1;
+
+    public PedidoStreamHub(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${transportesys.pedidos.stream.capacidad-buffer:256}") int capacidadBuffer,
+            @Value("${transportesys.pedidos.stream.historial:1000}") int tamanoHistorial,
+            @Value("${transportesys.pedidos.stream.heartbeat-ms:15000}") long heartbeatMs,
+            @Value("${transportesys.pedidos.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.capacidadBuffer = capacidadBuffer;
+        this.tamanoHistorial = tamanoHistorial;
+        this.heartbeatMs = heartbeatMs;
+        this.timeoutMs = timeoutMs;
+        this.descartados = Counter.builder(METRICA_DESCARTADOS).register(meterRegistry);
+        Gauge.builder(METRICA_SUSCRIPTORES, suscriptores, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Abre una suscripción. Los filtros nulos no restringen.
+     * Si llega ultimoEventoId se reenvían primero los mensajes posteriores que sigan en el historial.
+     */
+    public SseEmitter suscribir(Long conductorId, EstadoPedido estado, String ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SuscriptorStream suscriptor = new SuscriptorStream(
+            emitter, conductorId, estado, capacidadBuffer, heartbeatMs, suscriptores::remove);
+        emitter.onCompletion(() -> suscriptor.cerrar(false));
+        emitter.onError(error -> suscriptor.cerrar(false));
+        emitter.onTimeout(() -> suscriptor.cerrar(true));
+
+        synchronized (lock) {
+            reanudar(suscriptor, ultimoEventoId);
+            suscriptores.add(suscriptor);
+        }
+
+        // Un hilo virtual por conexión: esperar al cliente no ocupa hilos de Tomcat ni de plataforma
+        Thread.ofVirtual().name("pedidos-stream").start(suscriptor);
+        return emitter;
+    }
+
+    public void publicar(EventoOutbox evento) {
+        if (evento.getTipoAgregado() != TipoAgregado.PEDIDO) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> datos = objectMapper.readValue(evento.getPayload(), Map.class);
+        Map<String, Object> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("tipoEvento", evento.getTipoEvento().name());
+        cuerpo.put("fecha", evento.getFechaCreacion().toString());
+        cuerpo.putAll(datos);
+        String json = objectMapper.writeValueAsString(cuerpo);
+
+        Long conductorId = datos.get("conductorId") instanceof Number numero ? numero.longValue() : null;
+        EstadoPedido estado = datos.get("estado") instanceof String nombre ? EstadoPedido.valueOf(nombre) : null;
+
+        synchronized (lock) {
+            long siguiente = ++secuencia;
+            MensajeStream mensaje = new MensajeStream(
+                siguiente, epoca + "-" + siguiente, evento.getTipoEvento().name(), conductorId, estado, json);
+
+            historial.addLast(mensaje);
+            if (historial.size() > tamanoHistorial) {
+                historial.removeFirst();
+            }
+            for (SuscriptorStream suscriptor : suscriptores) {
+                descartados.increment(suscriptor.ofrecer(mensaje));
+            }
+        }
+    }
+
+    /**
+     * Marca que pudieron perderse cambios: los suscriptores actuales, y los que reanuden desde un evento
+     * anterior, reciben "resincronizar".
+     */
+    public void resincronizar() {
+        synchronized (lock) {
+            secuenciaResincronizacion = secuencia;
+            for (SuscriptorStream suscriptor : suscriptores) {
+                suscriptor.solicitarResincronizacion();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        for (SuscriptorStream suscriptor : List.copyOf(suscriptores)) {
+            suscriptor.cerrar(true);
+        }
+    }
+
+    private void reanudar(SuscriptorStream suscriptor, String ultimoEventoId) {
+        if (ultimoEventoId == null || ultimoEventoId.isBlank()) {
+            return;
+        }
+
+        Long ultimaSecuencia = secuenciaDe(ultimoEventoId);
+        if (ultimaSecuencia == null || ultimaSecuencia > secuencia) {
+            suscriptor.solicitarResincronizacion();
+            return;
+        }
+
+        MensajeStream primero = historial.peekFirst();
+        boolean huboPerdidos = ultimaSecuencia <= secuenciaResincronizacion
+            || ultimaSecuencia < secuencia && (primero == null || primero.getSecuencia() > ultimaSecuencia + 1);
+        if (huboPerdidos) {
+            suscriptor.solicitarResincronizacion();
+        }
+
+        for (MensajeStream mensaje : historial) {
+            if (mensaje.getSecuencia() > ultimaSecuencia) {
+                descartados.increment(suscriptor.ofrecer(mensaje));
+            }
+        }
+    }
+
+    /**
+     * Secuencia del ID recibido, o null si es de otra época (otro arranque) o no tiene el formato esperado.
+     */
+    private Long secuenciaDe(String eventoId) {
+        int separador = eventoId.lastIndexOf('-');
+        if (separador <= 0 || !eventoId.substring(0, separador).equals(epoca)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventoId.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
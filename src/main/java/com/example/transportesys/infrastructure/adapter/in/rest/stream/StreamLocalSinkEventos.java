@@ -0,0 +1,26 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.stream;
+
+import com.example.transportesys.infrastructure.outbox.EventoOutbox;
+import com.example.transportesys.infrastructure.outbox.SinkEventos;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sink que alimenta el stream directamente desde el relay local.
+ * Solo es completo con una única instancia, por eso requiere transportesys.pedidos.stream.instancia-unica=true.
+ */
+@Component
+@ConditionalOnProperty(name = "transportesys.pedidos.stream.instancia-unica", havingValue = "true")
+public class StreamLocalSinkEventos implements SinkEventos {
+
+    private final PedidoStreamHub streamHub;
+
+    public StreamLocalSinkEventos(PedidoStreamHub streamHub) {
+        this.streamHub = streamHub;
+    }
+
+    @Override
+    public void publicar(EventoOutbox evento) {
+        streamHub.publicar(evento);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.stream;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Conexión SSE abierta con su propio buffer acotado.
+ * Publicar nunca bloquea: si el cliente no consume a tiempo se descartan los mensajes más antiguos.
+ * Un hilo virtual por suscriptor escribe en la conexión, así un cliente lento solo se frena a sí mismo.
+ */
+@Slf4j
+class SuscriptorStream implements Runnable {
+
+    static final String EVENTO_RESINCRONIZAR = "resincronizar";
+
+    private final SseEmitter emitter;
+    private final Long conductorId;
+    private final EstadoPedido estado;
+    private final LinkedBlockingDeque<MensajeStream> buffer;
+    private final long heartbeatMs;
+    private final Consumer<SuscriptorStream> alCerrar;
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicBoolean activo = new AtomicBoolean(true);
+    private volatile boolean pendienteResincronizar;
+    private volatile Thread hilo;
+
+    SuscriptorStream(SseEmitter emitter, Long conductorId, EstadoPedido estado, int capacidad,
+                     long heartbeatMs, Consumer<SuscriptorStream> alCerrar) {
+        this.emitter = emitter;
+        this.conductorId = conductorId;
+        this.estado = estado;
+        this.buffer = new LinkedBlockingDeque<>(capacidad);
+        this.heartbeatMs = heartbeatMs;
+        this.alCerrar = alCerrar;
+    }
+
+    /**
+     * Encola el mensaje si cumple el filtro. Retorna la cantidad de mensajes descartados para hacerle lugar.
+     */
+    int ofrecer(MensajeStream mensaje) {
+        if (!activo.get() || !mensaje.coincideCon(conductorId, estado)) {
+            return 0;
+        }
+        int descartadosAhora = 0;
+        while (!buffer.offerLast(mensaje)) {
+            if (buffer.pollFirst() != null) {
+                descartadosAhora++;
+            }
+        }
+        if (descartadosAhora > 0) {
+            descartados.addAndGet(descartadosAhora);
+            pendienteResincronizar = true;
+        }
+        return descartadosAhora;
+    }
+
+    /**
+     * Indica al cliente que se perdieron mensajes y debe volver a consultar el estado actual.
+     */
+    void solicitarResincronizacion() {
+        pendienteResincronizar = true;
+    }
+
+    @Override
+    public void run() {
+        hilo = Thread.currentThread();
+        try {
+            while (activo.get()) {
+                if (pendienteResincronizar) {
+                    pendienteResincronizar = false;
+                    emitter.send(SseEmitter.event()
+                        .name(EVENTO_RESINCRONIZAR)
+                        .data("{\"descartados\":" + descartados.getAndSet(0) + "}", MediaType.APPLICATION_JSON));
+                }
+
+                MensajeStream mensaje = buffer.pollFirst(heartbeatMs, TimeUnit.MILLISECONDS);
+                if (mensaje == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                        .id(mensaje.getId())
+                        .name(mensaje.getTipo())
+                        .data(mensaje.getJson(), MediaType.APPLICATION_JSON));
+                }
+            }
+            cerrar(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cerrar(true);
+        } catch (IOException | IllegalStateException e) {
+            // El cliente cerró la conexión o el emitter ya terminó: el contenedor se encarga de cerrarlo
+            log.debug("Suscriptor de pedidos desconectado: {}", e.getMessage());
+            cerrar(false);
+        }
+    }
+
+    /**
+     * Da de baja al suscriptor. Solo completa el emitter cuando el cierre lo inicia el servidor.
+     */
+    void cerrar(boolean completarEmitter) {
+        if (!activo.compareAndSet(true, false)) {
+            return;
+        }
+        alCerrar.accept(this);
+        Thread actual = hilo;
+        if (actual != null && actual != Thread.currentThread()) {
+            actual.interrupt();
+        }
+        if (completarEmitter) {
+            emitter.complete();
+        }
+    }
+}
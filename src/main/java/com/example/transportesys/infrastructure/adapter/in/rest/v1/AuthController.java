@@ -1,21 +1,31 @@
 package com.example.transportesys.infrastructure.adapter.in.rest.v1;
 
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.LoginRequest;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.RefreshTokenRequest;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.AuthResponse;
+import com.example.transportesys.infrastructure.resilience.Compartimento;
+import com.example.transportesys.infrastructure.resilience.TipoCompartimento;
 import com.example.transportesys.infrastructure.security.JwtTokenProvider;
+import com.example.transportesys.infrastructure.security.UserDetailsServiceImpl;
+import com.example.transportesys.infrastructure.security.UsuarioAutenticado;
+import com.example.transportesys.infrastructure.security.VerificadorCredenciales;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST Controller para autenticación y autorización.
  * API versionada: /api/v1/auth
@@ -23,36 +33,62 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/api/v1/auth")
 @Tag(name = "Autenticación", description = "API para autenticación con JWT")
+@Compartimento(TipoCompartimento.AUTENTICACION)
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private final VerificadorCredenciales verificadorCredenciales;
     private final JwtTokenProvider tokenProvider;
+    private final UserDetailsServiceImpl userDetailsService;
 
-    public AuthController(AuthenticationManager authenticationManager,
-                         JwtTokenProvider tokenProvider) {
-        this.authenticationManager = authenticationManager;
+    public AuthController(VerificadorCredenciales verificadorCredenciales,
+                         JwtTokenProvider tokenProvider,
+                         UserDetailsServiceImpl userDetailsService) {
+        this.verificadorCredenciales = verificadorCredenciales;
         this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
     }
 
     @PostMapping("/login")
     @Operation(summary = "Iniciar sesión y obtener token JWT",
-               description = "Autentica al usuario y devuelve un token JWT válido por 24 horas con su fecha de expiración")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+               description = "Autentica al usuario y devuelve un token JWT válido por 24 horas con su fecha de expiración, " +
+                             "y un refresh token para renovarlo")
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        // El hash se verifica en el pool de login; el hilo de Tomcat queda libre mientras tanto
+        return verificadorCredenciales.autenticar(loginRequest.getUsername(), loginRequest.getPassword())
+            .thenApply(authentication -> ResponseEntity.ok(emitirTokens(authentication)));
+    }
 
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                loginRequest.getUsername(),
-                loginRequest.getPassword()
-            )
-        );
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar el token JWT",
+               description = "Canjea un refresh token vigente por un token JWT y un refresh token nuevos. " +
+                             "Se rechaza si el usuario está inactivo o sus tokens fueron revocados")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        Claims claims = tokenProvider.parseToken(request.getRefreshToken())
+            .filter(tokenProvider::isRefreshToken)
+            .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // La base es la referencia al renovar: roles actuales y versión de tokens vigente
+        UsuarioAutenticado usuario;
+        try {
+            usuario = userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+        if (!usuario.isEnabled() || usuario.getVersionToken() != tokenProvider.getVersionToken(claims)) {
+            throw new BadCredentialsException("Refresh token revocado");
+        }
 
-        String jwt = tokenProvider.generateToken(authentication);
+        return ResponseEntity.ok(emitirTokens(
+            new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities())));
+    }
 
-        // Obtener la fecha de expiración del token generado
-        java.util.Date expiresAt = tokenProvider.getExpirationDateFromToken(jwt);
+    private AuthResponse emitirTokens(Authentication authentication) {
+        // Las fechas de expiración se fijan antes de firmar, sin volver a parsear los tokens
+        Date expiresAt = tokenProvider.calculateExpirationDate();
+        Date refreshExpiresAt = tokenProvider.calculateRefreshExpirationDate();
+        String jwt = tokenProvider.generateToken(authentication, expiresAt);
+        String refreshToken = tokenProvider.generateRefreshToken(authentication, refreshExpiresAt);
 
-        return ResponseEntity.ok(new AuthResponse(jwt, loginRequest.getUsername(), expiresAt));
+        return new AuthResponse(jwt, authentication.getName(), expiresAt, refreshToken, refreshExpiresAt);
     }
 }
@@ -2,16 +2,18 @@ package com.example.transportesys.infrastructure.adapter.in.rest.v1;
 
 import com.example.transportesys.application.usecase.conductor.*;
 import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.ConductorRequest;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.ConductorResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.PagedResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.mapper.ConductorRestMapper;
+import com.example.transportesys.infrastructure.cache.ConjuntoDatos;
+import com.example.transportesys.infrastructure.cache.RespuestaCacheada;
+import com.example.transportesys.infrastructure.resilience.ServirObsoleto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,6 +31,8 @@ import java.util.stream.Collectors;
 @Tag(name = "Conductores", description = "API para gestión de conductores")
 public class ConductorController {
 
+    private static final int TAMANO_PAGINA_CURSOR = 20;
+
     private final CrearConductorUseCase crearConductorUseCase;
     private final ActualizarConductorUseCase actualizarConductorUseCase;
     private final EliminarConductorUseCase eliminarConductorUseCase;
@@ -59,7 +63,6 @@ public class ConductorController {
 
     @PostMapping
     @Operation(summary = "Crear un nuevo conductor")
-    @CacheEvict(value = "conductores", allEntries = true)
     public ResponseEntity<ConductorResponse> crear(@Valid @RequestBody ConductorRequest request) {
         Conductor conductor = crearConductorUseCase.execute(request.getNombre(), request.getLicencia());
         return new ResponseEntity<>(mapper.toResponse(conductor), HttpStatus.CREATED);
@@ -73,11 +76,25 @@ public class ConductorController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos los conductores con paginación opcional")
-    @Cacheable(value = "conductores")
+    @Operation(summary = "Listar todos los conductores con paginación opcional",
+               description = "Con page y size pagina por número de página; con cursor (vacío para la primera página) pagina por cursor sin calcular el total")
+    @RespuestaCacheada({ConjuntoDatos.CONDUCTORES, ConjuntoDatos.VEHICULOS})
+    @ServirObsoleto
     public ResponseEntity<?> listar(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+
+        // Si hay cursor (vacío para la primera página), paginar por cursor sin COUNT
+        if (cursor != null) {
+            CursorPageResult<Conductor> cursorPage = listarConductoresUseCase.executeByCursor(
+                cursor, size != null ? size : TAMANO_PAGINA_CURSOR);
+
+            List<ConductorResponse> content = cursorPage.getContent().stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(PagedResponse.ofCursor(content, cursorPage.getNextCursor()));
+        }
 
         if (page != null && size != null) {
             PageResult<Conductor> pageResult = listarConductoresUseCase.executePaged(page, size);
@@ -112,7 +129,8 @@ public class ConductorController {
 
     @GetMapping("/activos")
     @Operation(summary = "Listar conductores activos")
-    @Cacheable(value = "conductoresActivos")
+    @RespuestaCacheada({ConjuntoDatos.CONDUCTORES, ConjuntoDatos.VEHICULOS})
+    @ServirObsoleto
     public ResponseEntity<List<ConductorResponse>> listarActivos() {
         List<Conductor> conductores = listarConductoresUseCase.executeActivos();
         List<ConductorResponse> response = conductores.stream()
@@ -123,7 +141,8 @@ public class ConductorController {
 
     @GetMapping("/sin-vehiculos")
     @Operation(summary = "Listar conductores sin vehículos asignados")
-    @Cacheable(value = "conductoresSinVehiculos")
+    @RespuestaCacheada({ConjuntoDatos.CONDUCTORES, ConjuntoDatos.VEHICULOS})
+    @ServirObsoleto
     public ResponseEntity<List<ConductorResponse>> listarSinVehiculos() {
         List<Conductor> conductores = listarSinVehiculosUseCase.execute();
         List<ConductorResponse> response = conductores.stream()
@@ -134,7 +153,8 @@ public class ConductorController {
 
     @GetMapping("/conteo-vehiculos")
     @Operation(summary = "Obtener conteo de vehículos por conductor")
-    @Cacheable(value = "conteoVehiculos")
+    @RespuestaCacheada({ConjuntoDatos.CONDUCTORES, ConjuntoDatos.VEHICULOS})
+    @ServirObsoleto
     public ResponseEntity<Map<Long, Integer>> obtenerConteoVehiculos() {
         Map<Long, Integer> conteo = conteoVehiculosUseCase.execute();
         return ResponseEntity.ok(conteo);
@@ -142,7 +162,6 @@ public class ConductorController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar un conductor")
-    @CacheEvict(value = {"conductores", "conductoresActivos"}, allEntries = true)
     public ResponseEntity<ConductorResponse> actualizar(
             @PathVariable Long id,
             @Valid @RequestBody ConductorRequest request) {
@@ -158,7 +177,6 @@ public class ConductorController {
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Eliminar (lógicamente) un conductor")
-    @CacheEvict(value = {"conductores", "conductoresActivos", "conductoresSinVehiculos"}, allEntries = true)
     public ResponseEntity<Void> eliminar(@PathVariable Long id) {
         eliminarConductorUseCase.execute(id);
         return ResponseEntity.noContent().build();
@@ -0,0 +1,60 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.v1;
+
+import com.example.transportesys.application.usecase.despacho.DespacharPedidosUseCase;
+import com.example.transportesys.application.usecase.despacho.PlanDespacho;
+import com.example.transportesys.application.usecase.despacho.ResultadoDespacho;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.DespachoResponse;
+import com.example.transportesys.infrastructure.resilience.OperacionLarga;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST Controller para el despacho automático de pedidos.
+ * API versionada: /api/v1/despacho
+ */
+@RestController
+@RequestMapping("/api/v1/despacho")
+@Tag(name = "Despacho", description = "API para asignación automática de pedidos pendientes")
+public class DespachoController {
+
+    private final DespacharPedidosUseCase despacharPedidosUseCase;
+
+    public DespachoController(DespacharPedidosUseCase despacharPedidosUseCase) {
+        this.despacharPedidosUseCase = despacharPedidosUseCase;
+    }
+
+    @PostMapping("/ejecutar")
+    @OperacionLarga
+    @Operation(summary = "Asignar vehículo y conductor a los pedidos pendientes sin asignar",
+               description = "Reparte los pedidos por peso entre los vehículos activos con conductor activo, sin superar " +
+                             "su capacidad restante, y persiste las asignaciones en lotes de tamanoLote (máximo " +
+                             DespacharPedidosUseCase.MAXIMO_TAMANO_LOTE + "). Informa tiempos y utilización de la flota")
+    public ResponseEntity<DespachoResponse> ejecutar(
+            @RequestParam(defaultValue = "100000") int maxPedidos,
+            @RequestParam(defaultValue = "1000") int tamanoLote) {
+        ResultadoDespacho resultado = despacharPedidosUseCase.execute(maxPedidos, tamanoLote);
+        PlanDespacho plan = resultado.getPlan();
+        return ResponseEntity.ok(new DespachoResponse(
+            plan.getPedidosEvaluados(),
+            resultado.getPedidosAsignados(),
+            plan.getPedidosSinUbicar(),
+            resultado.getPedidosDescartados(),
+            plan.getVehiculosDisponibles(),
+            plan.getVehiculosUsados(),
+            plan.getUtilizacionVehiculosUsados(),
+            plan.getUtilizacionFlota(),
+            plan.getParticiones(),
+            resultado.getLotes(),
+            TimeUnit.NANOSECONDS.toMillis(resultado.getTiempoCargaNanos()),
+            TimeUnit.NANOSECONDS.toMillis(plan.getTiempoResolucionNanos()),
+            TimeUnit.NANOSECONDS.toMillis(resultado.getTiempoPersistenciaNanos())
+        ));
+    }
+}
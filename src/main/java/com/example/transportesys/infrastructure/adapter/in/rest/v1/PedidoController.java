@@ -2,20 +2,37 @@ package com.example.transportesys.infrastructure.adapter.in.rest.v1;
 
 import com.example.transportesys.application.usecase.pedido.*;
 import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.model.CursorPageResult;
+import com.example.transportesys.domain.model.FiltroPedidos;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.CambioEstadoLoteRequest;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.PedidoRequest;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.CambioEstadoLoteResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.PagedResponse;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.PedidoLoteResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.PedidoResponse;
+import com.example.transportesys.infrastructure.adapter.in.rest.export.FormatoExportacion;
+import com.example.transportesys.infrastructure.adapter.in.rest.export.PedidoExportWriter;
 import com.example.transportesys.infrastructure.adapter.in.rest.mapper.PedidoRestMapper;
+import com.example.transportesys.infrastructure.adapter.in.rest.stream.PedidoStreamHub;
+import com.example.transportesys.infrastructure.resilience.OperacionLarga;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,35 +44,55 @@ import java.util.stream.Collectors;
 @Tag(name = "Pedidos", description = "API para gestión de pedidos")
 public class PedidoController {
 
+    private static final int TAMANO_PAGINA_CURSOR = 20;
+
     private final CrearPedidoUseCase crearPedidoUseCase;
+    private final CrearPedidosLoteUseCase crearPedidosLoteUseCase;
     private final ActualizarEstadoPedidoUseCase actualizarEstadoUseCase;
     private final IniciarPedidoUseCase iniciarPedidoUseCase;
     private final CompletarPedidoUseCase completarPedidoUseCase;
     private final CancelarPedidoUseCase cancelarPedidoUseCase;
+    private final TransicionarEstadoPedidosUseCase transicionarEstadoPedidosUseCase;
     private final CambiarVehiculoPedidoUseCase cambiarVehiculoUseCase;
     private final ListarPedidosUseCase listarPedidosUseCase;
+    private final BuscarPedidosUseCase buscarPedidosUseCase;
     private final ObtenerPedidoUseCase obtenerPedidoUseCase;
+    private final ExportarPedidosUseCase exportarPedidosUseCase;
     private final PedidoRestMapper mapper;
+    private final PedidoExportWriter exportWriter;
+    private final PedidoStreamHub streamHub;
 
     public PedidoController(
             CrearPedidoUseCase crearPedidoUseCase,
+            CrearPedidosLoteUseCase crearPedidosLoteUseCase,
             ActualizarEstadoPedidoUseCase actualizarEstadoUseCase,
             IniciarPedidoUseCase iniciarPedidoUseCase,
             CompletarPedidoUseCase completarPedidoUseCase,
             CancelarPedidoUseCase cancelarPedidoUseCase,
+            TransicionarEstadoPedidosUseCase transicionarEstadoPedidosUseCase,
             CambiarVehiculoPedidoUseCase cambiarVehiculoUseCase,
             ListarPedidosUseCase listarPedidosUseCase,
+            BuscarPedidosUseCase buscarPedidosUseCase,
             ObtenerPedidoUseCase obtenerPedidoUseCase,
-            PedidoRestMapper mapper) {
+            ExportarPedidosUseCase exportarPedidosUseCase,
+            PedidoRestMapper mapper,
+            PedidoExportWriter exportWriter,
+            PedidoStreamHub streamHub) {
         this.crearPedidoUseCase = crearPedidoUseCase;
+        this.crearPedidosLoteUseCase = crearPedidosLoteUseCase;
         this.actualizarEstadoUseCase = actualizarEstadoUseCase;
         this.iniciarPedidoUseCase = iniciarPedidoUseCase;
         this.completarPedidoUseCase = completarPedidoUseCase;
         this.cancelarPedidoUseCase = cancelarPedidoUseCase;
+        this.transicionarEstadoPedidosUseCase = transicionarEstadoPedidosUseCase;
         this.cambiarVehiculoUseCase = cambiarVehiculoUseCase;
         this.listarPedidosUseCase = listarPedidosUseCase;
+        this.buscarPedidosUseCase = buscarPedidosUseCase;
         this.obtenerPedidoUseCase = obtenerPedidoUseCase;
+        this.exportarPedidosUseCase = exportarPedidosUseCase;
         this.mapper = mapper;
+        this.exportWriter = exportWriter;
+        this.streamHub = streamHub;
     }
 
     @PostMapping
@@ -73,6 +110,59 @@ public class PedidoController {
         return new ResponseEntity<>(mapper.toResponse(pedido), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @OperacionLarga
+    @Operation(summary = "Crear pedidos en lote",
+               description = "Valida todos los vehículos y conductores referenciados en una consulta por tipo, inserta los pedidos válidos " +
+                             "en lote y retorna el resultado de cada ítem (máximo " + CrearPedidosLoteUseCase.MAXIMO_ITEMS + " por petición)")
+    public ResponseEntity<PedidoLoteResponse> crearLote(@RequestBody List<PedidoRequest> requests) {
+        List<CrearPedidosLoteUseCase.ItemPedido> items = requests.stream()
+            .map(mapper::toItemLote)
+            .collect(Collectors.toList());
+
+        List<CrearPedidosLoteUseCase.ResultadoItem> resultados = crearPedidosLoteUseCase.execute(items);
+        return ResponseEntity.ok(mapper.toLoteResponse(resultados));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar pedidos en streaming",
+               description = "Escribe los pedidos en NDJSON o CSV a medida que se leen de la base de datos, sin cargarlos en memoria")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) EstadoPedido estado) {
+
+        FormatoExportacion formato = FormatoExportacion.desde(format);
+        FiltroPedidos filtro = new FiltroPedidos();
+        filtro.setEstados(estado != null ? Set.of(estado) : null);
+        filtro.setDesde(desde);
+        filtro.setHasta(hasta);
+
+        StreamingResponseBody cuerpo = salida -> {
+            exportWriter.escribirEncabezado(formato, salida);
+            exportarPedidosUseCase.execute(filtro, exportWriter.escritor(formato, salida));
+            salida.flush();
+        };
+
+        return ResponseEntity.ok()
+            .contentType(formato.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"pedidos." + formato.getExtension() + "\"")
+            .body(cuerpo);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a los cambios de pedidos (SSE)",
+               description = "Envía los cambios de pedidos a medida que ocurren, filtrados por conductor y/o estado. " +
+                             "Acepta Last-Event-ID para reanudar; el evento 'resincronizar' indica que se perdieron cambios " +
+                             "y el cliente debe volver a consultar los pedidos")
+    public SseEmitter stream(
+            @RequestParam(required = false) Long conductorId,
+            @RequestParam(required = false) EstadoPedido estado,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return streamHub.suscribir(conductorId, estado, ultimoEventoId);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener un pedido por ID")
     public ResponseEntity<PedidoResponse> obtener(@PathVariable Long id) {
@@ -81,29 +171,33 @@ public class PedidoController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos los pedidos con paginación opcional")
+    @Operation(summary = "Listar todos los pedidos con paginación opcional",
+               description = "Con page y size pagina por número de página; con cursor (vacío para la primera página) pagina por cursor sin calcular el total. " +
+                             "Con filtros (estado, vehiculoId, conductorId) siempre pagina por cursor; sin cursor devuelve la primera página")
     public ResponseEntity<?> listar(
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size,
             @RequestParam(required = false) EstadoPedido estado,
             @RequestParam(required = false) Long vehiculoId,
-            @RequestParam(required = false) Long conductorId) {
+            @RequestParam(required = false) Long conductorId,
+            @RequestParam(required = false) String cursor) {
 
-        // Si hay filtros específicos, retornar lista simple
+        // Si hay filtros, se combinan todos en una sola consulta paginada por cursor
+        // (sin cursor se devuelve la primera página)
         if (estado != null || vehiculoId != null || conductorId != null) {
-            List<Pedido> pedidos;
-            if (estado != null) {
-                pedidos = listarPedidosUseCase.executeByEstado(estado);
-            } else if (vehiculoId != null) {
-                pedidos = listarPedidosUseCase.executeByVehiculo(vehiculoId);
-            } else {
-                pedidos = listarPedidosUseCase.executeByConductor(conductorId);
-            }
-
-            List<PedidoResponse> response = pedidos.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(response);
+            FiltroPedidos filtro = new FiltroPedidos();
+            filtro.setEstados(estado != null ? Set.of(estado) : null);
+            filtro.setVehiculoId(vehiculoId);
+            filtro.setConductorId(conductorId);
+
+            return ResponseEntity.ok(toCursorResponse(buscarPedidosUseCase.execute(
+                filtro, cursor, size != null ? size : TAMANO_PAGINA_CURSOR, false)));
+        }
+
+        // Si hay cursor (vacío para la primera página), paginar por cursor sin COUNT
+        if (cursor != null) {
+            return ResponseEntity.ok(toCursorResponse(listarPedidosUseCase.executeByCursor(
+                cursor, size != null ? size : TAMANO_PAGINA_CURSOR)));
         }
 
         // Si hay paginación, retornar con metadata
@@ -139,6 +233,31 @@ public class PedidoController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar pedidos combinando criterios",
+               description = "Combina estados, vehículo, conductor, rango de fecha de creación y rango de peso en una sola consulta. " +
+                             "Ordena por fecha de creación (orden=asc|desc) y pagina por cursor")
+    public ResponseEntity<PagedResponse<PedidoResponse>> buscar(
+            @RequestParam(required = false) Set<EstadoPedido> estados,
+            @RequestParam(required = false) Long vehiculoId,
+            @RequestParam(required = false) Long conductorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) BigDecimal pesoMinimoKg,
+            @RequestParam(required = false) BigDecimal pesoMaximoKg,
+            @RequestParam(defaultValue = "asc") String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        FiltroPedidos filtro = new FiltroPedidos(
+            estados, desde, hasta, vehiculoId, conductorId, pesoMinimoKg, pesoMaximoKg);
+        boolean descendente = "desc".equalsIgnoreCase(orden);
+
+        CursorPageResult<Pedido> resultado = buscarPedidosUseCase.execute(
+            filtro, cursor, size != null ? size : TAMANO_PAGINA_CURSOR, descendente);
+        return ResponseEntity.ok(toCursorResponse(resultado));
+    }
+
     @PatchMapping("/{id}/estado")
     @Operation(summary = "Actualizar el estado de un pedido")
     public ResponseEntity<PedidoResponse> actualizarEstado(
@@ -149,6 +268,17 @@ public class PedidoController {
         return ResponseEntity.ok(mapper.toResponse(pedido));
     }
 
+    @PostMapping("/estado/batch")
+    @OperacionLarga
+    @Operation(summary = "Cambiar el estado de varios pedidos",
+               description = "Aplica la transición en una única sentencia condicional. Solo cambian los pedidos cuyo estado actual " +
+                             "la permite; el resto se informa en noActualizados (máximo " + TransicionarEstadoPedidosUseCase.MAXIMO_IDS + " IDs)")
+    public ResponseEntity<CambioEstadoLoteResponse> cambiarEstadoLote(@Valid @RequestBody CambioEstadoLoteRequest request) {
+        TransicionarEstadoPedidosUseCase.ResultadoTransicion resultado =
+            transicionarEstadoPedidosUseCase.execute(request.getIds(), request.getEstado());
+        return ResponseEntity.ok(mapper.toCambioEstadoLoteResponse(resultado));
+    }
+
     @PostMapping("/{id}/iniciar")
     @Operation(summary = "Iniciar un pedido (cambiar a EN_PROGRESO)")
     public ResponseEntity<PedidoResponse> iniciar(@PathVariable Long id) {
@@ -180,4 +310,11 @@ public class PedidoController {
         Pedido pedido = cambiarVehiculoUseCase.execute(pedidoId, vehiculoId);
         return ResponseEntity.ok(mapper.toResponse(pedido));
     }
+
+    private PagedResponse<PedidoResponse> toCursorResponse(CursorPageResult<Pedido> cursorPage) {
+        List<PedidoResponse> content = cursorPage.getContent().stream()
+            .map(mapper::toResponse)
+            .collect(Collectors.toList());
+        return PagedResponse.ofCursor(content, cursorPage.getNextCursor());
+    }
 }
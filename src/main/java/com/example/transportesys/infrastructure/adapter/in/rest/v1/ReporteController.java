@@ -2,16 +2,21 @@ package com.example.transportesys.infrastructure.adapter.in.rest.v1;
 
 import com.example.transportesys.application.usecase.conductor.ListarConductoresSinVehiculosUseCase;
 import com.example.transportesys.application.usecase.conductor.ObtenerConteoVehiculosPorConductorUseCase;
+import com.example.transportesys.application.usecase.pedido.ObtenerConteoPedidosUseCase;
 import com.example.transportesys.application.usecase.vehiculo.ObtenerVehiculosLibresUseCase;
+import com.example.transportesys.domain.enums.EstadoPedido;
 import com.example.transportesys.domain.model.Conductor;
 import com.example.transportesys.domain.model.Vehiculo;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.ConductorResponse;
+import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.ConteoPedidosResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.VehiculoResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.mapper.ConductorRestMapper;
 import com.example.transportesys.infrastructure.adapter.in.rest.mapper.VehiculoRestMapper;
+import com.example.transportesys.infrastructure.cache.ConjuntoDatos;
+import com.example.transportesys.infrastructure.cache.RespuestaCacheada;
+import com.example.transportesys.infrastructure.resilience.ServirObsoleto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -33,6 +38,7 @@ public class ReporteController {
     private final ObtenerVehiculosLibresUseCase vehiculosLibresUseCase;
     private final ListarConductoresSinVehiculosUseCase conductoresSinVehiculosUseCase;
     private final ObtenerConteoVehiculosPorConductorUseCase conteoVehiculosUseCase;
+    private final ObtenerConteoPedidosUseCase conteoPedidosUseCase;
     private final VehiculoRestMapper vehiculoMapper;
     private final ConductorRestMapper conductorMapper;
 
@@ -40,11 +46,13 @@ public class ReporteController {
             ObtenerVehiculosLibresUseCase vehiculosLibresUseCase,
             ListarConductoresSinVehiculosUseCase conductoresSinVehiculosUseCase,
             ObtenerConteoVehiculosPorConductorUseCase conteoVehiculosUseCase,
+            ObtenerConteoPedidosUseCase conteoPedidosUseCase,
             VehiculoRestMapper vehiculoMapper,
             ConductorRestMapper conductorMapper) {
         this.vehiculosLibresUseCase = vehiculosLibresUseCase;
         this.conductoresSinVehiculosUseCase = conductoresSinVehiculosUseCase;
         this.conteoVehiculosUseCase = conteoVehiculosUseCase;
+        this.conteoPedidosUseCase = conteoPedidosUseCase;
         this.vehiculoMapper = vehiculoMapper;
         this.conductorMapper = conductorMapper;
     }
@@ -52,7 +60,8 @@ public class ReporteController {
     @GetMapping("/vehiculos-libres")
     @Operation(summary = "Obtener vehículos disponibles (sin conductor asignado)",
                description = "Lista todos los vehículos activos que no tienen conductor asignado")
-    @Cacheable(value = "reporteVehiculosLibres")
+    @RespuestaCacheada(ConjuntoDatos.VEHICULOS)
+    @ServirObsoleto
     public ResponseEntity<List<VehiculoResponse>> obtenerVehiculosLibres() {
         List<Vehiculo> vehiculos = vehiculosLibresUseCase.execute();
         List<VehiculoResponse> response = vehiculos.stream()
@@ -64,7 +73,8 @@ public class ReporteController {
     @GetMapping("/conductores-sin-vehiculos")
     @Operation(summary = "Obtener conductores sin vehículos asignados",
                description = "Lista todos los conductores activos que no tienen vehículos asignados")
-    @Cacheable(value = "reporteConductoresSinVehiculos")
+    @RespuestaCacheada({ConjuntoDatos.CONDUCTORES, ConjuntoDatos.VEHICULOS})
+    @ServirObsoleto
     public ResponseEntity<List<ConductorResponse>> obtenerConductoresSinVehiculos() {
         List<Conductor> conductores = conductoresSinVehiculosUseCase.execute();
         List<ConductorResponse> response = conductores.stream()
@@ -76,9 +86,20 @@ public class ReporteController {
     @GetMapping("/vehiculos-por-conductor")
     @Operation(summary = "Obtener número de vehículos por conductor",
                description = "Devuelve un mapa con el ID del conductor y la cantidad de vehículos asignados")
-    @Cacheable(value = "reporteVehiculosPorConductor")
+    @RespuestaCacheada({ConjuntoDatos.CONDUCTORES, ConjuntoDatos.VEHICULOS})
+    @ServirObsoleto
     public ResponseEntity<Map<Long, Integer>> obtenerVehiculosPorConductor() {
         Map<Long, Integer> conteo = conteoVehiculosUseCase.execute();
         return ResponseEntity.ok(conteo);
     }
+
+    @GetMapping("/pedidos-por-estado")
+    @Operation(summary = "Obtener número de pedidos por estado",
+               description = "Devuelve la cantidad de pedidos en cada estado y el total, desde contadores en memoria " +
+                             "reconciliados periódicamente con la base de datos")
+    public ResponseEntity<ConteoPedidosResponse> obtenerPedidosPorEstado() {
+        Map<EstadoPedido, Long> conteos = conteoPedidosUseCase.execute();
+        long total = conteos.values().stream().mapToLong(Long::longValue).sum();
+        return ResponseEntity.ok(new ConteoPedidosResponse(total, conteos));
+    }
 }
@@ -7,6 +7,8 @@ import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.Regi
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.UpdateUsuarioRequest;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.UsuarioResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.mapper.UsuarioRestMapper;
+import com.example.transportesys.infrastructure.resilience.Compartimento;
+import com.example.transportesys.infrastructure.resilience.TipoCompartimento;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -83,6 +85,7 @@ public class UsuarioController {
     }
 
     @GetMapping("/me")
+    @Compartimento(TipoCompartimento.LECTURA_PUNTUAL)
     @Operation(summary = "Obtener información del usuario actual")
     public ResponseEntity<UsuarioResponse> obtenerUsuarioActual(Authentication authentication) {
         String username = authentication.getName();
@@ -1,17 +1,20 @@
 package com.example.transportesys.infrastructure.adapter.in.rest.v1;
 
 import com.example.transportesys.application.usecase.vehiculo.*;
+import com.example.transportesys.domain.enums.CriterioAjuste;
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.model.Vehiculo;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.request.VehiculoRequest;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.PagedResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.dto.response.VehiculoResponse;
 import com.example.transportesys.infrastructure.adapter.in.rest.mapper.VehiculoRestMapper;
+import com.example.transportesys.infrastructure.cache.ConjuntoDatos;
+import com.example.transportesys.infrastructure.cache.RespuestaCacheada;
+import com.example.transportesys.infrastructure.resilience.ServirObsoleto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,12 +31,15 @@ import java.util.stream.Collectors;
 @Tag(name = "Vehículos", description = "API para gestión de vehículos")
 public class VehiculoController {
 
+    private static final int TAMANO_PAGINA_CURSOR = 20;
+
     private final CrearVehiculoUseCase crearVehiculoUseCase;
     private final ActualizarVehiculoUseCase actualizarVehiculoUseCase;
     private final EliminarVehiculoUseCase eliminarVehiculoUseCase;
     private final ObtenerVehiculoUseCase obtenerVehiculoUseCase;
     private final ListarVehiculosUseCase listarVehiculosUseCase;
     private final ObtenerVehiculosLibresUseCase obtenerVehiculosLibresUseCase;
+    private final BuscarVehiculosLibresPorPesoUseCase buscarVehiculosLibresPorPesoUseCase;
     private final AsignarConductorAVehiculoUseCase asignarConductorUseCase;
     private final DevolverVehiculoConductorUseCase devolverVehiculoUseCase;
     private final VehiculoRestMapper mapper;
@@ -45,6 +51,7 @@ public class VehiculoController {
             ObtenerVehiculoUseCase obtenerVehiculoUseCase,
             ListarVehiculosUseCase listarVehiculosUseCase,
             ObtenerVehiculosLibresUseCase obtenerVehiculosLibresUseCase,
+            BuscarVehiculosLibresPorPesoUseCase buscarVehiculosLibresPorPesoUseCase,
             AsignarConductorAVehiculoUseCase asignarConductorUseCase,
             DevolverVehiculoConductorUseCase devolverVehiculoUseCase,
             VehiculoRestMapper mapper) {
@@ -54,6 +61,7 @@ public class VehiculoController {
         this.obtenerVehiculoUseCase = obtenerVehiculoUseCase;
         this.listarVehiculosUseCase = listarVehiculosUseCase;
         this.obtenerVehiculosLibresUseCase = obtenerVehiculosLibresUseCase;
+        this.buscarVehiculosLibresPorPesoUseCase = buscarVehiculosLibresPorPesoUseCase;
         this.asignarConductorUseCase = asignarConductorUseCase;
         this.devolverVehiculoUseCase = devolverVehiculoUseCase;
         this.mapper = mapper;
@@ -61,7 +69,6 @@ public class VehiculoController {
 
     @PostMapping
     @Operation(summary = "Crear un nuevo vehículo")
-    @CacheEvict(value = "vehiculos", allEntries = true)
     public ResponseEntity<VehiculoResponse> crear(@Valid @RequestBody VehiculoRequest request) {
         Vehiculo vehiculo = crearVehiculoUseCase.execute(request.getPlaca(), request.getCapacidadKg());
         return new ResponseEntity<>(mapper.toResponse(vehiculo), HttpStatus.CREATED);
@@ -75,11 +82,25 @@ public class VehiculoController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos los vehículos con paginación opcional")
-    @Cacheable(value = "vehiculos")
+    @Operation(summary = "Listar todos los vehículos con paginación opcional",
+               description = "Con page y size pagina por número de página; con cursor (vacío para la primera página) pagina por cursor sin calcular el total")
+    @RespuestaCacheada(ConjuntoDatos.VEHICULOS)
+    @ServirObsoleto
     public ResponseEntity<?> listar(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+
+        // Si hay cursor (vacío para la primera página), paginar por cursor sin COUNT
+        if (cursor != null) {
+            CursorPageResult<Vehiculo> cursorPage = listarVehiculosUseCase.executeByCursor(
+                cursor, size != null ? size : TAMANO_PAGINA_CURSOR);
+
+            List<VehiculoResponse> content = cursorPage.getContent().stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(PagedResponse.ofCursor(content, cursorPage.getNextCursor()));
+        }
 
         if (page != null && size != null) {
             PageResult<Vehiculo> pageResult = listarVehiculosUseCase.executePaged(page, size);
@@ -114,7 +135,8 @@ public class VehiculoController {
 
     @GetMapping("/activos")
     @Operation(summary = "Listar vehículos activos")
-    @Cacheable(value = "vehiculosActivos")
+    @RespuestaCacheada(ConjuntoDatos.VEHICULOS)
+    @ServirObsoleto
     public ResponseEntity<List<VehiculoResponse>> listarActivos() {
         List<Vehiculo> vehiculos = listarVehiculosUseCase.executeActivos();
         List<VehiculoResponse> response = vehiculos.stream()
@@ -124,10 +146,15 @@ public class VehiculoController {
     }
 
     @GetMapping("/libres")
-    @Operation(summary = "Obtener vehículos libres (sin conductor asignado)")
-    @Cacheable(value = "vehiculosLibres")
-    public ResponseEntity<List<VehiculoResponse>> obtenerLibres() {
-        List<Vehiculo> vehiculos = obtenerVehiculosLibresUseCase.execute();
+    @Operation(summary = "Obtener vehículos libres (sin conductor asignado); con pesoMinimoKg, los que alcanzan según el criterio")
+    @RespuestaCacheada(ConjuntoDatos.VEHICULOS)
+    @ServirObsoleto
+    public ResponseEntity<List<VehiculoResponse>> obtenerLibres(
+            @RequestParam(required = false) Double pesoMinimoKg,
+            @RequestParam(defaultValue = "TODOS") CriterioAjuste criterio) {
+        List<Vehiculo> vehiculos = pesoMinimoKg == null
+            ? obtenerVehiculosLibresUseCase.execute()
+            : buscarVehiculosLibresPorPesoUseCase.execute(pesoMinimoKg, criterio);
         List<VehiculoResponse> response = vehiculos.stream()
             .map(mapper::toResponse)
             .collect(Collectors.toList());
@@ -136,7 +163,6 @@ public class VehiculoController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar un vehículo")
-    @CacheEvict(value = {"vehiculos", "vehiculosActivos", "vehiculosLibres"}, allEntries = true)
     public ResponseEntity<VehiculoResponse> actualizar(
             @PathVariable Long id,
             @Valid @RequestBody VehiculoRequest request) {
@@ -152,7 +178,6 @@ public class VehiculoController {
 
     @PostMapping("/{vehiculoId}/asignar-conductor/{conductorId}")
     @Operation(summary = "Asignar un conductor a un vehículo")
-    @CacheEvict(value = {"vehiculos", "vehiculosLibres"}, allEntries = true)
     public ResponseEntity<VehiculoResponse> asignarConductor(
             @PathVariable Long vehiculoId,
             @PathVariable Long conductorId) {
@@ -164,7 +189,6 @@ public class VehiculoController {
     @PostMapping("/{vehiculoId}/devolver")
     @Operation(summary = "Devolver un vehículo (desasignarlo del conductor)",
                description = "Desasigna un vehículo de su conductor. No permite devolver si hay pedidos activos.")
-    @CacheEvict(value = {"vehiculos", "vehiculosLibres"}, allEntries = true)
     public ResponseEntity<VehiculoResponse> devolver(@PathVariable Long vehiculoId) {
         Vehiculo vehiculo = devolverVehiculoUseCase.execute(vehiculoId);
         return ResponseEntity.ok(mapper.toResponse(vehiculo));
@@ -172,7 +196,6 @@ public class VehiculoController {
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Eliminar (lógicamente) un vehículo")
-    @CacheEvict(value = {"vehiculos", "vehiculosActivos", "vehiculosLibres"}, allEntries = true)
     public ResponseEntity<Void> eliminar(@PathVariable Long id) {
         eliminarVehiculoUseCase.execute(id);
         return ResponseEntity.noContent().build();
@@ -0,0 +1,160 @@
+package com.example.transportesys.infrastructure.adapter.out.memoria;
+
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.valueobject.Capacidad;
+import com.example.transportesys.domain.valueobject.Peso;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Adapter en memoria de CapacidadVehiculosRepository: un AtomicLong de gramos comprometidos por vehículo.
+ * Las reservas se admiten con compare-and-set, sin locks ni consultas a la base de datos, así que
+ * muchas creaciones concurrentes sobre el mismo vehículo nunca superan su capacidad.
+ * La reserva se aplica en el momento y se revierte si la transacción no confirma; la liberación
+ * se aplica tras el commit. Cada instancia de la aplicación solo ve sus propias reservas;
+ * la reconciliación periódica acota el desvío entre instancias.
+ */
+@Component
+public class CapacidadVehiculosMemoriaAdapter implements CapacidadVehiculosRepository {
+
+    private final ConcurrentHashMap<Long, Registro> registros = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean reservar(Long vehiculoId, Capacidad capacidad, Peso peso, Supplier<Peso> cargaActual) {
+        Registro registro = registros.get(vehiculoId);
+        if (registro == null) {
+            // Consulta fuera del mapa; si otro hilo lo cargó antes, gana el suyo
+            Registro cargado = new Registro(cargaActual.get().enGramos());
+            Registro previo = registros.putIfAbsent(vehiculoId, cargado);
+            registro = previo != null ? previo : cargado;
+        }
+
+        long gramos = peso.enGramos();
+        long limite = capacidad.enGramos();
+        registro.iniciarCambio();
+        long actual;
+        do {
+            actual = registro.comprometido.get();
+            if (actual + gramos > limite) {
+                registro.terminarCambio();
+                return false;
+            }
+        } while (!registro.comprometido.compareAndSet(actual, actual + gramos));
+
+        Registro reservado = registro;
+        alCompletar(confirmada -> {
+            if (!confirmada) {
+                reservado.descontar(gramos);
+            }
+            reservado.terminarCambio();
+        });
+        return true;
+    }
+
+    @Override
+    public void liberar(Long vehiculoId, Peso peso) {
+        Registro registro = registros.get(vehiculoId);
+        if (registro == null) {
+            // Sin registro no hay nada que devolver: se cargará desde la base cuando se reserve
+            return;
+        }
+        long gramos = peso.enGramos();
+        registro.iniciarCambio();
+        alCompletar(confirmada -> {
+            if (confirmada) {
+                registro.descontar(gramos);
+            }
+            registro.terminarCambio();
+        });
+    }
+
+    @Override
+    public Optional<Peso> obtenerComprometido(Long vehiculoId) {
+        return Optional.ofNullable(registros.get(vehiculoId))
+            .map(registro -> new Peso(BigDecimal.valueOf(registro.comprometido.get(), 3)));
+    }
+
+    @Override
+    public int reconciliar(Supplier<Map<Long, Peso>> cargasActivas) {
+        // Marca de cambios de cada vehículo antes de consultar
+        Map<Long, Long> marcas = new HashMap<>();
+        registros.forEach((vehiculoId, registro) -> marcas.put(vehiculoId, registro.cambios.get()));
+
+        Map<Long, Peso> cargas = cargasActivas.get();
+
+        int corregidos = 0;
+        for (Map.Entry<Long, Long> marca : marcas.entrySet()) {
+            Registro registro = registros.get(marca.getKey());
+            long actual = registro.comprometido.get();
+            // Si algo empezó o terminó durante la consulta, el valor leído puede no corresponder a la base
+            if (registro.enCurso.get() != 0 || registro.cambios.get() != marca.getValue()) {
+                continue;
+            }
+            Peso carga = cargas.get(marca.getKey());
+            long enBase = carga != null ? carga.enGramos() : 0;
+            if (actual != enBase && registro.comprometido.compareAndSet(actual, enBase)) {
+                corregidos++;
+            }
+        }
+        return corregidos;
+    }
+
+    /**
+     * Ejecuta la acción al terminar la transacción en curso (true si confirmó), o en el momento si no hay una.
+     */
+    private static void alCompletar(Consumer<Boolean> accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    accion.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            accion.accept(true);
+        }
+    }
+
+    /**
+     * Estado de un vehículo. enCurso cuenta las reservas y liberaciones cuya transacción no terminó;
+     * cambios crece al empezar y al terminar cada una, para que la reconciliación detecte
+     * cualquier cambio ocurrido mientras consultaba la base.
+     */
+    private static final class Registro {
+        private final AtomicLong comprometido;
+        private final AtomicInteger enCurso = new AtomicInteger();
+        private final AtomicLong cambios = new AtomicLong();
+
+        private Registro(long comprometido) {
+            this.comprometido = new AtomicLong(comprometido);
+        }
+
+        void iniciarCambio() {
+            enCurso.incrementAndGet();
+            cambios.incrementAndGet();
+        }
+
+        /**
+         * Primero cambios y después enCurso: quien vea enCurso en cero ya ve el cambio registrado.
+         */
+        void terminarCambio() {
+            cambios.incrementAndGet();
+            enCurso.decrementAndGet();
+        }
+
+        void descontar(long gramos) {
+            comprometido.updateAndGet(valor -> Math.max(0, valor - gramos));
+        }
+    }
+}
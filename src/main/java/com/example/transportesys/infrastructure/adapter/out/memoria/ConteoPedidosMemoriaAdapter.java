@@ -0,0 +1,76 @@
+package com.example.transportesys.infrastructure.adapter.out.memoria;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Adapter en memoria de ConteoPedidosRepository: un AtomicLong por estado,
+ * así la lectura de todos los conteos no toca la base de datos.
+ * Los deltas se aplican tras el commit para no contar transacciones revertidas.
+ * Cada instancia de la aplicación solo ve sus propios deltas; la reconciliación
+ * periódica acota el desvío entre instancias.
+ * La reconciliación no pisa los contadores con lo leído: les suma la diferencia entre la base
+ * y el valor que tenían al empezar la consulta, así los deltas aplicados mientras tanto se conservan.
+ */
+@Component
+public class ConteoPedidosMemoriaAdapter implements ConteoPedidosRepository {
+
+    private final Map<EstadoPedido, AtomicLong> contadores = new EnumMap<>(EstadoPedido.class);
+    private volatile boolean inicializado;
+
+    public ConteoPedidosMemoriaAdapter() {
+        for (EstadoPedido estado : EstadoPedido.values()) {
+            contadores.put(estado, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void sumar(EstadoPedido estado, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contadores.get(estado).addAndGet(delta);
+                }
+            });
+        } else {
+            contadores.get(estado).addAndGet(delta);
+        }
+    }
+
+    @Override
+    public Map<EstadoPedido, Long> obtenerConteos() {
+        Map<EstadoPedido, Long> conteos = new EnumMap<>(EstadoPedido.class);
+        contadores.forEach((estado, contador) -> conteos.put(estado, contador.get()));
+        return conteos;
+    }
+
+    @Override
+    public synchronized void reemplazar(Supplier<Map<EstadoPedido, Long>> conteos) {
+        // Valor de cada contador antes de consultar
+        Map<EstadoPedido, Long> marcas = obtenerConteos();
+
+        Map<EstadoPedido, Long> enBase = conteos.get();
+
+        // Lo sumado desde la marca queda encima de lo leído: actual - marca + enBase
+        contadores.forEach((estado, contador) ->
+            contador.addAndGet(enBase.getOrDefault(estado, 0L) - marcas.get(estado)));
+        inicializado = true;
+    }
+
+    @Override
+    public boolean estaInicializado() {
+        return inicializado;
+    }
+}
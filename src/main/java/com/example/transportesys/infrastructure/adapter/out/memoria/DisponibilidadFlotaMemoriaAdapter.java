@@ -0,0 +1,199 @@
+package com.example.transportesys.infrastructure.adapter.out.memoria;
+
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
+import com.example.transportesys.domain.valueobject.Peso;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Adapter en memoria de DisponibilidadFlotaRepository.
+ * El índice es una instantánea inmutable de arreglos ordenados por capacidad en gramos:
+ * las lecturas no toman locks y resuelven con búsqueda binaria; cada escritura arma
+ * una instantánea nueva (la flota es chica y cambia poco comparado con las consultas).
+ * Los cambios se aplican tras el commit para no reflejar transacciones revertidas.
+ * Mientras una recarga consulta la base, los cambios aplicados quedan anotados por vehículo
+ * y se vuelven a aplicar sobre lo leído, así la instantánea vieja no pisa un commit más nuevo.
+ */
+@Component
+public class DisponibilidadFlotaMemoriaAdapter implements DisponibilidadFlotaRepository {
+
+    private final Object escritura = new Object();
+    private final Object recarga = new Object();
+    private volatile Indice indice = Indice.VACIO;
+    /** Último estado de cada vehículo cambiado durante la recarga en curso (null = fuera del índice). */
+    private Map<Long, Vehiculo> cambiosDuranteRecarga;
+    private volatile boolean inicializado;
+
+    @Override
+    public void registrar(Vehiculo vehiculo) {
+        Vehiculo copia = vehiculo.estaLibre() ? copiar(vehiculo) : null;
+        Long vehiculoId = vehiculo.getId();
+        despuesDelCommit(() -> aplicar(vehiculoId, copia));
+    }
+
+    @Override
+    public void quitar(Long vehiculoId) {
+        despuesDelCommit(() -> aplicar(vehiculoId, null));
+    }
+
+    @Override
+    public Optional<Vehiculo> buscarMejorAjuste(Peso peso) {
+        Indice actual = indice;
+        int desde = actual.primeroQueCabe(peso.enGramos());
+        return desde < actual.vehiculos.length ? Optional.of(actual.vehiculos[desde]) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Vehiculo> buscarPrimerAjuste(Peso peso) {
+        Indice actual = indice;
+        Vehiculo elegido = null;
+        for (int i = actual.primeroQueCabe(peso.enGramos()); i < actual.vehiculos.length; i++) {
+            if (elegido == null || actual.vehiculos[i].getId() < elegido.getId()) {
+                elegido = actual.vehiculos[i];
+            }
+        }
+        return Optional.ofNullable(elegido);
+    }
+
+    @Override
+    public List<Vehiculo> buscarTodosLosQueCaben(Peso peso) {
+        Indice actual = indice;
+        int desde = actual.primeroQueCabe(peso.enGramos());
+        return List.of(Arrays.copyOfRange(actual.vehiculos, desde, actual.vehiculos.length));
+    }
+
+    @Override
+    public int reemplazar(Supplier<List<Vehiculo>> vehiculosLibres) {
+        synchronized (recarga) {
+            Map<Long, Vehiculo> cambios = new HashMap<>();
+            synchronized (escritura) {
+                cambiosDuranteRecarga = cambios;
+            }
+            try {
+                List<Vehiculo> leidos = vehiculosLibres.get();
+                List<Vehiculo> copias = new ArrayList<>(leidos.size());
+                for (Vehiculo vehiculo : leidos) {
+                    if (vehiculo.estaLibre()) {
+                        copias.add(copiar(vehiculo));
+                    }
+                }
+                synchronized (escritura) {
+                    // Lo aplicado durante la consulta es más nuevo que lo leído
+                    copias.removeIf(vehiculo -> cambios.containsKey(vehiculo.getId()));
+                    for (Vehiculo vehiculo : cambios.values()) {
+                        if (vehiculo != null) {
+                            copias.add(vehiculo);
+                        }
+                    }
+                    indice = Indice.de(copias);
+                    inicializado = true;
+                }
+                return leidos.size();
+            } finally {
+                synchronized (escritura) {
+                    cambiosDuranteRecarga = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean estaInicializado() {
+        return inicializado;
+    }
+
+    private void aplicar(Long vehiculoId, Vehiculo nuevo) {
+        synchronized (escritura) {
+            List<Vehiculo> vehiculos = new ArrayList<>(indice.vehiculos.length + 1);
+            for (Vehiculo vehiculo : indice.vehiculos) {
+                if (!vehiculo.getId().equals(vehiculoId)) {
+                    vehiculos.add(vehiculo);
+                }
+            }
+            if (nuevo != null) {
+                vehiculos.add(nuevo);
+            }
+            indice = Indice.de(vehiculos);
+            if (cambiosDuranteRecarga != null) {
+                cambiosDuranteRecarga.put(vehiculoId, nuevo);
+            }
+        }
+    }
+
+    private static void despuesDelCommit(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+
+    /**
+     * Copia desacoplada de la instancia del caso de uso; solo lleva lo que se expone en la respuesta.
+     */
+    private static Vehiculo copiar(Vehiculo vehiculo) {
+        return new Vehiculo(vehiculo.getId(), vehiculo.getPlaca(), vehiculo.getCapacidad(), true, null);
+    }
+
+    /**
+     * Instantánea inmutable: capacidades en gramos ordenadas de menor a mayor (empate por ID)
+     * y los vehículos en la misma posición.
+     */
+    private static final class Indice {
+
+        static final Indice VACIO = new Indice(new long[0], new Vehiculo[0]);
+
+        private final long[] gramos;
+        private final Vehiculo[] vehiculos;
+
+        private Indice(long[] gramos, Vehiculo[] vehiculos) {
+            this.gramos = gramos;
+            this.vehiculos = vehiculos;
+        }
+
+        static Indice de(List<Vehiculo> vehiculos) {
+            Vehiculo[] ordenados = vehiculos.toArray(new Vehiculo[0]);
+            Arrays.sort(ordenados, Comparator
+                .comparingLong((Vehiculo v) -> v.getCapacidad().enGramos())
+                .thenComparing(Vehiculo::getId));
+            long[] gramos = new long[ordenados.length];
+            for (int i = 0; i < ordenados.length; i++) {
+                gramos[i] = ordenados[i].getCapacidad().enGramos();
+            }
+            return new Indice(gramos, ordenados);
+        }
+
+        /**
+         * Posición del primer vehículo con capacidad mayor o igual al peso (cota inferior).
+         */
+        int primeroQueCabe(long pesoGramos) {
+            int desde = 0;
+            int hasta = gramos.length;
+            while (desde < hasta) {
+                int medio = (desde + hasta) >>> 1;
+                if (gramos[medio] < pesoGramos) {
+                    desde = medio + 1;
+                } else {
+                    hasta = medio;
+                }
+            }
+            return desde;
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.transportesys.infrastructure.adapter.out.persistence.adapter;
 
 import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.valueobject.Cursor;
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.ConductorEntity;
 import com.example.transportesys.infrastructure.adapter.out.persistence.mapper.ConductorPersistenceMapper;
 import com.example.transportesys.infrastructure.adapter.out.persistence.repository.ConductorJpaRepository;
+import com.example.transportesys.infrastructure.adapter.out.persistence.repository.VehiculoJpaRepository;
+import com.example.transportesys.infrastructure.cache.ConjuntoDatos;
+import com.example.transportesys.infrastructure.cache.VersionDatos;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,58 +25,78 @@ import java.util.stream.Collectors;
 
 /**
  * Adapter que implementa ConductorRepository (dominio) usando JPA.
+ * Los vehículos de cada conductor se derivan de vehiculos.conductor_id, con una consulta por lote.
+ * Cada escritura incrementa la versión de CONDUCTORES, que invalida las respuestas cacheadas que dependen de ella.
  */
 @Component
 public class ConductorRepositoryAdapter implements ConductorRepository {
 
     private final ConductorJpaRepository jpaRepository;
+    private final VehiculoJpaRepository vehiculoJpaRepository;
     private final ConductorPersistenceMapper mapper;
+    private final VersionDatos versionDatos;
 
     public ConductorRepositoryAdapter(ConductorJpaRepository jpaRepository,
-                                     ConductorPersistenceMapper mapper) {
+                                     VehiculoJpaRepository vehiculoJpaRepository,
+                                     ConductorPersistenceMapper mapper,
+                                     VersionDatos versionDatos) {
         this.jpaRepository = jpaRepository;
+        this.vehiculoJpaRepository = vehiculoJpaRepository;
         this.mapper = mapper;
+        this.versionDatos = versionDatos;
     }
 
     @Override
     public Conductor save(Conductor conductor) {
         var entity = mapper.toEntity(conductor);
         var saved = jpaRepository.save(entity);
-        return mapper.toDomain(saved);
+        versionDatos.incrementar(ConjuntoDatos.CONDUCTORES);
+        // Guardar el conductor no cambia sus vehículos
+        return mapper.toDomain(saved, conductor.getVehiculosIds());
     }
 
     @Override
     public Optional<Conductor> findById(Long id) {
+        // Solo retorna conductores activos (eliminación lógica); por ID para resolver desde la caché de segundo nivel
+        return jpaRepository.findById(id)
+            .filter(ConductorEntity::isActivo)
+            .map(this::toDomain);
+    }
+
+    @Override
+    public Optional<Conductor> findByIdForUpdate(Long id) {
+        // Los vehículos se leen después del bloqueo, así ven las asignaciones ya confirmadas
+        return jpaRepository.findActiveByIdForUpdate(id)
+            .map(this::toDomain);
+    }
+
+    @Override
+    public List<Conductor> findAllByIds(Collection<Long> ids) {
         // Solo retorna conductores activos (eliminación lógica)
-        return jpaRepository.findByIdAndActivoTrue(id)
-            .map(mapper::toDomain);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return toDomain(jpaRepository.findAllActiveByIdIn(ids));
     }
 
     @Override
     public List<Conductor> findAll() {
         // Solo retorna conductores activos (eliminación lógica)
-        return jpaRepository.findAllActive().stream()
-            .map(mapper::toDomain)
-            .collect(Collectors.toList());
+        return toDomain(jpaRepository.findAllActive());
     }
 
     @Override
     public List<Conductor> findAll(int page, int size) {
         // Solo retorna conductores activos (eliminación lógica)
-        return jpaRepository.findAllActive(PageRequest.of(page, size))
-            .stream()
-            .map(mapper::toDomain)
-            .collect(Collectors.toList());
+        return toDomain(jpaRepository.findAllActive(PageRequest.of(page, size)).getContent());
     }
 
     @Override
     public PageResult<Conductor> findAllPaged(int page, int size) {
         // Solo retorna conductores activos (eliminación lógica)
-        Page pageResult = jpaRepository.findAllActive(PageRequest.of(page, size));
+        Page<ConductorEntity> pageResult = jpaRepository.findAllActive(PageRequest.of(page, size));
 
-        List<Conductor> content = (List<Conductor>) pageResult.getContent().stream()
-            .map(entity -> mapper.toDomain((com.example.transportesys.infrastructure.adapter.out.persistence.entity.ConductorEntity) entity))
-            .collect(Collectors.toList());
+        List<Conductor> content = toDomain(pageResult.getContent());
 
         return new PageResult<>(
             content,
@@ -85,17 +113,33 @@ public class ConductorRepositoryAdapter implements ConductorRepository {
         );
     }
 
+    @Override
+    public CursorPageResult<Conductor> findAllByCursor(Cursor cursor, int size) {
+        // Solo retorna conductores activos (eliminación lógica)
+        // Se pide un elemento extra para saber si existe página siguiente sin ejecutar COUNT
+        long desdeId = cursor == null ? 0L : cursor.getId();
+        List<ConductorEntity> entities = jpaRepository.findActiveAfterId(desdeId, PageRequest.ofSize(size + 1));
+
+        boolean hasNext = entities.size() > size;
+        List<Conductor> content = toDomain(hasNext ? entities.subList(0, size) : entities);
+
+        String nextCursor = hasNext
+            ? Cursor.porId(content.get(content.size() - 1).getId()).codificar()
+            : null;
+
+        return new CursorPageResult<>(content, size, nextCursor, hasNext, content.size());
+    }
+
     @Override
     public List<Conductor> findByActivo(boolean activo) {
-        return jpaRepository.findByActivo(activo).stream()
-            .map(mapper::toDomain)
-            .collect(Collectors.toList());
+        return toDomain(jpaRepository.findByActivo(activo));
     }
 
     @Override
     public List<Conductor> findConductoresSinVehiculos() {
         return jpaRepository.findConductoresSinVehiculos().stream()
-            .map(mapper::toDomain)
+            .map(fila -> mapper.toDomainSinVehiculos(
+                ((Number) fila[0]).longValue(), (String) fila[1], (String) fila[2]))
             .collect(Collectors.toList());
     }
 
@@ -103,12 +147,13 @@ public class ConductorRepositoryAdapter implements ConductorRepository {
     public Optional<Conductor> findByLicencia(String licencia) {
         // Solo retorna conductores activos (eliminación lógica)
         return jpaRepository.findByLicenciaAndActivoTrue(licencia)
-            .map(mapper::toDomain);
+            .map(this::toDomain);
     }
 
     @Override
     public void deleteById(Long id) {
         jpaRepository.deleteById(id);
+        versionDatos.incrementar(ConjuntoDatos.CONDUCTORES);
     }
 
     @Override
@@ -124,13 +169,36 @@ public class ConductorRepositoryAdapter implements ConductorRepository {
 
     @Override
     public Map<Long, Integer> contarVehiculosPorConductor() {
+        // Agregado en la base de datos: solo viajan IDs y cantidades
         Map<Long, Integer> resultado = new HashMap<>();
-        List<Conductor> conductores = findAll();
+        for (Object[] fila : jpaRepository.contarVehiculosPorConductor()) {
+            resultado.put((Long) fila[0], ((Number) fila[1]).intValue());
+        }
+        return resultado;
+    }
 
-        for (Conductor conductor : conductores) {
-            resultado.put(conductor.getId(), conductor.cantidadVehiculos());
+    private Conductor toDomain(ConductorEntity entity) {
+        return toDomain(List.of(entity)).get(0);
+    }
+
+    /**
+     * Convierte las entidades resolviendo los vehículos de todos los conductores en una sola consulta.
+     */
+    private List<Conductor> toDomain(List<ConductorEntity> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
         }
+        List<Long> ids = entities.stream()
+            .map(ConductorEntity::getId)
+            .collect(Collectors.toList());
 
-        return resultado;
+        Map<Long, List<Long>> vehiculosPorConductor = new HashMap<>();
+        for (Object[] fila : vehiculoJpaRepository.findIdsActivosPorConductor(ids)) {
+            vehiculosPorConductor.computeIfAbsent((Long) fila[0], id -> new ArrayList<>()).add((Long) fila[1]);
+        }
+
+        return entities.stream()
+            .map(entity -> mapper.toDomain(entity, vehiculosPorConductor.getOrDefault(entity.getId(), List.of())))
+            .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,49 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.adapter;
+
+import com.example.transportesys.domain.model.EventoDominio;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.EventoOutboxEntity;
+import com.example.transportesys.infrastructure.adapter.out.persistence.repository.EventoOutboxJpaRepository;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Collection;
+
+/**
+ * Adapter que implementa EventoOutboxRepository (dominio) usando JPA.
+ * Los datos del evento se guardan serializados en JSON.
+ */
+@Component
+public class EventoOutboxRepositoryAdapter implements EventoOutboxRepository {
+
+    private final EventoOutboxJpaRepository jpaRepository;
+    private final ObjectMapper objectMapper;
+
+    public EventoOutboxRepositoryAdapter(EventoOutboxJpaRepository jpaRepository, ObjectMapper objectMapper) {
+        this.jpaRepository = jpaRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void registrar(EventoDominio evento) {
+        jpaRepository.save(toEntity(evento));
+    }
+
+    @Override
+    public void registrarTodos(Collection<EventoDominio> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jpaRepository.saveAll(eventos.stream().map(this::toEntity).toList());
+    }
+
+    private EventoOutboxEntity toEntity(EventoDominio evento) {
+        EventoOutboxEntity entity = new EventoOutboxEntity();
+        entity.setTipoAgregado(evento.getTipoAgregado());
+        entity.setAgregadoId(evento.getAgregadoId());
+        entity.setTipoEvento(evento.getTipo());
+        entity.setPayload(objectMapper.writeValueAsString(evento.getDatos()));
+        entity.setFechaCreacion(evento.getFechaOcurrencia());
+        return entity;
+    }
+}
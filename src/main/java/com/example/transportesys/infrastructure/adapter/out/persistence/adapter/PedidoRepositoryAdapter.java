@@ -1,19 +1,49 @@
 package com.example.transportesys.infrastructure.adapter.out.persistence.adapter;
 
 import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.exception.CursorInvalidoException;
+import com.example.transportesys.domain.model.AsignacionPedido;
+import com.example.transportesys.domain.model.CambioEstadoPedido;
+import com.example.transportesys.domain.model.CursorPageResult;
+import com.example.transportesys.domain.model.FiltroPedidos;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.model.Pedido;
 import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.valueobject.Cursor;
+import com.example.transportesys.domain.valueobject.Peso;
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.PedidoEntity;
 import com.example.transportesys.infrastructure.adapter.out.persistence.mapper.PedidoPersistenceMapper;
+import com.example.transportesys.infrastructure.adapter.out.persistence.repository.PedidoArchivadoJpaRepository;
 import com.example.transportesys.infrastructure.adapter.out.persistence.repository.PedidoJpaRepository;
+import com.example.transportesys.infrastructure.resilience.OperacionLarga;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Adapter que implementa PedidoRepository (dominio) usando JPA.
@@ -21,13 +51,40 @@ import java.util.stream.Collectors;
 @Component
 public class PedidoRepositoryAdapter implements PedidoRepository {
 
+    /**
+     * Filas que el driver JDBC trae por viaje al recorrer en streaming.
+     */
+    private static final int FETCH_SIZE_STREAMING = 500;
+
+    /**
+     * Debe coincidir con hibernate.jdbc.batch_size para que cada flush envíe un lote completo.
+     */
+    private static final int TAMANO_LOTE_INSERCION = 50;
+
+    /**
+     * Igual que PedidoJpaRepository.transicionarEstado, pero retorna la fila completa
+     * para responder sin una lectura adicional.
+     */
+    private static final String SQL_TRANSICION_INDIVIDUAL =
+        "UPDATE pedidos p SET estado = :nuevoEstado, fecha_actualizacion = :ahora, version = p.version + 1 " +
+        "FROM (SELECT id, estado FROM pedidos WHERE id = :id FOR UPDATE) anterior " +
+        "WHERE p.id = anterior.id AND anterior.estado IN (:estadosOrigen) " +
+        "AND (:requiereAsignacion = false OR (p.vehiculo_id IS NOT NULL AND p.conductor_id IS NOT NULL)) " +
+        "RETURNING p.*, anterior.estado AS estado_anterior";
+
     private final PedidoJpaRepository jpaRepository;
+    private final PedidoArchivadoJpaRepository archivadoRepository;
     private final PedidoPersistenceMapper mapper;
+    private final EntityManager entityManager;
 
     public PedidoRepositoryAdapter(PedidoJpaRepository jpaRepository,
-                                  PedidoPersistenceMapper mapper) {
+                                  PedidoArchivadoJpaRepository archivadoRepository,
+                                  PedidoPersistenceMapper mapper,
+                                  EntityManager entityManager) {
         this.jpaRepository = jpaRepository;
+        this.archivadoRepository = archivadoRepository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -37,9 +94,45 @@ public class PedidoRepositoryAdapter implements PedidoRepository {
         return mapper.toDomain(saved);
     }
 
+    @Override
+    @OperacionLarga
+    public List<Pedido> saveAll(List<Pedido> pedidos) {
+        List<Pedido> guardados = new ArrayList<>(pedidos.size());
+        List<PedidoEntity> pendientes = new ArrayList<>(TAMANO_LOTE_INSERCION);
+
+        for (Pedido pedido : pedidos) {
+            PedidoEntity entity = mapper.toEntity(pedido);
+            entityManager.persist(entity);
+            pendientes.add(entity);
+
+            // Se envía el lote y se libera el contexto de persistencia cada TAMANO_LOTE_INSERCION filas
+            if (pendientes.size() == TAMANO_LOTE_INSERCION) {
+                guardados.addAll(vaciarLote(pendientes));
+            }
+        }
+        guardados.addAll(vaciarLote(pendientes));
+
+        return guardados;
+    }
+
+    private List<Pedido> vaciarLote(List<PedidoEntity> pendientes) {
+        entityManager.flush();
+        List<Pedido> guardados = pendientes.stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+        entityManager.clear();
+        pendientes.clear();
+        return guardados;
+    }
+
     @Override
     public Optional<Pedido> findById(Long id) {
-        return jpaRepository.findById(id)
+        Optional<Pedido> activo = jpaRepository.findById(id)
+            .map(mapper::toDomain);
+        if (activo.isPresent()) {
+            return activo;
+        }
+        return archivadoRepository.findById(id)
             .map(mapper::toDomain);
     }
 
@@ -81,6 +174,89 @@ public class PedidoRepositoryAdapter implements PedidoRepository {
         );
     }
 
+    @Override
+    public CursorPageResult<Pedido> findAllByCursor(Cursor cursor, int size) {
+        // Se pide un elemento extra para saber si existe página siguiente sin ejecutar COUNT
+        List<PedidoEntity> entities;
+        if (cursor == null) {
+            entities = jpaRepository.findPrimerosPorFechaCreacion(size + 1);
+        } else if (cursor.tieneFechaCreacion()) {
+            entities = jpaRepository.findSiguientesPorFechaCreacion(cursor.getFechaCreacion(), cursor.getId(), size + 1);
+        } else {
+            throw new CursorInvalidoException("El cursor no corresponde a un listado de pedidos");
+        }
+
+        return toCursorPage(entities, size);
+    }
+
+    @Override
+    public CursorPageResult<Pedido> buscar(FiltroPedidos filtro, Cursor cursor, int size, boolean descendente) {
+        if (cursor != null && !cursor.tieneFechaCreacion()) {
+            throw new CursorInvalidoException("El cursor no corresponde a un listado de pedidos");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PedidoEntity> query = cb.createQuery(PedidoEntity.class);
+        Root<PedidoEntity> root = query.from(PedidoEntity.class);
+
+        List<Predicate> predicados = new ArrayList<>(List.of(construirPredicados(cb, root, filtro)));
+        if (cursor != null) {
+            predicados.add(predicadoCursor(cb, root, cursor, descendente));
+        }
+
+        query.select(root)
+            .where(predicados.toArray(new Predicate[0]))
+            .orderBy(descendente
+                ? List.of(cb.desc(root.get("fechaCreacion")), cb.desc(root.get("id")))
+                : List.of(cb.asc(root.get("fechaCreacion")), cb.asc(root.get("id"))));
+
+        // Se pide un elemento extra para saber si existe página siguiente sin ejecutar COUNT
+        List<PedidoEntity> entities = entityManager.createQuery(query)
+            .setMaxResults(size + 1)
+            .getResultList();
+
+        return toCursorPage(entities, size);
+    }
+
+    /**
+     * Condición keyset: filas posteriores (o anteriores si es descendente) a (fechaCreacion, id) del cursor.
+     * Se acota primero por fecha para que el índice limite el rango recorrido.
+     */
+    private Predicate predicadoCursor(CriteriaBuilder cb, Root<PedidoEntity> root, Cursor cursor, boolean descendente) {
+        Path<LocalDateTime> fecha = root.get("fechaCreacion");
+        Path<Long> id = root.get("id");
+
+        if (descendente) {
+            return cb.and(
+                cb.lessThanOrEqualTo(fecha, cursor.getFechaCreacion()),
+                cb.or(cb.lessThan(fecha, cursor.getFechaCreacion()), cb.lessThan(id, cursor.getId()))
+            );
+        }
+        return cb.and(
+            cb.greaterThanOrEqualTo(fecha, cursor.getFechaCreacion()),
+            cb.or(cb.greaterThan(fecha, cursor.getFechaCreacion()), cb.greaterThan(id, cursor.getId()))
+        );
+    }
+
+    /**
+     * Recorta el elemento extra solicitado y genera el cursor de la página siguiente.
+     */
+    private CursorPageResult<Pedido> toCursorPage(List<PedidoEntity> entities, int size) {
+        boolean hasNext = entities.size() > size;
+        List<Pedido> content = entities.stream()
+            .limit(size)
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasNext) {
+            Pedido ultimo = content.get(content.size() - 1);
+            nextCursor = Cursor.porFechaCreacionEId(ultimo.getFechaCreacion(), ultimo.getId()).codificar();
+        }
+
+        return new CursorPageResult<>(content, size, nextCursor, hasNext, content.size());
+    }
+
     @Override
     public List<Pedido> findByEstado(EstadoPedido estado) {
         return jpaRepository.findByEstado(estado).stream()
@@ -114,13 +290,187 @@ public class PedidoRepositoryAdapter implements PedidoRepository {
         return jpaRepository.countActivosByVehiculoId(vehiculoId);
     }
 
+    @Override
+    @OperacionLarga
+    public Map<Long, Peso> findPesosPendientesSinAsignar(int limite) {
+        Map<Long, Peso> pesos = new LinkedHashMap<>();
+        for (Object[] fila : jpaRepository.findPesosPendientesSinAsignar(PageRequest.ofSize(limite))) {
+            pesos.put((Long) fila[0], new Peso((BigDecimal) fila[1]));
+        }
+        return pesos;
+    }
+
+    @Override
+    @OperacionLarga
+    public Map<Long, Peso> sumarPesoActivoPorVehiculo() {
+        Map<Long, Peso> cargas = new HashMap<>();
+        for (Object[] fila : jpaRepository.sumarPesoActivoPorVehiculo()) {
+            cargas.put((Long) fila[0], new Peso((BigDecimal) fila[1]));
+        }
+        return cargas;
+    }
+
+    @Override
+    @OperacionLarga
+    public List<Pedido> asignarPendientes(List<AsignacionPedido> asignaciones) {
+        if (asignaciones.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, AsignacionPedido> porPedido = asignaciones.stream()
+            .collect(Collectors.toMap(AsignacionPedido::getPedidoId, Function.identity()));
+
+        List<PedidoEntity> asignados = new ArrayList<>(asignaciones.size());
+        for (PedidoEntity entity : jpaRepository.findAllById(porPedido.keySet())) {
+            // Desde que se calculó la asignación el pedido pudo cambiar de estado o ser asignado a mano
+            if (entity.getEstado() != EstadoPedido.PENDIENTE || entity.getVehiculoId() != null) {
+                continue;
+            }
+            AsignacionPedido asignacion = porPedido.get(entity.getId());
+            entity.setVehiculoId(asignacion.getVehiculoId());
+            entity.setConductorId(asignacion.getConductorId());
+            asignados.add(entity);
+        }
+
+        // Los UPDATE versionados se envían en lotes JDBC de hibernate.jdbc.batch_size
+        entityManager.flush();
+        List<Pedido> resultado = asignados.stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+        entityManager.clear();
+        return resultado;
+    }
+
     @Override
     public List<Pedido> findByFechaCreacionBetween(LocalDateTime inicio, LocalDateTime fin) {
-        return jpaRepository.findByFechaCreacionBetween(inicio, fin).stream()
+        List<Pedido> pedidos = jpaRepository.findByFechaCreacionBetween(inicio, fin).stream()
             .map(mapper::toDomain)
+            .collect(Collectors.toCollection(ArrayList::new));
+        archivadoRepository.findByFechaCreacionBetween(inicio, fin).stream()
+            .map(mapper::toDomain)
+            .forEach(pedidos::add);
+
+        pedidos.sort(Comparator.comparing(Pedido::getFechaCreacion).thenComparing(Pedido::getId));
+        return pedidos;
+    }
+
+    @Override
+    @OperacionLarga
+    public long recorrer(FiltroPedidos filtro, Consumer<Pedido> consumidor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PedidoEntity> query = cb.createQuery(PedidoEntity.class);
+        Root<PedidoEntity> root = query.from(PedidoEntity.class);
+        query.select(root)
+            .where(construirPredicados(cb, root, filtro))
+            .orderBy(cb.asc(root.get("fechaCreacion")), cb.asc(root.get("id")));
+
+        long total = 0;
+        try (Stream<PedidoEntity> stream = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE_STREAMING)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            Iterator<PedidoEntity> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                PedidoEntity entity = iterator.next();
+                consumidor.accept(mapper.toDomain(entity));
+                // Se desacopla cada entidad para que el contexto de persistencia no crezca con el recorrido
+                entityManager.detach(entity);
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Traduce el filtro de dominio a predicados JPA. Los criterios ausentes no se agregan.
+     */
+    private Predicate[] construirPredicados(CriteriaBuilder cb, Root<PedidoEntity> root, FiltroPedidos filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+        if (filtro == null) {
+            return new Predicate[0];
+        }
+
+        if (filtro.getEstados() != null && !filtro.getEstados().isEmpty()) {
+            predicados.add(root.get("estado").in(filtro.getEstados()));
+        }
+        if (filtro.getDesde() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("fechaCreacion"), filtro.getDesde()));
+        }
+        if (filtro.getHasta() != null) {
+            predicados.add(cb.lessThan(root.<LocalDateTime>get("fechaCreacion"), filtro.getHasta()));
+        }
+        if (filtro.getVehiculoId() != null) {
+            predicados.add(cb.equal(root.get("vehiculoId"), filtro.getVehiculoId()));
+        }
+        if (filtro.getConductorId() != null) {
+            predicados.add(cb.equal(root.get("conductorId"), filtro.getConductorId()));
+        }
+        if (filtro.getPesoMinimoKg() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(root.<BigDecimal>get("pesoKg"), filtro.getPesoMinimoKg()));
+        }
+        if (filtro.getPesoMaximoKg() != null) {
+            predicados.add(cb.lessThanOrEqualTo(root.<BigDecimal>get("pesoKg"), filtro.getPesoMaximoKg()));
+        }
+
+        return predicados.toArray(new Predicate[0]);
+    }
+
+    @Override
+    public Optional<CambioEstadoPedido> transicionarEstado(Long id, EstadoPedido nuevoEstado) {
+        Set<EstadoPedido> predecesores = nuevoEstado.predecesores();
+        if (predecesores.isEmpty()) {
+            return Optional.empty();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> filas = entityManager.createNativeQuery(SQL_TRANSICION_INDIVIDUAL, PedidoEntity.MAPEO_TRANSICION)
+            .setParameter("id", id)
+            .setParameter("estadosOrigen", nombres(predecesores))
+            .setParameter("nuevoEstado", nuevoEstado.name())
+            .setParameter("requiereAsignacion", nuevoEstado.requiereAsignacion())
+            .setParameter("ahora", LocalDateTime.now())
+            .getResultList();
+
+        return filas.stream()
+            .findFirst()
+            .map(fila -> {
+                Pedido pedido = mapper.toDomain((PedidoEntity) fila[0]);
+                return new CambioEstadoPedido(pedido.getId(), EstadoPedido.valueOf((String) fila[1]), nuevoEstado, pedido);
+            });
+    }
+
+    @Override
+    @OperacionLarga
+    public List<CambioEstadoPedido> transicionarEstado(Collection<Long> ids, EstadoPedido nuevoEstado) {
+        Set<EstadoPedido> predecesores = nuevoEstado.predecesores();
+        if (ids.isEmpty() || predecesores.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.transicionarEstado(
+                ids, nombres(predecesores), nuevoEstado.name(), nuevoEstado.requiereAsignacion(), LocalDateTime.now())
+            .stream()
+            .map(fila -> new CambioEstadoPedido(
+                ((Number) fila[0]).longValue(),
+                fila[2] != null ? ((Number) fila[2]).longValue() : null,
+                fila[3] != null ? ((Number) fila[3]).longValue() : null,
+                new Peso((BigDecimal) fila[4]),
+                EstadoPedido.valueOf((String) fila[1]),
+                nuevoEstado))
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> nombres(Set<EstadoPedido> estados) {
+        return estados.stream()
+            .map(EstadoPedido::name)
             .collect(Collectors.toList());
     }
 
+    @Override
+    @OperacionLarga
+    public int archivarFinalizados(LocalDateTime limite, int lote) {
+        return jpaRepository.archivarFinalizados(limite, lote, LocalDateTime.now());
+    }
+
     @Override
     public void deleteById(Long id) {
         jpaRepository.deleteById(id);
@@ -128,11 +478,21 @@ public class PedidoRepositoryAdapter implements PedidoRepository {
 
     @Override
     public long count() {
-        return jpaRepository.count();
+        return jpaRepository.count() + archivadoRepository.count();
     }
 
     @Override
     public long countByEstado(EstadoPedido estado) {
-        return jpaRepository.countByEstado(estado);
+        long activos = jpaRepository.countByEstado(estado);
+        // Solo los estados finales pueden estar archivados
+        return estado.esFinal() ? activos + archivadoRepository.countByEstado(estado) : activos;
+    }
+
+    @Override
+    public Map<EstadoPedido, Long> contarPorEstado() {
+        Map<EstadoPedido, Long> conteos = new EnumMap<>(EstadoPedido.class);
+        Stream.concat(jpaRepository.contarPorEstado().stream(), archivadoRepository.contarPorEstado().stream())
+            .forEach(fila -> conteos.merge((EstadoPedido) fila[0], ((Number) fila[1]).longValue(), Long::sum));
+        return conteos;
     }
 }
@@ -0,0 +1,67 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.adapter;
+
+import com.example.transportesys.domain.repository.RevocacionTokensRepository;
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.RevocacionTokenEntity;
+import com.example.transportesys.infrastructure.adapter.out.persistence.repository.RevocacionTokenJpaRepository;
+import com.example.transportesys.infrastructure.security.ListaRevocacionTokens;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Adapter que implementa RevocacionTokensRepository (dominio): persiste cada revocación en JPA
+ * y la aplica a la lista en memoria que consulta el filtro JWT.
+ */
+@Component
+public class RevocacionTokensRepositoryAdapter implements RevocacionTokensRepository {
+
+    private final RevocacionTokenJpaRepository jpaRepository;
+    private final ListaRevocacionTokens listaRevocacionTokens;
+
+    public RevocacionTokensRepositoryAdapter(RevocacionTokenJpaRepository jpaRepository,
+                                             ListaRevocacionTokens listaRevocacionTokens) {
+        this.jpaRepository = jpaRepository;
+        this.listaRevocacionTokens = listaRevocacionTokens;
+    }
+
+    @Override
+    public void revocar(String username, int versionMinima) {
+        long venceEnMs = listaRevocacionTokens.calcularVencimiento();
+        jpaRepository.save(new RevocacionTokenEntity(username, versionMinima, aFecha(venceEnMs)));
+        despuesDelCommit(() -> listaRevocacionTokens.registrar(username, versionMinima, venceEnMs));
+    }
+
+    @Override
+    public int sincronizar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        jpaRepository.eliminarVencidas(ahora);
+        List<RevocacionTokenEntity> vigentes = jpaRepository.findByVenceEnAfter(ahora);
+        for (RevocacionTokenEntity revocacion : vigentes) {
+            listaRevocacionTokens.registrar(revocacion.getUsername(), revocacion.getVersionMinima(),
+                revocacion.getVenceEn().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        return vigentes.size();
+    }
+
+    private static LocalDateTime aFecha(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    private static void despuesDelCommit(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+}
@@ -2,8 +2,13 @@ package com.example.transportesys.infrastructure.adapter.out.persistence.adapter
 
 import com.example.transportesys.domain.model.Usuario;
 import com.example.transportesys.domain.repository.UsuarioRepository;
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.UsuarioEntity;
 import com.example.transportesys.infrastructure.adapter.out.persistence.mapper.UsuarioPersistenceMapper;
 import com.example.transportesys.infrastructure.adapter.out.persistence.repository.UsuarioJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -18,11 +23,14 @@ public class UsuarioRepositoryAdapter implements UsuarioRepository {
 
     private final UsuarioJpaRepository jpaRepository;
     private final UsuarioPersistenceMapper mapper;
+    private final EntityManagerFactory entityManagerFactory;
 
     public UsuarioRepositoryAdapter(UsuarioJpaRepository jpaRepository,
-                                   UsuarioPersistenceMapper mapper) {
+                                   UsuarioPersistenceMapper mapper,
+                                   EntityManagerFactory entityManagerFactory) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Override
@@ -34,15 +42,30 @@ public class UsuarioRepositoryAdapter implements UsuarioRepository {
 
     @Override
     public Optional<Usuario> findById(Long id) {
-        // Solo retorna usuarios activos (eliminación lógica)
-        return jpaRepository.findByIdAndActivoTrue(id)
+        // Solo retorna usuarios activos (eliminación lógica); por ID para resolver desde la caché de segundo nivel
+        return jpaRepository.findById(id)
+            .filter(UsuarioEntity::isActivo)
             .map(mapper::toDomain);
     }
 
     @Override
     public Optional<Usuario> findByUsername(String username) {
-        // Solo retorna usuarios activos (eliminación lógica)
-        return jpaRepository.findByUsernameAndActivoTrue(username)
+        // Solo retorna usuarios activos (eliminación lógica); por natural id para resolver desde la caché
+        EntityManager enTransaccion = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (enTransaccion != null) {
+            return buscarPorUsername(enTransaccion, username);
+        }
+        // Sin transacción (login, filtro JWT) la sesión propia solo toma una conexión si la caché no tiene al usuario
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return buscarPorUsername(entityManager, username);
+        }
+    }
+
+    private Optional<Usuario> buscarPorUsername(EntityManager entityManager, String username) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(UsuarioEntity.class)
+            .loadOptional(username)
+            .filter(UsuarioEntity::isActivo)
             .map(mapper::toDomain);
     }
 
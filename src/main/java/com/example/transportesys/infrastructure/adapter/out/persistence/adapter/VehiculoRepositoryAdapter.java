@@ -1,15 +1,24 @@
 package com.example.transportesys.infrastructure.adapter.out.persistence.adapter;
 
+import com.example.transportesys.domain.model.CursorPageResult;
 import com.example.transportesys.domain.model.PageResult;
 import com.example.transportesys.domain.model.Vehiculo;
 import com.example.transportesys.domain.repository.VehiculoRepository;
+import com.example.transportesys.domain.valueobject.Cursor;
 import com.example.transportesys.infrastructure.adapter.out.persistence.entity.VehiculoEntity;
 import com.example.transportesys.infrastructure.adapter.out.persistence.mapper.VehiculoPersistenceMapper;
 import com.example.transportesys.infrastructure.adapter.out.persistence.repository.VehiculoJpaRepository;
+import com.example.transportesys.infrastructure.cache.ConjuntoDatos;
+import com.example.transportesys.infrastructure.cache.VersionDatos;
+import com.example.transportesys.infrastructure.resilience.OperacionLarga;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -17,33 +26,69 @@ import java.util.stream.Collectors;
 /**
  * Adapter que implementa VehiculoRepository (dominio) usando JPA.
  * Traduce entre el dominio y la infraestructura.
+ * Cada escritura incrementa la versión de VEHICULOS, que invalida las respuestas cacheadas que dependen de ella.
  */
 @Component
 public class VehiculoRepositoryAdapter implements VehiculoRepository {
 
     private final VehiculoJpaRepository jpaRepository;
     private final VehiculoPersistenceMapper mapper;
+    private final AuditorAware<String> auditorAware;
+    private final VersionDatos versionDatos;
 
     public VehiculoRepositoryAdapter(VehiculoJpaRepository jpaRepository,
-                                    VehiculoPersistenceMapper mapper) {
+                                    VehiculoPersistenceMapper mapper,
+                                    AuditorAware<String> auditorAware,
+                                    VersionDatos versionDatos) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.auditorAware = auditorAware;
+        this.versionDatos = versionDatos;
     }
 
     @Override
     public Vehiculo save(Vehiculo vehiculo) {
         VehiculoEntity entity = mapper.toEntity(vehiculo);
         VehiculoEntity saved = jpaRepository.save(entity);
+        versionDatos.incrementar(ConjuntoDatos.VEHICULOS);
         return mapper.toDomain(saved);
     }
 
+    @Override
+    public void actualizarConductor(Vehiculo vehiculo) {
+        // UPDATE directo: la auditoría se completa a mano porque no pasa por el listener de JPA
+        int actualizados = jpaRepository.actualizarConductor(
+            vehiculo.getId(),
+            vehiculo.getConductorId(),
+            vehiculo.getVersion(),
+            auditorAware.getCurrentAuditor().orElse(null),
+            LocalDateTime.now());
+        if (actualizados == 0) {
+            throw new ObjectOptimisticLockingFailureException(VehiculoEntity.class, vehiculo.getId());
+        }
+        vehiculo.setVersion(vehiculo.getVersion() + 1);
+        versionDatos.incrementar(ConjuntoDatos.VEHICULOS);
+    }
+
     @Override
     public Optional<Vehiculo> findById(Long id) {
-        // Solo retorna vehículos activos (eliminación lógica)
-        return jpaRepository.findByIdAndActivoTrue(id)
+        // Solo retorna vehículos activos (eliminación lógica); por ID para resolver desde la caché de segundo nivel
+        return jpaRepository.findById(id)
+            .filter(VehiculoEntity::isActivo)
             .map(mapper::toDomain);
     }
 
+    @Override
+    public List<Vehiculo> findAllByIds(Collection<Long> ids) {
+        // Solo retorna vehículos activos (eliminación lógica)
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllActiveByIdIn(ids).stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public List<Vehiculo> findAll() {
         // Solo retorna vehículos activos (eliminación lógica)
@@ -85,6 +130,26 @@ public class VehiculoRepositoryAdapter implements VehiculoRepository {
         );
     }
 
+    @Override
+    public CursorPageResult<Vehiculo> findAllByCursor(Cursor cursor, int size) {
+        // Solo retorna vehículos activos (eliminación lógica)
+        // Se pide un elemento extra para saber si existe página siguiente sin ejecutar COUNT
+        long desdeId = cursor == null ? 0L : cursor.getId();
+        List<VehiculoEntity> entities = jpaRepository.findActiveAfterId(desdeId, PageRequest.ofSize(size + 1));
+
+        boolean hasNext = entities.size() > size;
+        List<Vehiculo> content = entities.stream()
+            .limit(size)
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+
+        String nextCursor = hasNext
+            ? Cursor.porId(content.get(content.size() - 1).getId()).codificar()
+            : null;
+
+        return new CursorPageResult<>(content, size, nextCursor, hasNext, content.size());
+    }
+
     @Override
     public List<Vehiculo> findByActivo(boolean activo) {
         return jpaRepository.findByActivo(activo).stream()
@@ -107,6 +172,14 @@ public class VehiculoRepositoryAdapter implements VehiculoRepository {
             .collect(Collectors.toList());
     }
 
+    @Override
+    @OperacionLarga
+    public List<Vehiculo> findAsignadosAConductorActivo() {
+        return jpaRepository.findAsignadosAConductorActivo().stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Vehiculo> findByPlaca(String placa) {
         // Solo retorna vehículos activos (eliminación lógica)
@@ -117,6 +190,7 @@ public class VehiculoRepositoryAdapter implements VehiculoRepository {
     @Override
     public void deleteById(Long id) {
         jpaRepository.deleteById(id);
+        versionDatos.incrementar(ConjuntoDatos.VEHICULOS);
     }
 
     @Override
@@ -0,0 +1,27 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.entity;
+
+import java.util.List;
+
+/**
+ * Regiones de la caché de segundo nivel de Hibernate. Cada una se dimensiona en application.conf
+ * (configuración de Caffeine JCache); una región sin configurar hace fallar el arranque.
+ */
+public final class CacheSegundoNivel {
+
+    public static final String REGION_VEHICULOS = "vehiculos";
+    public static final String REGION_CONDUCTORES = "conductores";
+    public static final String REGION_USUARIOS = "usuarios";
+    public static final String REGION_USUARIOS_USERNAME = "usuarios-username";
+    public static final String REGION_USUARIOS_ROLES = "usuarios-roles";
+
+    public static final List<String> REGIONES = List.of(
+        REGION_VEHICULOS,
+        REGION_CONDUCTORES,
+        REGION_USUARIOS,
+        REGION_USUARIOS_USERNAME,
+        REGION_USUARIOS_ROLES
+    );
+
+    private CacheSegundoNivel() {
+    }
+}
@@ -5,14 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidad JPA que representa la tabla de conductores en la base de datos.
+ * Los vehículos asignados no se guardan aquí: se derivan de vehiculos.conductor_id.
+ * Cacheada en el segundo nivel de Hibernate: las lecturas por ID no van a la base.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivel.REGION_CONDUCTORES)
 @Table(name = "conductores")
 @Getter
 @Setter
@@ -24,6 +26,11 @@ public class ConductorEntity extends AuditableEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Control optimista: no se asignan vehículos a partir de una lectura vieja del conductor
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "nombre", nullable = false, length = 100)
     private String nombre;
 
@@ -32,9 +39,4 @@ public class ConductorEntity extends AuditableEntity {
 
     @Column(name = "activo", nullable = false)
     private boolean activo = true;
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "conductor_vehiculos", joinColumns = @JoinColumn(name = "conductor_id"))
-    @Column(name = "vehiculo_id")
-    private List<Long> vehiculosIds = new ArrayList<>();
 }
@@ -0,0 +1,62 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.entity;
+
+import com.example.transportesys.domain.enums.TipoAgregado;
+import com.example.transportesys.domain.enums.TipoEvento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA de la tabla eventos_outbox: eventos de dominio pendientes de publicar.
+ * Las filas se eliminan una vez entregadas.
+ */
+@Entity
+@Table(name = "eventos_outbox", indexes = {
+    @Index(name = "idx_eventos_outbox_agregado", columnList = "tipo_agregado, agregado_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutboxEntity {
+
+    /**
+     * El relay entrega por agregado en orden de ID. Ese orden depende solo del bloqueo de la fila
+     * del agregado, que serializa sus transacciones; allocationSize no influye.
+     * Entre agregados distintos los IDs no siguen el orden de commit, y la entrega tampoco.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_outbox_seq")
+    @SequenceGenerator(name = "eventos_outbox_seq", sequenceName = "eventos_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_agregado", nullable = false, length = 20)
+    private TipoAgregado tipoAgregado;
+
+    @Column(name = "agregado_id", nullable = false)
+    private Long agregadoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_evento", nullable = false, length = 40)
+    private TipoEvento tipoEvento;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "intentos", nullable = false)
+    private int intentos;
+
+    @Column(name = "proximo_intento")
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+}
@@ -0,0 +1,66 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.entity;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA de solo lectura para la tabla de pedidos archivados.
+ * Contiene los pedidos en estado final que superaron la ventana de retención,
+ * con el mismo ID que tenían en la tabla pedidos.
+ */
+@Entity
+@Immutable
+@Table(name = "pedidos_archivados", indexes = {
+    @Index(name = "idx_pedidos_archivados_fecha_creacion_id", columnList = "fecha_creacion, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoArchivadoEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "descripcion", nullable = false, length = 500)
+    private String descripcion;
+
+    @Column(name = "peso_kg", nullable = false, precision = 10, scale = 2)
+    private BigDecimal pesoKg;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoPedido estado;
+
+    @Column(name = "vehiculo_id")
+    private Long vehiculoId;
+
+    @Column(name = "conductor_id")
+    private Long conductorId;
+
+    @Column(name = "direccion_origen", length = 255)
+    private String direccionOrigen;
+
+    @Column(name = "direccion_destino", length = 255)
+    private String direccionDestino;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "fecha_archivado", nullable = false)
+    private LocalDateTime fechaArchivado;
+}
@@ -14,17 +14,42 @@ import java.time.LocalDateTime;
  * Entidad JPA que representa la tabla de pedidos en la base de datos.
  */
 @Entity
-@Table(name = "pedidos")
+@Table(name = "pedidos", indexes = {
+    @Index(name = "idx_pedidos_fecha_creacion_id", columnList = "fecha_creacion, id"),
+    @Index(name = "idx_pedidos_estado_fecha_creacion", columnList = "estado, fecha_creacion, id"),
+    @Index(name = "idx_pedidos_vehiculo_fecha_creacion", columnList = "vehiculo_id, fecha_creacion, id"),
+    @Index(name = "idx_pedidos_conductor_fecha_creacion", columnList = "conductor_id, fecha_creacion, id")
+})
+@SqlResultSetMapping(
+    name = PedidoEntity.MAPEO_TRANSICION,
+    entities = @EntityResult(entityClass = PedidoEntity.class),
+    columns = @ColumnResult(name = "estado_anterior", type = String.class)
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class PedidoEntity {
 
+    /**
+     * Mapeo del resultado de una transición individual: la fila actualizada más su estado anterior.
+     */
+    public static final String MAPEO_TRANSICION = "PedidoEntity.transicion";
+
+    /**
+     * IDs por secuencia con asignación en bloques (pooled-lo) para permitir inserciones JDBC en lote,
+     * que IDENTITY deshabilita.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_seq", allocationSize = 50)
     private Long id;
 
+    // Control optimista: dos cambios de estado concurrentes del pedido no se pisan
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "descripcion", nullable = false, length = 500)
     private String descripcion;
 
@@ -0,0 +1,34 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA de la tabla revocaciones_token: la última revocación vigente de cada usuario.
+ * Permite reconstruir la lista en memoria tras un reinicio; las filas vencidas se eliminan.
+ */
+@Entity
+@Table(name = "revocaciones_token", indexes = {
+    @Index(name = "idx_revocaciones_token_vence_en", columnList = "vence_en")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocacionTokenEntity {
+
+    @Id
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "version_minima", nullable = false)
+    private int versionMinima;
+
+    @Column(name = "vence_en", nullable = false)
+    private LocalDateTime venceEn;
+}
@@ -6,6 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -13,8 +17,12 @@ import java.util.Set;
 
 /**
  * Entidad JPA que representa la tabla de usuarios en la base de datos.
+ * Cacheada en el segundo nivel de Hibernate junto con sus roles; el username es su natural id,
+ * así la búsqueda por username también se resuelve en memoria.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivel.REGION_USUARIOS)
+@NaturalIdCache(region = CacheSegundoNivel.REGION_USUARIOS_USERNAME)
 @Table(name = "usuarios")
 @Getter
 @Setter
@@ -26,6 +34,12 @@ public class UsuarioEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Control optimista de los cambios de roles, contraseña y estado del usuario
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @NaturalId
     @Column(name = "username", nullable = false, unique = true, length = 50)
     private String username;
 
@@ -38,7 +52,14 @@ public class UsuarioEntity {
     @Column(name = "activo", nullable = false)
     private boolean activo = true;
 
+    /**
+     * Versión de los tokens del usuario: los tokens con una versión menor están revocados.
+     */
+    @Column(name = "version_token", nullable = false, columnDefinition = "integer default 0")
+    private int versionToken;
+
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivel.REGION_USUARIOS_ROLES)
     @CollectionTable(name = "usuario_roles", joinColumns = @JoinColumn(name = "usuario_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "rol")
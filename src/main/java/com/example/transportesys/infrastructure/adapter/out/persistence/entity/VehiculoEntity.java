@@ -5,14 +5,20 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 /**
  * Entidad JPA que representa la tabla de vehículos en la base de datos.
+ * Cacheada en el segundo nivel de Hibernate: las lecturas por ID no van a la base.
  */
 @Entity
-@Table(name = "vehiculos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivel.REGION_VEHICULOS)
+@Table(name = "vehiculos", indexes = {
+    @Index(name = "idx_vehiculos_conductor", columnList = "conductor_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +29,11 @@ public class VehiculoEntity extends AuditableEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Control optimista de los cambios del vehículo (conductor asignado, capacidad, activo)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "placa", nullable = false, unique = true, length = 10)
     private String placa;
 
@@ -5,7 +5,7 @@ import com.example.transportesys.domain.valueobject.LicenciaConducir;
 import com.example.transportesys.infrastructure.adapter.out.persistence.entity.ConductorEntity;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Mapper que convierte entre Conductor (dominio) y ConductorEntity (JPA).
@@ -20,10 +20,10 @@ public class ConductorPersistenceMapper {
 
         ConductorEntity entity = new ConductorEntity();
         entity.setId(conductor.getId());
+        entity.setVersion(conductor.getVersion());
         entity.setNombre(conductor.getNombre());
         entity.setLicencia(conductor.getLicencia().getNumero());
         entity.setActivo(conductor.isActivo());
-        entity.setVehiculosIds(new ArrayList<>(conductor.getVehiculosIds()));
         entity.setCreadoPor(conductor.getCreadoPor());
         entity.setFechaCreacion(conductor.getFechaCreacion());
         entity.setModificadoPor(conductor.getModificadoPor());
@@ -32,7 +32,10 @@ public class ConductorPersistenceMapper {
         return entity;
     }
 
-    public Conductor toDomain(ConductorEntity entity) {
+    /**
+     * Los IDs de vehículos vienen aparte, resueltos desde vehiculos.conductor_id.
+     */
+    public Conductor toDomain(ConductorEntity entity, List<Long> vehiculosIds) {
         if (entity == null) {
             return null;
         }
@@ -44,12 +47,20 @@ public class ConductorPersistenceMapper {
             conductor.desactivar();
         }
 
-        conductor.setVehiculosIds(new ArrayList<>(entity.getVehiculosIds()));
+        conductor.setVehiculosIds(vehiculosIds);
         conductor.setCreadoPor(entity.getCreadoPor());
         conductor.setFechaCreacion(entity.getFechaCreacion());
         conductor.setModificadoPor(entity.getModificadoPor());
         conductor.setFechaModificacion(entity.getFechaModificacion());
+        conductor.setVersion(entity.getVersion());
 
         return conductor;
     }
+
+    /**
+     * Conductor activo sin vehículos, desde una proyección de reporte (sin datos de auditoría ni versión).
+     */
+    public Conductor toDomainSinVehiculos(Long id, String nombre, String licencia) {
+        return new Conductor(id, nombre, new LicenciaConducir(licencia));
+    }
 }
@@ -2,6 +2,7 @@ package com.example.transportesys.infrastructure.adapter.out.persistence.mapper;
 
 import com.example.transportesys.domain.model.Pedido;
 import com.example.transportesys.domain.valueobject.Peso;
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.PedidoArchivadoEntity;
 import com.example.transportesys.infrastructure.adapter.out.persistence.entity.PedidoEntity;
 import org.springframework.stereotype.Component;
 
@@ -18,6 +19,7 @@ public class PedidoPersistenceMapper {
 
         PedidoEntity entity = new PedidoEntity();
         entity.setId(pedido.getId());
+        entity.setVersion(pedido.getVersion());
         entity.setDescripcion(pedido.getDescripcion());
         entity.setPesoKg(pedido.getPeso().getValorEnKg());
         entity.setEstado(pedido.getEstado());
@@ -54,6 +56,30 @@ public class PedidoPersistenceMapper {
         // Restore timestamps from database
         pedido.setFechaCreacion(entity.getFechaCreacion());
         pedido.setFechaActualizacion(entity.getFechaActualizacion());
+        pedido.setVersion(entity.getVersion());
+
+        return pedido;
+    }
+
+    public Pedido toDomain(PedidoArchivadoEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        Pedido pedido = new Pedido(
+            entity.getId(),
+            entity.getDescripcion(),
+            new Peso(entity.getPesoKg()),
+            entity.getVehiculoId(),
+            entity.getConductorId(),
+            entity.getEstado(),
+            entity.getDireccionOrigen(),
+            entity.getDireccionDestino()
+        );
+
+        pedido.setFechaCreacion(entity.getFechaCreacion());
+        pedido.setFechaActualizacion(entity.getFechaActualizacion());
+        pedido.setVersion(entity.getVersion());
 
         return pedido;
     }
@@ -19,10 +19,12 @@ public class UsuarioPersistenceMapper {
 
         UsuarioEntity entity = new UsuarioEntity();
         entity.setId(usuario.getId());
+        entity.setVersion(usuario.getVersion());
         entity.setUsername(usuario.getUsername());
         entity.setPassword(usuario.getPassword());
         entity.setEmail(usuario.getEmail());
         entity.setActivo(usuario.isActivo());
+        entity.setVersionToken(usuario.getVersionToken());
         entity.setRoles(new HashSet<>(usuario.getRoles()));
         entity.setFechaCreacion(usuario.getFechaCreacion());
         entity.setUltimoAcceso(usuario.getUltimoAcceso());
@@ -42,9 +44,11 @@ public class UsuarioPersistenceMapper {
             usuario.desactivar();
         }
 
+        usuario.setVersionToken(entity.getVersionToken());
         usuario.setRoles(new HashSet<>(entity.getRoles()));
         usuario.setFechaCreacion(entity.getFechaCreacion());
         usuario.setUltimoAcceso(entity.getUltimoAcceso());
+        usuario.setVersion(entity.getVersion());
 
         return usuario;
     }
@@ -19,6 +19,7 @@ public class VehiculoPersistenceMapper {
 
         VehiculoEntity entity = new VehiculoEntity();
         entity.setId(vehiculo.getId());
+        entity.setVersion(vehiculo.getVersion());
         entity.setPlaca(vehiculo.getPlaca().getValor());
         entity.setCapacidadKg(vehiculo.getCapacidad().getValorEnKg());
         entity.setActivo(vehiculo.isActivo());
@@ -53,6 +54,7 @@ public class VehiculoPersistenceMapper {
         vehiculo.setFechaCreacion(entity.getFechaCreacion());
         vehiculo.setModificadoPor(entity.getModificadoPor());
         vehiculo.setFechaModificacion(entity.getFechaModificacion());
+        vehiculo.setVersion(entity.getVersion());
 
         return vehiculo;
     }
@@ -1,13 +1,16 @@
 package com.example.transportesys.infrastructure.adapter.out.persistence.repository;
 
 import com.example.transportesys.infrastructure.adapter.out.persistence.entity.ConductorEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +21,12 @@ import java.util.Optional;
 @Repository
 public interface ConductorJpaRepository extends JpaRepository<ConductorEntity, Long> {
 
+    /**
+     * Busca los conductores activos cuyos IDs están en la colección dada.
+     */
+    @Query("SELECT c FROM ConductorEntity c WHERE c.id IN :ids AND c.activo = true")
+    List<ConductorEntity> findAllActiveByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Busca un conductor por ID solo si está activo.
      * Override de findById para implementar eliminación lógica.
@@ -25,6 +34,13 @@ public interface ConductorJpaRepository extends JpaRepository<ConductorEntity, L
     @Query("SELECT c FROM ConductorEntity c WHERE c.id = :id AND c.activo = true")
     Optional<ConductorEntity> findByIdAndActivoTrue(@Param("id") Long id);
 
+    /**
+     * Igual que findByIdAndActivoTrue, pero con SELECT ... FOR UPDATE sobre la fila del conductor.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ConductorEntity c WHERE c.id = :id AND c.activo = true")
+    Optional<ConductorEntity> findActiveByIdForUpdate(@Param("id") Long id);
+
     /**
      * Busca un conductor por licencia solo si está activo.
      */
@@ -46,10 +62,24 @@ public interface ConductorJpaRepository extends JpaRepository<ConductorEntity, L
     Page<ConductorEntity> findAllActive(Pageable pageable);
 
     /**
-     * Busca conductores activos sin vehículos asignados.
+     * Conductores activos sin vehículos asignados, como proyección [id, nombre, licencia].
+     * NOT EXISTS se resuelve como anti-join sobre vehiculos.conductor_id.
      */
-    @Query("SELECT c FROM ConductorEntity c WHERE SIZE(c.vehiculosIds) = 0 AND c.activo = true")
-    List<ConductorEntity> findConductoresSinVehiculos();
+    @Query(value = "SELECT c.id, c.nombre, c.licencia FROM conductores c " +
+                   "WHERE c.activo = true " +
+                   "AND NOT EXISTS (SELECT 1 FROM vehiculos v WHERE v.conductor_id = c.id AND v.activo = true) " +
+                   "ORDER BY c.id",
+           nativeQuery = true)
+    List<Object[]> findConductoresSinVehiculos();
+
+    /**
+     * Cantidad de vehículos de cada conductor activo (incluye los que tienen 0).
+     * Cada fila es [conductorId, cantidad].
+     */
+    @Query("SELECT c.id, COUNT(v.id) FROM ConductorEntity c " +
+           "LEFT JOIN VehiculoEntity v ON v.conductorId = c.id AND v.activo = true " +
+           "WHERE c.activo = true GROUP BY c.id")
+    List<Object[]> contarVehiculosPorConductor();
 
     /**
      * Verifica si existe un conductor activo con la licencia dada.
@@ -57,6 +87,12 @@ public interface ConductorJpaRepository extends JpaRepository<ConductorEntity, L
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM ConductorEntity c WHERE c.licencia = :licencia AND c.activo = true")
     boolean existsByLicenciaAndActivoTrue(@Param("licencia") String licencia);
 
+    /**
+     * Lista conductores activos con ID mayor al dado, ordenados por ID (paginación por cursor).
+     */
+    @Query("SELECT c FROM ConductorEntity c WHERE c.activo = true AND c.id > :id ORDER BY c.id")
+    List<ConductorEntity> findActiveAfterId(@Param("id") Long id, Pageable pageable);
+
     // ===== Métodos que NO filtran por activo (para uso interno) =====
 
     List<ConductorEntity> findByActivo(boolean activo);
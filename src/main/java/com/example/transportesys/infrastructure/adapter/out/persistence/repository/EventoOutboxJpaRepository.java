@@ -0,0 +1,55 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.repository;
+
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.EventoOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository para EventoOutboxEntity.
+ */
+@Repository
+public interface EventoOutboxJpaRepository extends JpaRepository<EventoOutboxEntity, Long> {
+
+    /**
+     * Reserva (bloquea hasta el fin de la transacción) un lote de eventos listos para publicar.
+     * SKIP LOCKED permite que varias instancias drenen en paralelo sin esperarse.
+     * Para mantener el orden por agregado se descartan los eventos que tienen uno anterior
+     * del mismo agregado fuera del lote (reservado por otra instancia o en espera de reintento).
+     */
+    @Query(value = "WITH candidatos AS (" +
+                   "  SELECT id, tipo_agregado, agregado_id FROM eventos_outbox " +
+                   "  WHERE proximo_intento IS NULL OR proximo_intento <= :ahora " +
+                   "  ORDER BY id LIMIT :lote FOR UPDATE SKIP LOCKED" +
+                   ") " +
+                   "SELECT e.* FROM eventos_outbox e JOIN candidatos c ON c.id = e.id " +
+                   "WHERE NOT EXISTS (" +
+                   "  SELECT 1 FROM eventos_outbox previo " +
+                   "  WHERE previo.tipo_agregado = c.tipo_agregado AND previo.agregado_id = c.agregado_id " +
+                   "  AND previo.id < c.id AND previo.id NOT IN (SELECT id FROM candidatos)" +
+                   ") " +
+                   "ORDER BY e.id",
+           nativeQuery = true)
+    List<EventoOutboxEntity> reservarLote(@Param("lote") int lote, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Pospone un evento cuya publicación falló hasta el próximo intento.
+     */
+    @Modifying
+    @Query("UPDATE EventoOutboxEntity e SET e.intentos = e.intentos + 1, e.proximoIntento = :proximoIntento, " +
+           "e.ultimoError = :error WHERE e.id = :id")
+    int registrarFallo(@Param("id") Long id,
+                       @Param("proximoIntento") LocalDateTime proximoIntento,
+                       @Param("error") String error);
+
+    /**
+     * Fecha de creación del evento pendiente más antiguo (null si no hay pendientes).
+     */
+    @Query("SELECT MIN(e.fechaCreacion) FROM EventoOutboxEntity e")
+    LocalDateTime fechaPendienteMasAntigua();
+}
@@ -0,0 +1,27 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.repository;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.PedidoArchivadoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository para PedidoArchivadoEntity.
+ */
+@Repository
+public interface PedidoArchivadoJpaRepository extends JpaRepository<PedidoArchivadoEntity, Long> {
+
+    List<PedidoArchivadoEntity> findByFechaCreacionBetween(LocalDateTime inicio, LocalDateTime fin);
+
+    long countByEstado(EstadoPedido estado);
+
+    /**
+     * Cantidad de pedidos archivados por estado. Cada fila es [estado, cantidad].
+     */
+    @Query("SELECT p.estado, COUNT(p) FROM PedidoArchivadoEntity p GROUP BY p.estado")
+    List<Object[]> contarPorEstado();
+}
@@ -5,11 +5,13 @@ import com.example.transportesys.infrastructure.adapter.out.persistence.entity.P
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,6 +29,22 @@ public interface PedidoJpaRepository extends JpaRepository<PedidoEntity, Long> {
     @Query("SELECT p FROM PedidoEntity p WHERE p.vehiculoId = :vehiculoId AND p.estado IN (com.example.transportesys.domain.enums.EstadoPedido.PENDIENTE, com.example.transportesys.domain.enums.EstadoPedido.EN_PROGRESO)")
     List<PedidoEntity> findActivosByVehiculoId(@Param("vehiculoId") Long vehiculoId);
 
+    /**
+     * Pedidos PENDIENTE sin vehículo como [id, pesoKg], por (fechaCreacion, id).
+     * Usa idx_pedidos_vehiculo_fecha_creacion.
+     */
+    @Query("SELECT p.id, p.pesoKg FROM PedidoEntity p WHERE p.vehiculoId IS NULL " +
+           "AND p.estado = com.example.transportesys.domain.enums.EstadoPedido.PENDIENTE ORDER BY p.fechaCreacion, p.id")
+    List<Object[]> findPesosPendientesSinAsignar(Pageable pageable);
+
+    /**
+     * Peso total de los pedidos activos por vehículo. Cada fila es [vehiculoId, pesoKg].
+     */
+    @Query("SELECT p.vehiculoId, SUM(p.pesoKg) FROM PedidoEntity p WHERE p.vehiculoId IS NOT NULL " +
+           "AND p.estado IN (com.example.transportesys.domain.enums.EstadoPedido.PENDIENTE, com.example.transportesys.domain.enums.EstadoPedido.EN_PROGRESO) " +
+           "GROUP BY p.vehiculoId")
+    List<Object[]> sumarPesoActivoPorVehiculo();
+
     @Query("SELECT COUNT(p) FROM PedidoEntity p WHERE p.vehiculoId = :vehiculoId AND p.estado IN (com.example.transportesys.domain.enums.EstadoPedido.PENDIENTE, com.example.transportesys.domain.enums.EstadoPedido.EN_PROGRESO)")
     long countActivosByVehiculoId(@Param("vehiculoId") Long vehiculoId);
 
@@ -35,4 +53,68 @@ public interface PedidoJpaRepository extends JpaRepository<PedidoEntity, Long> {
     long countByEstado(EstadoPedido estado);
 
     Page<PedidoEntity> findAll(Pageable pageable);
+
+    /**
+     * Primera página de la paginación por cursor, ordenada por (fecha_creacion, id).
+     */
+    @Query(value = "SELECT * FROM pedidos p ORDER BY p.fecha_creacion, p.id LIMIT :limite", nativeQuery = true)
+    List<PedidoEntity> findPrimerosPorFechaCreacion(@Param("limite") int limite);
+
+    /**
+     * Páginas siguientes de la paginación por cursor.
+     * La comparación de filas permite que PostgreSQL use el índice (fecha_creacion, id) sin OFFSET.
+     */
+    @Query(value = "SELECT * FROM pedidos p WHERE (p.fecha_creacion, p.id) > (:fechaCreacion, :id) " +
+                   "ORDER BY p.fecha_creacion, p.id LIMIT :limite", nativeQuery = true)
+    List<PedidoEntity> findSiguientesPorFechaCreacion(@Param("fechaCreacion") LocalDateTime fechaCreacion,
+                                                      @Param("id") Long id,
+                                                      @Param("limite") int limite);
+
+    /**
+     * Transición de estado condicional en lote y en un solo viaje.
+     * La subconsulta bloquea las filas y expone su estado anterior; el WHERE actúa como compare-and-set.
+     * Cada fila retornada es [id, estado_anterior, conductor_id, vehiculo_id, peso_kg].
+     */
+    @Query(value = "UPDATE pedidos p SET estado = :nuevoEstado, fecha_actualizacion = :ahora, version = p.version + 1 " +
+                   "FROM (SELECT id, estado FROM pedidos WHERE id IN (:ids) FOR UPDATE) anterior " +
+                   "WHERE p.id = anterior.id AND anterior.estado IN (:estadosOrigen) " +
+                   "AND (:requiereAsignacion = false OR (p.vehiculo_id IS NOT NULL AND p.conductor_id IS NOT NULL)) " +
+                   "RETURNING p.id, anterior.estado, p.conductor_id, p.vehiculo_id, p.peso_kg", nativeQuery = true)
+    List<Object[]> transicionarEstado(@Param("ids") Collection<Long> ids,
+                                      @Param("estadosOrigen") Collection<String> estadosOrigen,
+                                      @Param("nuevoEstado") String nuevoEstado,
+                                      @Param("requiereAsignacion") boolean requiereAsignacion,
+                                      @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Cantidad de pedidos por estado. Cada fila es [estado, cantidad].
+     */
+    @Query("SELECT p.estado, COUNT(p) FROM PedidoEntity p GROUP BY p.estado")
+    List<Object[]> contarPorEstado();
+
+    /**
+     * Mueve a pedidos_archivados un lote de pedidos en estado final cuya última modificación
+     * es anterior al límite. DELETE ... RETURNING e INSERT van en una sola sentencia,
+     * y SKIP LOCKED evita bloquear a transacciones que estén usando esas filas.
+     * Retorna la cantidad de pedidos archivados.
+     */
+    @Modifying
+    @Query(value = "WITH candidatos AS (" +
+                   "  SELECT id FROM pedidos " +
+                   "  WHERE estado IN ('COMPLETADO', 'CANCELADO') " +
+                   "  AND COALESCE(fecha_actualizacion, fecha_creacion) < :limite " +
+                   "  ORDER BY id LIMIT :lote FOR UPDATE SKIP LOCKED" +
+                   "), movidos AS (" +
+                   "  DELETE FROM pedidos p USING candidatos c WHERE p.id = c.id " +
+                   "  RETURNING p.id, p.descripcion, p.peso_kg, p.estado, p.vehiculo_id, p.conductor_id, " +
+                   "  p.direccion_origen, p.direccion_destino, p.fecha_creacion, p.fecha_actualizacion, p.version" +
+                   ") " +
+                   "INSERT INTO pedidos_archivados (id, descripcion, peso_kg, estado, vehiculo_id, conductor_id, " +
+                   "  direccion_origen, direccion_destino, fecha_creacion, fecha_actualizacion, version, fecha_archivado) " +
+                   "SELECT id, descripcion, peso_kg, estado, vehiculo_id, conductor_id, " +
+                   "  direccion_origen, direccion_destino, fecha_creacion, fecha_actualizacion, version, :ahora FROM movidos",
+           nativeQuery = true)
+    int archivarFinalizados(@Param("limite") LocalDateTime limite,
+                            @Param("lote") int lote,
+                            @Param("ahora") LocalDateTime ahora);
 }
@@ -0,0 +1,24 @@
+package com.example.transportesys.infrastructure.adapter.out.persistence.repository;
+
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.RevocacionTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository para RevocacionTokenEntity.
+ */
+@Repository
+public interface RevocacionTokenJpaRepository extends JpaRepository<RevocacionTokenEntity, String> {
+
+    List<RevocacionTokenEntity> findByVenceEnAfter(LocalDateTime fecha);
+
+    @Modifying
+    @Query("DELETE FROM RevocacionTokenEntity r WHERE r.venceEn <= :fecha")
+    int eliminarVencidas(@Param("fecha") LocalDateTime fecha);
+}
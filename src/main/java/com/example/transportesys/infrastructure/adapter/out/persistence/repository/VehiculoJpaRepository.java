@@ -4,10 +4,13 @@ import com.example.transportesys.infrastructure.adapter.out.persistence.entity.V
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +21,12 @@ import java.util.Optional;
 @Repository
 public interface VehiculoJpaRepository extends JpaRepository<VehiculoEntity, Long> {
 
+    /**
+     * Busca los vehículos activos cuyos IDs están en la colección dada.
+     */
+    @Query("SELECT v FROM VehiculoEntity v WHERE v.id IN :ids AND v.activo = true")
+    List<VehiculoEntity> findAllActiveByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Busca un vehículo por ID solo si está activo.
      * Override de findById para implementar eliminación lógica.
@@ -51,6 +60,35 @@ public interface VehiculoJpaRepository extends JpaRepository<VehiculoEntity, Lon
     @Query("SELECT v FROM VehiculoEntity v WHERE v.conductorId = :conductorId AND v.activo = true")
     List<VehiculoEntity> findByConductorIdAndActivoTrue(@Param("conductorId") Long conductorId);
 
+    /**
+     * IDs de los vehículos activos de los conductores dados, en una sola consulta.
+     * Cada fila es [conductorId, vehiculoId].
+     */
+    @Query("SELECT v.conductorId, v.id FROM VehiculoEntity v " +
+           "WHERE v.conductorId IN :conductorIds AND v.activo = true ORDER BY v.id")
+    List<Object[]> findIdsActivosPorConductor(@Param("conductorIds") Collection<Long> conductorIds);
+
+    /**
+     * Cambia solo el conductor asignado, con compare-and-set sobre la versión.
+     * Retorna 0 si otra transacción modificó el vehículo.
+     */
+    @Modifying
+    @Query("UPDATE VehiculoEntity v SET v.conductorId = :conductorId, v.version = v.version + 1, " +
+           "v.modificadoPor = :modificadoPor, v.fechaModificacion = :ahora " +
+           "WHERE v.id = :id AND v.version = :version")
+    int actualizarConductor(@Param("id") Long id,
+                            @Param("conductorId") Long conductorId,
+                            @Param("version") Long version,
+                            @Param("modificadoPor") String modificadoPor,
+                            @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Vehículos activos cuyo conductor asignado también está activo.
+     */
+    @Query("SELECT v FROM VehiculoEntity v WHERE v.activo = true AND v.conductorId IS NOT NULL " +
+           "AND EXISTS (SELECT 1 FROM ConductorEntity c WHERE c.id = v.conductorId AND c.activo = true)")
+    List<VehiculoEntity> findAsignadosAConductorActivo();
+
     /**
      * Busca vehículos libres (sin conductor asignado) y activos.
      */
@@ -63,6 +101,12 @@ public interface VehiculoJpaRepository extends JpaRepository<VehiculoEntity, Lon
     @Query("SELECT CASE WHEN COUNT(v) > 0 THEN true ELSE false END FROM VehiculoEntity v WHERE v.placa = :placa AND v.activo = true")
     boolean existsByPlacaAndActivoTrue(@Param("placa") String placa);
 
+    /**
+     * Lista vehículos activos con ID mayor al dado, ordenados por ID (paginación por cursor).
+     */
+    @Query("SELECT v FROM VehiculoEntity v WHERE v.activo = true AND v.id > :id ORDER BY v.id")
+    List<VehiculoEntity> findActiveAfterId(@Param("id") Long id, Pageable pageable);
+
     // ===== Métodos que NO filtran por activo (para uso interno) =====
 
     List<VehiculoEntity> findByActivo(boolean activo);
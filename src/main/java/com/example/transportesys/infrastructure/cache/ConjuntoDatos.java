@@ -0,0 +1,11 @@
+package com.example.transportesys.infrastructure.cache;
+
+/**
+ * Datos de los que dependen las respuestas cacheadas. Cada uno tiene su versión en {@link VersionDatos}.
+ */
+public enum ConjuntoDatos {
+    /** Tabla vehiculos, incluida la asignación de conductor. */
+    VEHICULOS,
+    /** Tabla conductores. */
+    CONDUCTORES
+}
@@ -0,0 +1,22 @@
+package com.example.transportesys.infrastructure.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un handler GET cuya respuesta se guarda ya serializada, por método, argumentos y versión
+ * de los datos de los que depende. Solo para respuestas que no dependen del usuario autenticado.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RespuestaCacheada {
+
+    /**
+     * Datos que, al cambiar, invalidan la respuesta.
+     */
+    ConjuntoDatos[] value();
+}
@@ -0,0 +1,131 @@
+package com.example.transportesys.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Guarda la respuesta de cada handler {@link RespuestaCacheada} ya serializada a JSON (y en gzip si es grande),
+ * con clave método + argumentos + versión de sus datos. En un acierto el handler no se ejecuta y el cuerpo
+ * se copia a la respuesta sin serializar; una escritura cambia la versión y las entradas viejas se van
+ * por tamaño o por retención.
+ * La retención acota cuánto se ven en esta instancia las escrituras hechas en otra.
+ *
+ * Métricas: transportesys.respuestas-cacheadas.consultas (tag resultado) y transportesys.respuestas-cacheadas.bytes.
+ */
+public class RespuestaCacheadaInterceptor implements MethodInterceptor, MeterBinder {
+
+    static final String METRICA_CONSULTAS = "transportesys.respuestas-cacheadas.consultas";
+    static final String METRICA_BYTES = "transportesys.respuestas-cacheadas.bytes";
+
+    private final Supplier<ObjectMapper> objectMapper;
+    private final VersionDatos versiones;
+    private final int minimoGzip;
+    private final Cache<List<Object>, Entrada> respuestas;
+    private volatile Counter aciertos;
+    private volatile Counter fallos;
+
+    /**
+     * @param objectMapper se resuelve en la primera serialización: el interceptor se crea antes que Jackson
+     * @param maximoBytes tope de la caché, contando JSON y gzip
+     * @param minimoGzip tamaño del JSON desde el que se guarda también la variante gzip
+     * @param retencion tiempo máximo de una respuesta en la caché
+     */
+    public RespuestaCacheadaInterceptor(Supplier<ObjectMapper> objectMapper, VersionDatos versiones,
+                                        long maximoBytes, int minimoGzip, Duration retencion) {
+        this.objectMapper = objectMapper;
+        this.versiones = versiones;
+        this.minimoGzip = minimoGzip;
+        this.respuestas = Caffeine.newBuilder()
+            .maximumWeight(maximoBytes)
+            .weigher((List<Object> clave, Entrada entrada) -> entrada.cuerpo.getTamano())
+            .expireAfterWrite(retencion)
+            .build();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method metodo = invocation.getMethod();
+        RespuestaCacheada anotacion = metodo.getAnnotation(RespuestaCacheada.class);
+        if (anotacion == null) {
+            return invocation.proceed();
+        }
+
+        // La versión se toma antes de leer: si una escritura confirma en el medio, lo leído queda con la vieja
+        List<Object> clave = Arrays.asList(metodo, Arrays.asList(invocation.getArguments()),
+            versiones.obtener(anotacion.value()));
+        Entrada entrada = respuestas.getIfPresent(clave);
+        if (entrada != null) {
+            contar(aciertos);
+            return entrada.comoRespuesta();
+        }
+
+        Object resultado = invocation.proceed();
+        if (!(resultado instanceof ResponseEntity<?> respuesta)
+                || respuesta.getStatusCode().value() != 200
+                || respuesta.getBody() == null
+                || respuesta.getBody() instanceof RespuestaSerializada) {
+            return resultado;
+        }
+        contar(fallos);
+        byte[] json = objectMapper.get().writeValueAsBytes(respuesta.getBody());
+        entrada = new Entrada(RespuestaSerializada.de(json, minimoGzip), respuesta.getHeaders(), respuesta.getStatusCode());
+        respuestas.put(clave, entrada);
+        return entrada.comoRespuesta();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        aciertos = Counter.builder(METRICA_CONSULTAS).tag("resultado", "acierto").register(registry);
+        fallos = Counter.builder(METRICA_CONSULTAS).tag("resultado", "fallo").register(registry);
+        Gauge.builder(METRICA_BYTES, respuestas, RespuestaCacheadaInterceptor::bytesEnUso)
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    private static double bytesEnUso(Cache<List<Object>, Entrada> respuestas) {
+        return respuestas.policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0L))
+            .orElse(0L);
+    }
+
+    private static void contar(Counter contador) {
+        if (contador != null) {
+            contador.increment();
+        }
+    }
+
+    /**
+     * Cuerpo serializado con los headers y el estado de la respuesta original.
+     */
+    private static final class Entrada {
+        private final RespuestaSerializada cuerpo;
+        private final HttpHeaders headers;
+        private final HttpStatusCode estado;
+
+        private Entrada(RespuestaSerializada cuerpo, HttpHeaders headers, HttpStatusCode estado) {
+            this.cuerpo = cuerpo;
+            this.headers = headers;
+            this.estado = estado;
+        }
+
+        ResponseEntity<RespuestaSerializada> comoRespuesta() {
+            return new ResponseEntity<>(cuerpo, headers, estado);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.transportesys.infrastructure.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cuerpo de respuesta ya serializado a JSON y, si es grande y comprime, también en gzip.
+ * {@link RespuestaSerializadaConverter} lo escribe tal cual, eligiendo la variante según Accept-Encoding.
+ */
+public final class RespuestaSerializada {
+
+    private final byte[] json;
+    private final byte[] gzip;
+
+    private RespuestaSerializada(byte[] json, byte[] gzip) {
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    /**
+     * @param minimoGzip tamaño desde el que se guarda además la variante gzip
+     */
+    public static RespuestaSerializada de(byte[] json, int minimoGzip) {
+        if (json.length < minimoGzip) {
+            return new RespuestaSerializada(json, null);
+        }
+        byte[] comprimido = comprimir(json);
+        return new RespuestaSerializada(json, comprimido.length < json.length ? comprimido : null);
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Variante gzip, o null si no se guardó.
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * Bytes que ocupa en memoria, para acotar el tamaño de la caché.
+     */
+    public int getTamano() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+
+    private static byte[] comprimir(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.transportesys.infrastructure.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+/**
+ * Escribe una {@link RespuestaSerializada} copiando sus bytes, sin pasar por Jackson.
+ * Si tiene variante gzip y el cliente la acepta, la envía con Content-Encoding: gzip; en ambos casos con
+ * Vary: Accept-Encoding para que los intermediarios no mezclen las variantes. Solo escritura.
+ */
+public class RespuestaSerializadaConverter extends AbstractHttpMessageConverter<RespuestaSerializada> {
+
+    static final String GZIP = "gzip";
+
+    public RespuestaSerializadaConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RespuestaSerializada.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RespuestaSerializada readInternal(Class<? extends RespuestaSerializada> clazz,
+                                                HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("RespuestaSerializada es solo de escritura", inputMessage);
+    }
+
+    /**
+     * El largo depende de la variante elegida: se fija al escribir.
+     */
+    @Override
+    protected Long getContentLength(RespuestaSerializada respuesta, MediaType contentType) {
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(RespuestaSerializada respuesta, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        byte[] cuerpo = respuesta.getJson();
+        if (respuesta.getGzip() != null) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (aceptaGzip(acceptEncodingActual())) {
+                cuerpo = respuesta.getGzip();
+                headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+        }
+        headers.setContentLength(cuerpo.length);
+        outputMessage.getBody().write(cuerpo);
+    }
+
+    /**
+     * True si Accept-Encoding incluye gzip (o *) sin q=0.
+     */
+    static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacion : acceptEncoding.split(",")) {
+            String[] partes = codificacion.split(";");
+            String nombre = partes[0].trim();
+            if (nombre.equalsIgnoreCase(GZIP) || nombre.equals("*")) {
+                for (int i = 1; i < partes.length; i++) {
+                    if (partes[i].trim().matches("q=0(\\.0{0,3})?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String acceptEncodingActual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        return atributos instanceof ServletRequestAttributes servlet
+            ? servlet.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING)
+            : null;
+    }
+}
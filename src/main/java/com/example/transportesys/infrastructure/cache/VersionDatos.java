@@ -0,0 +1,61 @@
+package com.example.transportesys.infrastructure.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión de cada conjunto de datos en esta instancia: los adapters de persistencia la incrementan al escribir
+ * y las respuestas cacheadas la incluyen en su clave, así una escritura deja de servir las respuestas anteriores
+ * sin recorrer la caché.
+ * El incremento se aplica tras el commit: una lectura que arrancó antes guarda lo que leyó con la versión vieja.
+ */
+@Component
+public class VersionDatos {
+
+    private final Map<ConjuntoDatos, AtomicLong> versiones = new EnumMap<>(ConjuntoDatos.class);
+
+    public VersionDatos() {
+        for (ConjuntoDatos conjunto : ConjuntoDatos.values()) {
+            versiones.put(conjunto, new AtomicLong());
+        }
+    }
+
+    public long obtener(ConjuntoDatos conjunto) {
+        return versiones.get(conjunto).get();
+    }
+
+    /**
+     * Versiones de los conjuntos indicados, en el mismo orden.
+     */
+    public List<Long> obtener(ConjuntoDatos... conjuntos) {
+        List<Long> resultado = new ArrayList<>(conjuntos.length);
+        for (ConjuntoDatos conjunto : conjuntos) {
+            resultado.add(obtener(conjunto));
+        }
+        return resultado;
+    }
+
+    /**
+     * Incrementa la versión al confirmar la transacción en curso, o en el momento si no hay una.
+     */
+    public void incrementar(ConjuntoDatos conjunto) {
+        AtomicLong version = versiones.get(conjunto);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
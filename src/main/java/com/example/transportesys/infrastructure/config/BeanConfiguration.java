@@ -1,21 +1,31 @@
 package com.example.transportesys.infrastructure.config;
 
 import com.example.transportesys.application.usecase.conductor.*;
+import com.example.transportesys.application.usecase.despacho.*;
 import com.example.transportesys.application.usecase.pedido.*;
 import com.example.transportesys.application.usecase.usuario.*;
 import com.example.transportesys.application.usecase.vehiculo.*;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
 import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.repository.RevocacionTokensRepository;
 import com.example.transportesys.domain.repository.UsuarioRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.specification.ConductorEstaActivoSpec;
 import com.example.transportesys.domain.specification.VehiculoEstaActivoSpec;
 import com.example.transportesys.domain.specification.VehiculoEstaAsignadoAConductorSpec;
 import com.example.transportesys.domain.specification.VehiculoTieneCapacidadSuficienteSpec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuración de beans para los Use Cases.
  * Instancia los Use Cases (POJOs del dominio) con sus dependencias.
@@ -26,18 +36,24 @@ public class BeanConfiguration {
     // ============ USE CASES DE VEHÍCULO ============
 
     @Bean
-    public CrearVehiculoUseCase crearVehiculoUseCase(VehiculoRepository vehiculoRepository) {
-        return new CrearVehiculoUseCase(vehiculoRepository);
+    public CrearVehiculoUseCase crearVehiculoUseCase(
+            VehiculoRepository vehiculoRepository,
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
+        return new CrearVehiculoUseCase(vehiculoRepository, disponibilidadFlotaRepository);
     }
 
     @Bean
-    public ActualizarVehiculoUseCase actualizarVehiculoUseCase(VehiculoRepository vehiculoRepository) {
-        return new ActualizarVehiculoUseCase(vehiculoRepository);
+    public ActualizarVehiculoUseCase actualizarVehiculoUseCase(
+            VehiculoRepository vehiculoRepository,
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
+        return new ActualizarVehiculoUseCase(vehiculoRepository, disponibilidadFlotaRepository);
     }
 
     @Bean
-    public EliminarVehiculoUseCase eliminarVehiculoUseCase(VehiculoRepository vehiculoRepository) {
-        return new EliminarVehiculoUseCase(vehiculoRepository);
+    public EliminarVehiculoUseCase eliminarVehiculoUseCase(
+            VehiculoRepository vehiculoRepository,
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
+        return new EliminarVehiculoUseCase(vehiculoRepository, disponibilidadFlotaRepository);
     }
 
     @Bean
@@ -55,19 +71,39 @@ public class BeanConfiguration {
         return new ObtenerVehiculosLibresUseCase(vehiculoRepository);
     }
 
+    @Bean
+    public ReconciliarDisponibilidadFlotaUseCase reconciliarDisponibilidadFlotaUseCase(
+            VehiculoRepository vehiculoRepository,
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
+        return new ReconciliarDisponibilidadFlotaUseCase(vehiculoRepository, disponibilidadFlotaRepository);
+    }
+
+    @Bean
+    public BuscarVehiculosLibresPorPesoUseCase buscarVehiculosLibresPorPesoUseCase(
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository,
+            ReconciliarDisponibilidadFlotaUseCase reconciliarDisponibilidadFlotaUseCase) {
+        return new BuscarVehiculosLibresPorPesoUseCase(disponibilidadFlotaRepository,
+                                                       reconciliarDisponibilidadFlotaUseCase);
+    }
+
     @Bean
     public AsignarConductorAVehiculoUseCase asignarConductorAVehiculoUseCase(
             VehiculoRepository vehiculoRepository,
-            ConductorRepository conductorRepository) {
-        return new AsignarConductorAVehiculoUseCase(vehiculoRepository, conductorRepository);
+            ConductorRepository conductorRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
+        return new AsignarConductorAVehiculoUseCase(vehiculoRepository, conductorRepository, eventoOutboxRepository,
+                                                    disponibilidadFlotaRepository);
     }
 
     @Bean
     public DevolverVehiculoConductorUseCase devolverVehiculoConductorUseCase(
             VehiculoRepository vehiculoRepository,
-            ConductorRepository conductorRepository,
-            PedidoRepository pedidoRepository) {
-        return new DevolverVehiculoConductorUseCase(vehiculoRepository, conductorRepository, pedidoRepository);
+            PedidoRepository pedidoRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            DisponibilidadFlotaRepository disponibilidadFlotaRepository) {
+        return new DevolverVehiculoConductorUseCase(vehiculoRepository, pedidoRepository, eventoOutboxRepository,
+                                                    disponibilidadFlotaRepository);
     }
 
     // ============ USE CASES DE CONDUCTOR ============
@@ -118,34 +154,115 @@ public class BeanConfiguration {
             ConductorRepository conductorRepository,
             VehiculoTieneCapacidadSuficienteSpec capacidadSpec,
             VehiculoEstaActivoSpec vehiculoActivoSpec,
-            ConductorEstaActivoSpec conductorActivoSpec) {
+            ConductorEstaActivoSpec conductorActivoSpec,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
         return new CrearPedidoUseCase(pedidoRepository, vehiculoRepository, conductorRepository,
-                                      capacidadSpec, vehiculoActivoSpec, conductorActivoSpec);
+                                      capacidadSpec, vehiculoActivoSpec, conductorActivoSpec,
+                                      conteoPedidosRepository, eventoOutboxRepository, capacidadVehiculosRepository);
+    }
+
+    @Bean
+    public CrearPedidosLoteUseCase crearPedidosLoteUseCase(
+            PedidoRepository pedidoRepository,
+            VehiculoRepository vehiculoRepository,
+            ConductorRepository conductorRepository,
+            VehiculoTieneCapacidadSuficienteSpec capacidadSpec,
+            VehiculoEstaActivoSpec vehiculoActivoSpec,
+            ConductorEstaActivoSpec conductorActivoSpec,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new CrearPedidosLoteUseCase(pedidoRepository, vehiculoRepository, conductorRepository,
+                                           capacidadSpec, vehiculoActivoSpec, conductorActivoSpec,
+                                           conteoPedidosRepository, eventoOutboxRepository, capacidadVehiculosRepository);
+    }
+
+    @Bean
+    public CambiarEstadoPedidoUseCase cambiarEstadoPedidoUseCase(
+            PedidoRepository pedidoRepository,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new CambiarEstadoPedidoUseCase(pedidoRepository, conteoPedidosRepository, eventoOutboxRepository,
+                                              capacidadVehiculosRepository);
+    }
+
+    @Bean
+    public ActualizarEstadoPedidoUseCase actualizarEstadoPedidoUseCase(
+            PedidoRepository pedidoRepository,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new ActualizarEstadoPedidoUseCase(pedidoRepository, conteoPedidosRepository, eventoOutboxRepository,
+                                                 capacidadVehiculosRepository);
+    }
+
+    @Bean
+    public TransicionarEstadoPedidosUseCase transicionarEstadoPedidosUseCase(
+            PedidoRepository pedidoRepository,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new TransicionarEstadoPedidosUseCase(pedidoRepository, conteoPedidosRepository, eventoOutboxRepository,
+                                                    capacidadVehiculosRepository);
+    }
+
+    @Bean
+    public ReconciliarConteoPedidosUseCase reconciliarConteoPedidosUseCase(
+            PedidoRepository pedidoRepository,
+            ConteoPedidosRepository conteoPedidosRepository) {
+        return new ReconciliarConteoPedidosUseCase(pedidoRepository, conteoPedidosRepository);
+    }
+
+    @Bean
+    public ReconciliarCapacidadVehiculosUseCase reconciliarCapacidadVehiculosUseCase(
+            PedidoRepository pedidoRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new ReconciliarCapacidadVehiculosUseCase(pedidoRepository, capacidadVehiculosRepository);
     }
 
     @Bean
-    public CambiarEstadoPedidoUseCase cambiarEstadoPedidoUseCase(PedidoRepository pedidoRepository) {
-        return new CambiarEstadoPedidoUseCase(pedidoRepository);
+    public ObtenerConteoPedidosUseCase obtenerConteoPedidosUseCase(
+            ConteoPedidosRepository conteoPedidosRepository,
+            ReconciliarConteoPedidosUseCase reconciliarConteoPedidosUseCase) {
+        return new ObtenerConteoPedidosUseCase(conteoPedidosRepository, reconciliarConteoPedidosUseCase);
     }
 
     @Bean
-    public ActualizarEstadoPedidoUseCase actualizarEstadoPedidoUseCase(PedidoRepository pedidoRepository) {
-        return new ActualizarEstadoPedidoUseCase(pedidoRepository);
+    public ArchivarPedidosUseCase archivarPedidosUseCase(PedidoRepository pedidoRepository) {
+        return new ArchivarPedidosUseCase(pedidoRepository);
     }
 
     @Bean
-    public IniciarPedidoUseCase iniciarPedidoUseCase(PedidoRepository pedidoRepository) {
-        return new IniciarPedidoUseCase(pedidoRepository);
+    public IniciarPedidoUseCase iniciarPedidoUseCase(
+            PedidoRepository pedidoRepository,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new IniciarPedidoUseCase(pedidoRepository, conteoPedidosRepository, eventoOutboxRepository,
+                                        capacidadVehiculosRepository);
     }
 
     @Bean
-    public CompletarPedidoUseCase completarPedidoUseCase(PedidoRepository pedidoRepository) {
-        return new CompletarPedidoUseCase(pedidoRepository);
+    public CompletarPedidoUseCase completarPedidoUseCase(
+            PedidoRepository pedidoRepository,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new CompletarPedidoUseCase(pedidoRepository, conteoPedidosRepository, eventoOutboxRepository,
+                                          capacidadVehiculosRepository);
     }
 
     @Bean
-    public CancelarPedidoUseCase cancelarPedidoUseCase(PedidoRepository pedidoRepository) {
-        return new CancelarPedidoUseCase(pedidoRepository);
+    public CancelarPedidoUseCase cancelarPedidoUseCase(
+            PedidoRepository pedidoRepository,
+            ConteoPedidosRepository conteoPedidosRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new CancelarPedidoUseCase(pedidoRepository, conteoPedidosRepository, eventoOutboxRepository,
+                                         capacidadVehiculosRepository);
     }
 
     @Bean
@@ -158,15 +275,67 @@ public class BeanConfiguration {
         return new ObtenerPedidoUseCase(pedidoRepository);
     }
 
+    @Bean
+    public BuscarPedidosUseCase buscarPedidosUseCase(PedidoRepository pedidoRepository) {
+        return new BuscarPedidosUseCase(pedidoRepository);
+    }
+
+    @Bean
+    public ExportarPedidosUseCase exportarPedidosUseCase(PedidoRepository pedidoRepository) {
+        return new ExportarPedidosUseCase(pedidoRepository);
+    }
+
     @Bean
     public CambiarVehiculoPedidoUseCase cambiarVehiculoPedidoUseCase(
             PedidoRepository pedidoRepository,
             VehiculoRepository vehiculoRepository,
             VehiculoEstaActivoSpec vehiculoActivoSpec,
             VehiculoEstaAsignadoAConductorSpec vehiculoAsignadoConductorSpec,
-            VehiculoTieneCapacidadSuficienteSpec capacidadSpec) {
+            VehiculoTieneCapacidadSuficienteSpec capacidadSpec,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
         return new CambiarVehiculoPedidoUseCase(pedidoRepository, vehiculoRepository,
-                                                vehiculoActivoSpec, vehiculoAsignadoConductorSpec, capacidadSpec);
+                                                vehiculoActivoSpec, vehiculoAsignadoConductorSpec, capacidadSpec,
+                                                eventoOutboxRepository, capacidadVehiculosRepository);
+    }
+
+    // ============ USE CASES DE DESPACHO ============
+
+    /**
+     * Pool propio del planificador: un despacho grande no ocupa el commonPool del resto de la aplicación.
+     * Los joins tampoco agregan hilos de compensación por encima de los configurados.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool despachoPool(@Value("${transportesys.despacho.hilos:4}") int hilos) {
+        return new ForkJoinPool(hilos, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                                0, hilos, 1, pool -> true, 60, TimeUnit.SECONDS);
+    }
+
+    @Bean
+    public PlanificarDespachoUseCase planificarDespachoUseCase(
+            PedidoRepository pedidoRepository,
+            VehiculoRepository vehiculoRepository,
+            ForkJoinPool despachoPool) {
+        return new PlanificarDespachoUseCase(pedidoRepository, vehiculoRepository,
+                                             new PlanificadorDespacho(despachoPool));
+    }
+
+    @Bean
+    public AplicarAsignacionesDespachoUseCase aplicarAsignacionesDespachoUseCase(
+            PedidoRepository pedidoRepository,
+            VehiculoRepository vehiculoRepository,
+            ConductorRepository conductorRepository,
+            EventoOutboxRepository eventoOutboxRepository,
+            CapacidadVehiculosRepository capacidadVehiculosRepository) {
+        return new AplicarAsignacionesDespachoUseCase(pedidoRepository, vehiculoRepository, conductorRepository,
+                                                      eventoOutboxRepository, capacidadVehiculosRepository);
+    }
+
+    @Bean
+    public DespacharPedidosUseCase despacharPedidosUseCase(
+            PlanificarDespachoUseCase planificarDespachoUseCase,
+            AplicarAsignacionesDespachoUseCase aplicarAsignacionesDespachoUseCase) {
+        return new DespacharPedidosUseCase(planificarDespachoUseCase, aplicarAsignacionesDespachoUseCase);
     }
 
     // ============ USE CASES DE USUARIO ============
@@ -181,13 +350,16 @@ public class BeanConfiguration {
     @Bean
     public ChangePasswordUseCase changePasswordUseCase(
             UsuarioRepository usuarioRepository,
-            PasswordEncoder passwordEncoder) {
-        return new ChangePasswordUseCase(usuarioRepository, passwordEncoder);
+            PasswordEncoder passwordEncoder,
+            RevocacionTokensRepository revocacionTokensRepository) {
+        return new ChangePasswordUseCase(usuarioRepository, passwordEncoder, revocacionTokensRepository);
     }
 
     @Bean
-    public UpdateUsuarioUseCase updateUsuarioUseCase(UsuarioRepository usuarioRepository) {
-        return new UpdateUsuarioUseCase(usuarioRepository);
+    public UpdateUsuarioUseCase updateUsuarioUseCase(
+            UsuarioRepository usuarioRepository,
+            RevocacionTokensRepository revocacionTokensRepository) {
+        return new UpdateUsuarioUseCase(usuarioRepository, revocacionTokensRepository);
     }
 
     @Bean
@@ -201,7 +373,15 @@ public class BeanConfiguration {
     }
 
     @Bean
-    public EliminarUsuarioUseCase eliminarUsuarioUseCase(UsuarioRepository usuarioRepository) {
-        return new EliminarUsuarioUseCase(usuarioRepository);
+    public EliminarUsuarioUseCase eliminarUsuarioUseCase(
+            UsuarioRepository usuarioRepository,
+            RevocacionTokensRepository revocacionTokensRepository) {
+        return new EliminarUsuarioUseCase(usuarioRepository, revocacionTokensRepository);
+    }
+
+    @Bean
+    public SincronizarRevocacionesTokenUseCase sincronizarRevocacionesTokenUseCase(
+            RevocacionTokensRepository revocacionTokensRepository) {
+        return new SincronizarRevocacionesTokenUseCase(revocacionTokensRepository);
     }
 }
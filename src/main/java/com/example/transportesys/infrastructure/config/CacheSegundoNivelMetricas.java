@@ -0,0 +1,67 @@
+package com.example.transportesys.infrastructure.config;
+
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.CacheSegundoNivel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Publica aciertos, fallos y escrituras de cada región de la caché de segundo nivel de Hibernate,
+ * con los nombres y tags estándar de Micrometer para cachés (cache.gets con result hit/miss, cache.puts).
+ * Requiere hibernate.generate_statistics; sin estadísticas los contadores quedan en cero.
+ */
+@Component
+public class CacheSegundoNivelMetricas implements MeterBinder {
+
+    static final String METRICA_GETS = "cache.gets";
+    static final String METRICA_PUTS = "cache.puts";
+    static final String CACHE_MANAGER = "hibernate";
+
+    private final Statistics estadisticas;
+
+    @Autowired
+    public CacheSegundoNivelMetricas(EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+
+    CacheSegundoNivelMetricas(Statistics estadisticas) {
+        this.estadisticas = estadisticas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : CacheSegundoNivel.REGIONES) {
+            registrar(registry, METRICA_GETS, region, "hit", CacheRegionStatistics::getHitCount);
+            registrar(registry, METRICA_GETS, region, "miss", CacheRegionStatistics::getMissCount);
+            registrar(registry, METRICA_PUTS, region, null, CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    private void registrar(MeterRegistry registry, String nombre, String region, String resultado,
+                           ToLongFunction<CacheRegionStatistics> valor) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter
+            .builder(nombre, estadisticas, stats -> contar(stats, region, valor))
+            .tag("cache", region)
+            .tag("cacheManager", CACHE_MANAGER);
+        if (resultado != null) {
+            builder.tag("result", resultado);
+        }
+        builder.register(registry);
+    }
+
+    /**
+     * Sin estadísticas de la región (p. ej. generate_statistics deshabilitado) cuenta cero.
+     */
+    private static double contar(Statistics stats, String region, ToLongFunction<CacheRegionStatistics> valor) {
+        CacheRegionStatistics regionStats = stats.getCacheRegionStatistics(region);
+        return regionStats != null ? valor.applyAsLong(regionStats) : 0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.transportesys.infrastructure.config;
+
+import com.example.transportesys.infrastructure.resilience.Compartimento;
+import com.example.transportesys.infrastructure.resilience.CompartimentoInterceptor;
+import com.example.transportesys.infrastructure.resilience.TipoCompartimento;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Configuración de los compartimentos por clase de carga sobre los controllers REST
+ * y los beans anotados con {@link Compartimento}. Va por fuera del límite de concurrencia.
+ * Los cupos salen del pool de conexiones: su suma, más los hilos de login y la reserva para los jobs,
+ * no puede superar maximum-pool-size.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "transportesys.compartimentos.habilitado", havingValue = "true", matchIfMissing = true)
+public class CompartimentosConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static CompartimentoInterceptor compartimentoInterceptor(
+            @Value("${transportesys.compartimentos.escritura.capacidad:4}") int escrituraCapacidad,
+            @Value("${transportesys.compartimentos.escritura.espera-ms:200}") long escrituraEsperaMs,
+            @Value("${transportesys.compartimentos.lectura-puntual.capacidad:2}") int lecturaPuntualCapacidad,
+            @Value("${transportesys.compartimentos.lectura-puntual.espera-ms:100}") long lecturaPuntualEsperaMs,
+            @Value("${transportesys.compartimentos.listado.capacidad:2}") int listadoCapacidad,
+            @Value("${transportesys.compartimentos.listado.espera-ms:100}") long listadoEsperaMs,
+            @Value("${transportesys.compartimentos.exportacion.capacidad:1}") int exportacionCapacidad,
+            @Value("${transportesys.compartimentos.exportacion.espera-ms:0}") long exportacionEsperaMs,
+            @Value("${transportesys.compartimentos.autenticacion.capacidad:1}") int autenticacionCapacidad,
+            @Value("${transportesys.compartimentos.autenticacion.espera-ms:100}") long autenticacionEsperaMs,
+            @Value("${transportesys.compartimentos.reserva-jobs:2}") int reservaJobs,
+            @Value("${transportesys.auth.login.hilos:4}") int hilosLogin,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanoPool) {
+        CompartimentoInterceptor interceptor = new CompartimentoInterceptor(Map.of(
+            TipoCompartimento.ESCRITURA, new CompartimentoInterceptor.Cupo(escrituraCapacidad, escrituraEsperaMs),
+            TipoCompartimento.LECTURA_PUNTUAL, new CompartimentoInterceptor.Cupo(lecturaPuntualCapacidad, lecturaPuntualEsperaMs),
+            TipoCompartimento.LISTADO, new CompartimentoInterceptor.Cupo(listadoCapacidad, listadoEsperaMs),
+            TipoCompartimento.EXPORTACION, new CompartimentoInterceptor.Cupo(exportacionCapacidad, exportacionEsperaMs),
+            TipoCompartimento.AUTENTICACION, new CompartimentoInterceptor.Cupo(autenticacionCapacidad, autenticacionEsperaMs)
+        ));
+        // El pool de login toma conexiones fuera de los compartimentos
+        int conexiones = interceptor.getCapacidadTotal() + hilosLogin + reservaJobs;
+        if (conexiones > tamanoPool) {
+            throw new IllegalStateException("Los compartimentos (" + interceptor.getCapacidadTotal()
+                + "), los hilos de login (" + hilosLogin + ") y la reserva de jobs (" + reservaJobs
+                + ") necesitan " + conexiones + " conexiones y el pool tiene " + tamanoPool);
+        }
+        return interceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor compartimentoAdvisor(CompartimentoInterceptor compartimentoInterceptor) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(RestController.class, true))
+            .union(new AnnotationMatchingPointcut(Compartimento.class, true))
+            .union(AnnotationMatchingPointcut.forMethodAnnotation(Compartimento.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, compartimentoInterceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
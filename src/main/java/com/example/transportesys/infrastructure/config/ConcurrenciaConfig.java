@@ -0,0 +1,57 @@
+package com.example.transportesys.infrastructure.config;
+
+import com.example.transportesys.infrastructure.resilience.LimiteConcurrencia;
+import com.example.transportesys.infrastructure.resilience.LimiteConcurrenciaInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Configuración del límite adaptativo de concurrencia sobre los controllers REST.
+ * Como el reintento, el advisor se registra como infraestructura para que lo aplique el auto-proxy;
+ * el interceptor es un bean propio para que Micrometer registre sus métricas.
+ * Se ejecuta dentro de los compartimentos: la espera por un cupo no cuenta como latencia.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "transportesys.concurrencia.habilitado", havingValue = "true", matchIfMissing = true)
+public class ConcurrenciaConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static LimiteConcurrenciaInterceptor limiteConcurrenciaInterceptor(
+            @Value("${transportesys.concurrencia.lectura.inicial:20}") int lecturaInicial,
+            @Value("${transportesys.concurrencia.lectura.minimo:2}") int lecturaMinimo,
+            @Value("${transportesys.concurrencia.lectura.maximo:200}") int lecturaMaximo,
+            @Value("${transportesys.concurrencia.lectura.latencia-objetivo-ms:250}") long lecturaLatenciaObjetivoMs,
+            @Value("${transportesys.concurrencia.escritura.inicial:10}") int escrituraInicial,
+            @Value("${transportesys.concurrencia.escritura.minimo:1}") int escrituraMinimo,
+            @Value("${transportesys.concurrencia.escritura.maximo:100}") int escrituraMaximo,
+            @Value("${transportesys.concurrencia.escritura.latencia-objetivo-ms:500}") long escrituraLatenciaObjetivoMs,
+            @Value("${transportesys.concurrencia.factor-reduccion:0.9}") double factorReduccion) {
+        return new LimiteConcurrenciaInterceptor(
+            new LimiteConcurrencia("lectura", lecturaInicial, lecturaMinimo, lecturaMaximo,
+                                   lecturaLatenciaObjetivoMs, factorReduccion),
+            new LimiteConcurrencia("escritura", escrituraInicial, escrituraMinimo, escrituraMaximo,
+                                   escrituraLatenciaObjetivoMs, factorReduccion)
+        );
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor limiteConcurrenciaAdvisor(LimiteConcurrenciaInterceptor limiteConcurrenciaInterceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(RestController.class, true),
+            limiteConcurrenciaInterceptor
+        );
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+}
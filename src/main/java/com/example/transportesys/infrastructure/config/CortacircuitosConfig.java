@@ -0,0 +1,74 @@
+package com.example.transportesys.infrastructure.config;
+
+import com.example.transportesys.infrastructure.adapter.out.persistence.adapter.PedidoRepositoryAdapter;
+import com.example.transportesys.infrastructure.resilience.Cortacircuitos;
+import com.example.transportesys.infrastructure.resilience.CortacircuitosInterceptor;
+import com.example.transportesys.infrastructure.resilience.ServirObsoleto;
+import com.example.transportesys.infrastructure.resilience.ServirObsoletoInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Configuración del cortacircuitos sobre los adapters de persistencia y de las respuestas obsoletas
+ * de reportes y listados. Las respuestas obsoletas se resuelven dentro de los compartimentos
+ * y del límite de concurrencia, y fuera de la caché de respuestas serializadas.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "transportesys.cortacircuitos.habilitado", havingValue = "true", matchIfMissing = true)
+public class CortacircuitosConfig {
+
+    private static final String PAQUETE_ADAPTERS = PedidoRepositoryAdapter.class.getPackageName();
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static CortacircuitosInterceptor cortacircuitosInterceptor(
+            @Value("${transportesys.cortacircuitos.ventana:20}") int ventana,
+            @Value("${transportesys.cortacircuitos.minimo-llamadas:10}") int minimoLlamadas,
+            @Value("${transportesys.cortacircuitos.umbral-fallos:0.5}") double umbralFallos,
+            @Value("${transportesys.cortacircuitos.llamada-lenta-ms:2000}") long llamadaLentaMs,
+            @Value("${transportesys.cortacircuitos.espera-abierto-ms:10000}") long esperaAbiertoMs,
+            @Value("${transportesys.cortacircuitos.sondas:3}") int sondas) {
+        return new CortacircuitosInterceptor(
+            new Cortacircuitos(ventana, minimoLlamadas, umbralFallos, esperaAbiertoMs, sondas),
+            llamadaLentaMs
+        );
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor cortacircuitosAdvisor(CortacircuitosInterceptor cortacircuitosInterceptor) {
+        ClassFilter adapters = clazz -> clazz.getPackageName().equals(PAQUETE_ADAPTERS);
+        return new DefaultPointcutAdvisor(new ComposablePointcut(adapters), cortacircuitosInterceptor);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static ServirObsoletoInterceptor servirObsoletoInterceptor(
+            @Value("${transportesys.cortacircuitos.obsoletos.maximo:200}") long maximo,
+            @Value("${transportesys.cortacircuitos.obsoletos.retencion-min:60}") long retencionMin) {
+        return new ServirObsoletoInterceptor(maximo, Duration.ofMinutes(retencionMin));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor servirObsoletoAdvisor(ServirObsoletoInterceptor servirObsoletoInterceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(ServirObsoleto.class),
+            servirObsoletoInterceptor
+        );
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return advisor;
+    }
+}
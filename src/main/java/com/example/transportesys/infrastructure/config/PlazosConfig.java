@@ -0,0 +1,56 @@
+package com.example.transportesys.infrastructure.config;
+
+import com.example.transportesys.infrastructure.resilience.PlazoDataSource;
+import com.example.transportesys.infrastructure.resilience.PlazoPeticionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Configuración de los plazos por petición: el filtro que los fija y el DataSource
+ * que los convierte en query timeouts.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "transportesys.plazos.habilitado", havingValue = "true", matchIfMissing = true)
+public class PlazosConfig {
+
+    @Bean
+    public PlazoPeticionFilter plazoPeticionFilter(
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${transportesys.plazos.defecto-ms:5000}") long defectoMs,
+            @Value("${transportesys.plazos.maximo-ms:30000}") long maximoMs) {
+        Map<String, Long> porRutaMs = Binder.get(environment)
+            .bind("transportesys.plazos.rutas", Bindable.mapOf(String.class, Long.class))
+            .orElse(Map.of());
+        return new PlazoPeticionFilter(meterRegistry, defectoMs, maximoMs, porRutaMs);
+    }
+
+    /**
+     * Envuelve el DataSource del pool; Hikari y sus métricas siguen accesibles con unwrap.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static BeanPostProcessor plazoDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof PlazoDataSource)) {
+                    return new PlazoDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
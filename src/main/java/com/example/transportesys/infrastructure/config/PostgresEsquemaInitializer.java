@@ -0,0 +1,71 @@
+package com.example.transportesys.infrastructure.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Ajustes de esquema específicos de PostgreSQL que ddl-auto=update no puede expresar
+ * (secuencias heredadas e índices parciales).
+ * Se ejecuta antes que cualquier otro runner (incluido el seed de datos).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresEsquemaInitializer implements CommandLineRunner {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) throws SQLException {
+        if (!esPostgres()) {
+            return;
+        }
+
+        alinearSecuenciaPedidos();
+        crearIndicesParciales();
+    }
+
+    /**
+     * La secuencia pedidos_seq reemplaza a la columna IDENTITY. En bases existentes
+     * Hibernate la crea empezando en 1, así que se adelanta por encima del mayor ID ya usado.
+     * Consumir un valor es inofensivo: solo se salta un bloque de IDs.
+     */
+    private void alinearSecuenciaPedidos() {
+        Long maximoId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM pedidos", Long.class);
+        Long siguiente = jdbcTemplate.queryForObject("SELECT nextval('pedidos_seq')", Long.class);
+
+        if (maximoId != null && siguiente != null && siguiente <= maximoId) {
+            jdbcTemplate.queryForObject("SELECT setval('pedidos_seq', ?, false)", Long.class, maximoId + 1);
+            log.info("Secuencia pedidos_seq alineada para continuar desde ID {}", maximoId + 1);
+        }
+    }
+
+    /**
+     * Índices parciales: las consultas frecuentes solo tocan pedidos activos, así que indexar
+     * únicamente esas filas mantiene el índice pequeño y residente en shared_buffers.
+     * El segundo índice sirve a la tarea de archivado para encontrar los candidatos sin recorrer la tabla.
+     */
+    private void crearIndicesParciales() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_pedidos_activos_vehiculo ON pedidos (vehiculo_id) " +
+                             "WHERE estado IN ('PENDIENTE', 'EN_PROGRESO')");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_pedidos_finalizados_fecha ON pedidos " +
+                             "(COALESCE(fecha_actualizacion, fecha_creacion)) WHERE estado IN ('COMPLETADO', 'CANCELADO')");
+    }
+
+    private boolean esPostgres() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.transportesys.infrastructure.config;
+
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
+import com.example.transportesys.infrastructure.resilience.ReintentoConflictoInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración del reintento ante conflictos de concurrencia optimista.
+ * El advisor se registra como infraestructura para que lo aplique el mismo auto-proxy
+ * que @Transactional, y con máxima precedencia para envolver a la transacción.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReintentoConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor reintentoConflictoAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(ReintentarEnConflicto.class),
+            new ReintentoConflictoInterceptor(meterRegistry)
+        );
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
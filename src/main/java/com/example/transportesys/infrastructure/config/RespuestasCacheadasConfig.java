@@ -0,0 +1,68 @@
+package com.example.transportesys.infrastructure.config;
+
+import com.example.transportesys.infrastructure.cache.RespuestaCacheada;
+import com.example.transportesys.infrastructure.cache.RespuestaCacheadaInterceptor;
+import com.example.transportesys.infrastructure.cache.RespuestaSerializadaConverter;
+import com.example.transportesys.infrastructure.cache.VersionDatos;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché de respuestas serializadas de listados y reportes.
+ * Se resuelve dentro de las respuestas obsoletas: si la base no responde, ServirObsoleto devuelve
+ * la última respuesta serializada sin volver a pasar por Jackson.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "transportesys.respuestas-cacheadas.habilitado", havingValue = "true", matchIfMissing = true)
+public class RespuestasCacheadasConfig implements WebMvcConfigurer {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static RespuestaCacheadaInterceptor respuestaCacheadaInterceptor(
+            ObjectProvider<ObjectMapper> objectMapper,
+            VersionDatos versionDatos,
+            @Value("${transportesys.respuestas-cacheadas.maximo-mb:32}") long maximoMb,
+            @Value("${transportesys.respuestas-cacheadas.gzip-minimo-bytes:1024}") int gzipMinimoBytes,
+            @Value("${transportesys.respuestas-cacheadas.retencion-s:60}") long retencionS) {
+        return new RespuestaCacheadaInterceptor(
+            objectMapper::getObject,
+            versionDatos,
+            maximoMb * 1024 * 1024,
+            gzipMinimoBytes,
+            Duration.ofSeconds(retencionS)
+        );
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor respuestaCacheadaAdvisor(RespuestaCacheadaInterceptor respuestaCacheadaInterceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(RespuestaCacheada.class),
+            respuestaCacheadaInterceptor
+        );
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return advisor;
+    }
+
+    /**
+     * Como converter propio va antes de los por defecto, así Jackson no toma el cuerpo ya serializado.
+     */
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(new RespuestaSerializadaConverter());
+    }
+}
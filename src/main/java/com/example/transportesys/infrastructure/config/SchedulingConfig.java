@@ -0,0 +1,35 @@
+package com.example.transportesys.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Habilita las tareas programadas (@Scheduled).
+ * El relay de la outbox corre en su propio hilo: el archivado o una reconciliación larga
+ * no demoran la entrega de eventos. El resto de los jobs comparte el scheduler por defecto,
+ * que se declara aquí porque Spring Boot deja de crearlo en cuanto existe otro TaskScheduler.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String SCHEDULER_RELAY_OUTBOX = "relayOutboxScheduler";
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(SCHEDULER_RELAY_OUTBOX)
+    @ConditionalOnProperty(name = "transportesys.outbox.relay.habilitado", havingValue = "true", matchIfMissing = true)
+    public ThreadPoolTaskScheduler relayOutboxScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("outbox-relay-");
+        return scheduler;
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.transportesys.infrastructure.config;
 
 import com.example.transportesys.infrastructure.security.JwtAuthenticationFilter;
+import com.example.transportesys.infrastructure.security.LimiteTasaFilter;
+import com.example.transportesys.infrastructure.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,12 +16,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 /**
  * Configuración de seguridad con Spring Security + JWT.
  * Define reglas de autorización por roles y protege endpoints.
@@ -28,12 +34,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final UserDetailsService userDetailsService;
+    private final LimiteTasaFilter limiteTasaFilter;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final int costoBcrypt;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
-                         UserDetailsService userDetailsService) {
+                         LimiteTasaFilter limiteTasaFilter,
+                         UserDetailsServiceImpl userDetailsService,
+                         @Value("${transportesys.auth.bcrypt-costo:10}") int costoBcrypt) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.limiteTasaFilter = limiteTasaFilter;
         this.userDetailsService = userDetailsService;
+        this.costoBcrypt = costoBcrypt;
     }
 
     @Bean
@@ -43,6 +55,9 @@ public class SecurityConfig {
             .sessionManagement(session ->
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Despachos asíncronos (respuestas en streaming): la petición original ya fue autorizada
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Endpoints públicos
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
@@ -63,11 +78,16 @@ public class SecurityConfig {
                 // Endpoints de pedidos
                 .requestMatchers(HttpMethod.GET, "/api/v1/pedidos/**").hasAnyRole("ADMIN", "CONDUCTOR", "CLIENTE")
                 .requestMatchers(HttpMethod.POST, "/api/v1/pedidos").hasAnyRole("ADMIN", "CLIENTE")
+                .requestMatchers(HttpMethod.POST, "/api/v1/pedidos/batch").hasAnyRole("ADMIN", "CLIENTE")
                 .requestMatchers(HttpMethod.PATCH, "/api/v1/pedidos/**").hasAnyRole("ADMIN", "CONDUCTOR")
+                .requestMatchers(HttpMethod.POST, "/api/v1/pedidos/estado/batch").hasAnyRole("ADMIN", "CONDUCTOR")
                 .requestMatchers(HttpMethod.POST, "/api/v1/pedidos/*/iniciar").hasAnyRole("ADMIN", "CONDUCTOR")
                 .requestMatchers(HttpMethod.POST, "/api/v1/pedidos/*/completar").hasAnyRole("ADMIN", "CONDUCTOR")
                 .requestMatchers(HttpMethod.POST, "/api/v1/pedidos/*/cancelar").hasAnyRole("ADMIN", "CLIENTE")
 
+                // Endpoints de despacho
+                .requestMatchers(HttpMethod.POST, "/api/v1/despacho/**").hasRole("ADMIN")
+
                 // Endpoints de usuarios
                 .requestMatchers(HttpMethod.POST, "/api/v1/usuarios/register").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/v1/usuarios").hasRole("ADMIN")
@@ -86,20 +106,30 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Después del JWT para limitar por usuario; antes de la autorización para cortar cuanto antes
+            .addFilterAfter(limiteTasaFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Los hashes nuevos se guardan como {bcrypt} con el costo configurado. Los hashes guardados sin prefijo
+     * son BCrypt; esos y los de costo menor al configurado se rehacen en el siguiente login correcto.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(costoBcrypt);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
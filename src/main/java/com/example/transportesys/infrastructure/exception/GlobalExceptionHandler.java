@@ -2,6 +2,9 @@ package com.example.transportesys.infrastructure.exception;
 
 import com.example.transportesys.domain.exception.*;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -9,6 +12,7 @@ import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,6 +20,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Manejador global de excepciones para la API REST.
@@ -43,7 +48,8 @@ public class GlobalExceptionHandler {
         PlacaInvalidaException.class,
         CapacidadInvalidaException.class,
         PesoInvalidoException.class,
-        LicenciaInvalidaException.class
+        LicenciaInvalidaException.class,
+        ParametroInvalidoException.class
     })
     public ResponseEntity<ApiError> handleValidationException(
             DomainException ex,
@@ -164,6 +170,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        ApiError error = new ApiError(
+            HttpStatus.CONFLICT.value(),
+            "Concurrent Modification",
+            "El recurso fue modificado concurrentemente por otra operación, reintente la solicitud",
+            request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiError> handleIllegalStateException(
             IllegalStateException ex,
@@ -277,6 +298,42 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
     }
 
+    // ============ SATURACIÓN ============
+
+    @ExceptionHandler({RejectedExecutionException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ApiError> handleRejectedExecutionException(
+            Exception ex,
+            HttpServletRequest request) {
+
+        ApiError error = new ApiError(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            "El servicio está saturado, reintente en unos segundos",
+            request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
+    // ============ PLAZOS ============
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ApiError> handleQueryTimeoutException(
+            QueryTimeoutException ex,
+            HttpServletRequest request) {
+
+        ApiError error = new ApiError(
+            HttpStatus.GATEWAY_TIMEOUT.value(),
+            "Gateway Timeout",
+            "La petición superó su plazo",
+            request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGenericException(
             Exception ex,
@@ -0,0 +1,24 @@
+package com.example.transportesys.infrastructure.outbox;
+
+import com.example.transportesys.domain.enums.TipoAgregado;
+import com.example.transportesys.domain.enums.TipoEvento;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento leído de la outbox, tal como se entrega a los sinks.
+ * El ID es único y creciente por agregado: los destinos pueden usarlo para descartar duplicados.
+ */
+@Getter
+@AllArgsConstructor
+public class EventoOutbox {
+
+    private final Long id;
+    private final TipoAgregado tipoAgregado;
+    private final Long agregadoId;
+    private final TipoEvento tipoEvento;
+    private final String payload;
+    private final LocalDateTime fechaCreacion;
+}
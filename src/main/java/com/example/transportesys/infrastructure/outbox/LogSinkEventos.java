@@ -0,0 +1,65 @@
+package com.example.transportesys.infrastructure.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sink que escribe cada evento como una línea JSON.
+ * Si se configura transportesys.outbox.sink.log.archivo, las líneas se agregan a ese archivo;
+ * si no, se escriben en el logger "transportesys.outbox".
+ */
+@Component
+@ConditionalOnProperty(name = "transportesys.outbox.sink.log.habilitado", havingValue = "true", matchIfMissing = true)
+public class LogSinkEventos implements SinkEventos {
+
+    private static final Logger log = LoggerFactory.getLogger("transportesys.outbox");
+
+    private final ObjectMapper objectMapper;
+    private final Path archivo;
+
+    public LogSinkEventos(ObjectMapper objectMapper,
+                          @Value("${transportesys.outbox.sink.log.archivo:}") String archivo) {
+        this.objectMapper = objectMapper;
+        this.archivo = archivo.isBlank() ? null : Path.of(archivo);
+    }
+
+    @Override
+    public void publicar(EventoOutbox evento) {
+        Map<String, Object> linea = new LinkedHashMap<>();
+        linea.put("id", evento.getId());
+        linea.put("tipoAgregado", evento.getTipoAgregado());
+        linea.put("agregadoId", evento.getAgregadoId());
+        linea.put("tipoEvento", evento.getTipoEvento());
+        linea.put("fechaCreacion", evento.getFechaCreacion().toString());
+        linea.put("datos", objectMapper.readTree(evento.getPayload()));
+        String json = objectMapper.writeValueAsString(linea);
+
+        if (archivo == null) {
+            log.info(json);
+            return;
+        }
+        escribir(json);
+    }
+
+    private synchronized void escribir(String json) {
+        try {
+            Files.writeString(archivo, json + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el evento en " + archivo, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.transportesys.infrastructure.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sink que guarda los eventos en memoria, en orden de entrega.
+ * Pensado para pruebas y ejecución sin sistemas externos.
+ */
+@Component
+@ConditionalOnProperty(name = "transportesys.outbox.sink.memoria.habilitado", havingValue = "true")
+public class MemoriaSinkEventos implements SinkEventos {
+
+    private final List<EventoOutbox> eventos = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(EventoOutbox evento) {
+        eventos.add(evento);
+    }
+
+    public List<EventoOutbox> getEventos() {
+        return List.copyOf(eventos);
+    }
+
+    public void limpiar() {
+        eventos.clear();
+    }
+}
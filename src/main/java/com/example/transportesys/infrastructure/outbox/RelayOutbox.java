@@ -0,0 +1,152 @@
+package com.example.transportesys.infrastructure.outbox;
+
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.EventoOutboxEntity;
+import com.example.transportesys.infrastructure.adapter.out.persistence.repository.EventoOutboxJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega a los sinks los eventos guardados en la outbox.
+ * Cada lote se reserva con SKIP LOCKED dentro de una transacción, se publica evento por evento
+ * y los entregados se eliminan en la misma transacción. Si un evento falla, los siguientes
+ * del mismo agregado esperan a que se entregue, para conservar el orden.
+ *
+ * Métricas:
+ * - transportesys.outbox.eventos: eventos procesados por resultado (publicado, fallido)
+ * - transportesys.outbox.entrega: tiempo entre el registro del evento y su entrega
+ * - transportesys.outbox.pendientes: eventos en la outbox
+ * - transportesys.outbox.lag: antigüedad del evento pendiente más antiguo
+ */
+@Component
+@Slf4j
+public class RelayOutbox {
+
+    static final String METRICA_EVENTOS = "transportesys.outbox.eventos";
+    static final String METRICA_ENTREGA = "transportesys.outbox.entrega";
+    static final String METRICA_PENDIENTES = "transportesys.outbox.pendientes";
+    static final String METRICA_LAG = "transportesys.outbox.lag";
+
+    /**
+     * Tope del backoff exponencial entre reintentos: espera base × 2^6.
+     */
+    private static final int MAXIMO_EXPONENTE_ESPERA = 6;
+
+    private final EventoOutboxJpaRepository jpaRepository;
+    private final List<SinkEventos> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final long esperaReintentoMs;
+
+    private final Counter publicados;
+    private final Counter fallidos;
+    private final Timer entrega;
+    private final AtomicLong pendientes = new AtomicLong();
+    private final AtomicLong lagMs = new AtomicLong();
+
+    public RelayOutbox(
+            EventoOutboxJpaRepository jpaRepository,
+            List<SinkEventos> sinks,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${transportesys.outbox.relay.espera-reintento-ms:5000}") long esperaReintentoMs) {
+        this.jpaRepository = jpaRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.esperaReintentoMs = esperaReintentoMs;
+
+        this.publicados = Counter.builder(METRICA_EVENTOS).tag("resultado", "publicado").register(meterRegistry);
+        this.fallidos = Counter.builder(METRICA_EVENTOS).tag("resultado", "fallido").register(meterRegistry);
+        this.entrega = Timer.builder(METRICA_ENTREGA).register(meterRegistry);
+        Gauge.builder(METRICA_PENDIENTES, pendientes, AtomicLong::get).register(meterRegistry);
+        TimeGauge.builder(METRICA_LAG, lagMs, TimeUnit.MILLISECONDS, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Publica un lote de eventos. Retorna la cantidad de eventos reservados;
+     * si es igual al tamaño del lote probablemente quedan más por publicar.
+     */
+    public int publicarLote(int tamanoLote) {
+        if (sinks.isEmpty()) {
+            return 0;
+        }
+        Integer reservados = transactionTemplate.execute(status -> publicar(tamanoLote));
+        return reservados != null ? reservados : 0;
+    }
+
+    /**
+     * Recalcula las métricas de eventos pendientes y de antigüedad del más antiguo.
+     */
+    public void actualizarPendientes() {
+        pendientes.set(jpaRepository.count());
+        LocalDateTime masAntiguo = jpaRepository.fechaPendienteMasAntigua();
+        lagMs.set(masAntiguo != null ? Math.max(0, Duration.between(masAntiguo, LocalDateTime.now()).toMillis()) : 0);
+    }
+
+    private int publicar(int tamanoLote) {
+        List<EventoOutboxEntity> lote = jpaRepository.reservarLote(tamanoLote, LocalDateTime.now());
+        List<Long> entregados = new ArrayList<>();
+        Set<String> agregadosBloqueados = new HashSet<>();
+
+        for (EventoOutboxEntity entity : lote) {
+            String agregado = entity.getTipoAgregado() + ":" + entity.getAgregadoId();
+            if (agregadosBloqueados.contains(agregado)) {
+                continue;
+            }
+
+            EventoOutbox evento = toEvento(entity);
+            try {
+                for (SinkEventos sink : sinks) {
+                    sink.publicar(evento);
+                }
+                entregados.add(entity.getId());
+                publicados.increment();
+                entrega.record(Duration.between(entity.getFechaCreacion(), LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                agregadosBloqueados.add(agregado);
+                fallidos.increment();
+                posponer(entity, e);
+            }
+        }
+
+        if (!entregados.isEmpty()) {
+            jpaRepository.deleteAllByIdInBatch(entregados);
+        }
+        return lote.size();
+    }
+
+    private void posponer(EventoOutboxEntity entity, RuntimeException e) {
+        long espera = esperaReintentoMs << Math.min(entity.getIntentos(), MAXIMO_EXPONENTE_ESPERA);
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        log.warn("No se pudo publicar el evento {} ({} {}), intento {}: {}",
+            entity.getId(), entity.getTipoAgregado(), entity.getAgregadoId(), entity.getIntentos() + 1, error);
+        jpaRepository.registrarFallo(entity.getId(), LocalDateTime.now().plus(Duration.ofMillis(espera)),
+            error.length() > 500 ? error.substring(0, 500) : error);
+    }
+
+    private EventoOutbox toEvento(EventoOutboxEntity entity) {
+        return new EventoOutbox(
+            entity.getId(),
+            entity.getTipoAgregado(),
+            entity.getAgregadoId(),
+            entity.getTipoEvento(),
+            entity.getPayload(),
+            entity.getFechaCreacion()
+        );
+    }
+}
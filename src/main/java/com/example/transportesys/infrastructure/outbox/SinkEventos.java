@@ -0,0 +1,20 @@
+package com.example.transportesys.infrastructure.outbox;
+
+/**
+ * Destino al que el relay de la outbox entrega los eventos.
+ * Basta con declarar un bean que implemente esta interfaz para recibir los eventos.
+ *
+ * La entrega es al menos una vez: el relay publica dentro de la transacción que reserva el lote
+ * y borra los entregados. Si esa transacción no confirma (caída, timeout, error al borrar), los eventos
+ * ya publicados vuelven a entregarse en el siguiente ciclo. Un sink debe tolerar duplicados,
+ * p. ej. descartando los IDs de evento ya vistos.
+ * Los eventos de un mismo agregado llegan en orden.
+ */
+public interface SinkEventos {
+
+    /**
+     * Publica un evento. Debe lanzar una excepción si no pudo entregarlo,
+     * así el relay lo reintenta más tarde sin adelantar los eventos siguientes del agregado.
+     */
+    void publicar(EventoOutbox evento);
+}
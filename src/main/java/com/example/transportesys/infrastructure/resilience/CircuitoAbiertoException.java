@@ -0,0 +1,14 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * La llamada a la base de datos se rechazó sin intentarla porque el cortacircuitos está abierto.
+ * Es un rechazo por saturación: se responde 503 como el resto.
+ */
+public class CircuitoAbiertoException extends RejectedExecutionException {
+
+    public CircuitoAbiertoException() {
+        super("Base de datos no disponible: cortacircuitos abierto");
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Asigna un handler (o todos los de un controller) a un compartimento distinto del que
+ * le correspondería por método HTTP y ruta.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Compartimento {
+
+    TipoCompartimento value();
+}
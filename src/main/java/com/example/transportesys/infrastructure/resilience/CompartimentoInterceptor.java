@@ -0,0 +1,256 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compartimentos (bulkheads) sobre los controllers REST: cada {@link TipoCompartimento} tiene un cupo
+ * de peticiones simultáneas, y con él su cuota de conexiones del pool. Un reporte pesado ocupa
+ * solo el cupo de listados y las escrituras siguen teniendo sus conexiones.
+ * Sin cupo libre tras la espera configurada la petición se rechaza con RejectedExecutionException (503).
+ * <p>
+ * Clasificación por defecto: métodos que no son GET/HEAD van a escritura; un GET con variable de ruta
+ * ({id}) es lectura puntual; el resto de los GET son listados. {@link Compartimento} la reemplaza.
+ * Las exportaciones en streaming tienen su propio cupo y lo ocupan mientras escriben el cuerpo,
+ * así una exportación larga no deja sin lugar a los listados.
+ * El resto de los handlers asíncronos no pasa por aquí (el login tiene su propio pool, que cuenta
+ * aparte al repartir el pool de conexiones).
+ * Una invocación anidada dentro de un compartimento no vuelve a tomar cupo.
+ *
+ * Métricas (tag compartimento): transportesys.compartimentos.capacidad,
+ * transportesys.compartimentos.en-uso, transportesys.compartimentos.rechazos,
+ * transportesys.compartimentos.espera.
+ */
+public class CompartimentoInterceptor implements MethodInterceptor, MeterBinder {
+
+    static final String METRICA_CAPACIDAD = "transportesys.compartimentos.capacidad";
+    static final String METRICA_EN_USO = "transportesys.compartimentos.en-uso";
+    static final String METRICA_RECHAZOS = "transportesys.compartimentos.rechazos";
+    static final String METRICA_ESPERA = "transportesys.compartimentos.espera";
+
+    private static final ThreadLocal<TipoCompartimento> ACTUAL = new ThreadLocal<>();
+
+    private final Map<TipoCompartimento, Cupo> cupos = new EnumMap<>(TipoCompartimento.class);
+    private final Map<Method, Optional<Asignacion>> asignaciones = new ConcurrentHashMap<>();
+
+    public CompartimentoInterceptor(Map<TipoCompartimento, Cupo> cupos) {
+        for (TipoCompartimento tipo : TipoCompartimento.values()) {
+            Cupo cupo = cupos.get(tipo);
+            if (cupo == null) {
+                throw new IllegalArgumentException("Falta el cupo del compartimento " + tipo.getNombre());
+            }
+            this.cupos.put(tipo, cupo);
+        }
+    }
+
+    /**
+     * Conexiones que pueden tomar a la vez todos los compartimentos.
+     */
+    public int getCapacidadTotal() {
+        return cupos.values().stream().mapToInt(Cupo::getCapacidad).sum();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (ACTUAL.get() != null) {
+            return invocation.proceed();
+        }
+        Asignacion asignacion = asignar(invocation).orElse(null);
+        if (asignacion == null) {
+            return invocation.proceed();
+        }
+
+        TipoCompartimento tipo = asignacion.getTipo();
+        Cupo cupo = cupos.get(tipo);
+        if (asignacion.isStreaming()) {
+            Object resultado = invocation.proceed();
+            if (resultado instanceof ResponseEntity<?> respuesta
+                    && respuesta.getBody() instanceof StreamingResponseBody cuerpo) {
+                StreamingResponseBody acotado = salida -> {
+                    entrar(tipo, cupo);
+                    try {
+                        cuerpo.writeTo(salida);
+                    } finally {
+                        salir(cupo);
+                    }
+                };
+                return new ResponseEntity<>(acotado, respuesta.getHeaders(), respuesta.getStatusCode());
+            }
+            return resultado;
+        }
+
+        entrar(tipo, cupo);
+        try {
+            return invocation.proceed();
+        } finally {
+            salir(cupo);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cupos.forEach((tipo, cupo) -> {
+            Gauge.builder(METRICA_CAPACIDAD, cupo, Cupo::getCapacidad)
+                .tag("compartimento", tipo.getNombre()).register(registry);
+            Gauge.builder(METRICA_EN_USO, cupo, Cupo::getEnUso)
+                .tag("compartimento", tipo.getNombre()).register(registry);
+            cupo.rechazos = Counter.builder(METRICA_RECHAZOS)
+                .tag("compartimento", tipo.getNombre()).register(registry);
+            cupo.espera = Timer.builder(METRICA_ESPERA)
+                .tag("compartimento", tipo.getNombre()).register(registry);
+        });
+    }
+
+    private static void entrar(TipoCompartimento tipo, Cupo cupo) {
+        cupo.entrar(tipo);
+        ACTUAL.set(tipo);
+    }
+
+    private static void salir(Cupo cupo) {
+        ACTUAL.remove();
+        cupo.salir();
+    }
+
+    private Optional<Asignacion> asignar(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        return asignaciones.computeIfAbsent(method, m -> Optional.ofNullable(asignar(m, targetClass)));
+    }
+
+    /**
+     * Compartimento del handler, o null si no se acota.
+     */
+    static Asignacion asignar(Method method, Class<?> targetClass) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        Compartimento explicito = AnnotatedElementUtils.findMergedAnnotation(method, Compartimento.class);
+        if (explicito == null) {
+            Class<?> clase = targetClass != null ? targetClass : method.getDeclaringClass();
+            explicito = AnnotatedElementUtils.findMergedAnnotation(clase, Compartimento.class);
+        }
+
+        if (mapping != null && ManejadoresRest.esStreaming(method)) {
+            return new Asignacion(explicito != null ? explicito.value() : TipoCompartimento.EXPORTACION, true);
+        }
+        if (mapping != null && ManejadoresRest.esAsincrono(method)) {
+            return null;
+        }
+        if (explicito != null) {
+            return new Asignacion(explicito.value(), false);
+        }
+        if (mapping == null) {
+            return null;
+        }
+        return new Asignacion(porMapping(mapping), false);
+    }
+
+    private static TipoCompartimento porMapping(RequestMapping mapping) {
+        if (mapping.method().length == 0) {
+            return TipoCompartimento.ESCRITURA;
+        }
+        for (RequestMethod metodoHttp : mapping.method()) {
+            if (metodoHttp != RequestMethod.GET && metodoHttp != RequestMethod.HEAD) {
+                return TipoCompartimento.ESCRITURA;
+            }
+        }
+        for (String ruta : mapping.path()) {
+            if (ruta.contains("{")) {
+                return TipoCompartimento.LECTURA_PUNTUAL;
+            }
+        }
+        return TipoCompartimento.LISTADO;
+    }
+
+    /**
+     * Compartimento de un handler y si ocupa el cupo recién al escribir el cuerpo (streaming).
+     */
+    static final class Asignacion {
+        private final TipoCompartimento tipo;
+        private final boolean streaming;
+
+        Asignacion(TipoCompartimento tipo, boolean streaming) {
+            this.tipo = tipo;
+            this.streaming = streaming;
+        }
+
+        TipoCompartimento getTipo() {
+            return tipo;
+        }
+
+        boolean isStreaming() {
+            return streaming;
+        }
+    }
+
+    /**
+     * Cupo de un compartimento: un semáforo con la capacidad y el tiempo máximo que se espera por un permiso.
+     */
+    public static final class Cupo {
+
+        private final int capacidad;
+        private final long esperaMs;
+        private final Semaphore permisos;
+        private volatile Counter rechazos;
+        private volatile Timer espera;
+
+        public Cupo(int capacidad, long esperaMs) {
+            if (capacidad < 1 || esperaMs < 0) {
+                throw new IllegalArgumentException("Cupo de compartimento inválido");
+            }
+            this.capacidad = capacidad;
+            this.esperaMs = esperaMs;
+            this.permisos = new Semaphore(capacidad);
+        }
+
+        void entrar(TipoCompartimento tipo) {
+            long inicio = System.nanoTime();
+            boolean adquirido;
+            try {
+                adquirido = esperaMs > 0 ? permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS) : permisos.tryAcquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                adquirido = false;
+            }
+            if (espera != null) {
+                espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+            if (!adquirido) {
+                if (rechazos != null) {
+                    rechazos.increment();
+                }
+                throw new RejectedExecutionException("Compartimento de " + tipo.getNombre() + " lleno");
+            }
+        }
+
+        void salir() {
+            permisos.release();
+        }
+
+        public int getCapacidad() {
+            return capacidad;
+        }
+
+        public int getEnUso() {
+            return capacidad - permisos.availablePermits();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Cortacircuitos de la base de datos.
+ * <ul>
+ *   <li>CERRADO: todas las llamadas pasan y se registra su resultado en una ventana de las últimas N.
+ *       Si con al menos el mínimo de llamadas la proporción de fallos alcanza el umbral, se abre.</li>
+ *   <li>ABIERTO: las llamadas se rechazan al instante, sin esperar una conexión.
+ *       Pasada la espera pasa a SEMI_ABIERTO.</li>
+ *   <li>SEMI_ABIERTO: deja pasar solo unas pocas llamadas de sonda a la vez. Si todas las sondas
+ *       salen bien se cierra; el primer fallo lo vuelve a abrir.</li>
+ * </ul>
+ * Las transiciones son raras y cada llamada ya espera a la base: un monitor alcanza.
+ */
+@Slf4j
+public class Cortacircuitos {
+
+    public enum Estado {
+        CERRADO, SEMI_ABIERTO, ABIERTO
+    }
+
+    private final boolean[] ventana;
+    private final int minimoLlamadas;
+    private final double umbralFallos;
+    private final long esperaAbiertoNanos;
+    private final int sondas;
+    private final LongSupplier reloj;
+
+    private Estado estado = Estado.CERRADO;
+    private int posicion;
+    private int registradas;
+    private int fallos;
+    private long abiertoDesde;
+    private int sondasEnCurso;
+    private int sondasExitosas;
+
+    public Cortacircuitos(int tamanoVentana, int minimoLlamadas, double umbralFallos, long esperaAbiertoMs, int sondas) {
+        this(tamanoVentana, minimoLlamadas, umbralFallos, esperaAbiertoMs, sondas, System::nanoTime);
+    }
+
+    Cortacircuitos(int tamanoVentana, int minimoLlamadas, double umbralFallos, long esperaAbiertoMs, int sondas,
+                   LongSupplier reloj) {
+        if (tamanoVentana < 1 || minimoLlamadas < 1 || minimoLlamadas > tamanoVentana
+                || umbralFallos <= 0 || umbralFallos > 1 || sondas < 1) {
+            throw new IllegalArgumentException("Configuración de cortacircuitos inválida");
+        }
+        this.ventana = new boolean[tamanoVentana];
+        this.minimoLlamadas = minimoLlamadas;
+        this.umbralFallos = umbralFallos;
+        this.esperaAbiertoNanos = TimeUnit.MILLISECONDS.toNanos(esperaAbiertoMs);
+        this.sondas = sondas;
+        this.reloj = reloj;
+    }
+
+    /**
+     * Pide permiso para una llamada. Cada permiso concedido debe terminar con {@link #registrar}.
+     *
+     * @return true si la llamada es una sonda del estado semi-abierto
+     * @throws CircuitoAbiertoException si el circuito está abierto o no quedan sondas libres
+     */
+    public synchronized boolean permitir() {
+        if (estado == Estado.ABIERTO && reloj.getAsLong() - abiertoDesde >= esperaAbiertoNanos) {
+            estado = Estado.SEMI_ABIERTO;
+            sondasEnCurso = 0;
+            sondasExitosas = 0;
+        }
+        switch (estado) {
+            case CERRADO:
+                return false;
+            case SEMI_ABIERTO:
+                if (sondasEnCurso < sondas) {
+                    sondasEnCurso++;
+                    return true;
+                }
+                throw new CircuitoAbiertoException();
+            default:
+                throw new CircuitoAbiertoException();
+        }
+    }
+
+    /**
+     * @param sonda lo que devolvió {@link #permitir()}
+     * @param fallo si la llamada falló por la base de datos (sin conexión, lenta)
+     */
+    public synchronized void registrar(boolean sonda, boolean fallo) {
+        if (sonda) {
+            if (estado != Estado.SEMI_ABIERTO) {
+                return;
+            }
+            sondasEnCurso--;
+            if (fallo) {
+                abrir();
+            } else if (++sondasExitosas >= sondas) {
+                cerrar();
+            }
+            return;
+        }
+        if (estado != Estado.CERRADO) {
+            // Llamadas que empezaron antes de abrirse: no cuentan para la ventana nueva
+            return;
+        }
+        if (registradas == ventana.length) {
+            if (ventana[posicion]) {
+                fallos--;
+            }
+        } else {
+            registradas++;
+        }
+        ventana[posicion] = fallo;
+        if (fallo) {
+            fallos++;
+        }
+        posicion = (posicion + 1) % ventana.length;
+
+        if (registradas >= minimoLlamadas && fallos >= umbralFallos * registradas) {
+            abrir();
+        }
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    private void abrir() {
+        if (estado != Estado.ABIERTO) {
+            log.warn("Cortacircuitos de base de datos abierto ({} de {} llamadas fallidas)", fallos, registradas);
+        }
+        estado = Estado.ABIERTO;
+        abiertoDesde = reloj.getAsLong();
+    }
+
+    private void cerrar() {
+        log.info("Cortacircuitos de base de datos cerrado tras {} sondas exitosas", sondasExitosas);
+        estado = Estado.CERRADO;
+        posicion = 0;
+        registradas = 0;
+        fallos = 0;
+        Arrays.fill(ventana, false);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Method;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica el {@link Cortacircuitos} a los adapters de persistencia. Cuenta como fallo una llamada
+ * que no consiguió conexión o perdió la que tenía, o que tardó más que el umbral de llamada lenta.
+ * Un timeout por sí solo no cuenta: el plazo lo puede acortar el cliente, y así
+ * un X-Request-Timeout bajo no abre el circuito para todos.
+ * Las llamadas largas por diseño ({@link OperacionLarga}, o fuera de una petición HTTP: jobs y cuerpos
+ * en streaming) no cuentan por lentas; para ellas un timeout de consulta sí es fallo.
+ * Una llamada anidada dentro de otra ya admitida no vuelve a pedir permiso.
+ *
+ * Métricas: transportesys.cortacircuitos.estado (0 cerrado, 1 semi-abierto, 2 abierto),
+ * transportesys.cortacircuitos.rechazos.
+ */
+public class CortacircuitosInterceptor implements MethodInterceptor, MeterBinder {
+
+    static final String METRICA_ESTADO = "transportesys.cortacircuitos.estado";
+    static final String METRICA_RECHAZOS = "transportesys.cortacircuitos.rechazos";
+
+    private static final ThreadLocal<Boolean> DENTRO = new ThreadLocal<>();
+
+    private final Cortacircuitos cortacircuitos;
+    private final long llamadaLentaNanos;
+    private volatile Counter rechazos;
+
+    public CortacircuitosInterceptor(Cortacircuitos cortacircuitos, long llamadaLentaMs) {
+        this.cortacircuitos = cortacircuitos;
+        this.llamadaLentaNanos = TimeUnit.MILLISECONDS.toNanos(llamadaLentaMs);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (DENTRO.get() != null || ReflectionUtils.isObjectMethod(invocation.getMethod())) {
+            return invocation.proceed();
+        }
+
+        boolean sonda;
+        try {
+            sonda = cortacircuitos.permitir();
+        } catch (CircuitoAbiertoException e) {
+            if (rechazos != null) {
+                rechazos.increment();
+            }
+            throw e;
+        }
+
+        boolean larga = esLarga(invocation);
+        long inicio = System.nanoTime();
+        boolean fallo = false;
+        DENTRO.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            fallo = esFalloDeConexion(e) || (larga && esTimeout(e));
+            throw e;
+        } finally {
+            DENTRO.remove();
+            boolean lenta = !larga && System.nanoTime() - inicio >= llamadaLentaNanos;
+            cortacircuitos.registrar(sonda, fallo || lenta);
+        }
+    }
+
+    private static boolean esLarga(MethodInvocation invocation) {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return true;
+        }
+        Class<?> clase = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method metodo = AopUtils.getMostSpecificMethod(invocation.getMethod(), clase);
+        return metodo.isAnnotationPresent(OperacionLarga.class);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRICA_ESTADO, cortacircuitos, c -> c.getEstado().ordinal()).register(registry);
+        rechazos = Counter.builder(METRICA_RECHAZOS).register(registry);
+    }
+
+    static boolean esTimeout(Throwable error) {
+        for (Throwable actual = error; actual != null; actual = actual.getCause()) {
+            if (actual instanceof QueryTimeoutException || actual instanceof SQLTimeoutException) {
+                return true;
+            }
+            if (actual.getCause() == actual) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * true si el error indica que la base no está disponible (sin conexión o conexión perdida).
+     */
+    static boolean esFalloDeConexion(Throwable error) {
+        for (Throwable actual = error; actual != null; actual = actual.getCause()) {
+            if (actual instanceof SQLTransientConnectionException
+                    || actual instanceof CannotCreateTransactionException
+                    || actual instanceof DataAccessResourceFailureException) {
+                return true;
+            }
+            if (actual.getCause() == actual) {
+                break;
+            }
+        }
+        return false;
+    }
+}
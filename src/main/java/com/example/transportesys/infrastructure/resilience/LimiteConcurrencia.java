@@ -0,0 +1,108 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite adaptativo de peticiones simultáneas (AIMD sobre la latencia observada).
+ * Mientras las respuestas llegan dentro de la latencia objetivo y el límite se usa al menos a la mitad,
+ * crece de a una unidad por "vuelta" (1/límite por petición). Si una respuesta supera la latencia objetivo
+ * o falla por sobrecarga, se multiplica por el factor de reducción, como mucho una vez por latencia objetivo
+ * para que una misma ráfaga lenta no lo hunda. Lo que excede el límite se rechaza en el momento.
+ * Sin locks: el contador y el límite se actualizan con compare-and-set.
+ */
+public class LimiteConcurrencia {
+
+    private final String nombre;
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaObjetivoNanos;
+    private final double factorReduccion;
+    private final LongSupplier reloj;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicLong limite;
+    private final AtomicLong ultimaReduccion;
+
+    public LimiteConcurrencia(String nombre, int inicial, int minimo, int maximo,
+                              long latenciaObjetivoMs, double factorReduccion) {
+        this(nombre, inicial, minimo, maximo, latenciaObjetivoMs, factorReduccion, System::nanoTime);
+    }
+
+    LimiteConcurrencia(String nombre, int inicial, int minimo, int maximo,
+                       long latenciaObjetivoMs, double factorReduccion, LongSupplier reloj) {
+        if (minimo < 1 || maximo < minimo || factorReduccion <= 0 || factorReduccion >= 1) {
+            throw new IllegalArgumentException("Configuración de límite de concurrencia inválida para " + nombre);
+        }
+        this.nombre = nombre;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaObjetivoNanos = TimeUnit.MILLISECONDS.toNanos(latenciaObjetivoMs);
+        this.factorReduccion = factorReduccion;
+        this.reloj = reloj;
+        this.limite = new AtomicLong(Double.doubleToLongBits(Math.clamp(inicial, minimo, maximo)));
+        this.ultimaReduccion = new AtomicLong(reloj.getAsLong() - latenciaObjetivoNanos);
+    }
+
+    /**
+     * Ocupa un lugar si hay alguno libre. Cada adquisición exitosa debe terminar con {@link #liberar}.
+     */
+    public boolean adquirir() {
+        int disponible = getLimite();
+        int actual;
+        do {
+            actual = enCurso.get();
+            if (actual >= disponible) {
+                return false;
+            }
+        } while (!enCurso.compareAndSet(actual, actual + 1));
+        return true;
+    }
+
+    /**
+     * Libera el lugar y ajusta el límite con la latencia de la petición.
+     *
+     * @param sobrecarga si la petición falló por falta de recursos (conexiones, timeouts)
+     */
+    public void liberar(long latenciaNanos, boolean sobrecarga) {
+        int enVuelo = enCurso.getAndDecrement();
+        if (sobrecarga || latenciaNanos > latenciaObjetivoNanos) {
+            reducir();
+        } else if (enVuelo * 2 >= getLimite()) {
+            actualizar(valor -> Math.min(maximo, valor + 1.0 / valor));
+        }
+    }
+
+    private void reducir() {
+        long ahora = reloj.getAsLong();
+        long ultima = ultimaReduccion.get();
+        if (ahora - ultima < latenciaObjetivoNanos || !ultimaReduccion.compareAndSet(ultima, ahora)) {
+            return;
+        }
+        actualizar(valor -> Math.max(minimo, valor * factorReduccion));
+    }
+
+    private void actualizar(DoubleUnaryOperator cambio) {
+        long actual;
+        long nuevo;
+        do {
+            actual = limite.get();
+            nuevo = Double.doubleToLongBits(cambio.applyAsDouble(Double.longBitsToDouble(actual)));
+        } while (actual != nuevo && !limite.compareAndSet(actual, nuevo));
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getLimite() {
+        return (int) Double.longBitsToDouble(limite.get());
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.Method;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Aplica un {@link LimiteConcurrencia} a cada invocación de controller → caso de uso:
+ * uno para lecturas (GET) y otro para escrituras. Con el límite ocupado la petición se rechaza
+ * al instante con RejectedExecutionException (503) en lugar de esperar una conexión del pool.
+ * Los handlers asíncronos (login, exportación, stream SSE) no pasan por el límite:
+ * su trabajo ocurre después de retornar y la latencia medida no lo reflejaría. Tampoco los marcados
+ * con {@link OperacionLarga} (despacho, lotes): cada uno superaría la latencia objetivo y hundiría
+ * el límite de las escrituras comunes.
+ *
+ * Métricas (tag clase): transportesys.concurrencia.limite, transportesys.concurrencia.en-curso,
+ * transportesys.concurrencia.rechazos.
+ */
+public class LimiteConcurrenciaInterceptor implements MethodInterceptor, MeterBinder {
+
+    static final String METRICA_LIMITE = "transportesys.concurrencia.limite";
+    static final String METRICA_EN_CURSO = "transportesys.concurrencia.en-curso";
+    static final String METRICA_RECHAZOS = "transportesys.concurrencia.rechazos";
+
+    private final LimiteConcurrencia lecturas;
+    private final LimiteConcurrencia escrituras;
+    private final Map<Method, Clase> clases = new ConcurrentHashMap<>();
+    private volatile Counter rechazosLecturas;
+    private volatile Counter rechazosEscrituras;
+
+    public LimiteConcurrenciaInterceptor(LimiteConcurrencia lecturas, LimiteConcurrencia escrituras) {
+        this.lecturas = lecturas;
+        this.escrituras = escrituras;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        LimiteConcurrencia limite = switch (clasificar(invocation)) {
+            case LECTURA -> lecturas;
+            case ESCRITURA -> escrituras;
+            case EXCLUIDA -> null;
+        };
+        if (limite == null) {
+            return invocation.proceed();
+        }
+
+        if (!limite.adquirir()) {
+            Counter rechazos = limite == lecturas ? rechazosLecturas : rechazosEscrituras;
+            if (rechazos != null) {
+                rechazos.increment();
+            }
+            throw new RejectedExecutionException("Límite de concurrencia de " + limite.getNombre() + " alcanzado");
+        }
+
+        long inicio = System.nanoTime();
+        boolean sobrecarga = false;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            sobrecarga = esSobrecarga(e);
+            throw e;
+        } finally {
+            limite.liberar(System.nanoTime() - inicio, sobrecarga);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (LimiteConcurrencia limite : new LimiteConcurrencia[] {lecturas, escrituras}) {
+            Gauge.builder(METRICA_LIMITE, limite, LimiteConcurrencia::getLimite)
+                .tag("clase", limite.getNombre()).register(registry);
+            Gauge.builder(METRICA_EN_CURSO, limite, LimiteConcurrencia::getEnCurso)
+                .tag("clase", limite.getNombre()).register(registry);
+        }
+        rechazosLecturas = Counter.builder(METRICA_RECHAZOS).tag("clase", lecturas.getNombre()).register(registry);
+        rechazosEscrituras = Counter.builder(METRICA_RECHAZOS).tag("clase", escrituras.getNombre()).register(registry);
+    }
+
+    private Clase clasificar(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        return clases.computeIfAbsent(method, LimiteConcurrenciaInterceptor::clasificar);
+    }
+
+    static Clase clasificar(Method method) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        if (mapping == null || ManejadoresRest.esAsincrono(method) || method.isAnnotationPresent(OperacionLarga.class)) {
+            return Clase.EXCLUIDA;
+        }
+        for (RequestMethod metodoHttp : mapping.method()) {
+            if (metodoHttp != RequestMethod.GET && metodoHttp != RequestMethod.HEAD) {
+                return Clase.ESCRITURA;
+            }
+        }
+        return mapping.method().length > 0 ? Clase.LECTURA : Clase.ESCRITURA;
+    }
+
+    static boolean esSobrecarga(Throwable error) {
+        for (Throwable actual = error; actual != null; actual = actual.getCause()) {
+            if (actual instanceof SQLTransientConnectionException
+                    || actual instanceof CannotCreateTransactionException
+                    || actual instanceof QueryTimeoutException) {
+                return true;
+            }
+            if (actual.getCause() == actual) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    enum Clase {
+        LECTURA, ESCRITURA, EXCLUIDA
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Tipos de respuesta de los handlers REST que terminan su trabajo después de retornar.
+ */
+final class ManejadoresRest {
+
+    private ManejadoresRest() {
+    }
+
+    /**
+     * true si el handler completa la respuesta fuera de la invocación (futuros, emitters, streaming).
+     */
+    static boolean esAsincrono(Method method) {
+        Class<?> tipo = tipoCuerpo(method);
+        return CompletionStage.class.isAssignableFrom(tipo)
+            || DeferredResult.class.isAssignableFrom(tipo)
+            || Callable.class.isAssignableFrom(tipo)
+            || ResponseBodyEmitter.class.isAssignableFrom(tipo)
+            || StreamingResponseBody.class.isAssignableFrom(tipo);
+    }
+
+    static boolean esStreaming(Method method) {
+        return StreamingResponseBody.class.isAssignableFrom(tipoCuerpo(method));
+    }
+
+    /**
+     * Tipo de retorno del handler, o el del cuerpo si retorna un ResponseEntity.
+     */
+    private static Class<?> tipoCuerpo(Method method) {
+        ResolvableType tipo = ResolvableType.forMethodReturnType(method);
+        if (HttpEntity.class.isAssignableFrom(tipo.toClass())) {
+            tipo = tipo.as(HttpEntity.class).getGeneric(0);
+        }
+        return tipo.toClass();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un método que tarda por diseño (streaming, lotes, despacho).
+ * En un adapter de persistencia, el cortacircuitos no lo cuenta como llamada lenta: solo sus fallos
+ * de conexión y timeouts de consulta. En un handler REST, queda fuera del límite adaptativo de concurrencia,
+ * cuya latencia objetivo superaría siempre; lo acotan su compartimento y su plazo.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OperacionLarga {
+}
@@ -0,0 +1,171 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource que aplica el {@link PlazoPeticion} del hilo a las consultas: cada sentencia se ejecuta
+ * con un query timeout igual al tiempo restante (o al propio si es menor), así la base cancela
+ * el trabajo de una petición vencida en lugar de terminarlo para nadie.
+ * Con el plazo vencido no se obtienen conexiones ni se ejecutan sentencias (SQLTimeoutException,
+ * que Spring traduce a QueryTimeoutException). Sin plazo devuelve la conexión del pool sin envolver.
+ * JDBC mide el timeout en segundos: el restante se redondea hacia arriba.
+ */
+public class PlazoDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public PlazoDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        verificarPlazo();
+        return conPlazo(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        verificarPlazo();
+        return conPlazo(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Cierra el pool envuelto al apagar el contexto: el bean registrado es este y no el del pool.
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private Connection conPlazo(Connection conexion) throws SQLException {
+        if (!PlazoPeticion.tienePlazo()) {
+            return conexion;
+        }
+        if (PlazoPeticion.vencido()) {
+            // El plazo venció esperando una conexión del pool
+            conexion.close();
+            throw plazoVencido();
+        }
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConexionConPlazo(conexion));
+    }
+
+    static void verificarPlazo() throws SQLTimeoutException {
+        if (PlazoPeticion.vencido()) {
+            throw plazoVencido();
+        }
+    }
+
+    private static SQLTimeoutException plazoVencido() {
+        return new SQLTimeoutException("Plazo de la petición vencido");
+    }
+
+    /**
+     * Segundos de query timeout para el plazo restante; 0 si no hay plazo.
+     */
+    static int segundosRestantes() throws SQLTimeoutException {
+        if (!PlazoPeticion.tienePlazo()) {
+            return 0;
+        }
+        long restante = PlazoPeticion.restanteNanos();
+        if (restante <= 0) {
+            throw plazoVencido();
+        }
+        long segundos = (restante + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return (int) Math.min(segundos, Integer.MAX_VALUE);
+    }
+
+    private static Object invocar(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Envuelve las sentencias que crea la conexión.
+     */
+    private static final class ConexionConPlazo implements InvocationHandler {
+
+        private final Connection conexion;
+
+        private ConexionConPlazo(Connection conexion) {
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionConPlazo[" + conexion + "]";
+                default:
+                    break;
+            }
+            Object resultado = invocar(conexion, method, args);
+            if (resultado instanceof Statement sentencia && method.getReturnType().isInterface()) {
+                return Proxy.newProxyInstance(PlazoDataSource.class.getClassLoader(),
+                    new Class<?>[] {method.getReturnType()}, new SentenciaConPlazo(sentencia, (Connection) proxy));
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Antes de cada execute* fija el query timeout al mínimo entre el plazo restante y el que pidió el llamador.
+     */
+    private static final class SentenciaConPlazo implements InvocationHandler {
+
+        private final Statement sentencia;
+        private final Connection conexion;
+        private int timeoutPropio;
+
+        private SentenciaConPlazo(Statement sentencia, Connection conexion) {
+            this.sentencia = sentencia;
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String nombre = method.getName();
+            switch (nombre) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SentenciaConPlazo[" + sentencia + "]";
+                case "getConnection":
+                    return conexion;
+                case "setQueryTimeout":
+                    timeoutPropio = (Integer) args[0];
+                    break;
+                default:
+                    if (nombre.startsWith("execute")) {
+                        int restantes = segundosRestantes();
+                        if (restantes > 0) {
+                            sentencia.setQueryTimeout(timeoutPropio > 0 ? Math.min(timeoutPropio, restantes) : restantes);
+                        }
+                    }
+                    break;
+            }
+            return invocar(sentencia, method, args);
+        }
+    }
+}
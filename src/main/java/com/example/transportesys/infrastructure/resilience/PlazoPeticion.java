@@ -0,0 +1,38 @@
+package com.example.transportesys.infrastructure.resilience;
+
+/**
+ * Plazo de la petición en curso en este hilo (instante de System.nanoTime en que vence).
+ * Lo fija {@link PlazoPeticionFilter} y lo consumen las conexiones de {@link PlazoDataSource}.
+ * Los hilos sin plazo (jobs, streaming asíncrono) no tienen límite.
+ */
+public final class PlazoPeticion {
+
+    private static final ThreadLocal<Long> VENCE_NANOS = new ThreadLocal<>();
+
+    private PlazoPeticion() {
+    }
+
+    static void establecer(long venceNanos) {
+        VENCE_NANOS.set(venceNanos);
+    }
+
+    static void limpiar() {
+        VENCE_NANOS.remove();
+    }
+
+    public static boolean tienePlazo() {
+        return VENCE_NANOS.get() != null;
+    }
+
+    /**
+     * Nanosegundos que le quedan a la petición (negativo si venció), o Long.MAX_VALUE si no tiene plazo.
+     */
+    public static long restanteNanos() {
+        Long vence = VENCE_NANOS.get();
+        return vence == null ? Long.MAX_VALUE : vence - System.nanoTime();
+    }
+
+    public static boolean vencido() {
+        return restanteNanos() <= 0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fija el {@link PlazoPeticion} de cada petición a /api/v1/**: el que pide el cliente con el header
+ * X-Request-Timeout (milisegundos, acotado al máximo configurado o al de la ruta si es mayor), o el de la
+ * ruta, o el plazo por defecto. Las rutas se configuran por prefijo tras /api/v1/ (p. ej. "reportes" o
+ * "pedidos/batch") y gana el prefijo más largo; su plazo no se acota al máximo.
+ * Corre antes que la cadena de seguridad, así el plazo cubre la petición completa.
+ * Las peticiones que terminan con el plazo vencido se cuentan en transportesys.plazos.excedidos (tag ruta).
+ */
+public class PlazoPeticionFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String HEADER_PLAZO = "X-Request-Timeout";
+
+    static final String METRICA_EXCEDIDOS = "transportesys.plazos.excedidos";
+
+    private static final String PREFIJO_API = "/api/v1/";
+
+    private final MeterRegistry meterRegistry;
+    private final long defectoMs;
+    private final long maximoMs;
+    private final Map<String, Long> porRutaMs;
+
+    public PlazoPeticionFilter(MeterRegistry meterRegistry, long defectoMs, long maximoMs, Map<String, Long> porRutaMs) {
+        if (defectoMs < 1 || maximoMs < defectoMs) {
+            throw new IllegalArgumentException("Plazos de petición inválidos");
+        }
+        this.meterRegistry = meterRegistry;
+        this.defectoMs = defectoMs;
+        this.maximoMs = maximoMs;
+        this.porRutaMs = Map.copyOf(porRutaMs);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PREFIJO_API);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long plazoMs = calcularPlazoMs(request.getRequestURI(), request.getHeader(HEADER_PLAZO));
+        PlazoPeticion.establecer(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(plazoMs));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            boolean vencido = PlazoPeticion.vencido();
+            PlazoPeticion.limpiar();
+            if (vencido) {
+                Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Counter.builder(METRICA_EXCEDIDOS)
+                    .tag("ruta", patron != null ? patron.toString() : "desconocida")
+                    .register(meterRegistry)
+                    .increment();
+            }
+        }
+    }
+
+    long calcularPlazoMs(String uri, String header) {
+        Long deLaRuta = plazoDeRutaMs(uri.substring(PREFIJO_API.length()));
+        if (header != null) {
+            try {
+                long pedido = Long.parseLong(header.trim());
+                if (pedido > 0) {
+                    return Math.min(pedido, deLaRuta != null ? Math.max(maximoMs, deLaRuta) : maximoMs);
+                }
+            } catch (NumberFormatException e) {
+                // Header inválido: se usa el plazo de la ruta
+            }
+        }
+        return deLaRuta != null ? deLaRuta : defectoMs;
+    }
+
+    private Long plazoDeRutaMs(String ruta) {
+        String mejor = null;
+        for (String prefijo : porRutaMs.keySet()) {
+            boolean coincide = ruta.equals(prefijo) || ruta.startsWith(prefijo + "/");
+            if (coincide && (mejor == null || prefijo.length() > mejor.length())) {
+                mejor = prefijo;
+            }
+        }
+        return mejor != null ? porRutaMs.get(mejor) : null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reintenta los métodos anotados con {@link ReintentarEnConflicto} cuando fallan por
+ * concurrencia optimista. Debe ejecutarse por fuera del interceptor transaccional
+ * para que cada intento use una transacción nueva.
+ *
+ * Métricas:
+ * - transportesys.operaciones.versionadas: ejecuciones por operación
+ * - transportesys.conflictos.optimistas: conflictos por operación y resultado (reintentado, recuperado, agotado)
+ */
+@Slf4j
+public class ReintentoConflictoInterceptor implements MethodInterceptor {
+
+    static final String METRICA_OPERACIONES = "transportesys.operaciones.versionadas";
+    static final String METRICA_CONFLICTOS = "transportesys.conflictos.optimistas";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ReintentoConflictoInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // Dentro de una transacción externa no tiene sentido reintentar: ya quedó marcada para rollback
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        ReintentarEnConflicto config = AnnotatedElementUtils.findMergedAnnotation(method, ReintentarEnConflicto.class);
+        if (config == null) {
+            return invocation.proceed();
+        }
+
+        String operacion = ClassUtils.getShortName(method.getDeclaringClass()) + "." + method.getName();
+        contar(METRICA_OPERACIONES, operacion, null);
+
+        int intentos = Math.max(1, config.intentos());
+        for (int intento = 1; ; intento++) {
+            try {
+                Object resultado = nuevaInvocacion(invocation).proceed();
+                if (intento > 1) {
+                    contar(METRICA_CONFLICTOS, operacion, "recuperado");
+                }
+                return resultado;
+            } catch (RuntimeException e) {
+                if (!esConflicto(e)) {
+                    throw e;
+                }
+                if (intento >= intentos) {
+                    contar(METRICA_CONFLICTOS, operacion, "agotado");
+                    log.warn("Conflicto de concurrencia en {} tras {} intentos", operacion, intento);
+                    throw e;
+                }
+
+                contar(METRICA_CONFLICTOS, operacion, "reintentado");
+                log.debug("Conflicto de concurrencia en {}, intento {} de {}", operacion, intento, intentos);
+                esperar(config.esperaMs(), intento, e);
+            }
+        }
+    }
+
+    /**
+     * Una MethodInvocation solo puede avanzar una vez; se clona para poder repetir la cadena.
+     */
+    private static MethodInvocation nuevaInvocacion(MethodInvocation invocation) {
+        if (invocation instanceof ProxyMethodInvocation proxyInvocation) {
+            return proxyInvocation.invocableClone();
+        }
+        return invocation;
+    }
+
+    static boolean esConflicto(Throwable error) {
+        for (Throwable actual = error; actual != null; actual = actual.getCause()) {
+            if (actual instanceof OptimisticLockingFailureException || actual instanceof OptimisticLockException) {
+                return true;
+            }
+            if (actual.getCause() == actual) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static void esperar(long esperaBaseMs, int intento, RuntimeException error) {
+        if (esperaBaseMs <= 0) {
+            return;
+        }
+        long espera = esperaBaseMs << Math.min(intento - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(espera / 2, espera + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw error;
+        }
+    }
+
+    private void contar(String metrica, String operacion, String resultado) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        if (resultado == null) {
+            registry.counter(metrica, "operacion", operacion).increment();
+        } else {
+            registry.counter(metrica, "operacion", operacion, "resultado", resultado).increment();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un handler GET cuya última respuesta exitosa puede servirse si la base de datos no está disponible.
+ * Solo para respuestas que no dependen del usuario autenticado: se guardan por método y argumentos.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ServirObsoleto {
+}
@@ -0,0 +1,102 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Guarda la última respuesta exitosa de cada handler {@link ServirObsoleto} (por argumentos) y la devuelve
+ * cuando la base de datos no responde: cortacircuitos abierto, sin conexión o timeout.
+ * La respuesta obsoleta lleva Age (segundos desde que se obtuvo) y Warning 110.
+ * Va por fuera de la caché de respuestas serializadas, así esa caché nunca guarda una respuesta obsoleta.
+ *
+ * Métrica: transportesys.obsoletos.servidos.
+ */
+public class ServirObsoletoInterceptor implements MethodInterceptor, MeterBinder {
+
+    static final String METRICA_SERVIDOS = "transportesys.obsoletos.servidos";
+    static final String HEADER_WARNING = "Warning";
+    static final String WARNING_OBSOLETO = "110 - \"Response is Stale\"";
+
+    private final Cache<List<Object>, Guardada> ultimas;
+    private final LongSupplier reloj;
+    private volatile Counter servidos;
+
+    public ServirObsoletoInterceptor(long maximoRespuestas, Duration retencion) {
+        this(maximoRespuestas, retencion, System::nanoTime);
+    }
+
+    ServirObsoletoInterceptor(long maximoRespuestas, Duration retencion, LongSupplier reloj) {
+        this.ultimas = Caffeine.newBuilder()
+            .maximumSize(maximoRespuestas)
+            .expireAfterWrite(retencion)
+            .build();
+        this.reloj = reloj;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        List<Object> clave = Arrays.asList(invocation.getMethod(), Arrays.asList(invocation.getArguments()));
+        Object resultado;
+        try {
+            resultado = invocation.proceed();
+        } catch (Throwable e) {
+            Guardada guardada = esBaseNoDisponible(e) ? ultimas.getIfPresent(clave) : null;
+            if (guardada == null) {
+                throw e;
+            }
+            if (servidos != null) {
+                servidos.increment();
+            }
+            return guardada.comoObsoleta(reloj.getAsLong());
+        }
+
+        if (resultado instanceof ResponseEntity<?> respuesta && respuesta.getStatusCode().is2xxSuccessful()) {
+            ultimas.put(clave, new Guardada(respuesta, reloj.getAsLong()));
+        }
+        return resultado;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        servidos = Counter.builder(METRICA_SERVIDOS).register(registry);
+    }
+
+    static boolean esBaseNoDisponible(Throwable error) {
+        return error instanceof CircuitoAbiertoException
+            || CortacircuitosInterceptor.esFalloDeConexion(error)
+            || LimiteConcurrenciaInterceptor.esSobrecarga(error);
+    }
+
+    /**
+     * Respuesta exitosa y el instante (System.nanoTime) en que se obtuvo.
+     */
+    private static final class Guardada {
+        private final ResponseEntity<?> respuesta;
+        private final long obtenidaEn;
+
+        private Guardada(ResponseEntity<?> respuesta, long obtenidaEn) {
+            this.respuesta = respuesta;
+            this.obtenidaEn = obtenidaEn;
+        }
+
+        ResponseEntity<Object> comoObsoleta(long ahora) {
+            HttpHeaders headers = HttpHeaders.copyOf(respuesta.getHeaders());
+            headers.set(HttpHeaders.AGE, Long.toString(TimeUnit.NANOSECONDS.toSeconds(ahora - obtenidaEn)));
+            headers.set(HEADER_WARNING, WARNING_OBSOLETO);
+            return new ResponseEntity<>(respuesta.getBody(), headers, respuesta.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.transportesys.infrastructure.resilience;
+
+/**
+ * Clases de carga con cupo propio de conexiones: una no puede agotar el pool de las demás.
+ */
+public enum TipoCompartimento {
+    /** Métodos que modifican datos (POST, PUT, PATCH, DELETE). */
+    ESCRITURA("escritura"),
+    /** Lecturas de un recurso por ID. */
+    LECTURA_PUNTUAL("lectura-puntual"),
+    /** Listados, búsquedas y reportes. */
+    LISTADO("listado"),
+    /** Exportaciones en streaming: ocupan su conexión mientras se escribe el cuerpo. */
+    EXPORTACION("exportacion"),
+    /** Emisión y renovación de tokens. */
+    AUTENTICACION("autenticacion");
+
+    private final String nombre;
+
+    TipoCompartimento(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Nombre usado en las propiedades y en el tag de las métricas.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.transportesys.infrastructure.scheduling;
+
+import com.example.transportesys.application.usecase.pedido.ArchivarPedidosUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que mueve a pedidos_archivados los pedidos en estado final
+ * más antiguos que la ventana de retención. Procesa por lotes, cada uno en su propia
+ * transacción, para no mantener bloqueos largos sobre la tabla de pedidos.
+ */
+@Component
+@ConditionalOnProperty(name = "transportesys.pedidos.archivado.habilitado", havingValue = "true")
+@Slf4j
+public class ArchivadoPedidosJob {
+
+    private final ArchivarPedidosUseCase archivarPedidosUseCase;
+    private final int diasRetencion;
+    private final int tamanoLote;
+
+    public ArchivadoPedidosJob(
+            ArchivarPedidosUseCase archivarPedidosUseCase,
+            @Value("${transportesys.pedidos.archivado.retencion-dias:90}") int diasRetencion,
+            @Value("${transportesys.pedidos.archivado.tamano-lote:1000}") int tamanoLote) {
+        this.archivarPedidosUseCase = archivarPedidosUseCase;
+        this.diasRetencion = diasRetencion;
+        this.tamanoLote = tamanoLote;
+    }
+
+    @Scheduled(cron = "${transportesys.pedidos.archivado.cron:0 30 3 * * *}")
+    public void archivar() {
+        long total = 0;
+        int archivados;
+        do {
+            archivados = archivarPedidosUseCase.execute(diasRetencion, tamanoLote);
+            total += archivados;
+        } while (archivados == tamanoLote);
+
+        if (total > 0) {
+            log.info("Archivados {} pedidos finalizados hace más de {} días", total, diasRetencion);
+        }
+    }
+}
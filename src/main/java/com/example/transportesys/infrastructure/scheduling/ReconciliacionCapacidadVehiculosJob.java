@@ -0,0 +1,28 @@
+package com.example.transportesys.infrastructure.scheduling;
+
+import com.example.transportesys.application.usecase.pedido.ReconciliarCapacidadVehiculosUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que recalcula desde la base de datos el peso comprometido en los vehículos registrados.
+ * Los vehículos se cargan al reservar sobre ellos por primera vez, así que no hace falta una carga inicial.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliacionCapacidadVehiculosJob {
+
+    private final ReconciliarCapacidadVehiculosUseCase reconciliarCapacidadVehiculosUseCase;
+
+    @Scheduled(initialDelayString = "${transportesys.pedidos.capacidad.reconciliacion-ms:60000}",
+               fixedDelayString = "${transportesys.pedidos.capacidad.reconciliacion-ms:60000}")
+    public void reconciliar() {
+        int corregidos = reconciliarCapacidadVehiculosUseCase.execute();
+        if (corregidos > 0) {
+            log.info("Peso comprometido corregido en {} vehículos", corregidos);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.transportesys.infrastructure.scheduling;
+
+import com.example.transportesys.application.usecase.pedido.ReconciliarConteoPedidosUseCase;
+import com.example.transportesys.domain.enums.EstadoPedido;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Tarea programada que recalcula los contadores de pedidos por estado desde la base de datos.
+ * La primera ejecución ocurre al iniciar la aplicación y carga los contadores.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliacionConteoPedidosJob {
+
+    private final ReconciliarConteoPedidosUseCase reconciliarConteoPedidosUseCase;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${transportesys.pedidos.conteo.reconciliacion-ms:300000}")
+    public void reconciliar() {
+        Map<EstadoPedido, Long> conteos = reconciliarConteoPedidosUseCase.execute();
+        log.debug("Contadores de pedidos reconciliados: {}", conteos);
+    }
+}
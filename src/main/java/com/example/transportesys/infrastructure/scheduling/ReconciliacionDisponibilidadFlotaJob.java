@@ -0,0 +1,25 @@
+package com.example.transportesys.infrastructure.scheduling;
+
+import com.example.transportesys.application.usecase.vehiculo.ReconciliarDisponibilidadFlotaUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que recarga el índice de vehículos libres desde la base de datos.
+ * La primera ejecución ocurre al iniciar la aplicación y carga el índice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliacionDisponibilidadFlotaJob {
+
+    private final ReconciliarDisponibilidadFlotaUseCase reconciliarDisponibilidadFlotaUseCase;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${transportesys.vehiculos.disponibilidad.reconciliacion-ms:300000}")
+    public void reconciliar() {
+        int libres = reconciliarDisponibilidadFlotaUseCase.execute();
+        log.debug("Índice de vehículos libres reconciliado: {} vehículos", libres);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.transportesys.infrastructure.scheduling;
+
+import com.example.transportesys.infrastructure.config.SchedulingConfig;
+import com.example.transportesys.infrastructure.outbox.RelayOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que drena la outbox de eventos de dominio.
+ * Corre en su propio scheduler ({@link SchedulingConfig#SCHEDULER_RELAY_OUTBOX}) y publica lotes
+ * mientras vengan completos, con un tope por ciclo para medir pendientes y lag con regularidad.
+ */
+@Component
+@ConditionalOnProperty(name = "transportesys.outbox.relay.habilitado", havingValue = "true", matchIfMissing = true)
+public class RelayOutboxJob {
+
+    private static final int MAXIMO_LOTES_POR_CICLO = 20;
+
+    private final RelayOutbox relayOutbox;
+    private final int tamanoLote;
+
+    public RelayOutboxJob(
+            RelayOutbox relayOutbox,
+            @Value("${transportesys.outbox.relay.tamano-lote:200}") int tamanoLote) {
+        this.relayOutbox = relayOutbox;
+        this.tamanoLote = tamanoLote;
+    }
+
+    @Scheduled(fixedDelayString = "${transportesys.outbox.relay.intervalo-ms:1000}",
+               scheduler = SchedulingConfig.SCHEDULER_RELAY_OUTBOX)
+    public void publicar() {
+        int lotes = 0;
+        int reservados;
+        do {
+            reservados = relayOutbox.publicarLote(tamanoLote);
+            lotes++;
+        } while (reservados == tamanoLote && lotes < MAXIMO_LOTES_POR_CICLO);
+
+        relayOutbox.actualizarPendientes();
+    }
+}
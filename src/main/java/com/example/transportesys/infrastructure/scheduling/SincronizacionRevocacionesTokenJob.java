@@ -0,0 +1,25 @@
+package com.example.transportesys.infrastructure.scheduling;
+
+import com.example.transportesys.application.usecase.usuario.SincronizarRevocacionesTokenUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que sincroniza la lista en memoria de tokens revocados con la base de datos.
+ * La primera ejecución ocurre al iniciar la aplicación y reconstruye la lista.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SincronizacionRevocacionesTokenJob {
+
+    private final SincronizarRevocacionesTokenUseCase sincronizarRevocacionesTokenUseCase;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocacion.sincronizacion-ms:30000}")
+    public void sincronizar() {
+        int vigentes = sincronizarRevocacionesTokenUseCase.execute();
+        log.debug("Revocaciones de tokens sincronizadas: {} vigentes", vigentes);
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.transportesys.infrastructure.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,21 +17,34 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Filtro que intercepta las peticiones HTTP para validar el token JWT.
  * Se ejecuta una vez por petición.
+ * El token se parsea y verifica una sola vez; el usuario y sus autoridades salen de los claims,
+ * sin consultar la base. Solo se carga el usuario si el token no trae roles o si
+ * jwt.autenticacion.consultar-usuario está activo (refleja al instante bajas y cambios de rol).
+ * Los tokens revocados (versión anterior a la última revocación del usuario) y los refresh tokens
+ * no autentican la petición.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final ListaRevocacionTokens listaRevocacionTokens;
+    private final boolean consultarUsuario;
 
     public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
-                                  UserDetailsService userDetailsService) {
+                                  UserDetailsService userDetailsService,
+                                  ListaRevocacionTokens listaRevocacionTokens,
+                                  @Value("${jwt.autenticacion.consultar-usuario:false}") boolean consultarUsuario) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.listaRevocacionTokens = listaRevocacionTokens;
+        this.consultarUsuario = consultarUsuario;
     }
 
     @Override
@@ -38,21 +54,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String jwt = getJwtFromRequest(request);
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : Optional.empty();
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                    );
-
+            if (claims.isPresent() && esVigente(claims.get())) {
+                UsernamePasswordAuthenticationToken authentication = autenticar(claims.get());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception ex) {
@@ -62,6 +68,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean esVigente(Claims claims) {
+        return !tokenProvider.isRefreshToken(claims)
+            && !listaRevocacionTokens.estaRevocado(claims.getSubject(), tokenProvider.getVersionToken(claims));
+    }
+
+    private UsernamePasswordAuthenticationToken autenticar(Claims claims) {
+        String username = claims.getSubject();
+        Optional<List<GrantedAuthority>> authorities = tokenProvider.getAuthorities(claims);
+
+        if (!consultarUsuario && authorities.isPresent()) {
+            return new UsernamePasswordAuthenticationToken(username, null, authorities.get());
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
     /**
      * Extrae el token JWT del header Authorization.
      */
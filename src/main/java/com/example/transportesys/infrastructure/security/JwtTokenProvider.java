@@ -5,96 +5,168 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Proveedor de tokens JWT para autenticación.
  * Genera, valida y extrae información de tokens JWT.
+ * El parser es inmutable y seguro entre hilos: se construye una sola vez.
+ * Cada token lleva la versión de tokens del usuario (claim ver) para poder revocarlo;
+ * los refresh tokens se distinguen por el claim tipo y no sirven para autenticar peticiones.
  */
 @Component
 public class JwtTokenProvider {
 
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_VERSION = "ver";
+    static final String CLAIM_TIPO = "tipo";
+    static final String TIPO_REFRESH = "refresh";
+
     private final SecretKey secretKey;
     private final long jwtExpiration;
+    private final long refreshExpiration;
+    private final JwtParser parser;
 
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long jwtExpiration) {
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.refresh-expiration:604800000}") long refreshExpiration) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.parser = Jwts.parser()
+            .verifyWith(secretKey)
+            .build();
     }
 
     /**
      * Genera un token JWT a partir de la autenticación.
      */
     public String generateToken(Authentication authentication) {
+        return generateToken(authentication, calculateExpirationDate());
+    }
+
+    /**
+     * Genera un token JWT que vence en la fecha indicada, así quien llama ya la conoce sin parsear el token.
+     */
+    public String generateToken(Authentication authentication, Date expiryDate) {
         String username = authentication.getName();
         String roles = authentication.getAuthorities().stream()
             .map(GrantedAuthority::getAuthority)
             .collect(Collectors.joining(","));
 
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
-
         return Jwts.builder()
             .subject(username)
-            .claim("roles", roles)
-            .issuedAt(now)
+            .claim(CLAIM_ROLES, roles)
+            .claim(CLAIM_VERSION, versionToken(authentication))
+            .issuedAt(new Date())
+            .expiration(expiryDate)
+            .signWith(secretKey)
+            .compact();
+    }
+
+    /**
+     * Genera un refresh token: sin roles, solo permite obtener un token nuevo en /api/v1/auth/refresh.
+     */
+    public String generateRefreshToken(Authentication authentication, Date expiryDate) {
+        return Jwts.builder()
+            .subject(authentication.getName())
+            .claim(CLAIM_TIPO, TIPO_REFRESH)
+            .claim(CLAIM_VERSION, versionToken(authentication))
+            .issuedAt(new Date())
             .expiration(expiryDate)
             .signWith(secretKey)
             .compact();
     }
 
+    /**
+     * Verifica la firma y la expiración una sola vez y retorna los claims, o vacío si el token no es válido.
+     */
+    public Optional<Claims> parseToken(String token) {
+        try {
+            return Optional.of(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Autoridades del claim roles, o vacío si el token no lo trae (tokens emitidos sin roles).
+     */
+    public Optional<List<GrantedAuthority>> getAuthorities(Claims claims) {
+        String roles = claims.get(CLAIM_ROLES, String.class);
+        if (roles == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Arrays.stream(roles.split(","))
+            .map(String::trim)
+            .filter(rol -> !rol.isEmpty())
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList());
+    }
+
+    /**
+     * Versión de tokens del usuario con la que se emitió el token; 0 para tokens emitidos sin el claim.
+     */
+    public int getVersionToken(Claims claims) {
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        return version != null ? version : 0;
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return TIPO_REFRESH.equals(claims.get(CLAIM_TIPO, String.class));
+    }
+
     /**
      * Obtiene la fecha de expiración del token.
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-        return claims.getExpiration();
+        return parser.parseSignedClaims(token).getPayload().getExpiration();
     }
 
     /**
-     * Calcula la fecha de expiración para un nuevo token.
+     * Calcula la fecha de expiración para un nuevo token, truncada a segundos como el claim exp.
      */
     public Date calculateExpirationDate() {
-        return new Date(System.currentTimeMillis() + jwtExpiration);
+        return expirarEn(jwtExpiration);
+    }
+
+    /**
+     * Calcula la fecha de expiración para un nuevo refresh token.
+     */
+    public Date calculateRefreshExpirationDate() {
+        return expirarEn(refreshExpiration);
+    }
+
+    private static Date expirarEn(long milisegundos) {
+        long expiracion = System.currentTimeMillis() + milisegundos;
+        return new Date(expiracion - expiracion % 1000);
+    }
+
+    private static int versionToken(Authentication authentication) {
+        return authentication.getPrincipal() instanceof UsuarioAutenticado usuario ? usuario.getVersionToken() : 0;
     }
 
     /**
      * Obtiene el username del token.
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-        return claims.getSubject();
+        return parser.parseSignedClaims(token).getPayload().getSubject();
     }
 
     /**
      * Valida el token JWT.
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseToken(token).isPresent();
     }
 }
@@ -0,0 +1,223 @@
+package com.example.transportesys.infrastructure.security;
+
+import com.example.transportesys.infrastructure.exception.ApiError;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Filtro que limita la tasa de peticiones a /api/v1/** por usuario (o por IP si no hay autenticación)
+ * y grupo de rutas (el primer segmento tras /api/v1/). Se ejecuta después de JwtAuthenticationFilter
+ * para conocer al usuario; el límite sale del rol más permisivo que tenga.
+ * La IP es request.getRemoteAddr(), sin mirar X-Forwarded-For: detrás de un proxy inverso
+ * todos los clientes anónimos comparten la cubeta de la IP del proxy.
+ * <p>
+ * Cada cubeta es un token bucket implementado como GCRA: un solo AtomicLong con el instante teórico
+ * de la próxima petición, actualizado con compare-and-set, sin locks. Por petición solo se arman
+ * los strings de la clave "grupo|sujeto".
+ * Las cubetas viven en un mapa acotado que descarta las menos usadas y las inactivas.
+ * Al superar el límite se responde 429 con Retry-After.
+ */
+@Component
+public class LimiteTasaFilter extends OncePerRequestFilter {
+
+    static final String METRICA_RECHAZOS = "transportesys.limite-tasa.rechazos";
+    static final String METRICA_CUBETAS = "transportesys.limite-tasa.cubetas";
+
+    private static final String PREFIJO_API = "/api/v1/";
+    private static final long NANOS_POR_SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean habilitado;
+    private final List<Limite> limitesPorRol;
+    private final Limite limiteSinRol;
+    private final Limite limiteAnonimo;
+    private final Cache<String, Cubeta> cubetas;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier reloj;
+
+    @Autowired
+    public LimiteTasaFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${transportesys.limite-tasa.habilitado:true}") boolean habilitado,
+            @Value("${transportesys.limite-tasa.admin.por-segundo:200}") double adminPorSegundo,
+            @Value("${transportesys.limite-tasa.admin.rafaga:400}") int adminRafaga,
+            @Value("${transportesys.limite-tasa.conductor.por-segundo:50}") double conductorPorSegundo,
+            @Value("${transportesys.limite-tasa.conductor.rafaga:100}") int conductorRafaga,
+            @Value("${transportesys.limite-tasa.cliente.por-segundo:20}") double clientePorSegundo,
+            @Value("${transportesys.limite-tasa.cliente.rafaga:40}") int clienteRafaga,
+            @Value("${transportesys.limite-tasa.anonimo.por-segundo:10}") double anonimoPorSegundo,
+            @Value("${transportesys.limite-tasa.anonimo.rafaga:20}") int anonimoRafaga,
+            @Value("${transportesys.limite-tasa.max-cubetas:100000}") long maxCubetas) {
+        this(habilitado,
+            List.of(
+                new Limite("ROLE_ADMIN", adminPorSegundo, adminRafaga),
+                new Limite("ROLE_CONDUCTOR", conductorPorSegundo, conductorRafaga),
+                new Limite("ROLE_CLIENTE", clientePorSegundo, clienteRafaga)),
+            new Limite("ANONIMO", anonimoPorSegundo, anonimoRafaga),
+            maxCubetas, meterRegistry, objectMapper, System::nanoTime);
+    }
+
+    LimiteTasaFilter(boolean habilitado, List<Limite> limitesPorRol, Limite limiteAnonimo, long maxCubetas,
+                     MeterRegistry meterRegistry, ObjectMapper objectMapper, LongSupplier reloj) {
+        this.habilitado = habilitado;
+        this.limitesPorRol = limitesPorRol;
+        // Un usuario autenticado sin ninguno de los roles conocidos recibe el límite del rol menos permisivo
+        this.limiteSinRol = limitesPorRol.stream()
+            .max((a, b) -> Long.compare(a.intervaloNanos, b.intervaloNanos))
+            .orElse(limiteAnonimo);
+        this.limiteAnonimo = limiteAnonimo;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.reloj = reloj;
+        this.cubetas = Caffeine.newBuilder()
+            .maximumSize(maxCubetas)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+        Gauge.builder(METRICA_CUBETAS, cubetas, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || !request.getRequestURI().startsWith(PREFIJO_API);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean autenticado = authentication != null && authentication.isAuthenticated()
+            && !(authentication instanceof AnonymousAuthenticationToken);
+
+        Limite limite = autenticado ? limitePara(authentication) : limiteAnonimo;
+        String sujeto = autenticado ? authentication.getName() : "ip:" + request.getRemoteAddr();
+        String clave = grupo(request.getRequestURI()) + '|' + sujeto;
+
+        long ahora = reloj.getAsLong();
+        Cubeta cubeta = cubetas.getIfPresent(clave);
+        if (cubeta == null) {
+            cubeta = cubetas.get(clave, k -> new Cubeta(ahora));
+        }
+
+        long esperaNanos = cubeta.consumir(limite, ahora);
+        if (esperaNanos > 0) {
+            rechazar(request, response, limite, esperaNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Limite limitePara(Authentication authentication) {
+        Limite elegido = null;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            for (Limite limite : limitesPorRol) {
+                if (limite.rol.equals(authority.getAuthority())
+                        && (elegido == null || limite.intervaloNanos < elegido.intervaloNanos)) {
+                    elegido = limite;
+                }
+            }
+        }
+        return elegido != null ? elegido : limiteSinRol;
+    }
+
+    /**
+     * Primer segmento de la ruta tras /api/v1/ (pedidos, vehiculos, auth...).
+     */
+    private static String grupo(String uri) {
+        int fin = uri.indexOf('/', PREFIJO_API.length());
+        return uri.substring(PREFIJO_API.length(), fin < 0 ? uri.length() : fin);
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response,
+                          Limite limite, long esperaNanos) throws IOException {
+        // Solo el rol como tag: el grupo sale de la URL y no debe crear series sin cota
+        meterRegistry.counter(METRICA_RECHAZOS, "rol", limite.rol).increment();
+
+        long segundos = Math.max(1, (esperaNanos + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO);
+        ApiError error = new ApiError(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Too Many Requests",
+            "Se superó el límite de peticiones, reintente en " + segundos + " s",
+            request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Tasa sostenida y ráfaga de un rol, como intervalo entre peticiones y tolerancia en nanosegundos.
+     */
+    static final class Limite {
+        private final String rol;
+        private final long intervaloNanos;
+        private final long toleranciaNanos;
+
+        Limite(String rol, double porSegundo, int rafaga) {
+            if (porSegundo <= 0 || rafaga < 1) {
+                throw new IllegalArgumentException("Límite de tasa inválido para " + rol);
+            }
+            this.rol = rol;
+            this.intervaloNanos = (long) (NANOS_POR_SEGUNDO / porSegundo);
+            this.toleranciaNanos = intervaloNanos * (rafaga - 1);
+        }
+    }
+
+    /**
+     * Instante teórico de llegada (TAT) de la próxima petición que respeta la tasa. Admitir una petición
+     * lo corre un intervalo; se admite mientras no se adelante al reloj más que la tolerancia de ráfaga.
+     */
+    private static final class Cubeta extends AtomicLong {
+
+        private Cubeta(long ahora) {
+            super(ahora);
+        }
+
+        /**
+         * Consume un token. Retorna 0 si se admite, o los nanosegundos hasta que haya uno disponible.
+         */
+        long consumir(Limite limite, long ahora) {
+            long tat;
+            long siguiente;
+            do {
+                tat = get();
+                long adelanto = tat - ahora;
+                if (adelanto > limite.toleranciaNanos) {
+                    return adelanto - limite.toleranciaNanos;
+                }
+                siguiente = (adelanto > 0 ? tat : ahora) + limite.intervaloNanos;
+            } while (!compareAndSet(tat, siguiente));
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.transportesys.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lista en memoria de revocaciones de tokens: por usuario, la versión mínima que aceptan las peticiones.
+ * Cada entrada vence junto con el último token que pudo emitirse antes de la revocación; el vencimiento
+ * por entrada de Caffeine usa una rueda de tiempos, así que no hay barridos sobre toda la lista.
+ * La consulta en cada petición es una búsqueda en un mapa y una comparación de enteros, sin asignar objetos.
+ */
+@Component
+public class ListaRevocacionTokens {
+
+    static final String METRICA_REVOCACIONES = "transportesys.jwt.revocaciones";
+
+    private final long vigenciaMaximaMs;
+    private final Cache<String, Revocacion> revocaciones;
+
+    public ListaRevocacionTokens(
+            MeterRegistry meterRegistry,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.refresh-expiration:604800000}") long refreshExpiration) {
+        this.vigenciaMaximaMs = Math.max(jwtExpiration, refreshExpiration);
+        this.revocaciones = Caffeine.newBuilder()
+            .expireAfter(new VencimientoRevocacion())
+            .build();
+        Gauge.builder(METRICA_REVOCACIONES, revocaciones, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * true si el token del usuario tiene una versión anterior a la última revocación vigente.
+     */
+    public boolean estaRevocado(String username, int versionToken) {
+        Revocacion revocacion = revocaciones.getIfPresent(username);
+        return revocacion != null && versionToken < revocacion.getVersionMinima();
+    }
+
+    /**
+     * Registra una revocación; si ya hay una con versión mayor o igual para el usuario, se conserva esa.
+     */
+    public void registrar(String username, int versionMinima, long venceEnMs) {
+        revocaciones.asMap().merge(username, new Revocacion(versionMinima, venceEnMs),
+            (actual, nueva) -> actual.getVersionMinima() >= nueva.getVersionMinima() ? actual : nueva);
+    }
+
+    /**
+     * Momento (epoch en ms) en que vence el último token que pudo emitirse hasta ahora.
+     */
+    public long calcularVencimiento() {
+        return System.currentTimeMillis() + vigenciaMaximaMs;
+    }
+
+    public long tamano() {
+        return revocaciones.estimatedSize();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class Revocacion {
+        private final int versionMinima;
+        private final long venceEnMs;
+    }
+
+    /**
+     * Vence cada entrada en su propio venceEnMs; leerla no la prolonga.
+     */
+    private static final class VencimientoRevocacion implements Expiry<String, Revocacion> {
+
+        @Override
+        public long expireAfterCreate(String username, Revocacion revocacion, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, revocacion.getVenceEnMs() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String username, Revocacion revocacion, long currentTime, long currentDuration) {
+            return expireAfterCreate(username, revocacion, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String username, Revocacion revocacion, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.example.transportesys.infrastructure.security;
 
 import com.example.transportesys.domain.model.Usuario;
 import com.example.transportesys.domain.repository.UsuarioRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,10 +16,11 @@ import java.util.stream.Collectors;
 
 /**
  * Servicio que carga los detalles del usuario desde la base de datos.
- * Implementa la interfaz UserDetailsService de Spring Security.
+ * Implementa la interfaz UserDetailsService de Spring Security, y UserDetailsPasswordService
+ * para guardar el hash rehecho con los parámetros vigentes tras un login correcto.
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -26,21 +29,41 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     }
 
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    public UsuarioAutenticado loadUserByUsername(String username) throws UsernameNotFoundException {
         Usuario usuario = usuarioRepository.findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new UsuarioAutenticado(
             usuario.getUsername(),
             usuario.getPassword(),
             usuario.isActivo(),
-            true,  // accountNonExpired
-            true,  // credentialsNonExpired
-            true,  // accountNonLocked
-            mapRolesToAuthorities(usuario)
+            mapRolesToAuthorities(usuario),
+            usuario.getVersionToken()
         );
     }
 
+    /**
+     * Reemplaza el hash solo si sigue siendo el que se verificó: un cambio de contraseña concurrente
+     * no se pisa. No es un cambio de contraseña, así que no revoca tokens. Si no se puede guardar,
+     * se vuelve a intentar en el próximo login.
+     */
+    @Override
+    public UsuarioAutenticado updatePassword(UserDetails user, String newPassword) {
+        UsuarioAutenticado autenticado = (UsuarioAutenticado) user;
+        try {
+            Usuario usuario = usuarioRepository.findByUsername(user.getUsername()).orElse(null);
+            if (usuario == null || !usuario.getPassword().equals(user.getPassword())) {
+                return autenticado;
+            }
+            usuario.setPassword(newPassword);
+            usuarioRepository.save(usuario);
+        } catch (OptimisticLockingFailureException e) {
+            return autenticado;
+        }
+        return new UsuarioAutenticado(autenticado.getUsername(), newPassword, autenticado.isEnabled(),
+            autenticado.getAuthorities(), autenticado.getVersionToken());
+    }
+
     private Collection<? extends GrantedAuthority> mapRolesToAuthorities(Usuario usuario) {
         return usuario.getRoles().stream()
             .map(rol -> new SimpleGrantedAuthority("ROLE_" + rol.name()))
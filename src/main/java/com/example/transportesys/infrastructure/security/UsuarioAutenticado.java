@@ -0,0 +1,24 @@
+package com.example.transportesys.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Usuario cargado desde la base con la versión vigente de sus tokens, que se firma en cada token emitido.
+ */
+public class UsuarioAutenticado extends User {
+
+    private final int versionToken;
+
+    public UsuarioAutenticado(String username, String password, boolean enabled,
+                              Collection<? extends GrantedAuthority> authorities, int versionToken) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.versionToken = versionToken;
+    }
+
+    public int getVersionToken() {
+        return versionToken;
+    }
+}
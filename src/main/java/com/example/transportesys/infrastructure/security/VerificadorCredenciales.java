@@ -0,0 +1,77 @@
+package com.example.transportesys.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifica credenciales en un pool propio y acotado, fuera de los hilos de Tomcat.
+ * BCrypt consume CPU a propósito: una ola de logins ocupa como mucho los hilos de este pool
+ * y su cola, sin dejar sin hilos al resto de los endpoints. Con la cola llena el login se rechaza
+ * al instante (RejectedExecutionException, 503) en lugar de esperar.
+ */
+@Component
+public class VerificadorCredenciales {
+
+    static final String METRICA_COLA = "transportesys.auth.login.cola";
+    static final String METRICA_ACTIVOS = "transportesys.auth.login.activos";
+    static final String METRICA_RECHAZADOS = "transportesys.auth.login.rechazados";
+    static final String METRICA_ESPERA = "transportesys.auth.login.espera";
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final Counter rechazados;
+    private final Timer espera;
+
+    public VerificadorCredenciales(
+            AuthenticationManager authenticationManager,
+            MeterRegistry meterRegistry,
+            @Value("${transportesys.auth.login.hilos:4}") int hilos,
+            @Value("${transportesys.auth.login.cola:200}") int capacidadCola) {
+        this.authenticationManager = authenticationManager;
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadCola),
+            Thread.ofPlatform().name("login-", 0).daemon().factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.rechazados = Counter.builder(METRICA_RECHAZADOS).register(meterRegistry);
+        this.espera = Timer.builder(METRICA_ESPERA).register(meterRegistry);
+        Gauge.builder(METRICA_COLA, executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRICA_ACTIVOS, executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Autentica usuario y contraseña en el pool. Los errores de autenticación completan el futuro.
+     *
+     * @throws RejectedExecutionException si la cola está llena
+     */
+    public CompletableFuture<Authentication> autenticar(String username, String password) {
+        long encolado = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                espera.record(System.nanoTime() - encolado, TimeUnit.NANOSECONDS);
+                return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rechazados.increment();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdown();
+    }
+}
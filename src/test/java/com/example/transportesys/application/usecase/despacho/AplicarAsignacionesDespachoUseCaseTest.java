@@ -0,0 +1,121 @@
+package com.example.transportesys.application.usecase.despacho;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.model.AsignacionPedido;
+import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.repository.VehiculoRepository;
+import com.example.transportesys.domain.valueobject.Capacidad;
+import com.example.transportesys.domain.valueobject.LicenciaConducir;
+import com.example.transportesys.domain.valueobject.Peso;
+import com.example.transportesys.domain.valueobject.Placa;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para AplicarAsignacionesDespachoUseCase")
+class AplicarAsignacionesDespachoUseCaseTest {
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @Mock
+    private VehiculoRepository vehiculoRepository;
+
+    @Mock
+    private ConductorRepository conductorRepository;
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private CapacidadVehiculosRepository capacidadVehiculosRepository;
+
+    @InjectMocks
+    private AplicarAsignacionesDespachoUseCase aplicarAsignacionesDespachoUseCase;
+
+    @Test
+    @DisplayName("Debe descartar sin reservar las asignaciones de conductores dados de baja o vehículos que cambiaron de conductor")
+    void debeDescartarAsignacionesVencidas() {
+        // Arrange: el conductor 2 se dio de baja y el vehículo 3 pasó al conductor 4 después de planificar
+        AsignacionPedido vigente = new AsignacionPedido(10L, 1L, 1L, new Peso(100.0));
+        AsignacionPedido conductorInactivo = new AsignacionPedido(11L, 2L, 2L, new Peso(100.0));
+        AsignacionPedido vehiculoReasignado = new AsignacionPedido(12L, 3L, 3L, new Peso(100.0));
+        Vehiculo vehiculo1 = vehiculo(1L, "AAA-111", 1L);
+
+        when(vehiculoRepository.findAllByIds(Set.of(1L, 2L, 3L)))
+            .thenReturn(List.of(vehiculo1, vehiculo(2L, "BBB-222", 2L), vehiculo(3L, "CCC-333", 4L)));
+        when(conductorRepository.findAllByIds(Set.of(1L, 2L, 3L)))
+            .thenReturn(List.of(conductor(1L), conductor(3L)));
+        when(capacidadVehiculosRepository.reservar(eq(1L), any(Capacidad.class), any(Peso.class), any()))
+            .thenReturn(true);
+        when(pedidoRepository.asignarPendientes(List.of(vigente))).thenReturn(List.of(pedido(10L, 1L, 1L)));
+
+        // Act
+        int asignados = aplicarAsignacionesDespachoUseCase.execute(
+            List.of(vigente, conductorInactivo, vehiculoReasignado));
+
+        // Assert
+        assertEquals(1, asignados);
+        verify(capacidadVehiculosRepository).reservar(eq(1L), eq(vehiculo1.getCapacidad()), eq(vigente.getPeso()), any());
+        verify(capacidadVehiculosRepository, never()).reservar(eq(2L), any(), any(), any());
+        verify(capacidadVehiculosRepository, never()).reservar(eq(3L), any(), any(), any());
+        verify(capacidadVehiculosRepository, never()).liberar(any(), any());
+        verify(eventoOutboxRepository).registrarTodos(argThat(eventos -> eventos.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Debe devolver la capacidad reservada de los pedidos que dejaron de estar pendientes")
+    void debeLiberarCapacidadDePedidosNoAsignados() {
+        // Arrange: el pedido 21 se canceló entre la planificación y la aplicación
+        AsignacionPedido asignada = new AsignacionPedido(20L, 1L, 1L, new Peso(100.0));
+        AsignacionPedido cancelada = new AsignacionPedido(21L, 1L, 1L, new Peso(250.0));
+
+        when(vehiculoRepository.findAllByIds(Set.of(1L))).thenReturn(List.of(vehiculo(1L, "AAA-111", 1L)));
+        when(conductorRepository.findAllByIds(Set.of(1L))).thenReturn(List.of(conductor(1L)));
+        when(capacidadVehiculosRepository.reservar(eq(1L), any(Capacidad.class), any(Peso.class), any()))
+            .thenReturn(true);
+        when(pedidoRepository.asignarPendientes(anyList())).thenReturn(List.of(pedido(20L, 1L, 1L)));
+
+        // Act
+        int asignados = aplicarAsignacionesDespachoUseCase.execute(List.of(asignada, cancelada));
+
+        // Assert
+        assertEquals(1, asignados);
+        verify(pedidoRepository).asignarPendientes(List.of(asignada, cancelada));
+        verify(capacidadVehiculosRepository).liberar(1L, cancelada.getPeso());
+        verify(capacidadVehiculosRepository, never()).liberar(1L, asignada.getPeso());
+    }
+
+    private static Vehiculo vehiculo(Long id, String placa, Long conductorId) {
+        return new Vehiculo(id, new Placa(placa), new Capacidad(1000.0), true, conductorId);
+    }
+
+    private static Conductor conductor(Long id) {
+        return new Conductor(id, "Conductor " + id, new LicenciaConducir("LIC12345" + id), true, new HashSet<>());
+    }
+
+    private static Pedido pedido(Long id, Long vehiculoId, Long conductorId) {
+        return new Pedido(id, "Envío " + id, new Peso(100.0), vehiculoId, conductorId,
+            EstadoPedido.PENDIENTE, "Origen", "Destino");
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.transportesys.application.usecase.despacho;
+
+import com.example.transportesys.domain.model.AsignacionPedido;
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.valueobject.Capacidad;
+import com.example.transportesys.domain.valueobject.Peso;
+import com.example.transportesys.domain.valueobject.Placa;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para PlanificadorDespacho")
+class PlanificadorDespachoTest {
+
+    private ForkJoinPool pool;
+    private PlanificadorDespacho planificador;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        planificador = new PlanificadorDespacho(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debe ubicar cada pedido en el vehículo más justo descontando la carga activa")
+    void debeAsignarConMejorAjusteYCargaActiva() {
+        // Arrange
+        List<Vehiculo> flota = List.of(
+            vehiculo(1L, 1000.0, 10L),
+            vehiculo(2L, 500.0, 20L)
+        );
+        Map<Long, Peso> cargaActiva = Map.of(1L, new Peso(300.0));
+        Map<Long, Peso> pedidos = new LinkedHashMap<>();
+        pedidos.put(100L, new Peso(450.0));
+        pedidos.put(101L, new Peso(600.0));
+        pedidos.put(102L, new Peso(800.0));
+
+        // Act
+        PlanDespacho plan = planificador.planificar(pedidos, flota, cargaActiva);
+
+        // Assert: el de 600 va al vehículo 1 (700 libres), el de 450 al vehículo 2 (500 libres)
+        Map<Long, AsignacionPedido> porPedido = porPedido(plan.getAsignaciones());
+        assertEquals(2, porPedido.size());
+        assertEquals(1L, porPedido.get(101L).getVehiculoId());
+        assertEquals(10L, porPedido.get(101L).getConductorId());
+        assertEquals(2L, porPedido.get(100L).getVehiculoId());
+        assertEquals(20L, porPedido.get(100L).getConductorId());
+        assertEquals(1, plan.getPedidosSinUbicar());
+        assertEquals(3, plan.getPedidosEvaluados());
+        assertEquals(1, plan.getParticiones());
+    }
+
+    @Test
+    @DisplayName("Debe repartir en particiones sin sobrecargar vehículos ni repetir pedidos")
+    void debeRespetarCapacidadConParticiones() {
+        // Arrange
+        Random random = new Random(42);
+        List<Vehiculo> flota = new ArrayList<>();
+        Map<Long, Peso> cargaActiva = new HashMap<>();
+        for (long id = 1; id <= 512; id++) {
+            flota.add(vehiculo(id, 500 + random.nextInt(4500), 1000 + id));
+            if (id % 3 == 0) {
+                cargaActiva.put(id, new Peso((double) random.nextInt(400)));
+            }
+        }
+        Map<Long, Peso> pedidos = new LinkedHashMap<>();
+        for (long id = 1; id <= 20_000; id++) {
+            pedidos.put(id, new Peso(1 + random.nextInt(300) + random.nextInt(1000) / 1000.0));
+        }
+
+        // Act
+        PlanDespacho plan = planificador.planificar(pedidos, flota, cargaActiva);
+
+        // Assert
+        assertTrue(plan.getParticiones() > 1);
+        Set<Long> pedidosAsignados = new HashSet<>();
+        Map<Long, Long> gramosPorVehiculo = new HashMap<>();
+        for (AsignacionPedido asignacion : plan.getAsignaciones()) {
+            assertTrue(pedidosAsignados.add(asignacion.getPedidoId()));
+            assertEquals(1000 + asignacion.getVehiculoId(), asignacion.getConductorId());
+            gramosPorVehiculo.merge(asignacion.getVehiculoId(),
+                pedidos.get(asignacion.getPedidoId()).enGramos(), Long::sum);
+        }
+        for (Vehiculo vehiculo : flota) {
+            Peso previa = cargaActiva.get(vehiculo.getId());
+            long total = gramosPorVehiculo.getOrDefault(vehiculo.getId(), 0L) + (previa != null ? previa.enGramos() : 0);
+            assertTrue(total <= vehiculo.getCapacidad().enGramos() || !gramosPorVehiculo.containsKey(vehiculo.getId()));
+        }
+        assertEquals(pedidos.size(), plan.getAsignaciones().size() + plan.getPedidosSinUbicar());
+        assertTrue(plan.getUtilizacionVehiculosUsados() > 0.9);
+    }
+
+    private static Map<Long, AsignacionPedido> porPedido(List<AsignacionPedido> asignaciones) {
+        Map<Long, AsignacionPedido> resultado = new HashMap<>();
+        asignaciones.forEach(asignacion -> resultado.put(asignacion.getPedidoId(), asignacion));
+        return resultado;
+    }
+
+    private static Vehiculo vehiculo(Long id, double capacidadKg, Long conductorId) {
+        return new Vehiculo(id, new Placa(String.format("ABC-%03d", id % 1000)), new Capacidad(capacidadKg), true, conductorId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.repository.PedidoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para ArchivarPedidosUseCase")
+class ArchivarPedidosUseCaseTest {
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @InjectMocks
+    private ArchivarPedidosUseCase archivarPedidosUseCase;
+
+    @Test
+    @DisplayName("Debe archivar con límite calculado desde la ventana de retención")
+    void debeArchivarConLimiteDeRetencion() {
+        // Arrange
+        when(pedidoRepository.archivarFinalizados(any(LocalDateTime.class), eq(500))).thenReturn(120);
+        LocalDateTime antes = LocalDateTime.now().minusDays(30);
+
+        // Act
+        int archivados = archivarPedidosUseCase.execute(30, 500);
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> limite = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(pedidoRepository).archivarFinalizados(limite.capture(), eq(500));
+        assertEquals(120, archivados);
+        assertFalse(limite.getValue().isBefore(antes));
+        assertTrue(limite.getValue().isBefore(LocalDateTime.now().minusDays(29)));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando el tamaño del lote no es positivo")
+    void debeLanzarExcepcionCuandoLoteNoEsPositivo() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            archivarPedidosUseCase.execute(30, 0);
+        });
+
+        verify(pedidoRepository, never()).archivarFinalizados(any(), anyInt());
+    }
+}
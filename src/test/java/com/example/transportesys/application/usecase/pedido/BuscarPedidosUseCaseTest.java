@@ -0,0 +1,107 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.exception.CursorInvalidoException;
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
+import com.example.transportesys.domain.model.CursorPageResult;
+import com.example.transportesys.domain.model.FiltroPedidos;
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.valueobject.Cursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para BuscarPedidosUseCase")
+class BuscarPedidosUseCaseTest {
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @InjectMocks
+    private BuscarPedidosUseCase buscarPedidosUseCase;
+
+    @Test
+    @DisplayName("Debe delegar la búsqueda combinada con el cursor decodificado")
+    void debeDelegarBusquedaConCursorDecodificado() {
+        // Arrange
+        FiltroPedidos filtro = new FiltroPedidos();
+        filtro.setEstados(Set.of(EstadoPedido.PENDIENTE, EstadoPedido.EN_PROGRESO));
+        filtro.setConductorId(3L);
+        Cursor cursor = Cursor.porFechaCreacionEId(LocalDateTime.of(2024, 3, 1, 8, 0), 120L);
+        CursorPageResult<Pedido> pagina = new CursorPageResult<>(List.of(), 20, null, false, 0);
+
+        when(pedidoRepository.buscar(filtro, cursor, 20, true)).thenReturn(pagina);
+
+        // Act
+        CursorPageResult<Pedido> resultado = buscarPedidosUseCase.execute(filtro, cursor.codificar(), 20, true);
+
+        // Assert
+        assertSame(pagina, resultado);
+        verify(pedidoRepository).buscar(filtro, cursor, 20, true);
+    }
+
+    @Test
+    @DisplayName("Debe buscar la primera página cuando el cursor está vacío y acotar el tamaño")
+    void debeBuscarPrimeraPaginaConCursorVacio() {
+        // Arrange
+        FiltroPedidos filtro = new FiltroPedidos();
+        when(pedidoRepository.buscar(eq(filtro), isNull(), anyInt(), anyBoolean()))
+            .thenReturn(new CursorPageResult<>(List.of(), 500, null, false, 0));
+
+        // Act
+        buscarPedidosUseCase.execute(filtro, "", 10_000, false);
+
+        // Assert
+        verify(pedidoRepository).buscar(filtro, null, 500, false);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango de fechas invertido")
+    void debeRechazarRangoDeFechasInvertido() {
+        // Arrange
+        FiltroPedidos filtro = new FiltroPedidos();
+        filtro.setDesde(LocalDateTime.of(2024, 5, 1, 0, 0));
+        filtro.setHasta(LocalDateTime.of(2024, 4, 1, 0, 0));
+
+        // Act & Assert
+        assertThrows(ParametroInvalidoException.class,
+            () -> buscarPedidosUseCase.execute(filtro, null, 20, false));
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango de peso invertido")
+    void debeRechazarRangoDePesoInvertido() {
+        // Arrange
+        FiltroPedidos filtro = new FiltroPedidos();
+        filtro.setPesoMinimoKg(new BigDecimal("900"));
+        filtro.setPesoMaximoKg(new BigDecimal("100"));
+
+        // Act & Assert
+        assertThrows(ParametroInvalidoException.class,
+            () -> buscarPedidosUseCase.execute(filtro, null, 20, false));
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un cursor que no corresponde a pedidos")
+    void debeRechazarCursorInvalido() {
+        // Act & Assert
+        assertThrows(CursorInvalidoException.class,
+            () -> buscarPedidosUseCase.execute(new FiltroPedidos(), "%%%", 20, false));
+    }
+}
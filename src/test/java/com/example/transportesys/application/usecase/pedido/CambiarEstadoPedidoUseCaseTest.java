@@ -1,9 +1,14 @@
 package com.example.transportesys.application.usecase.pedido;
 
 import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.enums.TipoEvento;
 import com.example.transportesys.domain.exception.DomainException;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
+import com.example.transportesys.domain.model.CambioEstadoPedido;
 import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.PedidoRepository;
 import com.example.transportesys.domain.valueobject.Peso;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +31,15 @@ class CambiarEstadoPedidoUseCaseTest {
     @Mock
     private PedidoRepository pedidoRepository;
 
+    @Mock
+    private ConteoPedidosRepository conteoPedidosRepository;
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private CapacidadVehiculosRepository capacidadVehiculosRepository;
+
     @InjectMocks
     private CambiarEstadoPedidoUseCase cambiarEstadoPedidoUseCase;
 
@@ -45,16 +59,24 @@ class CambiarEstadoPedidoUseCaseTest {
             "Destino"
         );
 
-        when(pedidoRepository.findById(pedidoId)).thenReturn(Optional.of(pedido));
-        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.transicionarEstado(pedidoId, EstadoPedido.EN_PROGRESO)).thenAnswer(invocation -> {
+            EstadoPedido anterior = pedido.getEstado();
+            pedido.cambiarEstado(EstadoPedido.EN_PROGRESO);
+            return Optional.of(new CambioEstadoPedido(pedidoId, anterior, EstadoPedido.EN_PROGRESO, pedido));
+        });
 
         // Act
         Pedido resultado = cambiarEstadoPedidoUseCase.execute(pedidoId, EstadoPedido.EN_PROGRESO);
 
         // Assert
         assertNotNull(resultado);
+        verify(capacidadVehiculosRepository, never()).liberar(any(), any());
         assertEquals(EstadoPedido.EN_PROGRESO, resultado.getEstado());
-        verify(pedidoRepository, times(1)).save(pedido);
+        verify(conteoPedidosRepository).registrarTransicion(EstadoPedido.PENDIENTE, EstadoPedido.EN_PROGRESO);
+        verify(eventoOutboxRepository).registrar(argThat(evento -> evento.getTipo() == TipoEvento.PEDIDO_ESTADO_CAMBIADO
+            && evento.getDatos().get("estadoAnterior").equals("PENDIENTE")));
+        verify(pedidoRepository, never()).findById(any());
+        verify(pedidoRepository, never()).save(any());
     }
 
     @Test
@@ -73,15 +95,19 @@ class CambiarEstadoPedidoUseCaseTest {
             "Destino"
         );
 
-        when(pedidoRepository.findById(pedidoId)).thenReturn(Optional.of(pedido));
-        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.transicionarEstado(pedidoId, EstadoPedido.CANCELADO)).thenAnswer(invocation -> {
+            EstadoPedido anterior = pedido.getEstado();
+            pedido.cambiarEstado(EstadoPedido.CANCELADO);
+            return Optional.of(new CambioEstadoPedido(pedidoId, anterior, EstadoPedido.CANCELADO, pedido));
+        });
 
         // Act
         Pedido resultado = cambiarEstadoPedidoUseCase.execute(pedidoId, EstadoPedido.CANCELADO);
 
         // Assert
         assertEquals(EstadoPedido.CANCELADO, resultado.getEstado());
-        verify(pedidoRepository, times(1)).save(pedido);
+        verify(pedidoRepository, never()).findById(any());
+        verify(pedidoRepository, never()).save(any());
     }
 
     @Test
@@ -100,15 +126,20 @@ class CambiarEstadoPedidoUseCaseTest {
             "Destino"
         );
 
-        when(pedidoRepository.findById(pedidoId)).thenReturn(Optional.of(pedido));
-        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pedidoRepository.transicionarEstado(pedidoId, EstadoPedido.COMPLETADO)).thenAnswer(invocation -> {
+            EstadoPedido anterior = pedido.getEstado();
+            pedido.cambiarEstado(EstadoPedido.COMPLETADO);
+            return Optional.of(new CambioEstadoPedido(pedidoId, anterior, EstadoPedido.COMPLETADO, pedido));
+        });
 
         // Act
         Pedido resultado = cambiarEstadoPedidoUseCase.execute(pedidoId, EstadoPedido.COMPLETADO);
 
         // Assert
         assertEquals(EstadoPedido.COMPLETADO, resultado.getEstado());
-        verify(pedidoRepository, times(1)).save(pedido);
+        verify(capacidadVehiculosRepository).liberar(1L, new Peso(500.0));
+        verify(pedidoRepository, never()).findById(any());
+        verify(pedidoRepository, never()).save(any());
     }
 
     @Test
@@ -229,4 +260,33 @@ class CambiarEstadoPedidoUseCaseTest {
 
         verify(pedidoRepository, never()).save(any());
     }
+
+    @Test
+    @DisplayName("Debe lanzar excepción de conflicto cuando el pedido cambió de estado concurrentemente")
+    void debeLanzarExcepcionCuandoPedidoCambioConcurrentemente() {
+        // Arrange
+        Long pedidoId = 1L;
+        Pedido pedido = new Pedido(
+            pedidoId,
+            "Descripción",
+            new Peso(500.0),
+            1L,
+            1L,
+            EstadoPedido.PENDIENTE,
+            "Origen",
+            "Destino"
+        );
+
+        // La sentencia condicional no actualiza nada, pero la lectura posterior ve un estado válido
+        when(pedidoRepository.transicionarEstado(pedidoId, EstadoPedido.EN_PROGRESO)).thenReturn(Optional.empty());
+        when(pedidoRepository.findById(pedidoId)).thenReturn(Optional.of(pedido));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> {
+            cambiarEstadoPedidoUseCase.execute(pedidoId, EstadoPedido.EN_PROGRESO);
+        });
+
+        verify(pedidoRepository, never()).save(any());
+        verifyNoInteractions(conteoPedidosRepository, eventoOutboxRepository);
+    }
 }
@@ -1,14 +1,19 @@
 package com.example.transportesys.application.usecase.pedido;
 
 import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.enums.TipoEvento;
 import com.example.transportesys.domain.exception.CapacidadInsuficienteException;
 import com.example.transportesys.domain.exception.ConductorInactivoException;
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
 import com.example.transportesys.domain.exception.PesoInvalidoException;
 import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Conductor;
 import com.example.transportesys.domain.model.Pedido;
 import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
 import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.PedidoRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.specification.ConductorEstaActivoSpec;
@@ -30,6 +35,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +45,12 @@ class CrearPedidoUseCaseTest {
     @Mock
     private PedidoRepository pedidoRepository;
 
+    @Mock
+    private ConteoPedidosRepository conteoPedidosRepository;
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
     @Mock
     private VehiculoRepository vehiculoRepository;
 
@@ -54,6 +66,9 @@ class CrearPedidoUseCaseTest {
     @Mock
     private ConductorEstaActivoSpec conductorActivoSpec;
 
+    @Mock
+    private CapacidadVehiculosRepository capacidadVehiculosRepository;
+
     @InjectMocks
     private CrearPedidoUseCase crearPedidoUseCase;
 
@@ -89,6 +104,8 @@ class CrearPedidoUseCaseTest {
         when(vehiculoActivoSpec.isSatisfiedBy(any(Vehiculo.class))).thenReturn(true);
         when(conductorActivoSpec.isSatisfiedBy(any(Conductor.class))).thenReturn(true);
         when(capacidadSpec.isSatisfiedBy(any(Vehiculo.class), any(Peso.class))).thenReturn(true);
+        when(capacidadVehiculosRepository.reservar(eq(vehiculoId), any(Capacidad.class), any(Peso.class), any()))
+            .thenReturn(true);
         when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> {
             Pedido p = invocation.getArgument(0);
             return new Pedido(1L, p.getDescripcion(), p.getPeso(), p.getVehiculoId(),
@@ -113,6 +130,9 @@ class CrearPedidoUseCaseTest {
         verify(vehiculoRepository, times(1)).findById(vehiculoId);
         verify(conductorRepository, times(1)).findById(conductorId);
         verify(pedidoRepository, times(1)).save(any(Pedido.class));
+        verify(conteoPedidosRepository).sumar(EstadoPedido.PENDIENTE, 1);
+        verify(eventoOutboxRepository).registrar(argThat(evento -> evento.getTipo() == TipoEvento.PEDIDO_CREADO
+            && evento.getAgregadoId().equals(1L)));
     }
 
     @Test
@@ -310,6 +330,8 @@ class CrearPedidoUseCaseTest {
         when(vehiculoActivoSpec.isSatisfiedBy(any(Vehiculo.class))).thenReturn(true);
         when(conductorActivoSpec.isSatisfiedBy(any(Conductor.class))).thenReturn(true);
         when(capacidadSpec.isSatisfiedBy(any(Vehiculo.class), any(Peso.class))).thenReturn(true);
+        when(capacidadVehiculosRepository.reservar(eq(vehiculoId), any(Capacidad.class), any(Peso.class), any()))
+            .thenReturn(true);
         when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> {
             Pedido p = invocation.getArgument(0);
             return new Pedido(1L, p.getDescripcion(), p.getPeso(), p.getVehiculoId(),
@@ -324,4 +346,61 @@ class CrearPedidoUseCaseTest {
         assertNotNull(resultado);
         assertEquals(0.0, resultado.getPeso().getValorEnKg().doubleValue());
     }
+
+    @Test
+    @DisplayName("Debe crear un pedido pendiente sin asignar cuando no se informan vehículo ni conductor")
+    void debeCrearPedidoSinAsignar() {
+        // Arrange
+        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> {
+            Pedido p = invocation.getArgument(0);
+            return new Pedido(1L, p.getDescripcion(), p.getPeso(), p.getVehiculoId(),
+                             p.getConductorId(), p.getEstado(), p.getDireccionOrigen(), p.getDireccionDestino());
+        });
+
+        // Act
+        Pedido resultado = crearPedidoUseCase.execute("Envío a despachar", 250.0, null,
+                                                      null, "Origen", "Destino");
+
+        // Assert
+        assertEquals(EstadoPedido.PENDIENTE, resultado.getEstado());
+        assertNull(resultado.getVehiculoId());
+        assertNull(resultado.getConductorId());
+        verify(vehiculoRepository, never()).findById(any());
+        verify(conductorRepository, never()).findById(any());
+        verify(conteoPedidosRepository).sumar(EstadoPedido.PENDIENTE, 1);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando se informa el vehículo sin el conductor")
+    void debeLanzarExcepcionCuandoFaltaConductor() {
+        // Act & Assert
+        assertThrows(ParametroInvalidoException.class, () ->
+            crearPedidoUseCase.execute("Descripción", 100.0, 1L, null, "Origen", "Destino"));
+        verify(pedidoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando el pedido no cabe junto con la carga ya comprometida del vehículo")
+    void debeLanzarExcepcionCuandoCapacidadRestanteInsuficiente() {
+        // Arrange
+        Long vehiculoId = 1L;
+        Long conductorId = 1L;
+        Vehiculo vehiculo = new Vehiculo(vehiculoId, new Placa("ABC-123"), new Capacidad(1000.0), true, conductorId);
+        Conductor conductor = new Conductor(conductorId, "Juan Pérez", new LicenciaConducir("LIC123456"), true, new HashSet<>());
+
+        when(vehiculoRepository.findById(vehiculoId)).thenReturn(Optional.of(vehiculo));
+        when(conductorRepository.findById(conductorId)).thenReturn(Optional.of(conductor));
+        when(vehiculoActivoSpec.isSatisfiedBy(any(Vehiculo.class))).thenReturn(true);
+        when(conductorActivoSpec.isSatisfiedBy(any(Conductor.class))).thenReturn(true);
+        when(capacidadSpec.isSatisfiedBy(any(Vehiculo.class), any(Peso.class))).thenReturn(true);
+        when(capacidadVehiculosRepository.reservar(eq(vehiculoId), any(Capacidad.class), any(Peso.class), any()))
+            .thenReturn(false);
+        when(capacidadVehiculosRepository.obtenerComprometido(vehiculoId)).thenReturn(Optional.of(new Peso(800.0)));
+
+        // Act & Assert
+        CapacidadInsuficienteException exception = assertThrows(CapacidadInsuficienteException.class, () ->
+            crearPedidoUseCase.execute("Descripción", 300.0, vehiculoId, conductorId, "Origen", "Destino"));
+        assertTrue(exception.getMessage().contains("800"));
+        verify(pedidoRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,133 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
+import com.example.transportesys.domain.model.Conductor;
+import com.example.transportesys.domain.model.Pedido;
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import com.example.transportesys.domain.repository.VehiculoRepository;
+import com.example.transportesys.domain.specification.ConductorEstaActivoSpec;
+import com.example.transportesys.domain.specification.VehiculoEstaActivoSpec;
+import com.example.transportesys.domain.specification.VehiculoTieneCapacidadSuficienteSpec;
+import com.example.transportesys.domain.valueobject.Capacidad;
+import com.example.transportesys.domain.valueobject.LicenciaConducir;
+import com.example.transportesys.domain.valueobject.Peso;
+import com.example.transportesys.domain.valueobject.Placa;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para CrearPedidosLoteUseCase")
+class CrearPedidosLoteUseCaseTest {
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @Mock
+    private ConteoPedidosRepository conteoPedidosRepository;
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private VehiculoRepository vehiculoRepository;
+
+    @Mock
+    private ConductorRepository conductorRepository;
+
+    @Mock
+    private VehiculoTieneCapacidadSuficienteSpec capacidadSpec;
+
+    @Mock
+    private VehiculoEstaActivoSpec vehiculoActivoSpec;
+
+    @Mock
+    private ConductorEstaActivoSpec conductorActivoSpec;
+
+    @Mock
+    private CapacidadVehiculosRepository capacidadVehiculosRepository;
+
+    @InjectMocks
+    private CrearPedidosLoteUseCase crearPedidosLoteUseCase;
+
+    @Test
+    @DisplayName("Debe crear los ítems válidos y reportar los inválidos sin abortar el lote")
+    void debeCrearValidosYReportarInvalidos() {
+        // Arrange
+        Vehiculo vehiculo = new Vehiculo(1L, new Placa("ABC-123"), new Capacidad(1000.0), true, 1L);
+        Conductor conductor = new Conductor(1L, "Juan Pérez", new LicenciaConducir("LIC123456"), true, new HashSet<>());
+
+        List<CrearPedidosLoteUseCase.ItemPedido> items = List.of(
+            new CrearPedidosLoteUseCase.ItemPedido("Envío 1", 100.0, 1L, 1L, "Origen", "Destino"),
+            new CrearPedidosLoteUseCase.ItemPedido("Envío 2", 200.0, 99L, 1L, "Origen", "Destino"),
+            new CrearPedidosLoteUseCase.ItemPedido("Envío 3", 300.0, 1L, 1L, "Origen", "Destino")
+        );
+
+        when(vehiculoRepository.findAllByIds(Set.of(1L, 99L))).thenReturn(List.of(vehiculo));
+        when(conductorRepository.findAllByIds(Set.of(1L))).thenReturn(List.of(conductor));
+        when(vehiculoActivoSpec.isSatisfiedBy(any(Vehiculo.class))).thenReturn(true);
+        when(conductorActivoSpec.isSatisfiedBy(any(Conductor.class))).thenReturn(true);
+        when(capacidadSpec.isSatisfiedBy(any(Vehiculo.class), any(Peso.class))).thenReturn(true);
+        when(capacidadVehiculosRepository.reservar(eq(1L), any(Capacidad.class), any(Peso.class), any())).thenReturn(true);
+        when(pedidoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Pedido> pedidos = new ArrayList<>(invocation.getArgument(0));
+            for (int i = 0; i < pedidos.size(); i++) {
+                pedidos.get(i).setId(10L + i);
+            }
+            return pedidos;
+        });
+
+        // Act
+        List<CrearPedidosLoteUseCase.ResultadoItem> resultados = crearPedidosLoteUseCase.execute(items);
+
+        // Assert
+        assertEquals(3, resultados.size());
+        assertTrue(resultados.get(0).isCreado());
+        assertEquals(10L, resultados.get(0).getPedidoId());
+        assertFalse(resultados.get(1).isCreado());
+        assertTrue(resultados.get(1).getError().contains("99"));
+        assertTrue(resultados.get(2).isCreado());
+        assertEquals(11L, resultados.get(2).getPedidoId());
+
+        verify(vehiculoRepository, times(1)).findAllByIds(any());
+        verify(conductorRepository, times(1)).findAllByIds(any());
+        verify(pedidoRepository, times(1)).saveAll(anyList());
+        verify(conteoPedidosRepository).sumar(EstadoPedido.PENDIENTE, 2);
+        verify(vehiculoRepository, never()).findById(any());
+        verify(conductorRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando el lote supera el máximo permitido")
+    void debeLanzarExcepcionCuandoLoteSuperaMaximo() {
+        // Arrange
+        List<CrearPedidosLoteUseCase.ItemPedido> items = new ArrayList<>();
+        for (int i = 0; i <= CrearPedidosLoteUseCase.MAXIMO_ITEMS; i++) {
+            items.add(new CrearPedidosLoteUseCase.ItemPedido("Envío", 1.0, 1L, 1L, null, null));
+        }
+
+        // Act & Assert
+        assertThrows(ParametroInvalidoException.class, () -> crearPedidosLoteUseCase.execute(items));
+        verify(pedidoRepository, never()).saveAll(anyList());
+    }
+}
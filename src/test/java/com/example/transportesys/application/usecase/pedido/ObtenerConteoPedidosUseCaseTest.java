@@ -0,0 +1,61 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para ObtenerConteoPedidosUseCase")
+class ObtenerConteoPedidosUseCaseTest {
+
+    @Mock
+    private ConteoPedidosRepository conteoPedidosRepository;
+
+    @Mock
+    private ReconciliarConteoPedidosUseCase reconciliarConteoPedidosUseCase;
+
+    @InjectMocks
+    private ObtenerConteoPedidosUseCase obtenerConteoPedidosUseCase;
+
+    @Test
+    @DisplayName("Debe leer los contadores sin reconciliar cuando ya están inicializados")
+    void debeLeerContadoresSinReconciliar() {
+        // Arrange
+        when(conteoPedidosRepository.estaInicializado()).thenReturn(true);
+        when(conteoPedidosRepository.obtenerConteos())
+            .thenReturn(Map.of(EstadoPedido.PENDIENTE, 4L, EstadoPedido.COMPLETADO, 7L));
+
+        // Act
+        Map<EstadoPedido, Long> conteos = obtenerConteoPedidosUseCase.execute();
+
+        // Assert
+        assertEquals(4L, conteos.get(EstadoPedido.PENDIENTE));
+        assertEquals(7L, conteos.get(EstadoPedido.COMPLETADO));
+        verify(reconciliarConteoPedidosUseCase, never()).execute();
+    }
+
+    @Test
+    @DisplayName("Debe reconciliar antes de leer cuando los contadores no están inicializados")
+    void debeReconciliarCuandoNoEstanInicializados() {
+        // Arrange
+        when(conteoPedidosRepository.estaInicializado()).thenReturn(false);
+        when(conteoPedidosRepository.obtenerConteos()).thenReturn(Map.of(EstadoPedido.PENDIENTE, 2L));
+
+        // Act
+        Map<EstadoPedido, Long> conteos = obtenerConteoPedidosUseCase.execute();
+
+        // Assert
+        assertEquals(2L, conteos.get(EstadoPedido.PENDIENTE));
+        verify(reconciliarConteoPedidosUseCase, times(1)).execute();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.transportesys.application.usecase.pedido;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import com.example.transportesys.domain.exception.DomainException;
+import com.example.transportesys.domain.exception.ParametroInvalidoException;
+import com.example.transportesys.domain.model.CambioEstadoPedido;
+import com.example.transportesys.domain.repository.CapacidadVehiculosRepository;
+import com.example.transportesys.domain.repository.ConteoPedidosRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
+import com.example.transportesys.domain.repository.PedidoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para TransicionarEstadoPedidosUseCase")
+class TransicionarEstadoPedidosUseCaseTest {
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @Mock
+    private ConteoPedidosRepository conteoPedidosRepository;
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private CapacidadVehiculosRepository capacidadVehiculosRepository;
+
+    @InjectMocks
+    private TransicionarEstadoPedidosUseCase transicionarEstadoPedidosUseCase;
+
+    @Test
+    @DisplayName("Debe reportar los pedidos actualizados y no actualizados en el orden recibido")
+    void debeReportarActualizadosYNoActualizados() {
+        // Arrange
+        List<Long> ids = Arrays.asList(3L, 1L, 2L, 1L, null);
+        when(pedidoRepository.transicionarEstado(Set.of(1L, 2L, 3L), EstadoPedido.COMPLETADO))
+            .thenReturn(List.of(
+                new CambioEstadoPedido(1L, EstadoPedido.EN_PROGRESO, EstadoPedido.COMPLETADO, null),
+                new CambioEstadoPedido(3L, EstadoPedido.EN_PROGRESO, EstadoPedido.COMPLETADO, null)
+            ));
+
+        // Act
+        TransicionarEstadoPedidosUseCase.ResultadoTransicion resultado =
+            transicionarEstadoPedidosUseCase.execute(ids, EstadoPedido.COMPLETADO);
+
+        // Assert
+        assertEquals(EstadoPedido.COMPLETADO, resultado.getEstado());
+        assertEquals(List.of(3L, 1L), resultado.getActualizados());
+        assertEquals(List.of(2L), resultado.getNoActualizados());
+        verify(pedidoRepository, times(1)).transicionarEstado(anyCollection(), eq(EstadoPedido.COMPLETADO));
+        verify(conteoPedidosRepository, times(2)).registrarTransicion(EstadoPedido.EN_PROGRESO, EstadoPedido.COMPLETADO);
+        verify(eventoOutboxRepository).registrarTodos(argThat(eventos -> eventos.size() == 2));
+        verify(pedidoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando el estado es nulo")
+    void debeLanzarExcepcionCuandoEstadoEsNulo() {
+        // Act & Assert
+        assertThrows(DomainException.class, () -> {
+            transicionarEstadoPedidosUseCase.execute(List.of(1L), null);
+        });
+
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando se superan los IDs permitidos")
+    void debeLanzarExcepcionCuandoSuperaMaximoIds() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i <= TransicionarEstadoPedidosUseCase.MAXIMO_IDS; i++) {
+            ids.add(i);
+        }
+
+        // Act & Assert
+        assertThrows(ParametroInvalidoException.class, () -> {
+            transicionarEstadoPedidosUseCase.execute(ids, EstadoPedido.CANCELADO);
+        });
+
+        verifyNoInteractions(pedidoRepository);
+    }
+}
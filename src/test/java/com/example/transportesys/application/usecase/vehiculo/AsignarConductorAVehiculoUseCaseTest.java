@@ -6,6 +6,8 @@ import com.example.transportesys.domain.exception.ResourceNotFoundException;
 import com.example.transportesys.domain.model.Conductor;
 import com.example.transportesys.domain.model.Vehiculo;
 import com.example.transportesys.domain.repository.ConductorRepository;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
+import com.example.transportesys.domain.repository.EventoOutboxRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.specification.ConductorPuedeAsignarVehiculoSpec;
 import com.example.transportesys.domain.valueobject.Capacidad;
@@ -37,6 +39,12 @@ class AsignarConductorAVehiculoUseCaseTest {
     @Mock
     private ConductorRepository conductorRepository;
 
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private DisponibilidadFlotaRepository disponibilidadFlotaRepository;
+
     @Mock
     private ConductorPuedeAsignarVehiculoSpec conductorPuedeAsignarVehiculoSpec;
 
@@ -67,10 +75,8 @@ class AsignarConductorAVehiculoUseCaseTest {
         );
 
         when(vehiculoRepository.findById(vehiculoId)).thenReturn(Optional.of(vehiculo));
-        when(conductorRepository.findById(conductorId)).thenReturn(Optional.of(conductor));
+        when(conductorRepository.findByIdForUpdate(conductorId)).thenReturn(Optional.of(conductor));
         lenient().when(conductorPuedeAsignarVehiculoSpec.isSatisfiedBy(conductor)).thenReturn(true);
-        when(vehiculoRepository.save(any(Vehiculo.class))).thenReturn(vehiculo);
-        when(conductorRepository.save(any(Conductor.class))).thenReturn(conductor);
 
         // Act
         Vehiculo resultado = asignarConductorAVehiculoUseCase.execute(vehiculoId, conductorId);
@@ -78,8 +84,10 @@ class AsignarConductorAVehiculoUseCaseTest {
         // Assert
         assertNotNull(resultado);
         assertEquals(conductorId, resultado.getConductorId());
-        verify(vehiculoRepository).save(any(Vehiculo.class));
-        verify(conductorRepository).save(any(Conductor.class));
+        verify(vehiculoRepository).actualizarConductor(vehiculo);
+        verify(disponibilidadFlotaRepository).registrar(vehiculo);
+        verify(vehiculoRepository, never()).save(any());
+        verify(conductorRepository, never()).save(any());
     }
 
     @Test
@@ -96,8 +104,8 @@ class AsignarConductorAVehiculoUseCaseTest {
             asignarConductorAVehiculoUseCase.execute(vehiculoId, conductorId);
         });
 
-        verify(conductorRepository, never()).findById(any());
-        verify(vehiculoRepository, never()).save(any());
+        verify(conductorRepository, never()).findByIdForUpdate(any());
+        verify(vehiculoRepository, never()).actualizarConductor(any());
     }
 
     @Test
@@ -116,15 +124,14 @@ class AsignarConductorAVehiculoUseCaseTest {
         );
 
         when(vehiculoRepository.findById(vehiculoId)).thenReturn(Optional.of(vehiculo));
-        when(conductorRepository.findById(conductorId)).thenReturn(Optional.empty());
+        when(conductorRepository.findByIdForUpdate(conductorId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             asignarConductorAVehiculoUseCase.execute(vehiculoId, conductorId);
         });
 
-        verify(vehiculoRepository, never()).save(any());
-        verify(conductorRepository, never()).save(any());
+        verify(vehiculoRepository, never()).actualizarConductor(any());
     }
 
     @Test
@@ -151,7 +158,7 @@ class AsignarConductorAVehiculoUseCaseTest {
         );
 
         when(vehiculoRepository.findById(vehiculoId)).thenReturn(Optional.of(vehiculo));
-        when(conductorRepository.findById(conductorId)).thenReturn(Optional.of(conductor));
+        when(conductorRepository.findByIdForUpdate(conductorId)).thenReturn(Optional.of(conductor));
 
         // Act & Assert
         assertThrows(DomainException.class, () -> {
@@ -188,7 +195,7 @@ class AsignarConductorAVehiculoUseCaseTest {
         );
 
         when(vehiculoRepository.findById(vehiculoId)).thenReturn(Optional.of(vehiculo));
-        when(conductorRepository.findById(conductorId)).thenReturn(Optional.of(conductor));
+        when(conductorRepository.findByIdForUpdate(conductorId)).thenReturn(Optional.of(conductor));
         lenient().when(conductorPuedeAsignarVehiculoSpec.isSatisfiedBy(conductor)).thenReturn(false);
 
         // Act & Assert
@@ -196,7 +203,6 @@ class AsignarConductorAVehiculoUseCaseTest {
             asignarConductorAVehiculoUseCase.execute(vehiculoId, conductorId);
         });
 
-        verify(vehiculoRepository, never()).save(any());
-        verify(conductorRepository, never()).save(any());
+        verify(vehiculoRepository, never()).actualizarConductor(any());
     }
 }
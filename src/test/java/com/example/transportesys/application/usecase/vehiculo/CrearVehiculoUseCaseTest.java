@@ -4,6 +4,7 @@ import com.example.transportesys.domain.exception.CapacidadInvalidaException;
 import com.example.transportesys.domain.exception.PlacaInvalidaException;
 import com.example.transportesys.domain.exception.VehiculoDuplicadoException;
 import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.repository.DisponibilidadFlotaRepository;
 import com.example.transportesys.domain.repository.VehiculoRepository;
 import com.example.transportesys.domain.valueobject.Capacidad;
 import com.example.transportesys.domain.valueobject.Placa;
@@ -27,6 +28,9 @@ class CrearVehiculoUseCaseTest {
     @Mock
     private VehiculoRepository vehiculoRepository;
 
+    @Mock
+    private DisponibilidadFlotaRepository disponibilidadFlotaRepository;
+
     @InjectMocks
     private CrearVehiculoUseCase crearVehiculoUseCase;
 
@@ -55,6 +59,7 @@ class CrearVehiculoUseCaseTest {
 
         verify(vehiculoRepository, times(1)).existsByPlaca(placaStr);
         verify(vehiculoRepository, times(1)).save(any(Vehiculo.class));
+        verify(disponibilidadFlotaRepository).registrar(resultado);
     }
 
     @Test
@@ -286,4 +286,17 @@ class PedidoTest {
         // Assert
         assertFalse(resultado);
     }
+
+    @Test
+    @DisplayName("Debe lanzar excepción al pasar a EN_PROGRESO sin vehículo asignado")
+    void debeLanzarExcepcionEnProgresoSinAsignacion() {
+        // Arrange
+        Pedido pedido = new Pedido(1L, "Descripción", new Peso(500.0));
+
+        // Act & Assert
+        assertThrows(DomainException.class, () -> {
+            pedido.cambiarEstado(EstadoPedido.EN_PROGRESO);
+        });
+        assertEquals(EstadoPedido.PENDIENTE, pedido.getEstado());
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.transportesys.domain.valueobject;
+
+import com.example.transportesys.domain.exception.CursorInvalidoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para Value Object Cursor")
+class CursorTest {
+
+    @Test
+    @DisplayName("Debe codificar y decodificar un cursor por fecha de creación e ID")
+    void debeCodificarYDecodificarCursorPorFechaEId() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2024, 5, 10, 14, 30, 15, 123456000);
+        Cursor original = Cursor.porFechaCreacionEId(fecha, 42L);
+
+        // Act
+        Cursor decodificado = Cursor.decodificar(original.codificar());
+
+        // Assert
+        assertEquals(original, decodificado);
+        assertTrue(decodificado.tieneFechaCreacion());
+        assertEquals(fecha, decodificado.getFechaCreacion());
+        assertEquals(42L, decodificado.getId());
+    }
+
+    @Test
+    @DisplayName("Debe codificar y decodificar un cursor solo por ID")
+    void debeCodificarYDecodificarCursorPorId() {
+        // Arrange
+        Cursor original = Cursor.porId(1500L);
+
+        // Act
+        Cursor decodificado = Cursor.decodificar(original.codificar());
+
+        // Assert
+        assertEquals(original, decodificado);
+        assertFalse(decodificado.tieneFechaCreacion());
+        assertEquals(1500L, decodificado.getId());
+    }
+
+    @Test
+    @DisplayName("El cursor codificado debe ser seguro para URLs")
+    void cursorCodificadoDebeSerSeguroParaUrl() {
+        // Arrange
+        Cursor cursor = Cursor.porFechaCreacionEId(LocalDateTime.of(2024, 1, 1, 0, 0), 999_999L);
+
+        // Act
+        String valor = cursor.codificar();
+
+        // Assert
+        assertTrue(valor.matches("^[A-Za-z0-9_-]+$"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   ", "%%%", "bm9lc3VubnVtZXJv"})
+    @DisplayName("Debe rechazar cursores inválidos")
+    void debeRechazarCursoresInvalidos(String valor) {
+        // Act & Assert
+        assertThrows(CursorInvalidoException.class, () -> Cursor.decodificar(valor));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un cursor sin ID")
+    void debeRechazarCursorSinId() {
+        // Act & Assert
+        assertThrows(CursorInvalidoException.class, () -> Cursor.porId(null));
+    }
+}
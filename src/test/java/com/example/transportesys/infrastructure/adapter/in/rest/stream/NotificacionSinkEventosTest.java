@@ -0,0 +1,75 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.stream;
+
+import com.example.transportesys.domain.enums.TipoAgregado;
+import com.example.transportesys.domain.enums.TipoEvento;
+import com.example.transportesys.infrastructure.outbox.EventoOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para NotificacionSinkEventos")
+class NotificacionSinkEventosTest {
+
+    private JsonMapper jsonMapper;
+    private JdbcTemplate jdbcTemplate;
+    private NotificacionSinkEventos sink;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        sink = new NotificacionSinkEventos(jdbcTemplate, jsonMapper);
+    }
+
+    @Test
+    @DisplayName("Debe notificar los cambios de pedidos y reconstruir el mismo evento al recibirlos")
+    void debeNotificarYDecodificarEvento() {
+        // Arrange
+        EventoOutbox evento = evento(TipoAgregado.PEDIDO, TipoEvento.PEDIDO_ESTADO_CAMBIADO,
+            "{\"estado\":\"EN_PROGRESO\",\"conductorId\":7}");
+
+        // Act
+        sink.publicar(evento);
+        EventoOutbox recibido = NotificacionSinkEventos.decodificar(jsonMapper,
+            NotificacionSinkEventos.codificar(jsonMapper, evento));
+
+        // Assert
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+            eq(NotificacionSinkEventos.CANAL), anyString());
+        assertEquals(evento.getId(), recibido.getId());
+        assertEquals(evento.getAgregadoId(), recibido.getAgregadoId());
+        assertEquals(evento.getTipoEvento(), recibido.getTipoEvento());
+        assertEquals(evento.getPayload(), recibido.getPayload());
+        assertEquals(evento.getFechaCreacion(), recibido.getFechaCreacion());
+    }
+
+    @Test
+    @DisplayName("Debe enviar sin payload los eventos que no entran en NOTIFY e ignorar los de otros agregados")
+    void debeOmitirPayloadGrandeYOtrosAgregados() {
+        // Arrange
+        EventoOutbox grande = evento(TipoAgregado.PEDIDO, TipoEvento.PEDIDO_CREADO,
+            "{\"descripcion\":\"" + "x".repeat(NotificacionSinkEventos.MAXIMO_BYTES) + "\"}");
+
+        // Act
+        sink.publicar(evento(TipoAgregado.VEHICULO, TipoEvento.VEHICULO_CONDUCTOR_ASIGNADO, "{}"));
+        String json = NotificacionSinkEventos.codificar(jsonMapper, grande);
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+        assertTrue(json.length() < NotificacionSinkEventos.MAXIMO_BYTES);
+        assertNull(NotificacionSinkEventos.decodificar(jsonMapper, json));
+    }
+
+    private static EventoOutbox evento(TipoAgregado tipoAgregado, TipoEvento tipoEvento, String payload) {
+        return new EventoOutbox(15L, tipoAgregado, 3L, tipoEvento, payload, LocalDateTime.of(2026, 1, 5, 10, 30));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.transportesys.infrastructure.adapter.in.rest.stream;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para SuscriptorStream")
+class SuscriptorStreamTest {
+
+    private final List<SuscriptorStream> cerrados = new ArrayList<>();
+
+    @Test
+    @DisplayName("Debe encolar solo los mensajes que cumplen el filtro")
+    void debeEncolarSoloMensajesQueCumplenFiltro() {
+        // Arrange
+        SuscriptorStream suscriptor = suscriptor(7L, EstadoPedido.EN_PROGRESO, 10);
+
+        // Act
+        int otroConductor = suscriptor.ofrecer(mensaje(1, 8L, EstadoPedido.EN_PROGRESO));
+        int otroEstado = suscriptor.ofrecer(mensaje(2, 7L, EstadoPedido.COMPLETADO));
+        int coincide = suscriptor.ofrecer(mensaje(3, 7L, EstadoPedido.EN_PROGRESO));
+
+        // Assert
+        assertEquals(0, otroConductor);
+        assertEquals(0, otroEstado);
+        assertEquals(0, coincide);
+        assertTrue(mensaje(3, 7L, EstadoPedido.EN_PROGRESO).coincideCon(7L, EstadoPedido.EN_PROGRESO));
+        assertFalse(mensaje(1, 8L, EstadoPedido.EN_PROGRESO).coincideCon(7L, null));
+        assertTrue(mensaje(1, 8L, EstadoPedido.EN_PROGRESO).coincideCon(null, null));
+    }
+
+    @Test
+    @DisplayName("Debe descartar los mensajes más antiguos cuando el buffer está lleno")
+    void debeDescartarMasAntiguosCuandoBufferLleno() {
+        // Arrange
+        SuscriptorStream suscriptor = suscriptor(null, null, 2);
+
+        // Act
+        int primero = suscriptor.ofrecer(mensaje(1, 1L, EstadoPedido.PENDIENTE));
+        int segundo = suscriptor.ofrecer(mensaje(2, 1L, EstadoPedido.PENDIENTE));
+        int tercero = suscriptor.ofrecer(mensaje(3, 1L, EstadoPedido.PENDIENTE));
+
+        // Assert
+        assertEquals(0, primero);
+        assertEquals(0, segundo);
+        assertEquals(1, tercero);
+    }
+
+    @Test
+    @DisplayName("Debe darse de baja una sola vez y dejar de aceptar mensajes")
+    void debeDarseDeBajaUnaSolaVez() {
+        // Arrange
+        SuscriptorStream suscriptor = suscriptor(null, null, 1);
+
+        // Act
+        suscriptor.cerrar(false);
+        suscriptor.cerrar(true);
+        suscriptor.ofrecer(mensaje(1, 1L, EstadoPedido.PENDIENTE));
+        int trasCerrar = suscriptor.ofrecer(mensaje(2, 1L, EstadoPedido.PENDIENTE));
+
+        // Assert
+        assertEquals(1, cerrados.size());
+        assertEquals(0, trasCerrar);
+    }
+
+    private SuscriptorStream suscriptor(Long conductorId, EstadoPedido estado, int capacidad) {
+        return new SuscriptorStream(new SseEmitter(), conductorId, estado, capacidad, 60_000, cerrados::add);
+    }
+
+    private MensajeStream mensaje(long secuencia, Long conductorId, EstadoPedido estado) {
+        return new MensajeStream(secuencia, "e-" + secuencia, "PEDIDO_ESTADO_CAMBIADO", conductorId, estado, "{}");
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.transportesys.infrastructure.adapter.out.memoria;
+
+import com.example.transportesys.domain.valueobject.Capacidad;
+import com.example.transportesys.domain.valueobject.Peso;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CapacidadVehiculosMemoriaAdapter")
+class CapacidadVehiculosMemoriaAdapterTest {
+
+    private static final Capacidad CAPACIDAD = new Capacidad(1000.0);
+
+    private CapacidadVehiculosMemoriaAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new CapacidadVehiculosMemoriaAdapter();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe admitir reservas concurrentes hasta llenar el vehículo sin superarlo")
+    void debeLlenarVehiculoConReservasConcurrentes() throws Exception {
+        // Arrange: 300 kg ya comprometidos, quedan 700 kg para pedidos de 7 kg
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Callable<Boolean>> reservas = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            reservas.add(() -> adapter.reservar(1L, CAPACIDAD, new Peso(7.0), () -> new Peso(300.0)));
+        }
+
+        // Act
+        int admitidas = 0;
+        try {
+            for (Future<Boolean> resultado : executor.invokeAll(reservas)) {
+                if (resultado.get()) {
+                    admitidas++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertEquals(100, admitidas);
+        assertEquals(1_000_000L, adapter.obtenerComprometido(1L).orElseThrow().enGramos());
+    }
+
+    @Test
+    @DisplayName("Debe devolver la reserva si la transacción se revierte y liberar solo al confirmar")
+    void debeAplicarSegunResultadoDeLaTransaccion() {
+        // Arrange
+        adapter.reservar(1L, CAPACIDAD, new Peso(100.0), () -> new Peso(0.0));
+
+        // Act: reserva revertida y liberación confirmada
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(adapter.reservar(1L, CAPACIDAD, new Peso(500.0), () -> new Peso(0.0)));
+        assertEquals(600_000L, adapter.obtenerComprometido(1L).orElseThrow().enGramos());
+        completar(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        TransactionSynchronizationManager.initSynchronization();
+        adapter.liberar(1L, new Peso(40.0));
+        assertEquals(100_000L, adapter.obtenerComprometido(1L).orElseThrow().enGramos());
+        completar(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertEquals(60_000L, adapter.obtenerComprometido(1L).orElseThrow().enGramos());
+    }
+
+    @Test
+    @DisplayName("Debe reconciliar con la base salvo los vehículos con cambios en curso")
+    void debeReconciliarSaltandoCambiosEnCurso() {
+        // Arrange
+        adapter.reservar(1L, CAPACIDAD, new Peso(100.0), () -> new Peso(0.0));
+        adapter.reservar(2L, CAPACIDAD, new Peso(100.0), () -> new Peso(0.0));
+        TransactionSynchronizationManager.initSynchronization();
+        adapter.reservar(2L, CAPACIDAD, new Peso(50.0), () -> new Peso(0.0));
+
+        // Act
+        int corregidos = adapter.reconciliar(() -> Map.of(1L, new Peso(250.0), 2L, new Peso(900.0)));
+        completar(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertEquals(1, corregidos);
+        assertEquals(250_000L, adapter.obtenerComprometido(1L).orElseThrow().enGramos());
+        assertEquals(150_000L, adapter.obtenerComprometido(2L).orElseThrow().enGramos());
+        assertTrue(adapter.obtenerComprometido(3L).isEmpty());
+    }
+
+    private static void completar(int status) {
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizaciones.forEach(sincronizacion -> sincronizacion.afterCompletion(status));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.transportesys.infrastructure.adapter.out.memoria;
+
+import com.example.transportesys.domain.enums.EstadoPedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ConteoPedidosMemoriaAdapter")
+class ConteoPedidosMemoriaAdapterTest {
+
+    private ConteoPedidosMemoriaAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new ConteoPedidosMemoriaAdapter();
+        adapter.reemplazar(() -> Map.of(EstadoPedido.PENDIENTE, 5L, EstadoPedido.COMPLETADO, 2L));
+    }
+
+    @Test
+    @DisplayName("Debe reemplazar los contadores con lo leído de la base de datos")
+    void debeReemplazarContadores() {
+        // Arrange
+        adapter.sumar(EstadoPedido.CANCELADO, 4);
+
+        // Act
+        adapter.reemplazar(() -> Map.of(EstadoPedido.PENDIENTE, 7L));
+
+        // Assert
+        assertEquals(Map.of(
+            EstadoPedido.PENDIENTE, 7L,
+            EstadoPedido.EN_PROGRESO, 0L,
+            EstadoPedido.COMPLETADO, 0L,
+            EstadoPedido.CANCELADO, 0L
+        ), adapter.obtenerConteos());
+        assertTrue(adapter.estaInicializado());
+    }
+
+    @Test
+    @DisplayName("Debe sumar sobre lo leído los deltas aplicados entre la lectura de la base y el reemplazo")
+    void debeConservarDeltasAplicadosDuranteLaRecarga() {
+        // Act: la consulta no ve la transición que confirma mientras corre
+        adapter.reemplazar(() -> {
+            adapter.registrarTransicion(EstadoPedido.PENDIENTE, EstadoPedido.EN_PROGRESO);
+            return Map.of(EstadoPedido.PENDIENTE, 5L, EstadoPedido.COMPLETADO, 2L);
+        });
+
+        // Assert
+        assertEquals(Map.of(
+            EstadoPedido.PENDIENTE, 4L,
+            EstadoPedido.EN_PROGRESO, 1L,
+            EstadoPedido.COMPLETADO, 2L,
+            EstadoPedido.CANCELADO, 0L
+        ), adapter.obtenerConteos());
+    }
+}
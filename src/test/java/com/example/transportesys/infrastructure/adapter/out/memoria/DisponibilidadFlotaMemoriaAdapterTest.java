@@ -0,0 +1,118 @@
+package com.example.transportesys.infrastructure.adapter.out.memoria;
+
+import com.example.transportesys.domain.model.Vehiculo;
+import com.example.transportesys.domain.valueobject.Capacidad;
+import com.example.transportesys.domain.valueobject.Peso;
+import com.example.transportesys.domain.valueobject.Placa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para DisponibilidadFlotaMemoriaAdapter")
+class DisponibilidadFlotaMemoriaAdapterTest {
+
+    private DisponibilidadFlotaMemoriaAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new DisponibilidadFlotaMemoriaAdapter();
+        adapter.reemplazar(() -> List.of(
+            vehiculo(1L, "AAA-111", 8000.0, null),
+            vehiculo(2L, "BBB-222", 3500.0, null),
+            vehiculo(3L, "CCC-333", 3200.0, null),
+            vehiculo(4L, "DDD-444", 1000.0, null),
+            vehiculo(5L, "EEE-555", 5000.0, 7L)
+        ));
+    }
+
+    @Test
+    @DisplayName("Debe retornar el vehículo libre de menor capacidad que alcanza, incluyendo capacidad exacta")
+    void debeRetornarMejorAjuste() {
+        // Act
+        Vehiculo resultado = adapter.buscarMejorAjuste(new Peso(3200.0)).orElseThrow();
+
+        // Assert
+        assertEquals(3L, resultado.getId());
+    }
+
+    @Test
+    @DisplayName("Debe retornar el vehículo de menor ID entre los que alcanzan")
+    void debeRetornarPrimerAjuste() {
+        // Act
+        Vehiculo resultado = adapter.buscarPrimerAjuste(new Peso(3201.0)).orElseThrow();
+
+        // Assert
+        assertEquals(1L, resultado.getId());
+    }
+
+    @Test
+    @DisplayName("Debe retornar todos los que alcanzan ordenados por capacidad, sin vehículos asignados")
+    void debeRetornarTodosLosQueCabenOrdenados() {
+        // Act
+        List<Vehiculo> resultado = adapter.buscarTodosLosQueCaben(new Peso(3000.0));
+
+        // Assert
+        assertEquals(List.of(3L, 2L, 1L), resultado.stream().map(Vehiculo::getId).toList());
+        assertTrue(adapter.buscarMejorAjuste(new Peso(9000.0)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe reflejar asignaciones, devoluciones y eliminaciones sin transacción activa")
+    void debeReflejarCambiosIncrementales() {
+        // Arrange
+        Vehiculo asignado = vehiculo(3L, "CCC-333", 3200.0, 9L);
+        Vehiculo devuelto = vehiculo(5L, "EEE-555", 5000.0, null);
+
+        // Act
+        adapter.registrar(asignado);
+        adapter.registrar(devuelto);
+        adapter.quitar(2L);
+
+        // Assert
+        assertEquals(List.of(5L, 1L),
+            adapter.buscarTodosLosQueCaben(new Peso(3200.0)).stream().map(Vehiculo::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Debe conservar los cambios aplicados entre la lectura de la base y el reemplazo del índice")
+    void debeConservarCambiosAplicadosDuranteLaRecarga() {
+        // Arrange: la lectura no ve la asignación del 3 ni la devolución del 5, que confirman durante la consulta
+        List<Vehiculo> leidos = List.of(
+            vehiculo(1L, "AAA-111", 8000.0, null),
+            vehiculo(3L, "CCC-333", 3200.0, null),
+            vehiculo(5L, "EEE-555", 5000.0, 7L)
+        );
+
+        // Act
+        int cargados = adapter.reemplazar(() -> {
+            adapter.registrar(vehiculo(3L, "CCC-333", 3200.0, 9L));
+            adapter.registrar(vehiculo(5L, "EEE-555", 5000.0, null));
+            return leidos;
+        });
+
+        // Assert
+        assertEquals(3, cargados);
+        assertEquals(List.of(5L, 1L),
+            adapter.buscarTodosLosQueCaben(new Peso(3000.0)).stream().map(Vehiculo::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Debe reemplazar el índice completo cuando no hubo cambios durante la recarga")
+    void debeReemplazarIndiceSinCambiosDuranteLaRecarga() {
+        // Act
+        adapter.reemplazar(() -> List.of(vehiculo(2L, "BBB-222", 3500.0, null)));
+        adapter.registrar(vehiculo(4L, "DDD-444", 1000.0, null));
+
+        // Assert
+        assertEquals(List.of(4L, 2L),
+            adapter.buscarTodosLosQueCaben(new Peso(0.0)).stream().map(Vehiculo::getId).toList());
+    }
+
+    private static Vehiculo vehiculo(Long id, String placa, double capacidadKg, Long conductorId) {
+        return new Vehiculo(id, new Placa(placa), new Capacidad(capacidadKg), true, conductorId);
+    }
+}
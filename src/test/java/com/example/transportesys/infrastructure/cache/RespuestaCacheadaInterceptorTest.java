@@ -0,0 +1,118 @@
+package com.example.transportesys.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para RespuestaCacheadaInterceptor")
+class RespuestaCacheadaInterceptorTest {
+
+    private VersionDatos versionDatos;
+    private SimpleMeterRegistry meterRegistry;
+    private ControllerDePrueba target;
+    private ControllerDePrueba controller;
+
+    @BeforeEach
+    void setUp() {
+        versionDatos = new VersionDatos();
+        meterRegistry = new SimpleMeterRegistry();
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        RespuestaCacheadaInterceptor interceptor = new RespuestaCacheadaInterceptor(
+            () -> jsonMapper, versionDatos, 1024 * 1024, 1024, Duration.ofMinutes(1));
+        interceptor.bindTo(meterRegistry);
+
+        target = new ControllerDePrueba();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(RespuestaCacheada.class), interceptor));
+        controller = (ControllerDePrueba) proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Debe servir los bytes guardados sin ejecutar el handler hasta que cambie la versión de sus datos")
+    void debeServirBytesHastaQueCambieLaVersion() {
+        // Arrange
+        target.datos = List.of("A", "B");
+        controller.listar("activos");
+        target.datos = List.of("C");
+
+        // Act
+        ResponseEntity<?> acierto = controller.listar("activos");
+        versionDatos.incrementar(ConjuntoDatos.CONDUCTORES);
+        ResponseEntity<?> otroConjunto = controller.listar("activos");
+        versionDatos.incrementar(ConjuntoDatos.VEHICULOS);
+        ResponseEntity<?> nuevaVersion = controller.listar("activos");
+
+        // Assert
+        assertEquals("[\"A\",\"B\"]", json(acierto));
+        assertEquals("[\"A\",\"B\"]", json(otroConjunto));
+        assertEquals("[\"C\"]", json(nuevaVersion));
+        assertEquals(2, target.llamadas);
+        assertEquals(2.0, meterRegistry.get(RespuestaCacheadaInterceptor.METRICA_CONSULTAS)
+            .tag("resultado", "acierto").counter().count());
+        assertEquals(2.0, meterRegistry.get(RespuestaCacheadaInterceptor.METRICA_CONSULTAS)
+            .tag("resultado", "fallo").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe guardar también la variante gzip solo cuando el JSON supera el mínimo")
+    void debeGuardarGzipSoloParaRespuestasGrandes() throws Exception {
+        // Arrange
+        List<String> muchos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            muchos.add("vehiculo-" + i);
+        }
+
+        // Act
+        target.datos = List.of("A");
+        ResponseEntity<?> chica = controller.listar("chica");
+        target.datos = muchos;
+        ResponseEntity<?> grande = controller.listar("grande");
+
+        // Assert
+        assertNull(cuerpo(chica).getGzip());
+        RespuestaSerializada serializada = cuerpo(grande);
+        assertNotNull(serializada.getGzip());
+        assertTrue(serializada.getGzip().length < serializada.getJson().length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(serializada.getGzip()))) {
+            assertArrayEquals(serializada.getJson(), gzip.readAllBytes());
+        }
+    }
+
+    private static RespuestaSerializada cuerpo(ResponseEntity<?> respuesta) {
+        return (RespuestaSerializada) respuesta.getBody();
+    }
+
+    private static String json(ResponseEntity<?> respuesta) {
+        return new String(cuerpo(respuesta).getJson(), StandardCharsets.UTF_8);
+    }
+
+    public static class ControllerDePrueba {
+
+        /** Resultado de la "base" para la próxima llamada. */
+        List<String> datos;
+        int llamadas;
+
+        @RespuestaCacheada(ConjuntoDatos.VEHICULOS)
+        public ResponseEntity<List<String>> listar(String filtro) {
+            llamadas++;
+            return ResponseEntity.ok(datos);
+        }
+    }
+}
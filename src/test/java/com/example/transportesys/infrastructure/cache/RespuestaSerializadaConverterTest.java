@@ -0,0 +1,65 @@
+package com.example.transportesys.infrastructure.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para RespuestaSerializadaConverter")
+class RespuestaSerializadaConverterTest {
+
+    private final RespuestaSerializadaConverter converter = new RespuestaSerializadaConverter();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Debe escribir la variante gzip solo si el cliente la acepta, siempre con Vary")
+    void debeElegirVarianteSegunAcceptEncoding() throws Exception {
+        // Arrange
+        RespuestaSerializada respuesta = RespuestaSerializada.de("[\"x\"]".repeat(500).getBytes(StandardCharsets.UTF_8), 1024);
+
+        // Act
+        MockHttpOutputMessage comprimida = escribir(respuesta, "deflate, gzip;q=0.8");
+        MockHttpOutputMessage plana = escribir(respuesta, "gzip;q=0");
+
+        // Assert
+        assertEquals("gzip", comprimida.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(respuesta.getGzip(), comprimida.getBodyAsBytes());
+        assertEquals(respuesta.getGzip().length, comprimida.getHeaders().getContentLength());
+        assertNull(plana.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(respuesta.getJson(), plana.getBodyAsBytes());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, plana.getHeaders().getFirst(HttpHeaders.VARY));
+    }
+
+    @Test
+    @DisplayName("Debe interpretar Accept-Encoding con comodín, mayúsculas y q=0")
+    void debeInterpretarAcceptEncoding() {
+        // Act & Assert
+        assertTrue(RespuestaSerializadaConverter.aceptaGzip("GZIP"));
+        assertTrue(RespuestaSerializadaConverter.aceptaGzip("br, *;q=0.5"));
+        assertFalse(RespuestaSerializadaConverter.aceptaGzip("gzip;q=0.000"));
+        assertFalse(RespuestaSerializadaConverter.aceptaGzip("br, deflate"));
+        assertFalse(RespuestaSerializadaConverter.aceptaGzip(null));
+    }
+
+    private MockHttpOutputMessage escribir(RespuestaSerializada respuesta, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        MockHttpOutputMessage salida = new MockHttpOutputMessage();
+        converter.write(respuesta, MediaType.APPLICATION_JSON, salida);
+        return salida;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.transportesys.infrastructure.config;
+
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.CacheSegundoNivel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para CacheSegundoNivelMetricas")
+class CacheSegundoNivelMetricasTest {
+
+    @Test
+    @DisplayName("Debe publicar aciertos, fallos y escrituras por región, en cero si la región no tiene estadísticas")
+    void debePublicarEstadisticasPorRegion() {
+        // Arrange
+        Statistics estadisticas = mock(Statistics.class);
+        CacheRegionStatistics vehiculos = mock(CacheRegionStatistics.class);
+        when(vehiculos.getHitCount()).thenReturn(90L);
+        when(vehiculos.getMissCount()).thenReturn(10L);
+        when(vehiculos.getPutCount()).thenReturn(12L);
+        when(estadisticas.getCacheRegionStatistics(CacheSegundoNivel.REGION_VEHICULOS)).thenReturn(vehiculos);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // Act
+        new CacheSegundoNivelMetricas(estadisticas).bindTo(meterRegistry);
+
+        // Assert
+        assertEquals(90.0, meterRegistry.get(CacheSegundoNivelMetricas.METRICA_GETS)
+            .tags("cache", CacheSegundoNivel.REGION_VEHICULOS, "result", "hit").functionCounter().count());
+        assertEquals(10.0, meterRegistry.get(CacheSegundoNivelMetricas.METRICA_GETS)
+            .tags("cache", CacheSegundoNivel.REGION_VEHICULOS, "result", "miss").functionCounter().count());
+        assertEquals(12.0, meterRegistry.get(CacheSegundoNivelMetricas.METRICA_PUTS)
+            .tags("cache", CacheSegundoNivel.REGION_VEHICULOS, "cacheManager", "hibernate").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get(CacheSegundoNivelMetricas.METRICA_GETS)
+            .tags("cache", CacheSegundoNivel.REGION_USUARIOS_ROLES, "result", "hit").functionCounter().count());
+    }
+}
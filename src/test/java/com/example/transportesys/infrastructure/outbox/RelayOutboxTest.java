@@ -0,0 +1,110 @@
+package com.example.transportesys.infrastructure.outbox;
+
+import com.example.transportesys.domain.enums.TipoAgregado;
+import com.example.transportesys.domain.enums.TipoEvento;
+import com.example.transportesys.infrastructure.adapter.out.persistence.entity.EventoOutboxEntity;
+import com.example.transportesys.infrastructure.adapter.out.persistence.repository.EventoOutboxJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para RelayOutbox")
+class RelayOutboxTest {
+
+    @Mock
+    private EventoOutboxJpaRepository jpaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MemoriaSinkEventos sink;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sink = new MemoriaSinkEventos();
+    }
+
+    @Test
+    @DisplayName("Debe publicar los eventos en orden y eliminar los entregados")
+    void debePublicarYEliminarEntregados() {
+        // Arrange
+        RelayOutbox relay = new RelayOutbox(jpaRepository, List.of(sink), transactionManager, meterRegistry, 1000);
+        when(jpaRepository.reservarLote(anyInt(), any())).thenReturn(List.of(
+            evento(1L, TipoAgregado.PEDIDO, 10L, TipoEvento.PEDIDO_CREADO),
+            evento(2L, TipoAgregado.VEHICULO, 5L, TipoEvento.VEHICULO_CONDUCTOR_ASIGNADO)
+        ));
+
+        // Act
+        int reservados = relay.publicarLote(100);
+
+        // Assert
+        assertEquals(2, reservados);
+        assertEquals(List.of(1L, 2L), sink.getEventos().stream().map(EventoOutbox::getId).toList());
+        verify(jpaRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(jpaRepository, never()).registrarFallo(any(), any(), any());
+        assertEquals(2.0, meterRegistry.get(RelayOutbox.METRICA_EVENTOS).tag("resultado", "publicado").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe retener los eventos siguientes del agregado cuando uno falla")
+    void debeRetenerEventosSiguientesDelAgregadoCuandoUnoFalla() {
+        // Arrange
+        SinkEventos sinkConFalla = evento -> {
+            if (evento.getId() == 1L) {
+                throw new IllegalStateException("destino no disponible");
+            }
+            sink.publicar(evento);
+        };
+        RelayOutbox relay = new RelayOutbox(jpaRepository, List.of(sinkConFalla), transactionManager, meterRegistry, 1000);
+        when(jpaRepository.reservarLote(anyInt(), any())).thenReturn(List.of(
+            evento(1L, TipoAgregado.PEDIDO, 10L, TipoEvento.PEDIDO_CREADO),
+            evento(2L, TipoAgregado.PEDIDO, 20L, TipoEvento.PEDIDO_CREADO),
+            evento(3L, TipoAgregado.PEDIDO, 10L, TipoEvento.PEDIDO_ESTADO_CAMBIADO)
+        ));
+
+        // Act
+        relay.publicarLote(100);
+
+        // Assert
+        assertEquals(List.of(2L), sink.getEventos().stream().map(EventoOutbox::getId).toList());
+        verify(jpaRepository).deleteAllByIdInBatch(List.of(2L));
+        verify(jpaRepository).registrarFallo(eq(1L), any(LocalDateTime.class), eq("destino no disponible"));
+        verify(jpaRepository, never()).registrarFallo(eq(3L), any(), any());
+        assertEquals(1.0, meterRegistry.get(RelayOutbox.METRICA_EVENTOS).tag("resultado", "fallido").counter().count());
+    }
+
+    @Test
+    @DisplayName("No debe reservar eventos cuando no hay sinks configurados")
+    void noDebeReservarEventosSinSinks() {
+        // Arrange
+        RelayOutbox relay = new RelayOutbox(jpaRepository, List.of(), transactionManager, meterRegistry, 1000);
+
+        // Act
+        int reservados = relay.publicarLote(100);
+
+        // Assert
+        assertEquals(0, reservados);
+        verifyNoInteractions(jpaRepository, transactionManager);
+    }
+
+    private EventoOutboxEntity evento(Long id, TipoAgregado tipoAgregado, Long agregadoId, TipoEvento tipoEvento) {
+        return new EventoOutboxEntity(id, tipoAgregado, agregadoId, tipoEvento, "{}",
+            LocalDateTime.now().minusSeconds(1), 0, null, null);
+    }
+}
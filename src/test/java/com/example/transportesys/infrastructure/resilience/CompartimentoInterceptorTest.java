@@ -0,0 +1,166 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CompartimentoInterceptor")
+class CompartimentoInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CompartimentoInterceptor.Cupo listados;
+    private CompartimentoInterceptor.Cupo exportaciones;
+    private ControllerDePrueba controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listados = new CompartimentoInterceptor.Cupo(1, 0);
+        exportaciones = new CompartimentoInterceptor.Cupo(1, 0);
+        CompartimentoInterceptor interceptor = new CompartimentoInterceptor(Map.of(
+            TipoCompartimento.ESCRITURA, new CompartimentoInterceptor.Cupo(1, 0),
+            TipoCompartimento.LECTURA_PUNTUAL, new CompartimentoInterceptor.Cupo(1, 0),
+            TipoCompartimento.LISTADO, listados,
+            TipoCompartimento.EXPORTACION, exportaciones,
+            TipoCompartimento.AUTENTICACION, new CompartimentoInterceptor.Cupo(1, 0)
+        ));
+        interceptor.bindTo(meterRegistry);
+
+        ControllerDePrueba target = new ControllerDePrueba();
+        target.listados = listados;
+        target.exportaciones = exportaciones;
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(RestController.class, true), interceptor));
+        controller = (ControllerDePrueba) proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Debe asignar el compartimento por método HTTP, variable de ruta y anotación")
+    void debeAsignarCompartimentos() throws Exception {
+        // Act & Assert
+        assertEquals(TipoCompartimento.LISTADO, asignar("listar").getTipo());
+        assertEquals(TipoCompartimento.LECTURA_PUNTUAL, asignar("obtener", Long.class).getTipo());
+        assertEquals(TipoCompartimento.LECTURA_PUNTUAL, asignar("actual").getTipo());
+        assertEquals(TipoCompartimento.ESCRITURA, asignar("crear", Runnable.class).getTipo());
+        assertEquals(TipoCompartimento.EXPORTACION, asignar("exportar").getTipo());
+        assertTrue(asignar("exportar").isStreaming());
+        assertNull(asignar("login"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar listados con el compartimento lleno sin frenar escrituras ni lecturas puntuales")
+    void debeAislarListadosDelResto() throws Exception {
+        // Arrange: un reporte en curso ocupa el único lugar de listados
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch terminar = new CountDownLatch(1);
+        CompletableFuture<String> reporte = CompletableFuture.supplyAsync(() -> controller.listarBloqueando(enCurso, terminar));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        try {
+            assertThrows(RejectedExecutionException.class, controller::listar);
+            controller.crear(() -> { });
+            assertEquals("uno", controller.obtener(1L));
+            assertEquals(1, listados.getEnUso());
+        } finally {
+            terminar.countDown();
+        }
+        assertEquals("ok", reporte.get(5, TimeUnit.SECONDS));
+        assertEquals(0, listados.getEnUso());
+        assertEquals(1.0, meterRegistry.get(CompartimentoInterceptor.METRICA_RECHAZOS)
+            .tag("compartimento", "listado").counter().count());
+        assertEquals(0.0, meterRegistry.get(CompartimentoInterceptor.METRICA_RECHAZOS)
+            .tag("compartimento", "escritura").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe ocupar el cupo de exportaciones, y no el de listados, mientras se escribe el cuerpo")
+    void debeOcuparCupoAlEscribirExportacion() throws Exception {
+        // Arrange
+        StreamingResponseBody cuerpo = controller.exportar().getBody();
+        assertEquals(0, exportaciones.getEnUso());
+
+        // Act
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        cuerpo.writeTo(salida);
+
+        // Assert: durante la escritura los listados seguían libres
+        assertEquals("1,0", salida.toString());
+        assertEquals(0, exportaciones.getEnUso());
+    }
+
+    private static CompartimentoInterceptor.Asignacion asignar(String nombre, Class<?>... parametros) throws Exception {
+        return CompartimentoInterceptor.asignar(ControllerDePrueba.class.getMethod(nombre, parametros), ControllerDePrueba.class);
+    }
+
+    @RestController
+    public static class ControllerDePrueba {
+
+        /** Cupos cuyo uso escribe la exportación. */
+        CompartimentoInterceptor.Cupo listados;
+        CompartimentoInterceptor.Cupo exportaciones;
+
+        @GetMapping("/recursos")
+        public String listar() {
+            return "ok";
+        }
+
+        @GetMapping("/recursos/reporte")
+        public String listarBloqueando(CountDownLatch enCurso, CountDownLatch terminar) {
+            enCurso.countDown();
+            try {
+                terminar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ok";
+        }
+
+        @GetMapping("/recursos/{id}")
+        public String obtener(@PathVariable Long id) {
+            return "uno";
+        }
+
+        @GetMapping("/recursos/actual")
+        @Compartimento(TipoCompartimento.LECTURA_PUNTUAL)
+        public String actual() {
+            return "actual";
+        }
+
+        @PostMapping("/recursos")
+        public void crear(Runnable durante) {
+            durante.run();
+        }
+
+        @GetMapping("/recursos/export")
+        public ResponseEntity<StreamingResponseBody> exportar() {
+            return ResponseEntity.ok(salida -> salida.write((exportaciones.getEnUso() + "," + listados.getEnUso()).getBytes()));
+        }
+
+        @PostMapping("/login")
+        public CompletableFuture<String> login() {
+            return CompletableFuture.completedFuture("token");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CortacircuitosInterceptor")
+class CortacircuitosInterceptorTest {
+
+    private Cortacircuitos cortacircuitos;
+    private AdapterDePrueba target;
+    private AdapterDePrueba adapter;
+
+    @BeforeEach
+    void setUp() {
+        // Umbral de llamada lenta en 0: toda llamada que cuente por duración es lenta
+        cortacircuitos = new Cortacircuitos(4, 4, 0.5, 1000, 2);
+        target = new AdapterDePrueba();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new CortacircuitosInterceptor(cortacircuitos, 0));
+        adapter = (AdapterDePrueba) proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Debe abrirse por llamadas lentas dentro de una petición")
+    void debeAbrirsePorLlamadasLentasEnPeticion() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            adapter.buscar();
+        }
+
+        // Assert
+        assertEquals(Cortacircuitos.Estado.ABIERTO, cortacircuitos.getEstado());
+    }
+
+    @Test
+    @DisplayName("No debe abrirse por un recorrido en streaming largo ni por llamadas de jobs; sí por sus timeouts")
+    void noDebeAbrirsePorOperacionesLargas() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            adapter.recorrer();
+        }
+        RequestContextHolder.resetRequestAttributes();
+        for (int i = 0; i < 4; i++) {
+            adapter.buscar();
+        }
+
+        // Assert
+        assertEquals(Cortacircuitos.Estado.CERRADO, cortacircuitos.getEstado());
+        target.timeout = true;
+        assertThrows(QueryTimeoutException.class, adapter::recorrer);
+        assertThrows(QueryTimeoutException.class, adapter::recorrer);
+        assertEquals(Cortacircuitos.Estado.ABIERTO, cortacircuitos.getEstado());
+    }
+
+    public static class AdapterDePrueba {
+
+        boolean timeout;
+
+        public String buscar() {
+            return "ok";
+        }
+
+        @OperacionLarga
+        public long recorrer() {
+            if (timeout) {
+                throw new QueryTimeoutException("plazo vencido");
+            }
+            return 1_000_000L;
+        }
+    }
+}
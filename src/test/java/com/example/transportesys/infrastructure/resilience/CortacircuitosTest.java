@@ -0,0 +1,77 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para Cortacircuitos")
+class CortacircuitosTest {
+
+    private AtomicLong reloj;
+    private Cortacircuitos cortacircuitos;
+
+    @BeforeEach
+    void setUp() {
+        reloj = new AtomicLong();
+        // Ventana de 4, abre con 2 fallos sobre al menos 4 llamadas, 1 s abierto, 2 sondas
+        cortacircuitos = new Cortacircuitos(4, 4, 0.5, 1000, 2, reloj::get);
+    }
+
+    @Test
+    @DisplayName("Debe abrirse al alcanzar el umbral de fallos y rechazar sin intentar la llamada")
+    void debeAbrirseAlAlcanzarUmbral() {
+        // Act
+        llamar(false);
+        llamar(true);
+        llamar(false);
+        assertEquals(Cortacircuitos.Estado.CERRADO, cortacircuitos.getEstado());
+        llamar(true);
+
+        // Assert
+        assertEquals(Cortacircuitos.Estado.ABIERTO, cortacircuitos.getEstado());
+        assertThrows(CircuitoAbiertoException.class, cortacircuitos::permitir);
+    }
+
+    @Test
+    @DisplayName("Debe cerrarse cuando todas las sondas salen bien y reabrirse si una falla")
+    void debeRecuperarseConSondas() {
+        // Arrange
+        abrir();
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Act: sonda fallida, vuelve a abrir
+        boolean sonda = cortacircuitos.permitir();
+        cortacircuitos.registrar(sonda, true);
+        assertTrue(sonda);
+        assertEquals(Cortacircuitos.Estado.ABIERTO, cortacircuitos.getEstado());
+
+        // Act: tras la espera, dos sondas a la vez y ninguna más
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        boolean primera = cortacircuitos.permitir();
+        boolean segunda = cortacircuitos.permitir();
+        assertThrows(CircuitoAbiertoException.class, cortacircuitos::permitir);
+        cortacircuitos.registrar(primera, false);
+        assertEquals(Cortacircuitos.Estado.SEMI_ABIERTO, cortacircuitos.getEstado());
+        cortacircuitos.registrar(segunda, false);
+
+        // Assert
+        assertEquals(Cortacircuitos.Estado.CERRADO, cortacircuitos.getEstado());
+        assertFalse(cortacircuitos.permitir());
+    }
+
+    private void abrir() {
+        for (int i = 0; i < 4; i++) {
+            llamar(true);
+        }
+        assertEquals(Cortacircuitos.Estado.ABIERTO, cortacircuitos.getEstado());
+    }
+
+    private void llamar(boolean fallo) {
+        cortacircuitos.registrar(cortacircuitos.permitir(), fallo);
+    }
+}
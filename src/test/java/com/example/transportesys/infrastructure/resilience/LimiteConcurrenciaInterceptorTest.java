@@ -0,0 +1,137 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para LimiteConcurrenciaInterceptor")
+class LimiteConcurrenciaInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LimiteConcurrencia escrituras;
+    private ControllerDePrueba controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        escrituras = new LimiteConcurrencia("escritura", 1, 1, 1, 1000, 0.5);
+        LimiteConcurrenciaInterceptor interceptor = new LimiteConcurrenciaInterceptor(
+            new LimiteConcurrencia("lectura", 5, 1, 5, 1000, 0.5), escrituras);
+        interceptor.bindTo(meterRegistry);
+        controller = proxy(interceptor);
+    }
+
+    @Test
+    @DisplayName("Debe clasificar los handlers en lectura, escritura o excluidos si son asíncronos")
+    void debeClasificarHandlers() throws Exception {
+        // Act & Assert
+        assertEquals(LimiteConcurrenciaInterceptor.Clase.LECTURA,
+            LimiteConcurrenciaInterceptor.clasificar(ControllerDePrueba.class.getMethod("listar")));
+        assertEquals(LimiteConcurrenciaInterceptor.Clase.ESCRITURA,
+            LimiteConcurrenciaInterceptor.clasificar(ControllerDePrueba.class.getMethod("crear", Runnable.class)));
+        assertEquals(LimiteConcurrenciaInterceptor.Clase.EXCLUIDA,
+            LimiteConcurrenciaInterceptor.clasificar(ControllerDePrueba.class.getMethod("login")));
+        assertEquals(LimiteConcurrenciaInterceptor.Clase.EXCLUIDA,
+            LimiteConcurrenciaInterceptor.clasificar(ControllerDePrueba.class.getMethod("exportar")));
+        assertEquals(LimiteConcurrenciaInterceptor.Clase.EXCLUIDA,
+            LimiteConcurrenciaInterceptor.clasificar(ControllerDePrueba.class.getMethod("crearLote", Runnable.class)));
+    }
+
+    @Test
+    @DisplayName("No debe bajar el límite de las escrituras por lotes lentos marcados como operación larga")
+    void noDebeReducirLimitePorLotesLentos() {
+        // Arrange: latencia objetivo de 1 ms, que cualquier lote supera
+        LimiteConcurrencia adaptativo = new LimiteConcurrencia("escritura", 4, 1, 4, 1, 0.5);
+        ControllerDePrueba adaptativoController = proxy(new LimiteConcurrenciaInterceptor(
+            new LimiteConcurrencia("lectura", 5, 1, 5, 1000, 0.5), adaptativo));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            adaptativoController.crearLote(() -> esperar(5));
+        }
+
+        // Assert: el límite sigue entero, y una escritura común igual de lenta sí lo reduce
+        assertEquals(4, adaptativo.getLimite());
+        adaptativoController.crear(() -> esperar(5));
+        assertEquals(2, adaptativo.getLimite());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar con 503 las escrituras que exceden el límite sin afectar a las lecturas")
+    void debeRechazarEscriturasPorEncimaDelLimite() {
+        // Act: una escritura en curso ocupa el único lugar mientras llegan otras peticiones
+        controller.crear(() -> {
+            assertThrows(RejectedExecutionException.class, () -> controller.crear(() -> { }));
+            assertEquals("ok", controller.listar());
+        });
+
+        // Assert
+        assertEquals(0, escrituras.getEnCurso());
+        assertEquals(1.0, meterRegistry.get(LimiteConcurrenciaInterceptor.METRICA_RECHAZOS)
+            .tag("clase", "escritura").counter().count());
+        assertEquals(1.0, meterRegistry.get(LimiteConcurrenciaInterceptor.METRICA_LIMITE)
+            .tag("clase", "escritura").gauge().value());
+    }
+
+    private static ControllerDePrueba proxy(LimiteConcurrenciaInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(new ControllerDePrueba());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(RestController.class, true), interceptor));
+        return (ControllerDePrueba) proxyFactory.getProxy();
+    }
+
+    private static void esperar(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @RestController
+    public static class ControllerDePrueba {
+
+        @GetMapping("/recursos")
+        public String listar() {
+            return "ok";
+        }
+
+        @PostMapping("/recursos")
+        public ResponseEntity<Void> crear(Runnable durante) {
+            durante.run();
+            return ResponseEntity.ok().build();
+        }
+
+        @PostMapping("/recursos/lote")
+        @OperacionLarga
+        public ResponseEntity<Void> crearLote(Runnable durante) {
+            durante.run();
+            return ResponseEntity.ok().build();
+        }
+
+        @PostMapping("/login")
+        public CompletableFuture<String> login() {
+            return CompletableFuture.completedFuture("ok");
+        }
+
+        @GetMapping("/exportar")
+        public ResponseEntity<StreamingResponseBody> exportar() {
+            return ResponseEntity.ok(salida -> { });
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para LimiteConcurrencia")
+class LimiteConcurrenciaTest {
+
+    private static final long RAPIDA = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long LENTA = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong reloj = new AtomicLong(0);
+
+    @Test
+    @DisplayName("Debe rechazar lo que excede el límite y admitir al liberarse un lugar")
+    void debeRechazarPorEncimaDelLimite() {
+        // Arrange
+        LimiteConcurrencia limite = new LimiteConcurrencia("lectura", 2, 1, 10, 100, 0.5, reloj::get);
+
+        // Act & Assert
+        assertTrue(limite.adquirir());
+        assertTrue(limite.adquirir());
+        assertFalse(limite.adquirir());
+        assertEquals(2, limite.getEnCurso());
+
+        limite.liberar(RAPIDA, false);
+        assertTrue(limite.adquirir());
+    }
+
+    @Test
+    @DisplayName("Debe crecer con respuestas rápidas solo si el límite se está usando")
+    void debeCrecerConRespuestasRapidasBajoCarga() {
+        // Arrange
+        LimiteConcurrencia limite = new LimiteConcurrencia("lectura", 2, 1, 10, 100, 0.5, reloj::get);
+
+        // Act: a límite lleno, cada vuelta completa suma una unidad
+        for (int i = 0; i < 20; i++) {
+            limite.adquirir();
+            limite.adquirir();
+            limite.liberar(RAPIDA, false);
+            limite.liberar(RAPIDA, false);
+        }
+        int bajoCarga = limite.getLimite();
+
+        // Con una sola petición a la vez ya no crece
+        for (int i = 0; i < 50; i++) {
+            limite.adquirir();
+            limite.liberar(RAPIDA, false);
+        }
+
+        // Assert
+        assertTrue(bajoCarga > 2);
+        assertEquals(bajoCarga, limite.getLimite());
+    }
+
+    @Test
+    @DisplayName("Debe reducirse ante latencia alta o sobrecarga, una vez por ventana y sin bajar del mínimo")
+    void debeReducirseUnaVezPorVentana() {
+        // Arrange
+        LimiteConcurrencia limite = new LimiteConcurrencia("escritura", 8, 2, 10, 100, 0.5, reloj::get);
+
+        // Act & Assert: varias respuestas lentas en la misma ventana reducen una sola vez
+        for (int i = 0; i < 3; i++) {
+            limite.adquirir();
+            limite.liberar(LENTA, false);
+        }
+        assertEquals(4, limite.getLimite());
+
+        reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        limite.adquirir();
+        limite.liberar(RAPIDA, true);
+        assertEquals(2, limite.getLimite());
+
+        reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        limite.adquirir();
+        limite.liberar(LENTA, false);
+        assertEquals(2, limite.getLimite());
+    }
+}
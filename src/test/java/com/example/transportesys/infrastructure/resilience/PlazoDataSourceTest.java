@@ -0,0 +1,89 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para PlazoDataSource")
+class PlazoDataSourceTest {
+
+    private DataSource pool;
+    private Connection conexion;
+    private PreparedStatement sentencia;
+    private PlazoDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = mock(DataSource.class);
+        conexion = mock(Connection.class);
+        sentencia = mock(PreparedStatement.class);
+        when(pool.getConnection()).thenReturn(conexion);
+        when(conexion.prepareStatement(anyString())).thenReturn(sentencia);
+        dataSource = new PlazoDataSource(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PlazoPeticion.limpiar();
+    }
+
+    @Test
+    @DisplayName("Debe aplicar el plazo restante como query timeout, o el propio si es menor")
+    void debeAplicarPlazoComoQueryTimeout() throws Exception {
+        // Arrange
+        PlazoPeticion.establecer(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2500));
+
+        // Act
+        try (Connection conPlazo = dataSource.getConnection()) {
+            PreparedStatement consulta = conPlazo.prepareStatement("select 1");
+            consulta.executeQuery();
+            consulta.setQueryTimeout(1);
+            consulta.executeQuery();
+
+            // Assert
+            assertSame(conPlazo, consulta.getConnection());
+        }
+        verify(sentencia).setQueryTimeout(3);
+        verify(sentencia, times(2)).setQueryTimeout(1);
+        verify(sentencia, times(2)).executeQuery();
+        verify(conexion).close();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar conexiones y sentencias con el plazo vencido sin llegar a la base")
+    void debeRechazarConPlazoVencido() throws Exception {
+        // Arrange
+        PlazoPeticion.establecer(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+        Connection conPlazo = dataSource.getConnection();
+        PreparedStatement consulta = conPlazo.prepareStatement("select 1");
+
+        // Act
+        Thread.sleep(60);
+
+        // Assert
+        assertThrows(SQLTimeoutException.class, consulta::executeQuery);
+        assertThrows(SQLTimeoutException.class, dataSource::getConnection);
+        verify(sentencia, never()).executeQuery();
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Debe devolver la conexión del pool sin envolver cuando el hilo no tiene plazo")
+    void debeDevolverConexionSinPlazo() throws Exception {
+        // Act
+        Connection resultado = dataSource.getConnection();
+
+        // Assert
+        assertSame(conexion, resultado);
+    }
+}
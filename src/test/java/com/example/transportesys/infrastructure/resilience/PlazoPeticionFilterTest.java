@@ -0,0 +1,100 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para PlazoPeticionFilter")
+class PlazoPeticionFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PlazoPeticionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new PlazoPeticionFilter(meterRegistry, 5000, 30000, Map.of(
+            "reportes", 15000L, "despacho", 120000L, "pedidos/batch", 60000L, "pedidos/estado/batch", 60000L));
+    }
+
+    @Test
+    @DisplayName("Debe tomar el plazo del header acotado al máximo, o el del grupo de rutas")
+    void debeCalcularPlazo() {
+        // Act & Assert
+        assertEquals(1200, filter.calcularPlazoMs("/api/v1/pedidos/5", "1200"));
+        assertEquals(30000, filter.calcularPlazoMs("/api/v1/pedidos", "600000"));
+        assertEquals(15000, filter.calcularPlazoMs("/api/v1/reportes/pedidos-por-estado", null));
+        assertEquals(5000, filter.calcularPlazoMs("/api/v1/pedidos", "abc"));
+        assertEquals(5000, filter.calcularPlazoMs("/api/v1/vehiculos", "-1"));
+    }
+
+    @Test
+    @DisplayName("Debe dar a despacho y a los lotes el plazo de su ruta, aunque supere el máximo")
+    void debeUsarPlazoDeRutasLargas() {
+        // Act & Assert
+        assertEquals(120000, filter.calcularPlazoMs("/api/v1/despacho/ejecutar", null));
+        assertEquals(60000, filter.calcularPlazoMs("/api/v1/pedidos/batch", null));
+        assertEquals(60000, filter.calcularPlazoMs("/api/v1/pedidos/estado/batch", null));
+        assertEquals(5000, filter.calcularPlazoMs("/api/v1/pedidos/batchs", null));
+        assertEquals(90000, filter.calcularPlazoMs("/api/v1/despacho/ejecutar", "90000"));
+    }
+
+    @Test
+    @DisplayName("No debe vencer un despacho que tarda más que el plazo por defecto")
+    void noDebeVencerDespachoLargo() throws Exception {
+        // Arrange: plazo por defecto muy corto y el de despacho holgado
+        PlazoPeticionFilter filtroCorto = new PlazoPeticionFilter(meterRegistry, 10, 20, Map.of("despacho", 5000L));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/despacho/ejecutar");
+        AtomicLong restanteAlTerminar = new AtomicLong();
+
+        // Act
+        filtroCorto.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/despacho/ejecutar");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            restanteAlTerminar.set(PlazoPeticion.restanteNanos());
+        });
+
+        // Assert
+        assertTrue(restanteAlTerminar.get() > 0);
+        assertTrue(meterRegistry.find(PlazoPeticionFilter.METRICA_EXCEDIDOS).counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe fijar el plazo durante la petición y contar las que terminan vencidas por ruta")
+    void debeContarPeticionesVencidas() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pedidos/5");
+        request.addHeader(PlazoPeticionFilter.HEADER_PLAZO, "1");
+        AtomicLong restanteDurante = new AtomicLong();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            restanteDurante.set(PlazoPeticion.restanteNanos());
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/pedidos/{id}");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Assert
+        assertTrue(restanteDurante.get() <= 1_000_000L);
+        assertFalse(PlazoPeticion.tienePlazo());
+        assertEquals(1.0, meterRegistry.get(PlazoPeticionFilter.METRICA_EXCEDIDOS)
+            .tag("ruta", "/api/v1/pedidos/{id}").counter().count());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import com.example.transportesys.application.usecase.ReintentarEnConflicto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ReintentoConflictoInterceptor")
+class ReintentoConflictoInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServicioVersionado target;
+    private ServicioVersionado servicio;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+
+        target = new ServicioVersionado();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(ReintentarEnConflicto.class),
+            new ReintentoConflictoInterceptor(beanFactory.getBeanProvider(MeterRegistry.class))
+        ));
+        servicio = (ServicioVersionado) proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Debe reintentar y recuperarse cuando el conflicto es transitorio")
+    void debeReintentarYRecuperarse() {
+        // Arrange
+        target.fallosRestantes = 2;
+
+        // Act
+        String resultado = servicio.actualizar();
+
+        // Assert
+        assertEquals("ok", resultado);
+        assertEquals(3, target.llamadas);
+        assertEquals(2.0, contador("reintentado"));
+        assertEquals(1.0, contador("recuperado"));
+    }
+
+    @Test
+    @DisplayName("Debe propagar el conflicto cuando se agotan los intentos")
+    void debePropagarConflictoCuandoSeAgotanIntentos() {
+        // Arrange
+        target.fallosRestantes = 10;
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> servicio.actualizar());
+        assertEquals(3, target.llamadas);
+        assertEquals(1.0, contador("agotado"));
+    }
+
+    @Test
+    @DisplayName("No debe reintentar errores que no son conflictos de concurrencia")
+    void noDebeReintentarOtrosErrores() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> servicio.fallarConOtroError());
+        assertEquals(1, target.llamadas);
+    }
+
+    private double contador(String resultado) {
+        var counter = meterRegistry.find(ReintentoConflictoInterceptor.METRICA_CONFLICTOS)
+            .tag("resultado", resultado)
+            .counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+
+    static class ServicioVersionado {
+        int llamadas;
+        int fallosRestantes;
+
+        @ReintentarEnConflicto(intentos = 3, esperaMs = 0)
+        public String actualizar() {
+            llamadas++;
+            if (fallosRestantes-- > 0) {
+                throw new OptimisticLockingFailureException("Versión desactualizada");
+            }
+            return "ok";
+        }
+
+        @ReintentarEnConflicto(intentos = 3, esperaMs = 0)
+        public void fallarConOtroError() {
+            llamadas++;
+            throw new IllegalStateException("Error de negocio");
+        }
+    }
+}
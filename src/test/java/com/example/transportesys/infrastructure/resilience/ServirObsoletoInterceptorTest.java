@@ -0,0 +1,94 @@
+package com.example.transportesys.infrastructure.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ServirObsoletoInterceptor")
+class ServirObsoletoInterceptorTest {
+
+    private AtomicLong reloj;
+    private SimpleMeterRegistry meterRegistry;
+    private ControllerDePrueba target;
+    private ControllerDePrueba controller;
+
+    @BeforeEach
+    void setUp() {
+        reloj = new AtomicLong();
+        meterRegistry = new SimpleMeterRegistry();
+        ServirObsoletoInterceptor interceptor = new ServirObsoletoInterceptor(10, Duration.ofMinutes(5), reloj::get);
+        interceptor.bindTo(meterRegistry);
+
+        target = new ControllerDePrueba();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(ServirObsoleto.class), interceptor));
+        controller = (ControllerDePrueba) proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Debe servir la última respuesta con Age y Warning mientras el circuito está abierto")
+    void debeServirUltimaRespuestaConCircuitoAbierto() {
+        // Arrange
+        target.consulta = () -> List.of("A", "B");
+        controller.listar("activos");
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(42));
+        target.consulta = () -> {
+            throw new CircuitoAbiertoException();
+        };
+
+        // Act
+        ResponseEntity<List<String>> resultado = controller.listar("activos");
+
+        // Assert
+        assertEquals(List.of("A", "B"), resultado.getBody());
+        assertEquals("42", resultado.getHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals(ServirObsoletoInterceptor.WARNING_OBSOLETO,
+            resultado.getHeaders().getFirst(ServirObsoletoInterceptor.HEADER_WARNING));
+        assertEquals(1.0, meterRegistry.get(ServirObsoletoInterceptor.METRICA_SERVIDOS).counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe propagar el error si no hay respuesta previa para esos argumentos o no es de la base")
+    void debePropagarSinRespuestaPrevia() {
+        // Arrange
+        target.consulta = () -> List.of("A");
+        controller.listar("activos");
+
+        // Act & Assert
+        target.consulta = () -> {
+            throw new CircuitoAbiertoException();
+        };
+        assertThrows(CircuitoAbiertoException.class, () -> controller.listar("libres"));
+        target.consulta = () -> {
+            throw new IllegalArgumentException("filtro inválido");
+        };
+        assertThrows(IllegalArgumentException.class, () -> controller.listar("activos"));
+    }
+
+    public static class ControllerDePrueba {
+
+        /** Resultado de la "base" para la próxima llamada. */
+        Supplier<List<String>> consulta;
+
+        @ServirObsoleto
+        public ResponseEntity<List<String>> listar(String filtro) {
+            return ResponseEntity.ok(consulta.get());
+        }
+    }
+}
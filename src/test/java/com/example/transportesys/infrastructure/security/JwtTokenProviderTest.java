@@ -0,0 +1,80 @@
+package com.example.transportesys.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para JwtTokenProvider")
+class JwtTokenProviderTest {
+
+    private static final String SECRETO = "ClaveDePruebaParaFirmarTokensJwtDeTransporteSysConLargoSuficiente";
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRETO, 60_000, 120_000);
+
+    @Test
+    @DisplayName("Debe obtener usuario, roles y expiración del token con un solo parseo")
+    void debeObtenerDatosDelToken() {
+        // Arrange
+        Date expiracion = tokenProvider.calculateExpirationDate();
+        String token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken("admin", null,
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_CLIENTE"))), expiracion);
+
+        // Act
+        Claims claims = tokenProvider.parseToken(token).orElseThrow();
+        List<GrantedAuthority> authorities = tokenProvider.getAuthorities(claims).orElseThrow();
+
+        // Assert
+        assertEquals("admin", claims.getSubject());
+        assertEquals(expiracion, claims.getExpiration());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_CLIENTE"),
+            authorities.stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token alterado o firmado con otra clave")
+    void debeRechazarTokenInvalido() {
+        // Arrange
+        String token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        JwtTokenProvider otroProvider = new JwtTokenProvider(SECRETO + "Distinto", 60_000, 120_000);
+
+        // Act & Assert
+        assertTrue(tokenProvider.parseToken(token).isPresent());
+        assertTrue(tokenProvider.parseToken(token.substring(0, token.length() - 2) + "xx").isEmpty());
+        assertTrue(otroProvider.parseToken(token).isEmpty());
+        assertTrue(tokenProvider.parseToken("no-es-un-token").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe firmar la versión de tokens del usuario y distinguir el refresh token")
+    void debeFirmarVersionYTipoDeToken() {
+        // Arrange
+        UsuarioAutenticado usuario = new UsuarioAutenticado("admin", "hash", true,
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), 3);
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
+
+        // Act
+        Claims acceso = tokenProvider.parseToken(
+            tokenProvider.generateToken(authentication)).orElseThrow();
+        Claims refresh = tokenProvider.parseToken(
+            tokenProvider.generateRefreshToken(authentication, tokenProvider.calculateRefreshExpirationDate())).orElseThrow();
+        Claims sinVersion = tokenProvider.parseToken(
+            tokenProvider.generateToken(new UsernamePasswordAuthenticationToken("admin", null, List.of()))).orElseThrow();
+
+        // Assert
+        assertEquals(3, tokenProvider.getVersionToken(acceso));
+        assertFalse(tokenProvider.isRefreshToken(acceso));
+        assertEquals(3, tokenProvider.getVersionToken(refresh));
+        assertTrue(tokenProvider.isRefreshToken(refresh));
+        assertTrue(tokenProvider.getAuthorities(refresh).isEmpty());
+        assertEquals(0, tokenProvider.getVersionToken(sinVersion));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.transportesys.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para LimiteTasaFilter")
+class LimiteTasaFilterTest {
+
+    private final AtomicLong reloj = new AtomicLong(1_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private LimiteTasaFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filtro = new LimiteTasaFilter(true,
+            List.of(new LimiteTasaFilter.Limite("ROLE_ADMIN", 10, 5),
+                    new LimiteTasaFilter.Limite("ROLE_CLIENTE", 1, 2)),
+            new LimiteTasaFilter.Limite("ANONIMO", 1, 1),
+            1000, meterRegistry, JsonMapper.builder().build(), reloj::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Debe responder 429 con Retry-After al agotar la ráfaga y admitir de nuevo al reponerse")
+    void debeRechazarAlAgotarRafaga() throws Exception {
+        // Arrange
+        autenticar("cliente1", "ROLE_CLIENTE");
+
+        // Act & Assert
+        assertEquals(200, ejecutar("/api/v1/pedidos").getStatus());
+        assertEquals(200, ejecutar("/api/v1/pedidos/5").getStatus());
+
+        MockHttpServletResponse rechazada = ejecutar("/api/v1/pedidos");
+        assertEquals(429, rechazada.getStatus());
+        assertEquals("1", rechazada.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get(LimiteTasaFilter.METRICA_RECHAZOS).tag("rol", "ROLE_CLIENTE").counter().count());
+
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(200, ejecutar("/api/v1/pedidos").getStatus());
+    }
+
+    @Test
+    @DisplayName("Debe llevar cubetas separadas por grupo de rutas y por usuario, con el límite del rol más permisivo")
+    void debeSepararPorGrupoYUsuario() throws Exception {
+        // Arrange
+        autenticar("cliente1", "ROLE_CLIENTE");
+        ejecutar("/api/v1/pedidos");
+        ejecutar("/api/v1/pedidos");
+
+        // Act & Assert: otro grupo del mismo usuario
+        assertEquals(200, ejecutar("/api/v1/vehiculos").getStatus());
+
+        // Otro usuario con ADMIN y CLIENTE: ráfaga de 5
+        autenticar("admin", "ROLE_CLIENTE", "ROLE_ADMIN");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, ejecutar("/api/v1/pedidos").getStatus());
+        }
+        assertEquals(429, ejecutar("/api/v1/pedidos").getStatus());
+    }
+
+    @Test
+    @DisplayName("Debe limitar por IP sin autenticación y no filtrar rutas fuera de la API")
+    void debeLimitarPorIpSinAutenticacion() throws Exception {
+        // Act & Assert
+        assertEquals(200, ejecutar("/api/v1/auth/login").getStatus());
+        assertEquals(429, ejecutar("/api/v1/auth/login").getStatus());
+        assertEquals(200, ejecutar("/actuator/health").getStatus());
+    }
+
+    private MockHttpServletResponse ejecutar(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void autenticar(String username, String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username, null,
+            Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList()));
+    }
+}
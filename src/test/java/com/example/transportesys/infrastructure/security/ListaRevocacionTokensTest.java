@@ -0,0 +1,58 @@
+package com.example.transportesys.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para ListaRevocacionTokens")
+class ListaRevocacionTokensTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ListaRevocacionTokens lista;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lista = new ListaRevocacionTokens(meterRegistry, 60_000, 120_000);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar solo los tokens con versión anterior a la revocación")
+    void debeRechazarVersionesAnteriores() {
+        // Arrange
+        lista.registrar("admin", 2, lista.calcularVencimiento());
+
+        // Act & Assert
+        assertTrue(lista.estaRevocado("admin", 0));
+        assertTrue(lista.estaRevocado("admin", 1));
+        assertFalse(lista.estaRevocado("admin", 2));
+        assertFalse(lista.estaRevocado("otro", 0));
+        assertEquals(1.0, meterRegistry.get(ListaRevocacionTokens.METRICA_REVOCACIONES).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Debe conservar la revocación de mayor versión al sincronizar una anterior")
+    void debeConservarMayorVersion() {
+        // Arrange
+        lista.registrar("admin", 5, lista.calcularVencimiento());
+
+        // Act
+        lista.registrar("admin", 3, lista.calcularVencimiento());
+
+        // Assert
+        assertTrue(lista.estaRevocado("admin", 4));
+    }
+
+    @Test
+    @DisplayName("Debe descartar las revocaciones vencidas")
+    void debeDescartarRevocacionesVencidas() {
+        // Act
+        lista.registrar("admin", 2, System.currentTimeMillis() - 1);
+
+        // Assert
+        assertFalse(lista.estaRevocado("admin", 0));
+    }
+}
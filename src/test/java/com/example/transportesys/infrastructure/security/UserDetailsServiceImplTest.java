@@ -0,0 +1,82 @@
+package com.example.transportesys.infrastructure.security;
+
+import com.example.transportesys.domain.enums.RolUsuario;
+import com.example.transportesys.domain.model.Usuario;
+import com.example.transportesys.domain.repository.UsuarioRepository;
+import com.example.transportesys.infrastructure.config.SecurityConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para UserDetailsServiceImpl")
+class UserDetailsServiceImplTest {
+
+    private static final String HASH_SIN_PREFIJO = new BCryptPasswordEncoder(4).encode("admin123");
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private PasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider authenticationProvider;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(usuarioRepository);
+        SecurityConfig securityConfig = new SecurityConfig(null, null, userDetailsService, 5);
+        passwordEncoder = securityConfig.passwordEncoder();
+        authenticationProvider = securityConfig.authenticationProvider();
+    }
+
+    @Test
+    @DisplayName("Debe rehacer con el costo configurado un hash antiguo tras un login correcto")
+    void debeRehacerHashAntiguoEnLogin() {
+        // Arrange
+        Usuario usuario = usuario(HASH_SIN_PREFIJO);
+        when(usuarioRepository.findByUsername("admin")).thenReturn(Optional.of(usuario));
+
+        // Act
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("admin", "admin123"));
+
+        // Assert
+        verify(usuarioRepository).save(usuario);
+        assertTrue(usuario.getPassword().startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordEncoder.matches("admin123", usuario.getPassword()));
+        assertFalse(passwordEncoder.upgradeEncoding(usuario.getPassword()));
+    }
+
+    @Test
+    @DisplayName("No debe pisar una contraseña cambiada mientras se verificaba el login")
+    void noDebePisarCambioConcurrente() {
+        // Arrange
+        Usuario cambiado = usuario(passwordEncoder.encode("otra-clave"));
+        when(usuarioRepository.findByUsername("admin"))
+            .thenReturn(Optional.of(usuario(HASH_SIN_PREFIJO)))
+            .thenReturn(Optional.of(cambiado));
+
+        // Act
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("admin", "admin123"));
+
+        // Assert
+        verify(usuarioRepository, never()).save(any());
+    }
+
+    private static Usuario usuario(String password) {
+        Usuario usuario = new Usuario("admin", password, "admin@transportesys.com");
+        usuario.agregarRol(RolUsuario.ADMIN);
+        return usuario;
+    }
+}
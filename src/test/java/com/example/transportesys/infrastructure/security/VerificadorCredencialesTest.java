@@ -0,0 +1,63 @@
+package com.example.transportesys.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests para VerificadorCredenciales")
+class VerificadorCredencialesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthenticationManager authenticationManager;
+    private VerificadorCredenciales verificador;
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        authenticationManager = mock(AuthenticationManager.class);
+        verificador = new VerificadorCredenciales(authenticationManager, meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        verificador.cerrar();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar al instante los logins que no entran en la cola")
+    void debeRechazarConColaLlena() throws Exception {
+        // Arrange: un login ocupa el único hilo y otro ocupa la cola
+        when(authenticationManager.authenticate(any())).thenAnswer(invocacion -> {
+            liberar.await();
+            return new UsernamePasswordAuthenticationToken("admin", null, List.of());
+        });
+        CompletableFuture<Authentication> enCurso = verificador.autenticar("admin", "admin123");
+        CompletableFuture<Authentication> encolado = verificador.autenticar("admin", "admin123");
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> verificador.autenticar("admin", "admin123"));
+        assertEquals(1.0, meterRegistry.get(VerificadorCredenciales.METRICA_COLA).gauge().value());
+        assertEquals(1.0, meterRegistry.get(VerificadorCredenciales.METRICA_RECHAZADOS).counter().count());
+
+        liberar.countDown();
+        assertEquals("admin", enCurso.get().getName());
+        assertEquals("admin", encolado.get().getName());
+    }
+}